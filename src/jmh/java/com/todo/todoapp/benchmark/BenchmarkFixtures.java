@@ -0,0 +1,65 @@
+package com.todo.todoapp.benchmark;
+
+import com.todo.todoapp.model.todo.Priority;
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.user.User;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkFixtures {
+
+    static final String USER_ID = "5f0c6e2b9d1e8a3b4c5d6e70";
+
+    private static final LocalDate DEADLINE = LocalDate.of(2020, 12, 31);
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * Creates a Todo which looks like the ones stored by the application.
+     *
+     * @param index - the index of the Todo, used to make its name unique
+     * @return - the created Todo
+     */
+    static Todo createTodo(int index) {
+        return new Todo.Builder()
+                .withId(new ObjectId().toHexString())
+                .withUserId(USER_ID)
+                .withName("Todo number " + index)
+                .withDeadline(DEADLINE.plusDays(index % 365))
+                .withPriority(Priority.values()[index % Priority.values().length])
+                .build();
+    }
+
+    /**
+     * Creates the given number of Todos.
+     *
+     * @param size - the number of Todos to create
+     * @return - the created Todos
+     */
+    static List<Todo> createTodos(int size) {
+        List<Todo> todos = new ArrayList<>(size);
+
+        for (int index = 0; index < size; index++) {
+            todos.add(createTodo(index));
+        }
+
+        return todos;
+    }
+
+    /**
+     * Creates a User who logged in with both providers.
+     *
+     * @return - the created User
+     */
+    static User createUser() {
+        return new User.Builder()
+                .withId(USER_ID)
+                .withEmail("benchmark@todo.com")
+                .withGithubId("12345678")
+                .withGoogleId("109876543210987654321")
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.todo.todoapp.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.todo.todoapp.config.LoggingProperties;
+import com.todo.todoapp.logging.LogThrottlingTurboFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the synchronous file appender of the prod profile with the async appender and the log throttling,
+ * with as many request threads logging as the machine has cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class LoggingBenchmark {
+
+    private static final String LOGGER_NAME = "com.todo.todoapp.interceptor.todo.TodoInterceptor";
+    private static final String PATTERN = "%d %p %c{1.} [%t] %m%n";
+    private static final int RATE_LIMIT = 1000;
+
+    @Param({"sync", "async", "async-throttled"})
+    private String mode;
+
+    private Path logFile;
+    private LoggerContext loggerContext;
+    private Logger logger;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("todo-app-logging-benchmark", ".log");
+        loggerContext = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(loggerContext);
+        fileAppender.setFile(logFile.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = "sync".equals(mode) ? fileAppender : createAsyncAppender(fileAppender);
+
+        if ("async-throttled".equals(mode)) {
+            LogThrottlingTurboFilter logThrottlingTurboFilter = new LogThrottlingTurboFilter(Collections.emptyMap(), Map.of(LOGGER_NAME, RATE_LIMIT));
+            logThrottlingTurboFilter.setContext(loggerContext);
+            logThrottlingTurboFilter.start();
+            loggerContext.addTurboFilter(logThrottlingTurboFilter);
+        }
+
+        logger = loggerContext.getLogger(LOGGER_NAME);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        loggerContext.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void logRequest() {
+        logger.info("Status: {}, after: {} - {}", 200, "/todos", "GET");
+    }
+
+    private Appender<ILoggingEvent> createAsyncAppender(Appender<ILoggingEvent> fileAppender) {
+        LoggingProperties.Async asyncProperties = new LoggingProperties.Async();
+
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(loggerContext);
+        asyncAppender.setQueueSize(asyncProperties.getQueueSize());
+        asyncAppender.setDiscardingThreshold(asyncProperties.getDiscardingThreshold());
+        asyncAppender.setNeverBlock(asyncProperties.isNeverBlock());
+        asyncAppender.addAppender(fileAppender);
+        asyncAppender.start();
+
+        return asyncAppender;
+    }
+}
@@ -0,0 +1,88 @@
+package com.todo.todoapp.benchmark;
+
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.user.User;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the MappingMongoConverter which maps every Todo and User read from or written to the database.
+ * The converter is set up the same way as the one auto-configured by Spring Boot, without a database connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MongoConverterBenchmark {
+
+    private MappingMongoConverter mappingMongoConverter;
+
+    private Todo todo;
+    private User user;
+    private Document todoDocument;
+    private Document userDocument;
+
+    @Setup
+    public void setUp() {
+        MongoCustomConversions mongoCustomConversions = new MongoCustomConversions(Collections.emptyList());
+
+        MongoMappingContext mongoMappingContext = new MongoMappingContext();
+        mongoMappingContext.setInitialEntitySet(Set.of(Todo.class, User.class));
+        mongoMappingContext.setSimpleTypeHolder(mongoCustomConversions.getSimpleTypeHolder());
+        mongoMappingContext.afterPropertiesSet();
+
+        mappingMongoConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mongoMappingContext);
+        mappingMongoConverter.setCustomConversions(mongoCustomConversions);
+        mappingMongoConverter.afterPropertiesSet();
+
+        todo = BenchmarkFixtures.createTodo(0);
+        user = BenchmarkFixtures.createUser();
+        todoDocument = writeTodo();
+        userDocument = writeUser();
+    }
+
+    @Benchmark
+    public Document writeTodo() {
+        Document document = new Document();
+        mappingMongoConverter.write(todo, document);
+
+        return document;
+    }
+
+    @Benchmark
+    public Todo readTodo() {
+        return mappingMongoConverter.read(Todo.class, todoDocument);
+    }
+
+    @Benchmark
+    public Document writeUser() {
+        Document document = new Document();
+        mappingMongoConverter.write(user, document);
+
+        return document;
+    }
+
+    @Benchmark
+    public User readUser() {
+        return mappingMongoConverter.read(User.class, userDocument);
+    }
+}
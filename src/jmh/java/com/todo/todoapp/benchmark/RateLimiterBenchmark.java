@@ -0,0 +1,87 @@
+package com.todo.todoapp.benchmark;
+
+import com.todo.todoapp.config.RateLimitProperties;
+import com.todo.todoapp.ratelimit.RouteGroup;
+import com.todo.todoapp.ratelimit.UserRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the per-user rate limit adds to a Todo request: the lookup of the bucket of the user
+ * and the compare-and-set of the token bucket. The limits are high enough that every request is allowed,
+ * except in rejectOverTheLimit, which measures a user who is over the limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int USER_COUNT = 10_000;
+    private static final String OVER_THE_LIMIT_USER = "over-the-limit";
+
+    private String[] userKeys;
+    private UserRateLimiter userRateLimiter;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.getReads().setCapacity(Integer.MAX_VALUE);
+        rateLimitProperties.getReads().setPermitsPerSecond(1_000_000_000);
+        rateLimitProperties.getWrites().setCapacity(1);
+        rateLimitProperties.getWrites().setPermitsPerSecond(0.001);
+
+        userRateLimiter = new UserRateLimiter(rateLimitProperties, new SimpleMeterRegistry());
+        userKeys = new String[USER_COUNT];
+
+        for (int i = 0; i < USER_COUNT; i++) {
+            userKeys[i] = UUID.randomUUID().toString();
+            userRateLimiter.tryAcquire(userKeys[i], RouteGroup.READS);
+        }
+
+        userRateLimiter.tryAcquire(OVER_THE_LIMIT_USER, RouteGroup.WRITES);
+    }
+
+    @Benchmark
+    public long acquireSingleUser() {
+        return userRateLimiter.tryAcquire(userKeys[0], RouteGroup.READS);
+    }
+
+    @Benchmark
+    public long acquireManyUsers() {
+        return userRateLimiter.tryAcquire(userKeys[ThreadLocalRandom.current().nextInt(USER_COUNT)], RouteGroup.READS);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long acquireSingleUserContended() {
+        return userRateLimiter.tryAcquire(userKeys[0], RouteGroup.READS);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long acquireManyUsersContended() {
+        return userRateLimiter.tryAcquire(userKeys[ThreadLocalRandom.current().nextInt(USER_COUNT)], RouteGroup.READS);
+    }
+
+    @Benchmark
+    public long rejectOverTheLimit() {
+        return userRateLimiter.tryAcquire(OVER_THE_LIMIT_USER, RouteGroup.WRITES);
+    }
+}
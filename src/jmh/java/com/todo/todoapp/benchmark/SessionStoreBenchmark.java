@@ -0,0 +1,135 @@
+package com.todo.todoapp.benchmark;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.MongoClientSettings;
+import com.todo.todoapp.config.SessionConfig;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.jackson2.SecurityJackson2Modules;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+import org.springframework.session.MapSession;
+import org.springframework.session.data.mongo.AbstractMongoSessionConverter;
+import org.springframework.session.data.mongo.JacksonMongoSessionConverter;
+import org.springframework.session.data.mongo.MongoSession;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the session store adds to every authenticated request: the session is read for the security context,
+ * and written back with its new last access time. The in-memory store of a single instance is the baseline, the Mongo
+ * store is measured with the stock Jackson mapping of Spring Security and with the compact one of the SessionConfig.
+ * The round trips to Mongo, one find by the ID and one save, are not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionStoreBenchmark {
+
+    private static final String ATTRIBUTE_SPRING_SECURITY_CONTEXT = "SPRING_SECURITY_CONTEXT";
+    private static final Codec<BasicDBObject> BASIC_DB_OBJECT_CODEC = MongoClientSettings.getDefaultCodecRegistry().get(BasicDBObject.class);
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+    private static final TypeDescriptor SESSION_TYPE = TypeDescriptor.valueOf(MongoSession.class);
+    private static final TypeDescriptor DB_OBJECT_TYPE = TypeDescriptor.valueOf(DBObject.class);
+    private static final TypeDescriptor DOCUMENT_TYPE = TypeDescriptor.valueOf(Document.class);
+    // a Google ID token has the same size, the signature is the bigger part of it
+    private static final int ID_TOKEN_LENGTH = 1100;
+
+    @Param({"JACKSON", "COMPACT_JACKSON"})
+    private String mongoSessionConverterType;
+
+    private AbstractMongoSessionConverter mongoSessionConverter;
+    private Map<String, MapSession> inMemorySessions;
+    private MapSession inMemorySession;
+    private MongoSession mongoSession;
+    private RawBsonDocument mongoSessionDocument;
+
+    @Setup
+    public void setUp() {
+        SecurityContext securityContext = new SecurityContextImpl(createAuthenticationToken());
+
+        mongoSessionConverter = "JACKSON".equals(mongoSessionConverterType)
+                ? new JacksonMongoSessionConverter(SecurityJackson2Modules.getModules(SessionStoreBenchmark.class.getClassLoader()))
+                : new SessionConfig().mongoSessionConverter();
+
+        inMemorySession = new MapSession();
+        inMemorySession.setAttribute(ATTRIBUTE_SPRING_SECURITY_CONTEXT, securityContext);
+        inMemorySessions = new ConcurrentHashMap<>(Map.of(inMemorySession.getId(), inMemorySession));
+
+        mongoSession = new MongoSession();
+        mongoSession.setAttribute(ATTRIBUTE_SPRING_SECURITY_CONTEXT, securityContext);
+        mongoSessionDocument = writeMongoSession();
+    }
+
+    @Benchmark
+    public Object readInMemorySession() {
+        return inMemorySessions.get(inMemorySession.getId()).getAttribute(ATTRIBUTE_SPRING_SECURITY_CONTEXT);
+    }
+
+    @Benchmark
+    public MapSession writeInMemorySession() {
+        inMemorySession.setLastAccessedTime(Instant.now());
+
+        return inMemorySessions.put(inMemorySession.getId(), inMemorySession);
+    }
+
+    @Benchmark
+    public Object readMongoSession() {
+        Document document = mongoSessionDocument.decode(DOCUMENT_CODEC);
+
+        return ((MongoSession) mongoSessionConverter.convert(document, DOCUMENT_TYPE, SESSION_TYPE)).getAttribute(ATTRIBUTE_SPRING_SECURITY_CONTEXT);
+    }
+
+    @Benchmark
+    public RawBsonDocument writeMongoSession() {
+        mongoSession.setLastAccessedTime(Instant.now());
+
+        return new RawBsonDocument((BasicDBObject) mongoSessionConverter.convert(mongoSession, SESSION_TYPE, DB_OBJECT_TYPE), BASIC_DB_OBJECT_CODEC);
+    }
+
+    private OAuth2AuthenticationToken createAuthenticationToken() {
+        Instant issuedAt = Instant.now();
+        OidcIdToken idToken = OidcIdToken.withTokenValue("e".repeat(ID_TOKEN_LENGTH))
+                .issuer("https://accounts.google.com")
+                .subject("156246724635752711248")
+                // the JWT decoder of Spring Security returns the audience as an ArrayList
+                .audience(new ArrayList<>(List.of("596748682421-t2netrar3m9p87cqc0ptknkfg50cma9s.apps.googleusercontent.com")))
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(Duration.ofHours(1)))
+                .claim("email", "benchmark@todo.com")
+                .claim("email_verified", true)
+                .build();
+        DefaultOidcUser principal = new DefaultOidcUser(Set.of(new OidcUserAuthority(idToken)), idToken);
+
+        return new OAuth2AuthenticationToken(principal, principal.getAuthorities(), "google");
+    }
+}
@@ -0,0 +1,120 @@
+package com.todo.todoapp.benchmark;
+
+import com.todo.todoapp.cache.todo.TodoNearCache;
+import com.todo.todoapp.cache.user.UserCache;
+import com.todo.todoapp.config.PaginationProperties;
+import com.todo.todoapp.config.TodoNearCacheProperties;
+import com.todo.todoapp.config.UserCacheProperties;
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.repository.todo.ReactiveTodoRepository;
+import com.todo.todoapp.repository.todo.TodoRepository;
+import com.todo.todoapp.service.todo.impl.ReactiveTodoService;
+import com.todo.todoapp.service.todo.impl.TodoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Compares how long a burst of concurrent GET /todos/{todoId} requests takes on the blocking and on the reactive stack
+ * when every Mongo call takes the same time. The blocking service runs on as many threads as Tomcat has by default,
+ * the reactive one on the event loop. The repositories are stubs, so only the execution models are compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StackLoadComparisonBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final Duration MONGO_LATENCY = Duration.ofMillis(20);
+
+    @Param({"200", "2000"})
+    private int concurrentRequests;
+
+    private ExecutorService tomcatThreads;
+    private TodoService todoService;
+    private ReactiveTodoService reactiveTodoService;
+    private String todoId;
+
+    @Setup
+    public void setUp() {
+        Todo todo = BenchmarkFixtures.createTodo(0);
+        todoId = todo.getId();
+
+        TodoRepository todoRepository = mock(TodoRepository.class, withSettings().stubOnly());
+        when(todoRepository.findById(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(MONGO_LATENCY.toMillis());
+
+            return Optional.of(todo);
+        });
+
+        ReactiveTodoRepository reactiveTodoRepository = mock(ReactiveTodoRepository.class, withSettings().stubOnly());
+        when(reactiveTodoRepository.findById(anyString())).thenAnswer(invocation -> Mono.delay(MONGO_LATENCY).thenReturn(todo));
+
+        UserCache userCache = new UserCache(new UserCacheProperties());
+        // the near-cache would answer every request from the memory, so only the first one would wait for Mongo
+        TodoNearCacheProperties todoNearCacheProperties = new TodoNearCacheProperties();
+        todoNearCacheProperties.setEnabled(false);
+
+        tomcatThreads = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        todoService = new TodoService(todoRepository, null, userCache, null, null, new PaginationProperties(), null, null, null,
+                new TodoNearCache(todoNearCacheProperties));
+        reactiveTodoService = new ReactiveTodoService(reactiveTodoRepository, null, userCache, null, new PaginationProperties());
+    }
+
+    @TearDown
+    public void tearDown() {
+        tomcatThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public int blockingStack() throws ExecutionException, InterruptedException {
+        List<Future<?>> responses = new ArrayList<>(concurrentRequests);
+
+        for (int request = 0; request < concurrentRequests; request++) {
+            responses.add(tomcatThreads.submit(() -> todoService.getTodo(todoId, null)));
+        }
+
+        for (Future<?> response : responses) {
+            response.get();
+        }
+
+        return responses.size();
+    }
+
+    @Benchmark
+    public Long reactiveStack() {
+        return Flux.range(0, concurrentRequests)
+                .flatMap(request -> reactiveTodoService.getTodo(todoId, null), concurrentRequests)
+                .count()
+                .block();
+    }
+}
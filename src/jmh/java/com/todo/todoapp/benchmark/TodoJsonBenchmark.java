@@ -0,0 +1,75 @@
+package com.todo.todoapp.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.todo.todoapp.model.todo.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Jackson (de)serialization of Todo lists, as done by the REST controllers.
+ * The ObjectMapper is built the same way as the JacksonAutoConfiguration of Spring Boot builds the one used by the message converters:
+ * with the parameter names module, which reads the Todos through their constructor, and with the dates written as ISO strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoJsonBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private ObjectWriter todosWriter;
+    private ObjectReader todosReader;
+
+    private List<Todo> todos;
+    private byte[] todosJSON;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modules(new ParameterNamesModule(), new JavaTimeModule(), new Jdk8Module())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        TypeReference<List<Todo>> todosType = new TypeReference<>() {};
+
+        todosWriter = objectMapper.writerFor(todosType);
+        todosReader = objectMapper.readerFor(todosType);
+
+        todos = BenchmarkFixtures.createTodos(size);
+        todosJSON = todosWriter.writeValueAsBytes(todos);
+    }
+
+    @Benchmark
+    public byte[] serializeTodos() throws IOException {
+        return todosWriter.writeValueAsBytes(todos);
+    }
+
+    @Benchmark
+    public List<Todo> deserializeTodos() throws IOException {
+        return todosReader.readValue(todosJSON);
+    }
+}
@@ -0,0 +1,47 @@
+package com.todo.todoapp.benchmark;
+
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.util.TodoUtil;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of the $set update which replaced the in-memory copy of TodoUtil.updateTodo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoUtilBenchmark {
+
+    private Todo todoFromJSON;
+
+    @Setup
+    public void setUp() {
+        todoFromJSON = BenchmarkFixtures.createTodo(0);
+    }
+
+    @Benchmark
+    public Update createUpdate() {
+        return TodoUtil.createUpdate(todoFromJSON);
+    }
+
+    @Benchmark
+    public Document createUpdateObject() {
+        return TodoUtil.createUpdate(todoFromJSON).getUpdateObject();
+    }
+}
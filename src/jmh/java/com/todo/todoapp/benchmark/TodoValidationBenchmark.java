@@ -0,0 +1,73 @@
+package com.todo.todoapp.benchmark;
+
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.service.todo.impl.TodoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import javax.validation.executable.ExecutableValidator;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parameter validation which the @Validated TodoService triggers before saveTodo is invoked,
+ * both for a valid Todo and for one which produces constraint violations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private ExecutableValidator executableValidator;
+
+    private TodoService todoService;
+    private Method saveTodo;
+
+    private Object[] validArguments;
+    private Object[] invalidArguments;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        executableValidator = validatorFactory.getValidator().forExecutables();
+
+        // the dependencies are never used, only the parameter constraints of saveTodo are evaluated
+        todoService = new TodoService(null, null, null, null, null, null, null, null, null, null);
+        saveTodo = TodoService.class.getMethod("saveTodo", Todo.class);
+
+        validArguments = new Object[] {BenchmarkFixtures.createTodo(0)};
+        invalidArguments = new Object[] {new Todo.Builder().withName("").build()};
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TodoService>> validateValidTodo() {
+        return executableValidator.validateParameters(todoService, saveTodo, validArguments);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TodoService>> validateInvalidTodo() {
+        return executableValidator.validateParameters(todoService, saveTodo, invalidArguments);
+    }
+}
@@ -0,0 +1,160 @@
+package com.todo.todoapp.loadtest;
+
+import com.todo.todoapp.TodoAppApplication;
+import com.todo.todoapp.model.index.IndexBuildStatus;
+import com.todo.todoapp.service.index.IIndexService;
+import de.bwaldvogel.mongo.MongoServer;
+import com.todo.todoapp.model.index.IndexBuildStatus;
+import com.todo.todoapp.service.index.IIndexService;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static com.todo.todoapp.util.Constants.COLLECTION_NAME_USER;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_USER_GITHUB_ID_INDEX;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_USER_GOOGLE_ID_INDEX;
+import static com.todo.todoapp.util.Constants.PROFILE_LOAD_TEST;
+
+/**
+ * Load tests the app on a single box, without network access: it starts an in-memory Mongo (mongo-java-server),
+ * unless mongo=host:port points to a running one, boots the app with the loadtest profile on a random port,
+ * then the virtual users send the requests of the mix concurrently, and the throughput and latency of each endpoint are reported.
+ * The load generator shares the box with the app, so compare runs of the same settings on the same box, not absolute numbers.
+ * See LoadTestSettings for the arguments.
+ */
+public class LoadTest {
+
+    private static final String DATABASE = "todo_loadtest";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        MongoServer mongoServer = null;
+        String mongo = settings.getMongo();
+
+        if (mongo == null) {
+            mongoServer = new MongoServer(new MemoryBackend());
+            InetSocketAddress address = mongoServer.bind();
+            mongo = address.getHostString() + ":" + address.getPort();
+        }
+
+        System.out.println("Load test: " + settings);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoAppApplication.class)
+                .profiles(PROFILE_LOAD_TEST)
+                .run(getApplicationArgs(settings, mongo));
+
+        try {
+            if (mongoServer != null) {
+                dropPartialIndexes(context);
+            }
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LoadTestReport report = run(settings, URI.create("http://localhost:" + port));
+
+            report.print(System.out);
+            report.write(Path.of(settings.getResultFile()));
+            System.out.println("The result is written to " + settings.getResultFile());
+        } finally {
+            context.close();
+
+            if (mongoServer != null) {
+                mongoServer.shutdown();
+            }
+        }
+    }
+
+    /**
+     * mongo-java-server ignores the partial filter expression of the unique indexes on the provider IDs, so the second User
+     * without a GitHub ID would collide with the first one on null. They only guard the IDs, the logins upsert by the email,
+     * whose unique index is kept. The indexes are built in the background once the app is ready, they are dropped after that.
+     */
+    private static void dropPartialIndexes(ConfigurableApplicationContext context) throws InterruptedException {
+        IIndexService indexService = context.getBean(IIndexService.class);
+
+        while (indexService.getIndexStatuses().getBody().values().stream()
+                .anyMatch(status -> status == IndexBuildStatus.PENDING || status == IndexBuildStatus.BUILDING)) {
+            Thread.sleep(100);
+        }
+
+        IndexOperations indexOperations = context.getBean(MongoTemplate.class).indexOps(COLLECTION_NAME_USER);
+        indexOperations.dropIndex(INDEX_NAME_USER_GITHUB_ID_INDEX);
+        indexOperations.dropIndex(INDEX_NAME_USER_GOOGLE_ID_INDEX);
+    }
+
+    private static String[] getApplicationArgs(LoadTestSettings settings, String mongo) {
+        int separatorIndex = mongo.lastIndexOf(':');
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.data.mongodb.host=" + mongo.substring(0, separatorIndex),
+                "--spring.data.mongodb.port=" + mongo.substring(separatorIndex + 1),
+                "--spring.data.mongodb.database=" + DATABASE));
+        // given last, so they override the ones above
+        applicationArgs.addAll(settings.getApplicationArgs());
+
+        return applicationArgs.toArray(new String[0]);
+    }
+
+    private static LoadTestReport run(LoadTestSettings settings, URI baseUri) throws Exception {
+        LoadTestReport report = new LoadTestReport();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        List<VirtualUser> virtualUsers = new ArrayList<>();
+
+        for (int i = 0; i < settings.getUsers(); i++) {
+            virtualUsers.add(new VirtualUser(i, settings, httpClient, baseUri, report));
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(settings.getUsers());
+
+        try {
+            System.out.println("Logging in " + settings.getUsers() + " users and saving " + settings.getTodosPerUser() + " Todos for each...");
+            invokeAll(executorService, virtualUsers, virtualUser -> () -> {
+                virtualUser.setUp();
+                return null;
+            });
+
+            long measureStartNanos = System.nanoTime() + settings.getWarmup().toNanos();
+            long endNanos = measureStartNanos + settings.getDuration().toNanos();
+
+            System.out.println("Warming up for " + settings.getWarmup() + ", then measuring for " + settings.getDuration() + "...");
+            invokeAll(executorService, virtualUsers, virtualUser -> () -> {
+                virtualUser.run(measureStartNanos, endNanos);
+                return null;
+            });
+
+            report.setMeasuredNanos(System.nanoTime() - measureStartNanos);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        return report;
+    }
+
+    private static void invokeAll(ExecutorService executorService, List<VirtualUser> virtualUsers,
+                                  Function<VirtualUser, Callable<Void>> task) throws Exception {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        virtualUsers.forEach(virtualUser -> tasks.add(task.apply(virtualUser)));
+
+        // rethrows the first failure, e.g. a failed login
+        for (Future<Void> future : executorService.invokeAll(tasks)) {
+            future.get();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.todo.todoapp.loadtest;
+
+import com.todo.todoapp.service.user.IUserService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+import static com.todo.todoapp.util.Constants.PROFILE_LOAD_TEST;
+
+/**
+ * Only loaded with the loadtest profile, which is only activated by the LoadTest, so the fake login never reaches
+ * a deployed app: the load test sources are not even part of the packaged jar.
+ */
+@Configuration
+@Profile(PROFILE_LOAD_TEST)
+public class LoadTestConfig {
+
+    @Bean
+    public FilterRegistrationBean<LoadTestLoginFilter> loadTestLoginFilter(IUserService userService) {
+        FilterRegistrationBean<LoadTestLoginFilter> registrationBean = new FilterRegistrationBean<>(new LoadTestLoginFilter(userService));
+        registrationBean.addUrlPatterns(LoadTestLoginFilter.PATH_LOGIN);
+        // before the Spring Security filters, which would ask for the CSRF token and a real login
+        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+
+        return registrationBean;
+    }
+}
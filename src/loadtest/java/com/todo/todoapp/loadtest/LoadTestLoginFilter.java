@@ -0,0 +1,118 @@
+package com.todo.todoapp.loadtest;
+
+import com.todo.todoapp.model.user.Provider;
+import com.todo.todoapp.model.user.TodoOAuth2User;
+import com.todo.todoapp.model.user.TodoOidcUser;
+import com.todo.todoapp.model.user.User;
+import com.todo.todoapp.service.user.IUserService;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.oidc.IdTokenClaimNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2UserAuthority;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_EMAIL;
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_ID;
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_LOGIN;
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_NAME;
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_SUB;
+
+/**
+ * Stands in for the Google and GitHub logins during the load test: POST /loadtest/login?provider=google&amp;user=1
+ * fakes the principal the provider would return, saves the User through the IUserService like a real login,
+ * then stores the authentication in the session, so the following requests are authenticated by the session cookie.
+ */
+public class LoadTestLoginFilter extends OncePerRequestFilter {
+
+    static final String PATH_LOGIN = "/loadtest/login";
+    static final String REQUEST_PARAM_PROVIDER = "provider";
+    static final String REQUEST_PARAM_USER = "user";
+
+    private static final String EMAIL_DOMAIN = "@loadtest.todo";
+    private static final String ISSUER = "https://accounts.google.com";
+
+    private final IUserService userService;
+
+    public LoadTestLoginFilter(IUserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest httpServletRequest) {
+        return !PATH_LOGIN.equals(httpServletRequest.getRequestURI()) || !HttpMethod.POST.matches(httpServletRequest.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String providerParam = httpServletRequest.getParameter(REQUEST_PARAM_PROVIDER);
+        String user = httpServletRequest.getParameter(REQUEST_PARAM_USER);
+
+        if (providerParam == null || user == null) {
+            httpServletResponse.sendError(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        Provider provider = Provider.valueOf(providerParam.toUpperCase(Locale.ROOT));
+        String email = "user-" + user + EMAIL_DOMAIN;
+        OAuth2User principal = provider == Provider.GOOGLE ? createOidcUser(user, email) : createOAuth2User(user, email);
+        User savedUser = userService.handleUser(principal);
+
+        OAuth2User todoPrincipal = principal instanceof DefaultOidcUser
+                ? new TodoOidcUser(principal.getAuthorities(), ((DefaultOidcUser) principal).getIdToken(), null, IdTokenClaimNames.SUB, savedUser.getId())
+                : new TodoOAuth2User(principal.getAuthorities(), principal.getAttributes(), ATTRIBUTE_ID, savedUser.getId());
+        OAuth2AuthenticationToken authentication = new OAuth2AuthenticationToken(todoPrincipal, todoPrincipal.getAuthorities(),
+                provider.name().toLowerCase(Locale.ROOT));
+
+        // a new session, like after a real login, the CSRF token is issued by the first request sent with it
+        httpServletRequest.getSession(true)
+                .setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, new SecurityContextImpl(authentication));
+
+        httpServletResponse.setStatus(HttpStatus.OK.value());
+        httpServletResponse.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        httpServletResponse.getWriter().write(savedUser.getId());
+    }
+
+    private DefaultOidcUser createOidcUser(String user, String email) {
+        Instant now = Instant.now();
+        OidcIdToken idToken = OidcIdToken.withTokenValue("loadtest-" + user)
+                .issuer(ISSUER)
+                .subject("loadtest-google-" + user)
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .claim(ATTRIBUTE_SUB, "loadtest-google-" + user)
+                .claim(ATTRIBUTE_EMAIL, email)
+                .claim(ATTRIBUTE_NAME, "Load Test User " + user)
+                .build();
+
+        return new DefaultOidcUser(Set.of(new OidcUserAuthority(idToken)), idToken);
+    }
+
+    private DefaultOAuth2User createOAuth2User(String user, String email) {
+        Map<String, Object> attributes = Map.of(
+                ATTRIBUTE_ID, "loadtest-github-" + user,
+                ATTRIBUTE_LOGIN, "loadtest-user-" + user,
+                ATTRIBUTE_EMAIL, email);
+
+        return new DefaultOAuth2User(Set.of(new OAuth2UserAuthority(attributes)), attributes, ATTRIBUTE_ID);
+    }
+}
@@ -0,0 +1,56 @@
+package com.todo.todoapp.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The requests a virtual user can send, the latency of each is reported on its own.
+ */
+public enum LoadTestOperation {
+
+    GET_TODOS("get-todos", "GET /todos", false),
+    GET_TODO("get-todo", "GET /todos/{todoId}", false),
+    GET_TODO_SUMMARY("get-summary", "GET /todos/summary", false),
+    SEARCH_TODOS("search-todos", "GET /todos/search", false),
+    GET_ALL_TODOS("get-all-todos", "GET /todosAll", false),
+    GET_USERNAME("get-username", "GET /username", false),
+    SAVE_TODO("save-todo", "POST /todos", true),
+    UPDATE_TODO("update-todo", "PUT /todos/{todoId}", true),
+    PATCH_TODO("patch-todo", "PATCH /todos/{todoId}", true),
+    DELETE_TODO("delete-todo", "DELETE /todos/{todoId}", true),
+    EXECUTE_BATCH("execute-batch", "POST /todos/batch", true);
+
+    private final String key;
+    private final String endpoint;
+    private final boolean write;
+
+    LoadTestOperation(String key, String endpoint, boolean write) {
+        this.key = key;
+        this.endpoint = endpoint;
+        this.write = write;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public boolean isWrite() {
+        return write;
+    }
+
+    /**
+     * Returns the operation of the given key of the mix.
+     *
+     * @param key - the key of the operation, e.g. get-todos
+     * @return - the operation
+     */
+    public static LoadTestOperation of(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + key + "!"));
+    }
+}
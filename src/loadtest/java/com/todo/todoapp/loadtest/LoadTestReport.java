@@ -0,0 +1,180 @@
+package com.todo.todoapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the latency and the status of the requests sent after the warmup, per operation,
+ * and reports the throughput and the p50/p95/p99 latency of each.
+ * The latencies are recorded in microseconds into HdrHistograms, so the percentiles are exact to 3 significant digits.
+ */
+public class LoadTestReport {
+
+    private static final long HIGHEST_TRACKABLE_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<LoadTestOperation, Histogram> latencies = new EnumMap<>(LoadTestOperation.class);
+    private final Map<LoadTestOperation, Map<Integer, LongAdder>> statuses = new EnumMap<>(LoadTestOperation.class);
+    private final Map<LoadTestOperation, LongAdder> failures = new EnumMap<>(LoadTestOperation.class);
+
+    private volatile long measuredNanos;
+
+    public LoadTestReport() {
+        for (LoadTestOperation operation : LoadTestOperation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_LATENCY_MICROS, SIGNIFICANT_DIGITS));
+            statuses.put(operation, new ConcurrentHashMap<>());
+            failures.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Records a response, it's called by every virtual user concurrently.
+     *
+     * @param operation - the operation of the request
+     * @param status - the HTTP status of the response
+     * @param latencyNanos - the time between sending the request and reading the whole response
+     */
+    public void record(LoadTestOperation operation, int status, long latencyNanos) {
+        latencies.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_LATENCY_MICROS));
+        statuses.get(operation).computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Records a request which did not get a response, e.g. because of a timeout.
+     *
+     * @param operation - the operation of the request
+     */
+    public void recordFailure(LoadTestOperation operation) {
+        failures.get(operation).increment();
+    }
+
+    public void setMeasuredNanos(long measuredNanos) {
+        this.measuredNanos = measuredNanos;
+    }
+
+    /**
+     * Prints a table with a row per operation which was sent, and a total row.
+     *
+     * @param out - where the table is printed
+     */
+    public void print(PrintStream out) {
+        String format = "%-24s %10s %10s %9s %9s %9s %9s %8s  %s%n";
+
+        out.printf(format, "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors", "statuses");
+
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        long totalErrors = 0;
+
+        for (LoadTestOperation operation : LoadTestOperation.values()) {
+            Histogram histogram = latencies.get(operation).copy();
+
+            if (histogram.getTotalCount() == 0 && failures.get(operation).sum() == 0) {
+                continue;
+            }
+
+            long errors = getErrors(operation);
+            total.add(histogram);
+            totalErrors += errors;
+
+            out.printf(format, operation.getEndpoint(), histogram.getTotalCount(), formatThroughput(histogram.getTotalCount()),
+                    formatMillis(histogram.getValueAtPercentile(50)), formatMillis(histogram.getValueAtPercentile(95)),
+                    formatMillis(histogram.getValueAtPercentile(99)), formatMillis(histogram.getMaxValue()), errors, getStatuses(operation));
+        }
+
+        out.printf(format, "total", total.getTotalCount(), formatThroughput(total.getTotalCount()),
+                formatMillis(total.getValueAtPercentile(50)), formatMillis(total.getValueAtPercentile(95)),
+                formatMillis(total.getValueAtPercentile(99)), formatMillis(total.getMaxValue()), totalErrors, "");
+    }
+
+    /**
+     * Writes the same numbers as the table as JSON, so runs can be compared by a script.
+     *
+     * @param path - the file to write
+     * @throws IOException - if the file could not be written
+     */
+    public void write(Path path) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("measuredSeconds", measuredNanos / 1e9);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+
+        for (LoadTestOperation operation : LoadTestOperation.values()) {
+            Histogram histogram = latencies.get(operation).copy();
+
+            if (histogram.getTotalCount() == 0 && failures.get(operation).sum() == 0) {
+                continue;
+            }
+
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("requests", histogram.getTotalCount());
+            endpoint.put("throughput", getThroughput(histogram.getTotalCount()));
+            endpoint.put("p50Millis", toMillis(histogram.getValueAtPercentile(50)));
+            endpoint.put("p95Millis", toMillis(histogram.getValueAtPercentile(95)));
+            endpoint.put("p99Millis", toMillis(histogram.getValueAtPercentile(99)));
+            endpoint.put("maxMillis", toMillis(histogram.getMaxValue()));
+            endpoint.put("errors", getErrors(operation));
+            endpoint.put("statuses", getStatuses(operation));
+            endpoints.put(operation.getEndpoint(), endpoint);
+        }
+
+        result.put("endpoints", endpoints);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), result);
+    }
+
+    /**
+     * @return - the number of requests which got a 4xx or 5xx response, or none at all
+     */
+    private long getErrors(LoadTestOperation operation) {
+        long errors = failures.get(operation).sum();
+
+        for (Map.Entry<Integer, LongAdder> status : statuses.get(operation).entrySet()) {
+            if (status.getKey() >= 400) {
+                errors += status.getValue().sum();
+            }
+        }
+
+        return errors;
+    }
+
+    private Map<Integer, Long> getStatuses(LoadTestOperation operation) {
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.get(operation).forEach((status, count) -> statusCounts.put(status, count.sum()));
+
+        return statusCounts;
+    }
+
+    private double getThroughput(long requests) {
+        return measuredNanos == 0 ? 0 : requests * 1e9 / measuredNanos;
+    }
+
+    private String formatThroughput(long requests) {
+        return String.format("%.1f", getThroughput(requests));
+    }
+
+    private double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private String formatMillis(long micros) {
+        return String.format("%.2f", toMillis(micros));
+    }
+}
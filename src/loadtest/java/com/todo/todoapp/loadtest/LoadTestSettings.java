@@ -0,0 +1,169 @@
+package com.todo.todoapp.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The settings of the load test, given as key=value arguments, e.g.
+ * users=100 duration=2m warmup=15s mix=get-todos=60,save-todo=20,delete-todo=20.
+ * The arguments starting with -- are passed to the app, e.g. --todo.near-cache.enabled=false.
+ */
+public class LoadTestSettings {
+
+    private static final String ARG_USERS = "users";
+    private static final String ARG_DURATION = "duration";
+    private static final String ARG_WARMUP = "warmup";
+    private static final String ARG_TODOS_PER_USER = "todos-per-user";
+    private static final String ARG_THINK_TIME = "think-time";
+    private static final String ARG_MIX = "mix";
+    private static final String ARG_MONGO = "mongo";
+    private static final String ARG_RESULT_FILE = "result-file";
+
+    // search-todos is left out, as mongo-java-server has no $text, and get-all-todos, as it reads the Todos of every user
+    private static final String DEFAULT_MIX = "get-todos=35,get-todo=25,get-summary=5,get-username=5,"
+            + "save-todo=10,update-todo=8,patch-todo=5,delete-todo=5,execute-batch=2";
+
+    private int users = 50;
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+    private int todosPerUser = 20;
+    private Duration thinkTime = Duration.ZERO;
+    private Map<LoadTestOperation, Integer> mix = parseMix(DEFAULT_MIX);
+    private String mongo;
+    private String resultFile = "target/loadtest-result.json";
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    /**
+     * Parses the arguments of the load test, the ones not given keep their defaults.
+     *
+     * @param args - the key=value arguments of the load test, and the --key=value arguments of the app
+     * @return - the settings
+     */
+    public static LoadTestSettings parse(String[] args) {
+        LoadTestSettings settings = new LoadTestSettings();
+
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                settings.applicationArgs.add(arg);
+                continue;
+            }
+
+            int separatorIndex = arg.indexOf('=');
+
+            if (separatorIndex < 1) {
+                throw new IllegalArgumentException("The argument should be key=value: " + arg + "!");
+            }
+
+            settings.set(arg.substring(0, separatorIndex), arg.substring(separatorIndex + 1));
+        }
+
+        return settings;
+    }
+
+    private void set(String key, String value) {
+        switch (key) {
+            case ARG_USERS:
+                users = Integer.parseInt(value);
+                break;
+            case ARG_DURATION:
+                duration = DurationStyle.detectAndParse(value);
+                break;
+            case ARG_WARMUP:
+                warmup = DurationStyle.detectAndParse(value);
+                break;
+            case ARG_TODOS_PER_USER:
+                todosPerUser = Integer.parseInt(value);
+                break;
+            case ARG_THINK_TIME:
+                thinkTime = DurationStyle.detectAndParse(value);
+                break;
+            case ARG_MIX:
+                mix = parseMix(value);
+                break;
+            case ARG_MONGO:
+                mongo = value;
+                break;
+            case ARG_RESULT_FILE:
+                resultFile = value;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown argument: " + key + "!");
+        }
+    }
+
+    private static Map<LoadTestOperation, Integer> parseMix(String value) {
+        Map<LoadTestOperation, Integer> parsedMix = new EnumMap<>(LoadTestOperation.class);
+
+        for (String entry : value.split(",")) {
+            String[] operationAndWeight = entry.split("=");
+
+            if (operationAndWeight.length != 2) {
+                throw new IllegalArgumentException("The mix should be operation=weight,...: " + value + "!");
+            }
+
+            parsedMix.put(LoadTestOperation.of(operationAndWeight[0].trim()), Integer.parseInt(operationAndWeight[1].trim()));
+        }
+
+        if (parsedMix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The weights of the mix should add up to more than 0: " + value + "!");
+        }
+
+        return parsedMix;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public int getTodosPerUser() {
+        return todosPerUser;
+    }
+
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    public Map<LoadTestOperation, Integer> getMix() {
+        return mix;
+    }
+
+    /**
+     * @return - the host:port of a running Mongo, or null to start an in-memory one
+     */
+    public String getMongo() {
+        return mongo;
+    }
+
+    public String getResultFile() {
+        return resultFile;
+    }
+
+    public List<String> getApplicationArgs() {
+        return applicationArgs;
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users +
+                ", duration=" + duration +
+                ", warmup=" + warmup +
+                ", todosPerUser=" + todosPerUser +
+                ", thinkTime=" + thinkTime +
+                ", mix=" + mix +
+                ", mongo=" + (mongo == null ? "in-memory" : mongo) +
+                ", applicationArgs=" + applicationArgs;
+    }
+}
@@ -0,0 +1,238 @@
+package com.todo.todoapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todoapp.model.todo.Priority;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static com.todo.todoapp.util.Constants.MEDIA_TYPE_APPLICATION_MERGE_PATCH_JSON;
+
+/**
+ * A user of the load test: it logs in through the LoadTestLoginFilter, with Google or GitHub by turns,
+ * saves its first Todos, then sends the requests of the mix one after the other until the end of the test.
+ * Like a browser, it keeps the session and the CSRF token in cookies, and sends the token back with the writes.
+ */
+public class VirtualUser {
+
+    private static final String COOKIE_XSRF_TOKEN = "XSRF-TOKEN";
+    private static final String HEADER_X_XSRF_TOKEN = "X-XSRF-TOKEN";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final int index;
+    private final LoadTestSettings settings;
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final LoadTestReport report;
+    private final LoadTestOperation[] weightedOperations;
+
+    private final Map<String, String> cookies = new HashMap<>();
+    private final List<String> todoIds = new ArrayList<>();
+    private String userId;
+    private int todoCounter;
+    private long measureStartNanos = Long.MAX_VALUE;
+
+    public VirtualUser(int index, LoadTestSettings settings, HttpClient httpClient, URI baseUri, LoadTestReport report) {
+        this.index = index;
+        this.settings = settings;
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.report = report;
+        this.weightedOperations = settings.getMix().entrySet().stream()
+                .flatMap(operationAndWeight -> Collections.nCopies(operationAndWeight.getValue(), operationAndWeight.getKey()).stream())
+                .toArray(LoadTestOperation[]::new);
+    }
+
+    /**
+     * Logs in and saves the first Todos of the user, nothing is recorded yet.
+     */
+    public void setUp() throws IOException, InterruptedException {
+        String provider = index % 2 == 0 ? "google" : "github";
+        HttpResponse<String> loginResponse = send(HttpRequest.newBuilder(baseUri.resolve(
+                LoadTestLoginFilter.PATH_LOGIN + "?" + LoadTestLoginFilter.REQUEST_PARAM_PROVIDER + "=" + provider
+                        + "&" + LoadTestLoginFilter.REQUEST_PARAM_USER + "=" + index))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+
+        if (loginResponse.statusCode() != HttpStatus.OK.value()) {
+            throw new IllegalStateException("The login of the user " + index + " failed with " + loginResponse.statusCode() + "!");
+        }
+
+        userId = loginResponse.body();
+
+        // the first request of the session gets the CSRF token, which the writes need
+        send(HttpRequest.newBuilder(baseUri.resolve("/todos")).GET());
+
+        for (int i = 0; i < settings.getTodosPerUser(); i++) {
+            execute(LoadTestOperation.SAVE_TODO);
+        }
+    }
+
+    /**
+     * Sends the requests of the mix until the end of the test, the responses are only recorded after the warmup.
+     *
+     * @param measureStartNanos - the System.nanoTime when the warmup is over
+     * @param endNanos - the System.nanoTime when the test is over
+     */
+    public void run(long measureStartNanos, long endNanos) throws InterruptedException {
+        this.measureStartNanos = measureStartNanos;
+
+        while (System.nanoTime() < endNanos) {
+            LoadTestOperation operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+
+            try {
+                execute(operation);
+            } catch (IOException e) {
+                if (System.nanoTime() >= measureStartNanos) {
+                    report.recordFailure(operation);
+                }
+            }
+
+            if (!settings.getThinkTime().isZero()) {
+                Thread.sleep(settings.getThinkTime().toMillis());
+            }
+        }
+    }
+
+    private void execute(LoadTestOperation operation) throws IOException, InterruptedException {
+        // the operations of a single Todo need one, the user saves one first when it has none left
+        if (todoIds.isEmpty() && (operation == LoadTestOperation.GET_TODO || operation == LoadTestOperation.UPDATE_TODO
+                || operation == LoadTestOperation.PATCH_TODO || operation == LoadTestOperation.DELETE_TODO)) {
+            operation = LoadTestOperation.SAVE_TODO;
+        }
+
+        switch (operation) {
+            case GET_TODOS:
+                record(operation, HttpRequest.newBuilder(baseUri.resolve("/todos")).GET());
+                break;
+            case GET_TODO:
+                record(operation, HttpRequest.newBuilder(baseUri.resolve("/todos/" + getRandomTodoId())).GET());
+                break;
+            case GET_TODO_SUMMARY:
+                record(operation, HttpRequest.newBuilder(baseUri.resolve("/todos/summary")).GET());
+                break;
+            case SEARCH_TODOS:
+                record(operation, HttpRequest.newBuilder(baseUri.resolve("/todos/search?q=todo")).GET());
+                break;
+            case GET_ALL_TODOS:
+                record(operation, HttpRequest.newBuilder(baseUri.resolve("/todosAll")).GET());
+                break;
+            case GET_USERNAME:
+                record(operation, HttpRequest.newBuilder(baseUri.resolve("/username")).GET());
+                break;
+            case SAVE_TODO:
+                saveTodo();
+                break;
+            case UPDATE_TODO:
+                record(operation, HttpRequest.newBuilder(baseUri.resolve("/todos/" + getRandomTodoId()))
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .PUT(toJson(createTodo())));
+                break;
+            case PATCH_TODO:
+                record(operation, HttpRequest.newBuilder(baseUri.resolve("/todos/" + getRandomTodoId()))
+                        .header(HttpHeaders.CONTENT_TYPE, MEDIA_TYPE_APPLICATION_MERGE_PATCH_JSON)
+                        .method("PATCH", toJson(Map.of("priority", getRandomPriority()))));
+                break;
+            case DELETE_TODO:
+                String todoId = todoIds.remove(ThreadLocalRandom.current().nextInt(todoIds.size()));
+                record(operation, HttpRequest.newBuilder(baseUri.resolve("/todos/" + todoId)).DELETE());
+                break;
+            case EXECUTE_BATCH:
+                record(operation, HttpRequest.newBuilder(baseUri.resolve("/todos/batch"))
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .POST(toJson(List.of(Map.of("type", "CREATE", "todo", createTodo()),
+                                Map.of("type", "CREATE", "todo", createTodo())))));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation + "!");
+        }
+    }
+
+    private void saveTodo() throws IOException, InterruptedException {
+        HttpResponse<String> response = record(LoadTestOperation.SAVE_TODO, HttpRequest.newBuilder(baseUri.resolve("/todos"))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(toJson(createTodo())));
+
+        if (response.statusCode() == HttpStatus.CREATED.value()) {
+            todoIds.add(OBJECT_MAPPER.readTree(response.body()).get("id").asText());
+        }
+    }
+
+    private HttpResponse<String> record(LoadTestOperation operation, HttpRequest.Builder requestBuilder) throws IOException, InterruptedException {
+        if (operation.isWrite()) {
+            requestBuilder.header(HEADER_X_XSRF_TOKEN, cookies.getOrDefault(COOKIE_XSRF_TOKEN, ""));
+        }
+
+        long startNanos = System.nanoTime();
+        HttpResponse<String> response = send(requestBuilder);
+
+        if (startNanos >= measureStartNanos) {
+            report.record(operation, response.statusCode(), System.nanoTime() - startNanos);
+        }
+
+        return response;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder requestBuilder) throws IOException, InterruptedException {
+        if (!cookies.isEmpty()) {
+            requestBuilder.header(HttpHeaders.COOKIE, cookies.entrySet().stream()
+                    .map(cookie -> cookie.getKey() + "=" + cookie.getValue())
+                    .collect(Collectors.joining("; ")));
+        }
+
+        HttpResponse<String> response = httpClient.send(requestBuilder.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+
+        for (String setCookie : response.headers().allValues(HttpHeaders.SET_COOKIE)) {
+            for (HttpCookie cookie : HttpCookie.parse(setCookie)) {
+                if (cookie.getMaxAge() == 0) {
+                    cookies.remove(cookie.getName());
+                } else {
+                    cookies.put(cookie.getName(), cookie.getValue());
+                }
+            }
+        }
+
+        return response;
+    }
+
+    private Map<String, Object> createTodo() {
+        return Map.of(
+                "userId", userId,
+                "name", "todo " + index + "-" + todoCounter++,
+                "deadline", LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(365)).toString(),
+                "priority", getRandomPriority());
+    }
+
+    private String getRandomTodoId() {
+        return todoIds.get(ThreadLocalRandom.current().nextInt(todoIds.size()));
+    }
+
+    private String getRandomPriority() {
+        return Priority.values()[ThreadLocalRandom.current().nextInt(Priority.values().length)].name();
+    }
+
+    private HttpRequest.BodyPublisher toJson(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(OBJECT_MAPPER.writeValueAsString(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
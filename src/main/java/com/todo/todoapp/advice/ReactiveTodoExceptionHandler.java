@@ -0,0 +1,46 @@
+package com.todo.todoapp.advice;
+
+import com.todo.todoapp.util.ExceptionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ResponseStatusException;
+
+import static com.todo.todoapp.util.Constants.PROFILE_REACTIVE;
+
+/**
+ * Maps the exceptions of the reactive routes to the same responses as the TodoExceptionHandler does for the servlet routes.
+ * It handles both the exceptions thrown by the controllers, e.g. by the validation of the services, and the errors of the returned Monos.
+ */
+@ControllerAdvice
+@Profile(PROFILE_REACTIVE)
+public class ReactiveTodoExceptionHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveTodoExceptionHandler.class);
+
+    // like the ResponseEntityExceptionHandler of the servlet routes, the exceptions of WebFlux itself keep their status
+    @ExceptionHandler(value = ResponseStatusException.class)
+    protected ResponseEntity<Object> handleResponseStatusException(ResponseStatusException responseStatusException) {
+        logException(responseStatusException);
+
+        return ResponseEntity.status(responseStatusException.getStatus()).build();
+    }
+
+    @ExceptionHandler(value = Exception.class)
+    protected ResponseEntity<Object> handleExceptions(Exception runtimeException) {
+        logException(runtimeException);
+
+        String errorMessage = ExceptionUtil.getErrorMessage(runtimeException);
+        LOGGER.error(errorMessage);
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+    }
+
+    private void logException(Exception runtimeException) {
+        LOGGER.error("{} occurred - cause: {} - message: {}", runtimeException.getClass().getSimpleName(), runtimeException.getCause(), runtimeException.getMessage());
+    }
+}
@@ -1,44 +1,42 @@
 package com.todo.todoapp.advice;
 
+import com.todo.todoapp.ratelimit.RateLimitExceededException;
+import com.todo.todoapp.ratelimit.UserRateLimiter;
+import com.todo.todoapp.util.ExceptionUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.dao.DuplicateKeyException;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import javax.validation.ConstraintViolationException;
-import java.nio.file.AccessDeniedException;
+import static com.todo.todoapp.util.Constants.ERR_MSG_TOO_MANY_REQUESTS;
+import static com.todo.todoapp.util.Constants.PROFILE_NOT_REACTIVE;
 
 @ControllerAdvice
+@Profile(PROFILE_NOT_REACTIVE)
 public class TodoExceptionHandler extends ResponseEntityExceptionHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TodoExceptionHandler.class);
 
+    @ExceptionHandler(value = RateLimitExceededException.class)
+    protected ResponseEntity<Object> handleRateLimitExceededException(RateLimitExceededException rateLimitExceededException) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(UserRateLimiter.toRetryAfterSeconds(rateLimitExceededException.getWaitNanos())))
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(ERR_MSG_TOO_MANY_REQUESTS);
+    }
+
     @ExceptionHandler(value = Exception.class)
     protected ResponseEntity<Object> handleExceptions(Exception runtimeException, WebRequest webRequest) {
-        StringBuilder stringBuilder = new StringBuilder("Error message: ");
         logException(runtimeException);
 
-        if (runtimeException instanceof DuplicateKeyException) {
-            stringBuilder.append("A record with this key already exists!");
-        } else if (runtimeException instanceof ConstraintViolationException) {
-            stringBuilder.append("The given input is not valid!");
-        }  else if (runtimeException instanceof AccessDeniedException) {
-            stringBuilder.append("You do not have access to this operation!");
-        } else if (runtimeException instanceof NullPointerException) {
-            stringBuilder.append("Sorry, something went wrong!");
-        } else if (runtimeException instanceof IllegalArgumentException) {
-            stringBuilder.append("Some argument was not valid!");
-        } else {
-            stringBuilder.append("An unexpected exception occurred!");
-        }
-
-        String errorMessage = stringBuilder.toString();
+        String errorMessage = ExceptionUtil.getErrorMessage(runtimeException);
         LOGGER.error(errorMessage);
 
         return handleExceptionInternal(runtimeException, errorMessage, new HttpHeaders(), HttpStatus.BAD_REQUEST, webRequest);
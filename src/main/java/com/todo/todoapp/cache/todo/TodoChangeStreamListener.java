@@ -0,0 +1,126 @@
+package com.todo.todoapp.cache.todo;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.todo.todoapp.config.TodoNearCacheProperties;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.todo.todoapp.util.Constants.COLLECTION_NAME_TODO;
+import static com.todo.todoapp.util.Constants.KEY_ID;
+import static com.todo.todoapp.util.Constants.PROFILE_NOT_REACTIVE;
+
+/**
+ * Watches the change stream of the Todo collection on a background thread, and removes the changed Todos from the near-cache,
+ * so the writes of the other instances are seen by this one too. Change streams need a replica set: on a standalone Mongo,
+ * or while the change stream is failing, the near-cache falls back to its short expiry, and the change stream is retried.
+ */
+@Component
+@Profile(PROFILE_NOT_REACTIVE)
+public class TodoChangeStreamListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoChangeStreamListener.class);
+
+    private static final String CHANGE_STREAM_THREAD_NAME = "todo-change-stream";
+    private static final Duration MAX_AWAIT_TIME = Duration.ofSeconds(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final TodoNearCache todoNearCache;
+    private final Duration retryInterval;
+    private final ExecutorService changeStreamExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, CHANGE_STREAM_THREAD_NAME);
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    private volatile boolean running;
+
+    @Autowired
+    public TodoChangeStreamListener(MongoTemplate mongoTemplate, TodoNearCache todoNearCache, TodoNearCacheProperties todoNearCacheProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.todoNearCache = todoNearCache;
+        this.retryInterval = todoNearCacheProperties.getChangeStreamRetryInterval();
+    }
+
+    /**
+     * Starts watching the changes of the Todos on a background thread, if the near-cache is enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (todoNearCache.isEnabled()) {
+            running = true;
+            changeStreamExecutor.submit(this::watch);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        changeStreamExecutor.shutdownNow();
+    }
+
+    private void watch() {
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mongoTemplate.getCollection(COLLECTION_NAME_TODO)
+                    .watch()
+                    .maxAwaitTime(MAX_AWAIT_TIME.toMillis(), TimeUnit.MILLISECONDS)
+                    .cursor()) {
+                todoNearCache.onChangeStreamStarted();
+
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+
+                    if (change != null) {
+                        handleChange(change);
+                    }
+                }
+            } catch (RuntimeException runtimeException) {
+                LOGGER.warn("The change stream of the Todos has failed: {}", runtimeException.getMessage());
+            } finally {
+                todoNearCache.onChangeStreamStopped();
+            }
+
+            if (running) {
+                waitBeforeRetry();
+            }
+        }
+    }
+
+    private void handleChange(ChangeStreamDocument<Document> change) {
+        BsonDocument documentKey = change.getDocumentKey();
+
+        if (documentKey == null) {
+            // the collection has been dropped or renamed, so the cursor is closed and has to be opened again
+            throw new MongoException("The change stream of the Todos has been invalidated by " + change.getOperationType());
+        }
+
+        BsonValue todoId = documentKey.get(KEY_ID);
+        todoNearCache.invalidate(todoId.isObjectId() ? todoId.asObjectId().getValue().toHexString() : todoId.asString().getValue());
+    }
+
+    private void waitBeforeRetry() {
+        try {
+            Thread.sleep(retryInterval.toMillis());
+        } catch (InterruptedException interruptedException) {
+            running = false;
+            Thread.currentThread().interrupt();
+        }
+    }
+}
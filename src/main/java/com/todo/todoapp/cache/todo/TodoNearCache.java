@@ -0,0 +1,119 @@
+package com.todo.todoapp.cache.todo;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.todo.todoapp.config.TodoNearCacheProperties;
+import com.todo.todoapp.model.todo.Todo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * A bounded, per-instance cache of the Todos by their IDs. The writes of this instance invalidate the Todos right away,
+ * the writes of the other instances are delivered by the change stream of the Todo collection. While the change stream
+ * is not running, the Todos expire after a short time instead.
+ */
+@Component
+public class TodoNearCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoNearCache.class);
+
+    private final boolean enabled;
+    private final long fallbackExpireAfterWriteNanos;
+    private final Cache<String, Todo> cache;
+
+    private volatile boolean changeStreamRunning;
+
+    @Autowired
+    public TodoNearCache(TodoNearCacheProperties todoNearCacheProperties) {
+        this.enabled = todoNearCacheProperties.isEnabled();
+        this.fallbackExpireAfterWriteNanos = todoNearCacheProperties.getFallbackExpireAfterWrite().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(todoNearCacheProperties.getMaximumSize())
+                .expireAfter(new Expiry<String, Todo>() {
+                    @Override
+                    public long expireAfterCreate(String todoId, Todo todo, long currentTime) {
+                        return getExpireAfterWriteNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String todoId, Todo todo, long currentTime, long currentDuration) {
+                        return getExpireAfterWriteNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String todoId, Todo todo, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached Todo with the given ID, or loads it with the given function if it's not cached yet.
+     * A Todo which could not be found is not cached.
+     *
+     * @param todoId - the ID of the Todo
+     * @param todoLoader - the function which reads the Todo from the database
+     * @return - the Todo, or null if the loader did not find it
+     */
+    public Todo get(String todoId, Function<String, Todo> todoLoader) {
+        return enabled ? cache.get(todoId, todoLoader) : todoLoader.apply(todoId);
+    }
+
+    /**
+     * Removes the Todo with the given ID, used after the Todo has been written. A load of the same Todo which is
+     * in progress is waited for, so the Todo it has read can't stay in the cache.
+     *
+     * @param todoId - the ID of the written Todo, or null if the saved Todo didn't get an ID
+     */
+    public void invalidate(String todoId) {
+        if (todoId != null) {
+            cache.invalidate(todoId);
+        }
+    }
+
+    /**
+     * Removes the Todos with the given IDs, used after a batch has written them.
+     *
+     * @param todoIds - the IDs of the written Todos
+     */
+    public void invalidateAll(Collection<String> todoIds) {
+        cache.invalidateAll(todoIds);
+    }
+
+    /**
+     * Called when the change stream has been opened. Every cached Todo is removed, because the changes made before
+     * the change stream was opened have not been delivered. From now on the Todos are cached until they change.
+     */
+    public void onChangeStreamStarted() {
+        LOGGER.info("The change stream of the Todos is running, the Todos are cached until they change!");
+
+        cache.invalidateAll();
+        changeStreamRunning = true;
+    }
+
+    /**
+     * Called when the change stream could not be opened or it has failed. Every cached Todo is removed, because the changes
+     * won't be delivered any more. Until the change stream is running again, the Todos expire after the fallback time.
+     */
+    public void onChangeStreamStopped() {
+        LOGGER.warn("The change stream of the Todos is not running, the Todos expire after {} ms!", fallbackExpireAfterWriteNanos / 1_000_000);
+
+        changeStreamRunning = false;
+        cache.invalidateAll();
+    }
+
+    private long getExpireAfterWriteNanos() {
+        return changeStreamRunning ? Long.MAX_VALUE : fallbackExpireAfterWriteNanos;
+    }
+}
@@ -0,0 +1,101 @@
+package com.todo.todoapp.cache.todo;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todo.todoapp.config.TodoSummaryCacheProperties;
+import com.todo.todoapp.model.todo.TodoSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of the Todo summaries by the user IDs, so the dashboard does not run the aggregation on every request.
+ * The entries are invalidated by the writes of the user's Todos on this instance, and every summary is stored with the version of
+ * the user's Todo list it was computed for, so the writes on the other instances are noticed by the version too.
+ */
+@Component
+public class TodoSummaryCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoSummaryCache.class);
+
+    private final Cache<String, VersionedTodoSummary> cache;
+
+    @Autowired
+    public TodoSummaryCache(TodoSummaryCacheProperties todoSummaryCacheProperties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(todoSummaryCacheProperties.getMaximumSize())
+                .expireAfterWrite(todoSummaryCacheProperties.getExpireAfterWrite())
+                .build();
+    }
+
+    /**
+     * Returns the cached summary of the given user, or computes it with the given function if it's not cached yet.
+     * A summary which was computed on another day is recomputed, because the overdue and due this week counts depend on the date,
+     * and so is the one which was computed for another version of the user's Todo list.
+     *
+     * @param userId - the ID of the user
+     * @param today - the current date
+     * @param listVersion - the current version of the user's Todo list, read before the summary is computed
+     * @param summaryLoader - the function which aggregates the summary in the database
+     * @return - the summary of the user's Todos
+     */
+    public TodoSummary get(String userId, LocalDate today, long listVersion, Function<String, TodoSummary> summaryLoader) {
+        Function<String, VersionedTodoSummary> versionedSummaryLoader = id -> new VersionedTodoSummary(summaryLoader.apply(id), listVersion);
+        VersionedTodoSummary versionedTodoSummary = cache.get(userId, versionedSummaryLoader);
+
+        if (!versionedTodoSummary.isCurrent(today, listVersion)) {
+            // only the stale summary is removed, a fresh one computed by a concurrent request is kept
+            cache.asMap().remove(userId, versionedTodoSummary);
+            versionedTodoSummary = cache.get(userId, versionedSummaryLoader);
+        }
+
+        return versionedTodoSummary.getTodoSummary();
+    }
+
+    /**
+     * Removes the summary of the given user, used after the user's Todos have been written.
+     *
+     * @param userId - the ID of the user whose summary is stale, or null if the written Todo has no user
+     */
+    public void invalidate(String userId) {
+        LOGGER.debug("Invalidating the cached summary of the user!");
+
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    /**
+     * Removes the summaries of the given users, used after a batch has written their Todos.
+     *
+     * @param userIds - the IDs of the users whose summaries are stale
+     */
+    public void invalidateAll(Collection<String> userIds) {
+        cache.invalidateAll(userIds);
+    }
+
+    private static final class VersionedTodoSummary {
+
+        private final TodoSummary todoSummary;
+
+        private final long listVersion;
+
+        private VersionedTodoSummary(TodoSummary todoSummary, long listVersion) {
+            this.todoSummary = todoSummary;
+            this.listVersion = listVersion;
+        }
+
+        private TodoSummary getTodoSummary() {
+            return todoSummary;
+        }
+
+        private boolean isCurrent(LocalDate today, long currentListVersion) {
+            return today.equals(todoSummary.getDate()) && listVersion == currentListVersion;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.todo.todoapp.cache.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.todo.todoapp.config.UserCacheProperties;
+import com.todo.todoapp.model.user.Provider;
+import com.todo.todoapp.model.user.ProviderIdentity;
+import com.todo.todoapp.model.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of the users resolved by their provider IDs, which saves a Mongo round trip on every request
+ * that needs the internal ID of the logged in user.
+ */
+@Component
+public class UserCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserCache.class);
+
+    private static final String STATISTIC_HITS = "hits";
+    private static final String STATISTIC_MISSES = "misses";
+    private static final String STATISTIC_EVICTIONS = "evictions";
+    private static final String STATISTIC_SIZE = "size";
+
+    private final Cache<ProviderIdentity, User> cache;
+
+    @Autowired
+    public UserCache(UserCacheProperties userCacheProperties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(userCacheProperties.getMaximumSize())
+                .expireAfterWrite(userCacheProperties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached user for the given identity, or loads it with the given function if it's not cached yet.
+     * A user which could not be found is not cached.
+     *
+     * @param providerIdentity - the provider and the ID of the user at the provider
+     * @param userLoader - the function which reads the user from the database
+     * @return - the user, or null if the loader did not find it
+     */
+    public User get(ProviderIdentity providerIdentity, Function<ProviderIdentity, User> userLoader) {
+        return cache.get(providerIdentity, userLoader);
+    }
+
+    /**
+     * Returns the cached user for the given identity, without loading it. Used by the reactive services, which load the user
+     * without blocking and put it into the cache afterwards.
+     *
+     * @param providerIdentity - the provider and the ID of the user at the provider
+     * @return - the cached user, or null if it's not cached
+     */
+    public User getIfPresent(ProviderIdentity providerIdentity) {
+        return cache.getIfPresent(providerIdentity);
+    }
+
+    /**
+     * Caches the given user for the given identity.
+     *
+     * @param providerIdentity - the provider and the ID of the user at the provider
+     * @param user - the user loaded from the database
+     */
+    public void put(ProviderIdentity providerIdentity, User user) {
+        cache.put(providerIdentity, user);
+    }
+
+    /**
+     * Removes every identity of the given user from the cache, used after the user has been created or linked to a new provider.
+     *
+     * @param user - the user whose cached entries are stale
+     */
+    public void invalidate(User user) {
+        LOGGER.debug("Invalidating the cached entries of the user!");
+
+        if (user.getGoogleId() != null) {
+            cache.invalidate(new ProviderIdentity(Provider.GOOGLE, user.getGoogleId()));
+        }
+
+        if (user.getGithubId() != null) {
+            cache.invalidate(new ProviderIdentity(Provider.GITHUB, user.getGithubId()));
+        }
+    }
+
+    public Map<String, Long> getStatistics() {
+        CacheStats cacheStats = cache.stats();
+        Map<String, Long> statistics = new LinkedHashMap<>();
+
+        statistics.put(STATISTIC_HITS, cacheStats.hitCount());
+        statistics.put(STATISTIC_MISSES, cacheStats.missCount());
+        statistics.put(STATISTIC_EVICTIONS, cacheStats.evictionCount());
+        statistics.put(STATISTIC_SIZE, cache.estimatedSize());
+
+        return statistics;
+    }
+}
@@ -0,0 +1,124 @@
+package com.todo.todoapp.cache.user;
+
+import com.todo.todoapp.config.UserLoginCoalescingProperties;
+import com.todo.todoapp.model.user.User;
+import com.todo.todoapp.model.user.UserLogin;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static com.todo.todoapp.util.Constants.METRIC_NAME_USER_LOGINS_ACTIVE;
+import static com.todo.todoapp.util.Constants.METRIC_NAME_USER_LOGINS_COALESCED;
+import static com.todo.todoapp.util.Constants.METRIC_NAME_USER_LOGINS_COALESCING_TIMEOUTS;
+import static com.todo.todoapp.util.Constants.METRIC_NAME_USER_LOGINS_RESOLVED;
+
+/**
+ * Lets the concurrent logins of the same user share one resolution of the User, e.g. when a deploy drops the sessions
+ * and the user logs in again on every device at once. The first login resolves the User, the others wait for its result,
+ * at most for the configured time, after which they resolve the User themselves. Nothing is kept after a resolution
+ * completes, so a later login always sees the current User.
+ */
+@Component
+public class UserLoginCoalescer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserLoginCoalescer.class);
+
+    private static final String ERR_MSG_THE_LOGIN_WAS_INTERRUPTED = "The login was interrupted while waiting for a concurrent login!";
+
+    private final Map<UserLogin, CompletableFuture<User>> activeLogins = new ConcurrentHashMap<>();
+    private final LongAdder resolvedLogins = new LongAdder();
+    private final LongAdder coalescedLogins = new LongAdder();
+    private final LongAdder coalescingTimeouts = new LongAdder();
+    private final boolean enabled;
+    private final Duration maxWait;
+
+    @Autowired
+    public UserLoginCoalescer(UserLoginCoalescingProperties userLoginCoalescingProperties, MeterRegistry meterRegistry) {
+        this.enabled = userLoginCoalescingProperties.isEnabled();
+        this.maxWait = userLoginCoalescingProperties.getMaxWait();
+
+        FunctionCounter.builder(METRIC_NAME_USER_LOGINS_RESOLVED, resolvedLogins, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder(METRIC_NAME_USER_LOGINS_COALESCED, coalescedLogins, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder(METRIC_NAME_USER_LOGINS_COALESCING_TIMEOUTS, coalescingTimeouts, LongAdder::sum).register(meterRegistry);
+        Gauge.builder(METRIC_NAME_USER_LOGINS_ACTIVE, activeLogins, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Resolves the User of the given login, or waits for the resolution of a concurrent login with the same identity and email.
+     * The exception of a failed resolution is thrown to every login which waited for it.
+     *
+     * @param userLogin - the provider identity and the email of the login
+     * @param userResolver - the function which finds or saves the User in the database
+     * @return - the resolved User, or null if the resolver returned null
+     */
+    public User resolve(UserLogin userLogin, Supplier<User> userResolver) {
+        if (!enabled) {
+            return resolveUser(userResolver);
+        }
+
+        CompletableFuture<User> ownResolution = new CompletableFuture<>();
+        CompletableFuture<User> activeResolution = activeLogins.putIfAbsent(userLogin, ownResolution);
+
+        if (activeResolution == null) {
+            return resolveAndComplete(userLogin, userResolver, ownResolution);
+        }
+
+        coalescedLogins.increment();
+
+        return await(userLogin, userResolver, activeResolution);
+    }
+
+    private User resolveAndComplete(UserLogin userLogin, Supplier<User> userResolver, CompletableFuture<User> ownResolution) {
+        try {
+            User user = resolveUser(userResolver);
+            ownResolution.complete(user);
+
+            return user;
+        } catch (RuntimeException runtimeException) {
+            ownResolution.completeExceptionally(runtimeException);
+
+            throw runtimeException;
+        } finally {
+            activeLogins.remove(userLogin, ownResolution);
+        }
+    }
+
+    private User await(UserLogin userLogin, Supplier<User> userResolver, CompletableFuture<User> activeResolution) {
+        try {
+            return activeResolution.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException timeoutException) {
+            coalescingTimeouts.increment();
+            LOGGER.warn("The concurrent login of {} did not complete in {}, resolving the User again!", userLogin.getProviderIdentity(), maxWait);
+
+            return resolveUser(userResolver);
+        } catch (ExecutionException executionException) {
+            throw executionException.getCause() instanceof RuntimeException
+                    ? (RuntimeException) executionException.getCause()
+                    : new IllegalStateException(executionException.getCause());
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException(ERR_MSG_THE_LOGIN_WAS_INTERRUPTED, interruptedException);
+        }
+    }
+
+    private User resolveUser(Supplier<User> userResolver) {
+        resolvedLogins.increment();
+
+        return userResolver.get();
+    }
+}
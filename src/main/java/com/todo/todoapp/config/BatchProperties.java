@@ -0,0 +1,24 @@
+package com.todo.todoapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "todo.batch")
+public class BatchProperties {
+
+    private static final int DEFAULT_MAX_SIZE = 500;
+
+    /**
+     * The maximum number of operations accepted in one batch request.
+     */
+    private int maxSize = DEFAULT_MAX_SIZE;
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+}
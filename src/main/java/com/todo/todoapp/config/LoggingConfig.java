@@ -0,0 +1,48 @@
+package com.todo.todoapp.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.todo.todoapp.logging.LogThrottlingTurboFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import static com.todo.todoapp.util.Constants.METRIC_NAME_LOGGING_DROPPED_EVENTS;
+
+/**
+ * Installs the sampling and rate limits of the todo.logging properties into the Logback context,
+ * which is configured by Spring Boot before the beans are created.
+ */
+@Configuration
+public class LoggingConfig {
+
+    private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final LogThrottlingTurboFilter logThrottlingTurboFilter;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public LoggingConfig(LoggingProperties loggingProperties, MeterRegistry meterRegistry) {
+        this.logThrottlingTurboFilter = new LogThrottlingTurboFilter(loggingProperties.getSampleRates(), loggingProperties.getRateLimits());
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void installLogThrottling() {
+        logThrottlingTurboFilter.setContext(loggerContext);
+        logThrottlingTurboFilter.start();
+        loggerContext.addTurboFilter(logThrottlingTurboFilter);
+
+        FunctionCounter.builder(METRIC_NAME_LOGGING_DROPPED_EVENTS, logThrottlingTurboFilter, LogThrottlingTurboFilter::getDroppedEvents)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void uninstallLogThrottling() {
+        loggerContext.getTurboFilterList().remove(logThrottlingTurboFilter);
+        logThrottlingTurboFilter.stop();
+    }
+}
@@ -0,0 +1,94 @@
+package com.todo.todoapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "todo.logging")
+public class LoggingProperties {
+
+    /**
+     * The async appenders of the prod profile, read by logback-spring.xml.
+     */
+    private final Async async = new Async();
+
+    /**
+     * The fraction (0..1) of the INFO and lower events kept, by logger name or package.
+     * The most specific entry wins, loggers without an entry are not sampled.
+     */
+    private Map<String, Double> sampleRates = new LinkedHashMap<>();
+
+    /**
+     * The maximum number of INFO and lower events logged per second, by logger name or package.
+     * The most specific entry wins, loggers without an entry are not limited.
+     */
+    private Map<String, Integer> rateLimits = new LinkedHashMap<>();
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public Map<String, Double> getSampleRates() {
+        return sampleRates;
+    }
+
+    public void setSampleRates(Map<String, Double> sampleRates) {
+        this.sampleRates = sampleRates;
+    }
+
+    public Map<String, Integer> getRateLimits() {
+        return rateLimits;
+    }
+
+    public void setRateLimits(Map<String, Integer> rateLimits) {
+        this.rateLimits = rateLimits;
+    }
+
+    public static class Async {
+
+        private static final int DEFAULT_QUEUE_SIZE = 8192;
+        private static final int DEFAULT_DISCARDING_THRESHOLD = 1638;
+
+        /**
+         * The number of events buffered for the appender thread.
+         */
+        private int queueSize = DEFAULT_QUEUE_SIZE;
+
+        /**
+         * The INFO and lower events are discarded when fewer free slots than this remain in the queue.
+         */
+        private int discardingThreshold = DEFAULT_DISCARDING_THRESHOLD;
+
+        /**
+         * Whether the events are discarded instead of blocking the request thread when the queue is full.
+         */
+        private boolean neverBlock = true;
+
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        public void setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+        }
+
+        public int getDiscardingThreshold() {
+            return discardingThreshold;
+        }
+
+        public void setDiscardingThreshold(int discardingThreshold) {
+            this.discardingThreshold = discardingThreshold;
+        }
+
+        public boolean isNeverBlock() {
+            return neverBlock;
+        }
+
+        public void setNeverBlock(boolean neverBlock) {
+            this.neverBlock = neverBlock;
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.todo.todoapp.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.method.configuration.GlobalMethodSecurityConfiguration;
 
+import static com.todo.todoapp.util.Constants.PROFILE_NOT_REACTIVE;
+
 @Configuration
+@Profile(PROFILE_NOT_REACTIVE)
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class MethodSecurityConfig extends GlobalMethodSecurityConfiguration {
 }
@@ -0,0 +1,106 @@
+package com.todo.todoapp.config;
+
+import com.todo.todoapp.model.index.DeclaredIndex;
+import com.todo.todoapp.model.index.IndexRegistry;
+import org.bson.Document;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static com.todo.todoapp.util.Constants.COLLECTION_NAME_TODO;
+import static com.todo.todoapp.util.Constants.COLLECTION_NAME_USER;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_TODO_NAME_INDEX;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_TODO_USER_ID_DEADLINE_ID_INDEX;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_TODO_USER_ID_DEADLINE_INDEX;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_TODO_USER_ID_ID_INDEX;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_TODO_USER_ID_NAME_INDEX;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_TODO_USER_ID_NAME_TEXT_INDEX;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_TODO_USER_ID_PRIORITY_ID_INDEX;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_USER_EMAIL_INDEX;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_USER_GITHUB_ID_INDEX;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_USER_GOOGLE_ID_INDEX;
+import static com.todo.todoapp.util.Constants.KEY_DEADLINE;
+import static com.todo.todoapp.util.Constants.KEY_EMAIL;
+import static com.todo.todoapp.util.Constants.KEY_GITHUB_ID;
+import static com.todo.todoapp.util.Constants.KEY_GOOGLE_ID;
+import static com.todo.todoapp.util.Constants.KEY_ID;
+import static com.todo.todoapp.util.Constants.KEY_NAME;
+import static com.todo.todoapp.util.Constants.KEY_PRIORITY;
+import static com.todo.todoapp.util.Constants.KEY_USER_ID;
+
+@Configuration
+public class MongoIndexConfig {
+
+    private static final String OPERATOR_EXISTS = "$exists";
+
+    /**
+     * Every index of the application is declared here, the IndexService makes the database match this registry.
+     * The indexes are scoped by the user, because every Todo query is filtered by the 'user_id' field.
+     */
+    @Bean
+    public IndexRegistry indexRegistry() {
+        return new IndexRegistry.Builder()
+                .declare(new DeclaredIndex.Builder()
+                        .withCollectionName(COLLECTION_NAME_TODO)
+                        .withName(INDEX_NAME_TODO_USER_ID_ID_INDEX)
+                        .on(KEY_USER_ID)
+                        .on(KEY_ID)
+                        .build())
+                .declare(new DeclaredIndex.Builder()
+                        .withCollectionName(COLLECTION_NAME_TODO)
+                        .withName(INDEX_NAME_TODO_USER_ID_NAME_INDEX)
+                        .on(KEY_USER_ID)
+                        .on(KEY_NAME)
+                        .unique()
+                        .build())
+                .declare(new DeclaredIndex.Builder()
+                        .withCollectionName(COLLECTION_NAME_TODO)
+                        .withName(INDEX_NAME_TODO_USER_ID_NAME_TEXT_INDEX)
+                        .on(KEY_USER_ID)
+                        .onText(KEY_NAME)
+                        .build())
+                .declare(new DeclaredIndex.Builder()
+                        .withCollectionName(COLLECTION_NAME_TODO)
+                        .withName(INDEX_NAME_TODO_USER_ID_DEADLINE_ID_INDEX)
+                        .on(KEY_USER_ID)
+                        .on(KEY_DEADLINE)
+                        .on(KEY_ID)
+                        .build())
+                .declare(new DeclaredIndex.Builder()
+                        .withCollectionName(COLLECTION_NAME_TODO)
+                        .withName(INDEX_NAME_TODO_USER_ID_PRIORITY_ID_INDEX)
+                        .on(KEY_USER_ID)
+                        .on(KEY_PRIORITY)
+                        .on(KEY_ID)
+                        .build())
+                .declare(new DeclaredIndex.Builder()
+                        .withCollectionName(COLLECTION_NAME_USER)
+                        .withName(INDEX_NAME_USER_GITHUB_ID_INDEX)
+                        .on(KEY_GITHUB_ID)
+                        .unique()
+                        .withPartialFilterExpression(exists(KEY_GITHUB_ID))
+                        .build())
+                .declare(new DeclaredIndex.Builder()
+                        .withCollectionName(COLLECTION_NAME_USER)
+                        .withName(INDEX_NAME_USER_GOOGLE_ID_INDEX)
+                        .on(KEY_GOOGLE_ID)
+                        .unique()
+                        .withPartialFilterExpression(exists(KEY_GOOGLE_ID))
+                        .build())
+                .declare(new DeclaredIndex.Builder()
+                        .withCollectionName(COLLECTION_NAME_USER)
+                        .withName(INDEX_NAME_USER_EMAIL_INDEX)
+                        .on(KEY_EMAIL)
+                        // the logins upsert the User by the email, only this index keeps the concurrent first logins from creating two Users
+                        .unique()
+                        .build())
+                // the global unique index on the name made the Todos of different users collide
+                .retire(COLLECTION_NAME_TODO, INDEX_NAME_TODO_NAME_INDEX)
+                // the partial index on the deadline could not serve the sort by deadline, which has to return the Todos without one too
+                .retire(COLLECTION_NAME_TODO, INDEX_NAME_TODO_USER_ID_DEADLINE_INDEX)
+                .build();
+    }
+
+    private static Document exists(String key) {
+        return new Document(key, new Document(OPERATOR_EXISTS, true));
+    }
+}
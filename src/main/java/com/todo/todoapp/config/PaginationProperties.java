@@ -0,0 +1,38 @@
+package com.todo.todoapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "todo.pagination")
+public class PaginationProperties {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int DEFAULT_MAX_PAGE_SIZE = 500;
+
+    /**
+     * The number of Todos returned in one page, when the client does not ask for a specific page size.
+     */
+    private int defaultPageSize = DEFAULT_PAGE_SIZE;
+
+    /**
+     * The upper limit of the page size, bigger requested page sizes will be capped to this value.
+     */
+    private int maxPageSize = DEFAULT_MAX_PAGE_SIZE;
+
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+
+    public void setDefaultPageSize(int defaultPageSize) {
+        this.defaultPageSize = defaultPageSize;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+}
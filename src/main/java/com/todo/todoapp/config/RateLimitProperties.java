@@ -0,0 +1,117 @@
+package com.todo.todoapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "todo.rate-limit")
+public class RateLimitProperties {
+
+    private static final long DEFAULT_MAXIMUM_BUCKETS = 100_000;
+    private static final int DEFAULT_READS_CAPACITY = 50;
+    private static final double DEFAULT_READS_PERMITS_PER_SECOND = 20;
+    private static final int DEFAULT_WRITES_CAPACITY = 20;
+    private static final double DEFAULT_WRITES_PERMITS_PER_SECOND = 5;
+    private static final int DEFAULT_BATCH_CAPACITY = 500;
+    private static final double DEFAULT_BATCH_PERMITS_PER_SECOND = 25;
+    private static final int DEFAULT_ADMIN_CAPACITY = 2;
+    private static final double DEFAULT_ADMIN_PERMITS_PER_SECOND = 0.2;
+
+    /**
+     * Whether the requests of the Todo routes are rate limited per user.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The maximum number of buckets kept per route group, the least recently used ones are evicted above it.
+     * The buckets of the idle users are evicted anyway, once they are refilled.
+     */
+    private long maximumBuckets = DEFAULT_MAXIMUM_BUCKETS;
+
+    /**
+     * The limit of the GET requests of /todos and its sub-routes.
+     */
+    private final Bucket reads = new Bucket(DEFAULT_READS_CAPACITY, DEFAULT_READS_PERMITS_PER_SECOND);
+
+    /**
+     * The limit of the POST, PUT, PATCH and DELETE requests of /todos and its sub-routes, except the batch.
+     */
+    private final Bucket writes = new Bucket(DEFAULT_WRITES_CAPACITY, DEFAULT_WRITES_PERMITS_PER_SECOND);
+
+    /**
+     * The limit of the operations of POST /todos/batch, every operation of a batch takes a permit.
+     * The capacity should be at least the maximum size of a batch, a bigger batch only takes the whole capacity.
+     */
+    private final Bucket batch = new Bucket(DEFAULT_BATCH_CAPACITY, DEFAULT_BATCH_PERMITS_PER_SECOND);
+
+    /**
+     * The limit of /todosAll, which reads every Todo of every user.
+     */
+    private final Bucket admin = new Bucket(DEFAULT_ADMIN_CAPACITY, DEFAULT_ADMIN_PERMITS_PER_SECOND);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumBuckets() {
+        return maximumBuckets;
+    }
+
+    public void setMaximumBuckets(long maximumBuckets) {
+        this.maximumBuckets = maximumBuckets;
+    }
+
+    public Bucket getReads() {
+        return reads;
+    }
+
+    public Bucket getWrites() {
+        return writes;
+    }
+
+    public Bucket getBatch() {
+        return batch;
+    }
+
+    public Bucket getAdmin() {
+        return admin;
+    }
+
+    public static class Bucket {
+
+        /**
+         * The number of requests a user can send at once, after being idle.
+         */
+        private int capacity;
+
+        /**
+         * The number of requests per second a user can send continuously.
+         */
+        private double permitsPerSecond;
+
+        public Bucket(int capacity, double permitsPerSecond) {
+            this.capacity = capacity;
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public void setPermitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.todo.todoapp.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.logout.RedirectServerLogoutSuccessHandler;
+import org.springframework.security.web.server.csrf.CookieServerCsrfTokenRepository;
+
+import java.net.URI;
+
+import static com.todo.todoapp.util.Constants.PROFILE_REACTIVE;
+
+/**
+ * The WebFlux equivalent of the SecurityConfig and the MethodSecurityConfig, used with the reactive profile.
+ */
+@Configuration
+@Profile(PROFILE_REACTIVE)
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        // @formatter:off
+        return http.authorizeExchange(
+                authorize -> authorize.pathMatchers("/", "/error", "/webjars/**").permitAll()
+                .anyExchange().authenticated()
+        ).logout(
+                logout -> logout.logoutSuccessHandler(createLogoutSuccessHandler())
+        ).csrf(
+                csrf -> csrf.csrfTokenRepository(CookieServerCsrfTokenRepository.withHttpOnlyFalse())
+        ).exceptionHandling(
+                exception -> exception.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.BAD_REQUEST))
+        ).oauth2Login(
+                oauth2Login -> {}
+        ).build();
+        // @formatter:on
+    }
+
+    private RedirectServerLogoutSuccessHandler createLogoutSuccessHandler() {
+        RedirectServerLogoutSuccessHandler logoutSuccessHandler = new RedirectServerLogoutSuccessHandler();
+        logoutSuccessHandler.setLogoutSuccessUrl(URI.create("/"));
+
+        return logoutSuccessHandler;
+    }
+}
@@ -1,22 +1,47 @@
 package com.todo.todoapp.config;
 
+import com.todo.todoapp.service.user.impl.TodoOAuth2UserService;
+import com.todo.todoapp.service.user.impl.TodoOidcUserService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.security.oauth2.client.EnableOAuth2Sso;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 
+import static com.todo.todoapp.util.Constants.PROFILE_NOT_REACTIVE;
+
 @Configuration
+@Profile(PROFILE_NOT_REACTIVE)
 @EnableOAuth2Sso
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
+    private final TodoOAuth2UserService todoOAuth2UserService;
+    private final TodoOidcUserService todoOidcUserService;
+
+    @Autowired
+    public SecurityConfig(TodoOAuth2UserService todoOAuth2UserService, TodoOidcUserService todoOidcUserService) {
+        this.todoOAuth2UserService = todoOAuth2UserService;
+        this.todoOidcUserService = todoOidcUserService;
+    }
+
+    /**
+     * The static resources skip the security filters, so they don't load the session from the session store.
+     */
+    @Override
+    public void configure(WebSecurity web) {
+        web.ignoring().antMatchers("/webjars/**");
+    }
+
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         // @formatter:off
         http.authorizeRequests(
-                authorize -> authorize.antMatchers("/", "/error", "/webjars/**").permitAll()
+                authorize -> authorize.antMatchers("/", "/error").permitAll()
                 .anyRequest().authenticated()
         ).logout(
                 logout -> logout.logoutSuccessUrl("/").permitAll()
@@ -24,7 +49,11 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
          csrf -> csrf.csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse())
         ).exceptionHandling(
                 exception -> exception.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.BAD_REQUEST)) //TODO: use somewhere else to handle forbidden pages??
-        ).oauth2Login();
+        ).oauth2Login(
+                oauth2Login -> oauth2Login.userInfoEndpoint(
+                        userInfo -> userInfo.userService(todoOAuth2UserService).oidcUserService(todoOidcUserService)
+                )
+        );
         //formatter:on
     }
 }
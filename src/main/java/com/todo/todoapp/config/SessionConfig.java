@@ -0,0 +1,34 @@
+package com.todo.todoapp.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.todo.todoapp.session.CompactOAuth2Jackson2Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.jackson2.SecurityJackson2Modules;
+import org.springframework.session.data.mongo.AbstractMongoSessionConverter;
+import org.springframework.session.data.mongo.JacksonMongoSessionConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The sessions are stored in Mongo by Spring Session, when the spring.session.store-type is 'mongodb', so any instance
+ * can serve any request, and the sessions survive the restarts. The 'none' store type keeps them in the memory of Tomcat.
+ * The session documents expire by the TTL index on their 'expireAt' field, which is created by Spring Session.
+ */
+@Configuration
+public class SessionConfig {
+
+    /**
+     * Stores the session attributes as JSON documents instead of serialized Java objects. The Jackson modules
+     * of Spring Security map the saved requests and the OAuth2 login, and only allow their own types,
+     * the security context is written in the compact form of the CompactOAuth2Jackson2Module.
+     */
+    @Bean
+    public AbstractMongoSessionConverter mongoSessionConverter() {
+        List<Module> modules = new ArrayList<>(SecurityJackson2Modules.getModules(SessionConfig.class.getClassLoader()));
+        modules.add(new CompactOAuth2Jackson2Module());
+
+        return new JacksonMongoSessionConverter(modules);
+    }
+}
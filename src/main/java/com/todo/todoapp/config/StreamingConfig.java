@@ -0,0 +1,32 @@
+package com.todo.todoapp.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import static com.todo.todoapp.util.Constants.PROFILE_NOT_REACTIVE;
+
+/**
+ * Applies the async timeout of todo.streaming to the NDJSON stream of the Todos, so a stream of a collection which is too large
+ * to be buffered is not aborted by the default async timeout of the container. A StreamingResponseBody can't carry a timeout of its own,
+ * and the stream is the only async route of the servlet stack, so the timeout is set as the default one.
+ */
+@Configuration
+@Profile(PROFILE_NOT_REACTIVE)
+public class StreamingConfig implements WebMvcConfigurer {
+
+    private final StreamingProperties streamingProperties;
+
+    @Autowired
+    public StreamingConfig(StreamingProperties streamingProperties) {
+        this.streamingProperties = streamingProperties;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer asyncSupportConfigurer) {
+        // a timeout of 0 or less never expires
+        asyncSupportConfigurer.setDefaultTimeout(streamingProperties.getAsyncTimeout().toMillis());
+    }
+}
@@ -0,0 +1,41 @@
+package com.todo.todoapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.streaming")
+public class StreamingProperties {
+
+    private static final int DEFAULT_FLUSH_INTERVAL = 500;
+    private static final Duration DEFAULT_ASYNC_TIMEOUT = Duration.ofMinutes(30);
+
+    /**
+     * The number of Todos written to the response between two flushes, also used as the batch size of the Mongo cursor.
+     */
+    private int flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+    /**
+     * The time a streamed response may take before the container aborts it, instead of the 30 seconds of Tomcat.
+     * The stream is the only async route of the servlet stack, so it's applied as the default async timeout. 0 disables the timeout.
+     */
+    private Duration asyncTimeout = DEFAULT_ASYNC_TIMEOUT;
+
+    public int getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(int flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public Duration getAsyncTimeout() {
+        return asyncTimeout;
+    }
+
+    public void setAsyncTimeout(Duration asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+}
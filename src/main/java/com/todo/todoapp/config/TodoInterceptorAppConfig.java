@@ -1,19 +1,29 @@
 package com.todo.todoapp.config;
 
+import com.todo.todoapp.interceptor.ratelimit.RateLimitInterceptor;
 import com.todo.todoapp.interceptor.todo.TodoInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import static com.todo.todoapp.util.Constants.PROFILE_NOT_REACTIVE;
+
 @Component
+@Profile(PROFILE_NOT_REACTIVE)
 public class TodoInterceptorAppConfig implements WebMvcConfigurer {
 
     @Autowired
     TodoInterceptor todoInterceptor;
 
+    @Autowired
+    RateLimitInterceptor rateLimitInterceptor;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // the TodoInterceptor comes first, so the rejected requests are recorded in the request metrics too
         registry.addInterceptor(todoInterceptor);
+        registry.addInterceptor(rateLimitInterceptor);
     }
 }
@@ -0,0 +1,69 @@
+package com.todo.todoapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.near-cache")
+public class TodoNearCacheProperties {
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    private static final Duration DEFAULT_FALLBACK_EXPIRE_AFTER_WRITE = Duration.ofSeconds(5);
+    private static final Duration DEFAULT_CHANGE_STREAM_RETRY_INTERVAL = Duration.ofSeconds(30);
+
+    /**
+     * Whether the Todos read by their IDs are cached on this instance.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The maximum number of Todos kept in the cache, the least recently used ones are evicted above it.
+     */
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    /**
+     * The time after a cached Todo is evicted while the change stream of the Todo collection is not available,
+     * which bounds how long the writes of the other instances stay invisible. While the change stream is running,
+     * the cached Todos are only evicted by the changes and by the maximum size.
+     */
+    private Duration fallbackExpireAfterWrite = DEFAULT_FALLBACK_EXPIRE_AFTER_WRITE;
+
+    /**
+     * The time to wait before the change stream is opened again, after it could not be opened or it has failed.
+     */
+    private Duration changeStreamRetryInterval = DEFAULT_CHANGE_STREAM_RETRY_INTERVAL;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getFallbackExpireAfterWrite() {
+        return fallbackExpireAfterWrite;
+    }
+
+    public void setFallbackExpireAfterWrite(Duration fallbackExpireAfterWrite) {
+        this.fallbackExpireAfterWrite = fallbackExpireAfterWrite;
+    }
+
+    public Duration getChangeStreamRetryInterval() {
+        return changeStreamRetryInterval;
+    }
+
+    public void setChangeStreamRetryInterval(Duration changeStreamRetryInterval) {
+        this.changeStreamRetryInterval = changeStreamRetryInterval;
+    }
+}
@@ -0,0 +1,41 @@
+package com.todo.todoapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.summary-cache")
+public class TodoSummaryCacheProperties {
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    private static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofMinutes(5);
+
+    /**
+     * The maximum number of users whose summary is kept in the cache, the least recently used ones are evicted above it.
+     */
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    /**
+     * The time after a summary is evicted from the cache. The writes of this instance invalidate the summary right away,
+     * so this only bounds how long the writes of the other instances stay invisible.
+     */
+    private Duration expireAfterWrite = DEFAULT_EXPIRE_AFTER_WRITE;
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+}
@@ -0,0 +1,40 @@
+package com.todo.todoapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.user-cache")
+public class UserCacheProperties {
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    private static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+
+    /**
+     * The maximum number of resolved users kept in the cache, the least recently used ones are evicted above it.
+     */
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    /**
+     * The time after a resolved user is evicted from the cache, even if it is still used.
+     */
+    private Duration expireAfterWrite = DEFAULT_EXPIRE_AFTER_WRITE;
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+}
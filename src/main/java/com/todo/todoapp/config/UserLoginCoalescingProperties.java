@@ -0,0 +1,40 @@
+package com.todo.todoapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "todo.user-login-coalescing")
+public class UserLoginCoalescingProperties {
+
+    private static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(5);
+
+    /**
+     * Whether the concurrent logins of the same user share one upsert of the User.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The maximum time a login waits for the upsert of a concurrent login of the same user,
+     * after it the login upserts the User itself.
+     */
+    private Duration maxWait = DEFAULT_MAX_WAIT;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+}
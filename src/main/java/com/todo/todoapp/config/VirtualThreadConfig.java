@@ -0,0 +1,73 @@
+package com.todo.todoapp.config;
+
+import com.todo.todoapp.util.VirtualThreadUtil;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+
+import static com.todo.todoapp.util.Constants.PROFILE_NOT_REACTIVE;
+
+/**
+ * Runs Tomcat's request processing and the async (streamed) responses on virtual threads when todo.virtual-threads.enabled is set.
+ * The services keep their blocking repository calls, a virtual thread waiting for Mongo (or for a pooled connection)
+ * doesn't hold a platform thread.
+ */
+@Configuration
+@Profile(PROFILE_NOT_REACTIVE)
+public class VirtualThreadConfig implements WebMvcConfigurer, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private final ExecutorService virtualThreadExecutor;
+
+    @Autowired
+    public VirtualThreadConfig(VirtualThreadProperties virtualThreadProperties) {
+        this.virtualThreadExecutor = virtualThreadProperties.isEnabled() ? createVirtualThreadExecutor() : null;
+    }
+
+    private ExecutorService createVirtualThreadExecutor() {
+        ExecutorService executor = VirtualThreadUtil.newVirtualThreadPerTaskExecutor().orElse(null);
+
+        if (executor == null) {
+            LOGGER.warn("Virtual threads are enabled, but the JVM ({}) does not support them, falling back to the platform thread pools!", Runtime.version());
+        } else {
+            LOGGER.info("Handling the requests on virtual threads!");
+        }
+
+        return executor;
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (virtualThreadExecutor != null) {
+                protocolHandler.setExecutor(virtualThreadExecutor);
+            }
+        };
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer asyncSupportConfigurer) {
+        if (virtualThreadExecutor != null) {
+            asyncSupportConfigurer.setTaskExecutor(new ConcurrentTaskExecutor(virtualThreadExecutor));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+}
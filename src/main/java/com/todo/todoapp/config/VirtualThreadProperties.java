@@ -0,0 +1,23 @@
+package com.todo.todoapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "todo.virtual-threads")
+public class VirtualThreadProperties {
+
+    /**
+     * Whether the requests, and with them the repository calls, are handled on virtual threads instead of Tomcat's thread pool.
+     * Ignored with a warning on JVMs without virtual threads.
+     */
+    private boolean enabled = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
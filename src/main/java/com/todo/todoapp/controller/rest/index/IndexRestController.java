@@ -0,0 +1,42 @@
+package com.todo.todoapp.controller.rest.index;
+
+import com.todo.todoapp.model.index.IndexBuildStatus;
+import com.todo.todoapp.service.index.IIndexService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static com.todo.todoapp.util.Constants.PROFILE_NOT_REACTIVE;
+
+@RestController
+@Profile(PROFILE_NOT_REACTIVE)
+public class IndexRestController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexRestController.class);
+
+    private static final String GET_MAPPING_INDEXES = "/indexes";
+
+    private static final String PRE_AUTHORIZE_ROLE_USER = "hasRole('ROLE_USER')";
+
+    private final IIndexService indexService;
+
+    @Autowired
+    public IndexRestController(IIndexService indexService) {
+        this.indexService = indexService;
+    }
+
+    @PreAuthorize(PRE_AUTHORIZE_ROLE_USER)
+    @GetMapping(GET_MAPPING_INDEXES)
+    public ResponseEntity<Map<String, IndexBuildStatus>> getIndexStatuses() {
+        LOGGER.info("Getting the build status of the indexes!");
+
+        return indexService.getIndexStatuses();
+    }
+}
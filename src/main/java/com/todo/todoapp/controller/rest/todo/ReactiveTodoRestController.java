@@ -0,0 +1,105 @@
+package com.todo.todoapp.controller.rest.todo;
+
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.service.todo.IReactiveTodoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import static com.todo.todoapp.util.Constants.PROFILE_REACTIVE;
+
+@RestController
+@Profile(PROFILE_REACTIVE)
+public class ReactiveTodoRestController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveTodoRestController.class);
+
+    private static final String GET_MAPPING_TODOS_ALL = "/todosAll";
+    private static final String GET_MAPPING_TODOS = "/todos";
+    private static final String GET_MAPPING_TODOS_WITH_TODO_ID_PATHVAR = "/todos/{todoId}";
+
+    private static final String POST_MAPPING_TODOS = "/todos";
+
+    private static final String PUT_MAPPING_TODOS_WITH_TODO_ID_PATHVAR = "/todos/{todoId}";
+
+    private static final String DELETE_MAPPING_TODOS_WITH_TODO_ID_PATHVAR = "/todos/{todoId}";
+
+    private static final String PRE_AUTHORIZE_ROLE_USER = "hasRole('ROLE_USER')";
+
+    private static final String REQUEST_PARAM_PAGE_TOKEN = "pageToken";
+    private static final String REQUEST_PARAM_PAGE_SIZE = "pageSize";
+    private static final String REQUEST_PARAM_FIELDS = "fields";
+
+    private final IReactiveTodoService todoService;
+
+    @Autowired
+    public ReactiveTodoRestController(IReactiveTodoService todoService) {
+        this.todoService = todoService;
+    }
+
+    @PreAuthorize(PRE_AUTHORIZE_ROLE_USER)
+    @GetMapping(GET_MAPPING_TODOS_ALL)
+    public Mono<ResponseEntity<Object>> getAllTodos(@RequestParam(name = REQUEST_PARAM_FIELDS, required = false) String fields) {
+        LOGGER.info("Getting all Todos from the database!");
+
+        return todoService.getTodos(fields);
+    }
+
+    @PreAuthorize(PRE_AUTHORIZE_ROLE_USER)
+    @GetMapping(GET_MAPPING_TODOS)
+    public Mono<ResponseEntity<Object>> getTodos(@AuthenticationPrincipal OAuth2User principal,
+                                                 @RequestParam(name = REQUEST_PARAM_PAGE_TOKEN, required = false) String pageToken,
+                                                 @RequestParam(name = REQUEST_PARAM_PAGE_SIZE, required = false) Integer pageSize,
+                                                 @RequestParam(name = REQUEST_PARAM_FIELDS, required = false) String fields) {
+        LOGGER.info("Getting Todos for the user from the database!");
+
+        return todoService.getTodos(principal, pageToken, pageSize, fields);
+    }
+
+    @GetMapping(GET_MAPPING_TODOS_WITH_TODO_ID_PATHVAR)
+    public Mono<ResponseEntity<Object>> getTodo(@PathVariable String todoId,
+                                                @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LOGGER.info("Getting Todo from the database!");
+
+        return todoService.getTodo(todoId, ifNoneMatch);
+    }
+
+    @PostMapping(POST_MAPPING_TODOS)
+    public Mono<ResponseEntity<Object>> saveTodo(@RequestBody Todo todo) {
+        LOGGER.info("Saving Todo into the database: {} !", todo);
+
+        return todoService.saveTodo(todo);
+    }
+
+    @PutMapping(PUT_MAPPING_TODOS_WITH_TODO_ID_PATHVAR)
+    public Mono<ResponseEntity<Object>> updateTodo(@PathVariable String todoId, @RequestBody Todo todo,
+                                                   @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        LOGGER.info("Updating Todo to {} !", todo);
+
+        return todoService.updateTodo(todoId, todo, ifMatch);
+    }
+
+    @DeleteMapping(DELETE_MAPPING_TODOS_WITH_TODO_ID_PATHVAR)
+    public Mono<ResponseEntity<Object>> deleteTodo(@PathVariable String todoId,
+                                                   @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        LOGGER.info("Deleting Todo from the database!");
+
+        return todoService.deleteTodo(todoId, ifMatch);
+    }
+}
@@ -1,71 +1,133 @@
 package com.todo.todoapp.controller.rest.todo;
 
 import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.todo.TodoFilter;
+import com.todo.todoapp.model.todo.batch.TodoBatchOperation;
+import com.todo.todoapp.service.todo.ITodoBatchService;
 import com.todo.todoapp.service.todo.ITodoService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpSession;
 import java.util.List;
+import java.util.Map;
+
+import static com.todo.todoapp.util.Constants.MEDIA_TYPE_APPLICATION_MERGE_PATCH_JSON;
+import static com.todo.todoapp.util.Constants.MEDIA_TYPE_APPLICATION_NDJSON;
+import static com.todo.todoapp.util.Constants.PROFILE_NOT_REACTIVE;
 
 @RestController
+@Profile(PROFILE_NOT_REACTIVE)
 public class TodoRestController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TodoRestController.class);
 
     private static final String GET_MAPPING_TODOS_ALL = "/todosAll";
     private static final String GET_MAPPING_TODOS = "/todos";
+    private static final String GET_MAPPING_TODOS_SUMMARY = "/todos/summary";
+    private static final String GET_MAPPING_TODOS_SEARCH = "/todos/search";
     private static final String GET_MAPPING_TODOS_WITH_TODO_ID_PATHVAR = "/todos/{todoId}";
 
     private static final String POST_MAPPING_TODOS = "/todos";
+    private static final String POST_MAPPING_TODOS_BATCH = "/todos/batch";
 
     private static final String PUT_MAPPING_TODOS_WITH_TODO_ID_PATHVAR = "/todos/{todoId}";
 
+    private static final String PATCH_MAPPING_TODOS_WITH_TODO_ID_PATHVAR = "/todos/{todoId}";
+
     private static final String DELETE_MAPPING_TODOS_WITH_TODO_ID_PATHVAR = "/todos/{todoId}";
 
     private static final String PRE_AUTHORIZE_ROLE_USER = "hasRole('ROLE_USER')";
 
     private static final String ATTRIBUTE_SPRING_SECURITY_CONTEXT = "SPRING_SECURITY_CONTEXT";
 
+    private static final String REQUEST_PARAM_PAGE_TOKEN = "pageToken";
+    private static final String REQUEST_PARAM_PAGE_SIZE = "pageSize";
+    private static final String REQUEST_PARAM_FIELDS = "fields";
+    private static final String REQUEST_PARAM_SEARCH_QUERY = "q";
+    private static final String REQUEST_PARAM_LIMIT = "limit";
+
     private final ITodoService todoService;
+    private final ITodoBatchService todoBatchService;
 
     @Autowired
-    public TodoRestController(ITodoService todoService) {
+    public TodoRestController(ITodoService todoService, ITodoBatchService todoBatchService) {
         this.todoService = todoService;
+        this.todoBatchService = todoBatchService;
     }
 
     @PreAuthorize(PRE_AUTHORIZE_ROLE_USER)
     @GetMapping(GET_MAPPING_TODOS_ALL)
-    public ResponseEntity<List<Todo>> getAllTodos() {
+    public ResponseEntity<Object> getAllTodos(@RequestParam(name = REQUEST_PARAM_FIELDS, required = false) String fields) {
         LOGGER.info("Getting all Todos from the database!");
 
-        return todoService.getTodos();
+        return todoService.getTodos(fields);
+    }
+
+    @PreAuthorize(PRE_AUTHORIZE_ROLE_USER)
+    @GetMapping(value = GET_MAPPING_TODOS_ALL, produces = MEDIA_TYPE_APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllTodos(@RequestParam(name = REQUEST_PARAM_FIELDS, required = false) String fields) {
+        LOGGER.info("Streaming all Todos from the database!");
+
+        return todoService.streamTodos(fields);
     }
 
     @PreAuthorize(PRE_AUTHORIZE_ROLE_USER)
     @GetMapping(GET_MAPPING_TODOS)
-    public ResponseEntity<Object> getTodos(HttpSession session) {
-        LOGGER.info("Getting Todos for the user from the database!");
+    public ResponseEntity<Object> getTodos(HttpSession session,
+                                           @RequestParam(name = REQUEST_PARAM_PAGE_TOKEN, required = false) String pageToken,
+                                           @RequestParam(name = REQUEST_PARAM_PAGE_SIZE, required = false) Integer pageSize,
+                                           @RequestParam(name = REQUEST_PARAM_FIELDS, required = false) String fields,
+                                           // bound from the priority, deadlineFrom, deadlineTo, sort and limit query parameters
+                                           TodoFilter todoFilter,
+                                           @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LOGGER.info("Getting Todos for the user from the database: {} !", todoFilter);
+
+        return todoService.getTodos((SecurityContext) session.getAttribute(ATTRIBUTE_SPRING_SECURITY_CONTEXT), pageToken, pageSize, fields, todoFilter, ifNoneMatch);
+    }
+
+    @PreAuthorize(PRE_AUTHORIZE_ROLE_USER)
+    @GetMapping(GET_MAPPING_TODOS_SUMMARY)
+    public ResponseEntity<Object> getTodoSummary(HttpSession session) {
+        LOGGER.info("Getting the summary of the Todos for the user!");
 
-        return todoService.getTodos((SecurityContext) session.getAttribute(ATTRIBUTE_SPRING_SECURITY_CONTEXT));
+        return todoService.getTodoSummary((SecurityContext) session.getAttribute(ATTRIBUTE_SPRING_SECURITY_CONTEXT));
+    }
+
+    @PreAuthorize(PRE_AUTHORIZE_ROLE_USER)
+    @GetMapping(GET_MAPPING_TODOS_SEARCH)
+    public ResponseEntity<Object> searchTodos(HttpSession session,
+                                              @RequestParam(name = REQUEST_PARAM_SEARCH_QUERY, required = false) String searchQuery,
+                                              @RequestParam(name = REQUEST_PARAM_LIMIT, required = false) Integer limit) {
+        LOGGER.info("Searching the Todos of the user!");
+
+        return todoService.searchTodos((SecurityContext) session.getAttribute(ATTRIBUTE_SPRING_SECURITY_CONTEXT), searchQuery, limit);
     }
 
     @GetMapping(GET_MAPPING_TODOS_WITH_TODO_ID_PATHVAR)
-    public ResponseEntity<Object> getTodo(@PathVariable String todoId) {
+    public ResponseEntity<Object> getTodo(@PathVariable String todoId,
+                                          @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         LOGGER.info("Getting Todo from the database!");
 
-        return todoService.getTodo(todoId);
+        return todoService.getTodo(todoId, ifNoneMatch);
     }
 
     @PostMapping(POST_MAPPING_TODOS)
@@ -75,17 +137,34 @@ public class TodoRestController {
         return todoService.saveTodo(todo);
     }
 
+    @PostMapping(POST_MAPPING_TODOS_BATCH)
+    public ResponseEntity<Object> executeBatch(@RequestBody List<TodoBatchOperation> todoBatchOperations) {
+        LOGGER.info("Executing a batch of Todo operations!");
+
+        return todoBatchService.executeBatch(todoBatchOperations);
+    }
+
     @PutMapping(PUT_MAPPING_TODOS_WITH_TODO_ID_PATHVAR)
-    public ResponseEntity<Object> updateTodo(@PathVariable String todoId, @RequestBody Todo todo) {
+    public ResponseEntity<Object> updateTodo(@PathVariable String todoId, @RequestBody Todo todo,
+                                             @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         LOGGER.info("Updating Todo to {} !", todo);
 
-        return todoService.updateTodo(todoId, todo);
+        return todoService.updateTodo(todoId, todo, ifMatch);
+    }
+
+    @PatchMapping(value = PATCH_MAPPING_TODOS_WITH_TODO_ID_PATHVAR, consumes = {MEDIA_TYPE_APPLICATION_MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Object> patchTodo(@PathVariable String todoId, @RequestBody Map<String, Object> mergePatch,
+                                            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        LOGGER.info("Patching Todo with {} !", mergePatch);
+
+        return todoService.patchTodo(todoId, mergePatch, ifMatch);
     }
 
     @DeleteMapping(DELETE_MAPPING_TODOS_WITH_TODO_ID_PATHVAR)
-    public ResponseEntity<Object> deleteTodo(@PathVariable String todoId) {
+    public ResponseEntity<Object> deleteTodo(@PathVariable String todoId,
+                                             @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         LOGGER.info("Deleting Todo from the database!");
 
-        return todoService.deleteTodo(todoId);
+        return todoService.deleteTodo(todoId, ifMatch);
     }
 }
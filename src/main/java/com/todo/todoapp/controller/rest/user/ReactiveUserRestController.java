@@ -0,0 +1,70 @@
+package com.todo.todoapp.controller.rest.user;
+
+import com.todo.todoapp.service.user.IUserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static com.todo.todoapp.util.Constants.PROFILE_REACTIVE;
+
+/**
+ * The user endpoints of the reactive profile. The login only happens once per session, so the blocking UserService is reused,
+ * but it's called on the bounded elastic scheduler, never on the event loop.
+ */
+@RestController
+@Profile(PROFILE_REACTIVE)
+public class ReactiveUserRestController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveUserRestController.class);
+
+    private static final String GET_MAPPING_USERNAME = "/username";
+    private static final String GET_MAPPING_HANDLE_USER = "/handleUser";
+    private static final String GET_MAPPING_USER_CACHE_STATISTICS = "/userCacheStatistics";
+
+    private static final String KEY_NAME = "name";
+    private static final String KEY_USER = "user";
+
+    private static final String PRE_AUTHORIZE_ROLE_USER = "hasRole('ROLE_USER')";
+
+    private final IUserService userService;
+
+    @Autowired
+    public ReactiveUserRestController(IUserService userService) {
+        this.userService = userService;
+    }
+
+    @GetMapping(GET_MAPPING_USERNAME)
+    public Mono<Map<String, Object>> getUsername(@AuthenticationPrincipal OAuth2User principal) {
+        LOGGER.info("Getting username!");
+
+        return Mono.fromSupplier(() -> Collections.singletonMap(KEY_NAME, (Object) userService.getUsername(principal)));
+    }
+
+    @PreAuthorize(PRE_AUTHORIZE_ROLE_USER)
+    @GetMapping(GET_MAPPING_HANDLE_USER)
+    public Mono<Map<String, Object>> handleUser(@AuthenticationPrincipal OAuth2User principal) {
+        LOGGER.info("Handling user!");
+
+        return Mono.fromCallable(() -> Collections.singletonMap(KEY_USER, (Object) userService.handleUser(principal)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PreAuthorize(PRE_AUTHORIZE_ROLE_USER)
+    @GetMapping(GET_MAPPING_USER_CACHE_STATISTICS)
+    public Mono<Map<String, Long>> getUserCacheStatistics() {
+        LOGGER.info("Getting the statistics of the user cache!");
+
+        return Mono.fromSupplier(userService::getUserCacheStatistics);
+    }
+}
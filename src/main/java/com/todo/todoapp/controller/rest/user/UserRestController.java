@@ -4,6 +4,7 @@ import com.todo.todoapp.service.user.IUserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
@@ -13,13 +14,17 @@ import org.springframework.web.bind.annotation.RestController;
 import java.util.Collections;
 import java.util.Map;
 
+import static com.todo.todoapp.util.Constants.PROFILE_NOT_REACTIVE;
+
 @RestController
+@Profile(PROFILE_NOT_REACTIVE)
 public class UserRestController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UserRestController.class);
 
     private static final String GET_MAPPING_USERNAME = "/username";
     private static final String GET_MAPPING_HANDLE_USER = "/handleUser";
+    private static final String GET_MAPPING_USER_CACHE_STATISTICS = "/userCacheStatistics";
 
     private static final String KEY_NAME = "name";
     private static final String KEY_USER = "user";
@@ -48,4 +53,12 @@ public class UserRestController {
 
         return Collections.singletonMap(KEY_USER, userService.handleUser(principal));
     }
+
+    @PreAuthorize(PRE_AUTHORIZE_ROLE_USER)
+    @GetMapping(GET_MAPPING_USER_CACHE_STATISTICS)
+    public Map<String, Long> getUserCacheStatistics() {
+        LOGGER.info("Getting the statistics of the user cache!");
+
+        return userService.getUserCacheStatistics();
+    }
 }
@@ -0,0 +1,68 @@
+package com.todo.todoapp.interceptor.ratelimit;
+
+import com.todo.todoapp.model.todo.batch.TodoBatchOperation;
+import com.todo.todoapp.ratelimit.RateLimitExceededException;
+import com.todo.todoapp.ratelimit.RouteGroup;
+import com.todo.todoapp.ratelimit.UserRateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static com.todo.todoapp.util.Constants.PROFILE_NOT_REACTIVE;
+
+/**
+ * Charges the batch requests to the BATCH rate limit of the user with one permit per operation, as soon as their body was read,
+ * so a batch can't be used to write faster than the single Todo routes allow. The RateLimitInterceptor can't do it,
+ * as it runs before the body is read.
+ */
+@ControllerAdvice
+@Profile(PROFILE_NOT_REACTIVE)
+public class BatchRateLimitAdvice extends RequestBodyAdviceAdapter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchRateLimitAdvice.class);
+
+    private final UserRateLimiter userRateLimiter;
+
+    @Autowired
+    public BatchRateLimitAdvice(UserRateLimiter userRateLimiter) {
+        this.userRateLimiter = userRateLimiter;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        ResolvableType resolvableType = ResolvableType.forType(targetType);
+
+        return List.class.equals(resolvableType.resolve()) && TodoBatchOperation.class.equals(resolvableType.resolveGeneric(0));
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        String userKey = RateLimitInterceptor.getUserKey();
+
+        if (userKey == null) {
+            return body;
+        }
+
+        // even an empty batch costs a request
+        long waitNanos = userRateLimiter.tryAcquire(userKey, RouteGroup.BATCH, Math.max(1, ((List<?>) body).size()));
+
+        if (waitNanos > 0) {
+            LOGGER.debug("The user {} is over the rate limit of the {} routes!", userKey, RouteGroup.BATCH);
+
+            throw new RateLimitExceededException(RouteGroup.BATCH, waitNanos);
+        }
+
+        return body;
+    }
+}
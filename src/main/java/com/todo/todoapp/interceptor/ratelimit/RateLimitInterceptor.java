@@ -0,0 +1,91 @@
+package com.todo.todoapp.interceptor.ratelimit;
+
+import com.todo.todoapp.model.user.TodoPrincipal;
+import com.todo.todoapp.ratelimit.RouteGroup;
+import com.todo.todoapp.ratelimit.UserRateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static com.todo.todoapp.util.Constants.ERR_MSG_TOO_MANY_REQUESTS;
+
+/**
+ * Rejects the requests of the Todo routes with 429 Too Many Requests, when the user is over the limit of the route group.
+ * The Retry-After header tells the client, in seconds, when its next request is allowed.
+ */
+@Component
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    private final UserRateLimiter userRateLimiter;
+
+    @Autowired
+    public RateLimitInterceptor(UserRateLimiter userRateLimiter) {
+        this.userRateLimiter = userRateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, Object handler) throws IOException {
+        // an asynchronous request (e.g. a streamed response) is dispatched again once it's done, it was already counted
+        if (httpServletRequest.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        Object route = httpServletRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        RouteGroup routeGroup = route == null ? null : RouteGroup.of(route.toString(), httpServletRequest.getMethod());
+        String userKey = getUserKey();
+
+        // the batch is charged by its number of operations, by the BatchRateLimitAdvice once its body was read
+        if (routeGroup == null || routeGroup == RouteGroup.BATCH || userKey == null) {
+            return true;
+        }
+
+        long waitNanos = userRateLimiter.tryAcquire(userKey, routeGroup);
+
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        LOGGER.debug("The user {} is over the rate limit of the {} routes!", userKey, routeGroup);
+
+        httpServletResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        httpServletResponse.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(UserRateLimiter.toRetryAfterSeconds(waitNanos)));
+        httpServletResponse.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        httpServletResponse.getWriter().write(ERR_MSG_TOO_MANY_REQUESTS);
+
+        return false;
+    }
+
+    /**
+     * Returns the key of the bucket of the logged in user: the ID of the User if the principal carries it,
+     * otherwise the name of the principal.
+     *
+     * @return - the key of the user, or null if no user is logged in
+     */
+    static String getUserKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+
+        return authentication.getPrincipal() instanceof TodoPrincipal
+                ? ((TodoPrincipal) authentication.getPrincipal()).getUserId()
+                : authentication.getName();
+    }
+}
@@ -1,28 +1,103 @@
 package com.todo.todoapp.interceptor.todo;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.todo.todoapp.util.Constants.METRIC_NAME_HTTP_ERRORS;
+import static com.todo.todoapp.util.Constants.METRIC_NAME_HTTP_REQUESTS;
+import static com.todo.todoapp.util.Constants.METRIC_NAME_HTTP_REQUESTS_ACTIVE;
+import static com.todo.todoapp.util.Constants.TAG_EXCEPTION;
+import static com.todo.todoapp.util.Constants.TAG_METHOD;
+import static com.todo.todoapp.util.Constants.TAG_ROUTE;
+import static com.todo.todoapp.util.Constants.TAG_STATUS;
+import static com.todo.todoapp.util.Constants.TAG_VALUE_NONE;
+import static com.todo.todoapp.util.Constants.TAG_VALUE_UNMATCHED;
+
+/**
+ * Records the latency, the number of in-flight requests and the errors of every handled request, per route.
+ * The metrics are exported through the actuator's metrics endpoint, their histograms are configured in the application.yml.
+ */
 @Component
-public class TodoInterceptor implements HandlerInterceptor {
+public class TodoInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ATTRIBUTE_TIMER_SAMPLE = TodoInterceptor.class.getName() + ".timerSample";
+    private static final String ATTRIBUTE_ROUTE = TodoInterceptor.class.getName() + ".route";
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(TodoInterceptor.class);
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> activeRequestsByRoute = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TodoInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, Object handler) {
-        LOGGER.info("Status: {}, before: {} - {}", httpServletResponse.getStatus(), httpServletRequest.getRequestURI(), httpServletRequest.getMethod());
+        // an asynchronous request (e.g. a streamed response) is dispatched again once it's done, it's still the same request
+        if (httpServletRequest.getAttribute(ATTRIBUTE_TIMER_SAMPLE) == null) {
+            String route = getRoute(httpServletRequest);
+
+            getActiveRequests(route).incrementAndGet();
+            httpServletRequest.setAttribute(ATTRIBUTE_ROUTE, route);
+            httpServletRequest.setAttribute(ATTRIBUTE_TIMER_SAMPLE, Timer.start(meterRegistry));
+        }
 
         return true;
     }
 
     @Override
-    public void postHandle(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, Object handler, ModelAndView modelAndView) {
-        LOGGER.info("Status: {}, after: {} - {}", httpServletResponse.getStatus(), httpServletRequest.getRequestURI(), httpServletRequest.getMethod());
+    public void afterCompletion(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, Object handler, Exception exception) {
+        Timer.Sample timerSample = (Timer.Sample) httpServletRequest.getAttribute(ATTRIBUTE_TIMER_SAMPLE);
+
+        if (timerSample == null) {
+            return;
+        }
+
+        httpServletRequest.removeAttribute(ATTRIBUTE_TIMER_SAMPLE);
+
+        String route = (String) httpServletRequest.getAttribute(ATTRIBUTE_ROUTE);
+        int status = httpServletResponse.getStatus();
+        Tags tags = Tags.of(TAG_ROUTE, route, TAG_METHOD, httpServletRequest.getMethod(), TAG_STATUS, String.valueOf(status));
+
+        timerSample.stop(meterRegistry.timer(METRIC_NAME_HTTP_REQUESTS, tags));
+        getActiveRequests(route).decrementAndGet();
+
+        if (exception != null || status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+            String exceptionName = exception == null ? TAG_VALUE_NONE : exception.getClass().getSimpleName();
+
+            Counter.builder(METRIC_NAME_HTTP_ERRORS)
+                    .tags(tags.and(TAG_EXCEPTION, exceptionName))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    /**
+     * Returns the route template of the request (e.g. /todos/{todoId}), so the number of tags doesn't grow with the IDs.
+     *
+     * @param httpServletRequest - the current request
+     * @return - the matched route template, or UNMATCHED if no handler was mapped to the request
+     */
+    private String getRoute(HttpServletRequest httpServletRequest) {
+        Object bestMatchingPattern = httpServletRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        return bestMatchingPattern == null ? TAG_VALUE_UNMATCHED : bestMatchingPattern.toString();
+    }
+
+    private AtomicInteger getActiveRequests(String route) {
+        return activeRequestsByRoute.computeIfAbsent(route,
+                key -> meterRegistry.gauge(METRIC_NAME_HTTP_REQUESTS_ACTIVE, Tags.of(TAG_ROUTE, key), new AtomicInteger()));
     }
 }
@@ -0,0 +1,128 @@
+package com.todo.todoapp.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Samples and rate limits the INFO and lower events of the configured loggers, before the event is even created.
+ * WARN and ERROR events are never dropped. The configuration of a logger is resolved once, from its most specific entry.
+ */
+public class LogThrottlingTurboFilter extends TurboFilter {
+
+    private static final Throttle NO_THROTTLE = new Throttle(1.0, 0);
+    private static final char PACKAGE_SEPARATOR = '.';
+
+    private final Map<String, Double> sampleRates;
+    private final Map<String, Integer> rateLimits;
+    private final Map<String, Throttle> throttlesByLogger = new ConcurrentHashMap<>();
+    private final LongAdder droppedEvents = new LongAdder();
+
+    public LogThrottlingTurboFilter(Map<String, Double> sampleRates, Map<String, Integer> rateLimits) {
+        this.sampleRates = Map.copyOf(sampleRates);
+        this.rateLimits = Map.copyOf(rateLimits);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable throwable) {
+        // the isXxxEnabled() checks have no format, those are answered by the logger levels
+        if (format == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        Throttle throttle = throttlesByLogger.computeIfAbsent(logger.getName(), this::resolveThrottle);
+
+        if (throttle == NO_THROTTLE || throttle.tryAcquire()) {
+            return FilterReply.NEUTRAL;
+        }
+
+        droppedEvents.increment();
+
+        return FilterReply.DENY;
+    }
+
+    /**
+     * Returns the number of events dropped by the sampling or the rate limits since the start of the application.
+     *
+     * @return - the number of dropped events
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    private Throttle resolveThrottle(String loggerName) {
+        Double sampleRate = findMostSpecific(sampleRates, loggerName);
+        Integer rateLimit = findMostSpecific(rateLimits, loggerName);
+
+        if (sampleRate == null && rateLimit == null) {
+            return NO_THROTTLE;
+        }
+
+        return new Throttle(sampleRate == null ? 1.0 : sampleRate, rateLimit == null ? 0 : rateLimit);
+    }
+
+    private <T> T findMostSpecific(Map<String, T> valuesByLoggerName, String loggerName) {
+        String name = loggerName;
+
+        while (true) {
+            T value = valuesByLoggerName.get(name);
+
+            if (value != null) {
+                return value;
+            }
+
+            int lastSeparatorIndex = name.lastIndexOf(PACKAGE_SEPARATOR);
+
+            if (lastSeparatorIndex < 0) {
+                return null;
+            }
+
+            name = name.substring(0, lastSeparatorIndex);
+        }
+    }
+
+    private static class Throttle {
+
+        private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private final double sampleRate;
+        private final int eventsPerSecond;
+        private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+        private final AtomicInteger eventsInWindow = new AtomicInteger();
+
+        private Throttle(double sampleRate, int eventsPerSecond) {
+            this.sampleRate = sampleRate;
+            this.eventsPerSecond = eventsPerSecond;
+        }
+
+        private boolean tryAcquire() {
+            if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                return false;
+            }
+
+            if (eventsPerSecond <= 0) {
+                return true;
+            }
+
+            long now = System.nanoTime();
+            long start = windowStart.get();
+
+            // the first thread which sees the expired window opens the next one
+            if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+                eventsInWindow.set(0);
+            }
+
+            return eventsInWindow.incrementAndGet() <= eventsPerSecond;
+        }
+    }
+}
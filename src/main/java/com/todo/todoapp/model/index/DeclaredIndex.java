@@ -0,0 +1,246 @@
+package com.todo.todoapp.model.index;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class DeclaredIndex {
+
+    private static final String TEXT_INDEX_TYPE = "text";
+    private static final float DEFAULT_TEXT_WEIGHT = 1F;
+    private static final String TEXT_INDEX_TERM_KEY = "_ftsx";
+
+    private final String collectionName;
+
+    private final String name;
+
+    private final Map<String, Sort.Direction> keys;
+
+    private final List<String> textKeys;
+
+    private final boolean unique;
+
+    private final Document partialFilterExpression;
+
+    private final Duration expireAfter;
+
+    public DeclaredIndex(String collectionName, String name, Map<String, Sort.Direction> keys, List<String> textKeys, boolean unique,
+                         Document partialFilterExpression, Duration expireAfter) {
+        this.collectionName = collectionName;
+        this.name = name;
+        this.keys = Collections.unmodifiableMap(new LinkedHashMap<>(keys));
+        this.textKeys = List.copyOf(textKeys);
+        this.unique = unique;
+        this.partialFilterExpression = partialFilterExpression;
+        this.expireAfter = expireAfter;
+    }
+
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Sort.Direction> getKeys() {
+        return keys;
+    }
+
+    public List<String> getTextKeys() {
+        return textKeys;
+    }
+
+    public boolean isUnique() {
+        return unique;
+    }
+
+    public Document getPartialFilterExpression() {
+        return partialFilterExpression;
+    }
+
+    public Duration getExpireAfter() {
+        return expireAfter;
+    }
+
+    /**
+     * Copies the declaration under another name, so an index which differs from its declaration can be replaced
+     * by building the new one next to it.
+     *
+     * @param name - the name of the copy
+     * @return - the same declaration with the given name
+     */
+    public DeclaredIndex copyWithName(String name) {
+        return new DeclaredIndex(collectionName, name, keys, textKeys, unique, partialFilterExpression, expireAfter);
+    }
+
+    /**
+     * Creates the Mongo index definition from the declaration. The index is always built in the background,
+     * so the collection is not locked while the index is being built. The text keys follow the ordinary keys,
+     * so the ordinary keys are the equality prefix of a compound text index.
+     *
+     * @return - the Index which can be passed to IndexOperations.ensureIndex()
+     */
+    public Index toIndex() {
+        Index index;
+
+        if (textKeys.isEmpty()) {
+            index = new Index();
+            keys.forEach(index::on);
+        } else {
+            Document indexKeys = new Document();
+            keys.forEach((key, direction) -> indexKeys.append(key, direction == Sort.Direction.ASC ? 1 : -1));
+            textKeys.forEach(textKey -> indexKeys.append(textKey, TEXT_INDEX_TYPE));
+            index = new CompoundIndexDefinition(indexKeys);
+        }
+
+        index.named(name).background();
+
+        if (unique) {
+            index.unique();
+        }
+
+        if (partialFilterExpression != null) {
+            index.partial(PartialIndexFilter.of(partialFilterExpression));
+        }
+
+        if (expireAfter != null) {
+            index.expire(expireAfter);
+        }
+
+        return index;
+    }
+
+    /**
+     * Decides whether the given, already existing index is the same as the declared one.
+     *
+     * @param indexInfo - an index which already exists in the database with the same name
+     * @return - true if the keys and the options of the existing index are the same as the declared ones
+     */
+    public boolean matches(IndexInfo indexInfo) {
+        List<IndexField> declaredFields = keys.entrySet()
+                .stream()
+                .map(key -> IndexField.create(key.getKey(), key.getValue()))
+                .collect(Collectors.toCollection(ArrayList::new));
+        textKeys.forEach(textKey -> declaredFields.add(IndexField.text(textKey, DEFAULT_TEXT_WEIGHT)));
+        // the internal key of the text indexes is reported as an ordinary field
+        List<IndexField> existingFields = indexInfo.getIndexFields()
+                .stream()
+                .filter(indexField -> !TEXT_INDEX_TERM_KEY.equals(indexField.getKey()))
+                .collect(Collectors.toList());
+        Document existingPartialFilterExpression = indexInfo.getPartialFilterExpression() == null
+                ? null
+                : Document.parse(indexInfo.getPartialFilterExpression());
+
+        return declaredFields.equals(existingFields) &&
+                unique == indexInfo.isUnique() &&
+                Objects.equals(partialFilterExpression, existingPartialFilterExpression) &&
+                Objects.equals(Optional.ofNullable(expireAfter), indexInfo.getExpireAfter());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DeclaredIndex that = (DeclaredIndex) o;
+        return unique == that.unique &&
+                Objects.equals(collectionName, that.collectionName) &&
+                Objects.equals(name, that.name) &&
+                Objects.equals(keys, that.keys) &&
+                Objects.equals(textKeys, that.textKeys) &&
+                Objects.equals(partialFilterExpression, that.partialFilterExpression) &&
+                Objects.equals(expireAfter, that.expireAfter);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(collectionName, name, keys, textKeys, unique, partialFilterExpression, expireAfter);
+    }
+
+    @Override
+    public String toString() {
+        return "DeclaredIndex{" +
+                "collectionName='" + collectionName + '\'' +
+                ", name='" + name + '\'' +
+                ", keys=" + keys +
+                ", textKeys=" + textKeys +
+                ", unique=" + unique +
+                ", partialFilterExpression=" + partialFilterExpression +
+                ", expireAfter=" + expireAfter +
+                '}';
+    }
+
+    public static class Builder {
+        private String collectionName;
+        private String name;
+        private final Map<String, Sort.Direction> keys = new LinkedHashMap<>();
+        private final List<String> textKeys = new ArrayList<>();
+        private boolean unique;
+        private Document partialFilterExpression;
+        private Duration expireAfter;
+
+        public DeclaredIndex.Builder withCollectionName(String collectionName) {
+            this.collectionName = collectionName;
+
+            return this;
+        }
+
+        public DeclaredIndex.Builder withName(String name) {
+            this.name = name;
+
+            return this;
+        }
+
+        public DeclaredIndex.Builder on(String key) {
+            return on(key, Sort.Direction.ASC);
+        }
+
+        public DeclaredIndex.Builder on(String key, Sort.Direction direction) {
+            this.keys.put(key, direction);
+
+            return this;
+        }
+
+        public DeclaredIndex.Builder onText(String key) {
+            this.textKeys.add(key);
+
+            return this;
+        }
+
+        public DeclaredIndex.Builder unique() {
+            this.unique = true;
+
+            return this;
+        }
+
+        public DeclaredIndex.Builder withPartialFilterExpression(Document partialFilterExpression) {
+            this.partialFilterExpression = partialFilterExpression;
+
+            return this;
+        }
+
+        public DeclaredIndex.Builder withExpireAfter(Duration expireAfter) {
+            this.expireAfter = expireAfter;
+
+            return this;
+        }
+
+        public DeclaredIndex build() {
+            return new DeclaredIndex(collectionName, name, keys, textKeys, unique, partialFilterExpression, expireAfter);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.todo.todoapp.model.index;
+
+public enum IndexBuildStatus {
+
+    PENDING, BUILDING, READY, FAILED, DROPPED
+}
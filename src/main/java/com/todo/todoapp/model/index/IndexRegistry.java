@@ -0,0 +1,58 @@
+package com.todo.todoapp.model.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class IndexRegistry {
+
+    private final List<DeclaredIndex> declaredIndexes;
+
+    private final Map<String, Set<String>> retiredIndexNames;
+
+    public IndexRegistry(List<DeclaredIndex> declaredIndexes, Map<String, Set<String>> retiredIndexNames) {
+        this.declaredIndexes = Collections.unmodifiableList(new ArrayList<>(declaredIndexes));
+        this.retiredIndexNames = Collections.unmodifiableMap(new LinkedHashMap<>(retiredIndexNames));
+    }
+
+    public List<DeclaredIndex> getDeclaredIndexes() {
+        return declaredIndexes;
+    }
+
+    public Map<String, Set<String>> getRetiredIndexNames() {
+        return retiredIndexNames;
+    }
+
+    public Set<String> getCollectionNames() {
+        Set<String> collectionNames = new LinkedHashSet<>(retiredIndexNames.keySet());
+
+        declaredIndexes.forEach(declaredIndex -> collectionNames.add(declaredIndex.getCollectionName()));
+
+        return collectionNames;
+    }
+
+    public static class Builder {
+        private final List<DeclaredIndex> declaredIndexes = new ArrayList<>();
+        private final Map<String, Set<String>> retiredIndexNames = new LinkedHashMap<>();
+
+        public IndexRegistry.Builder declare(DeclaredIndex declaredIndex) {
+            this.declaredIndexes.add(declaredIndex);
+
+            return this;
+        }
+
+        public IndexRegistry.Builder retire(String collectionName, String indexName) {
+            this.retiredIndexNames.computeIfAbsent(collectionName, key -> new LinkedHashSet<>()).add(indexName);
+
+            return this;
+        }
+
+        public IndexRegistry build() {
+            return new IndexRegistry(declaredIndexes, retiredIndexNames);
+        }
+    }
+}
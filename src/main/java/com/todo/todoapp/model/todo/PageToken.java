@@ -0,0 +1,56 @@
+package com.todo.todoapp.model.todo;
+
+import java.util.Objects;
+
+public class PageToken {
+
+    private final String lastTodoId;
+
+    // the sort the token was created for, e.g. '-deadline', or null for the default sort by the ascending ID
+    private final String sort;
+
+    // the value of the sorted field of the last Todo, or null if the Todo has no value or the Todos are sorted by their ID
+    private final String lastSortValue;
+
+    public PageToken(String lastTodoId, String sort, String lastSortValue) {
+        this.lastTodoId = lastTodoId;
+        this.sort = sort;
+        this.lastSortValue = lastSortValue;
+    }
+
+    public String getLastTodoId() {
+        return lastTodoId;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public String getLastSortValue() {
+        return lastSortValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PageToken pageToken = (PageToken) o;
+        return Objects.equals(lastTodoId, pageToken.lastTodoId) &&
+                Objects.equals(sort, pageToken.sort) &&
+                Objects.equals(lastSortValue, pageToken.lastSortValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lastTodoId, sort, lastSortValue);
+    }
+
+    @Override
+    public String toString() {
+        return "PageToken{" +
+                "lastTodoId='" + lastTodoId + '\'' +
+                ", sort='" + sort + '\'' +
+                ", lastSortValue='" + lastSortValue + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,17 @@
+package com.todo.todoapp.model.todo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+/**
+ * A Todo which was read with only the fields requested by the client. The fields which were not read are omitted from its JSON,
+ * while a full Todo keeps its shape, with its null fields too.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProjectedTodo extends Todo {
+
+    public ProjectedTodo(String id, String userId, String name, LocalDate deadline, Priority priority, Long version) {
+        super(id, userId, name, deadline, priority, version);
+    }
+}
@@ -17,6 +17,7 @@ public class Todo {
     private static final String FIELD_NAME = "name";
     private static final String FIELD_DEADLINE = "deadline";
     private static final String FIELD_PRIORITY = "priority";
+    private static final String FIELD_VERSION = "version";
 
     @Id
     private final String id;
@@ -40,12 +41,16 @@ public class Todo {
     @Valid
     private Priority priority;
 
-    public Todo(String id, @NotNull @NotEmpty String userId, @NotEmpty @NotNull @Valid String name, LocalDate deadline, @NotNull @Valid Priority priority) {
+    @Field(FIELD_VERSION)
+    private final Long version;
+
+    public Todo(String id, @NotNull @NotEmpty String userId, @NotEmpty @NotNull @Valid String name, LocalDate deadline, @NotNull @Valid Priority priority, Long version) {
         this.id = id;
         this.userId = userId;
         this.name = name;
         this.deadline = deadline;
         this.priority = priority;
+        this.version = version;
     }
 
     public String getId() {
@@ -80,6 +85,10 @@ public class Todo {
         return userId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -89,12 +98,13 @@ public class Todo {
                 Objects.equals(userId, todo.userId) &&
                 Objects.equals(name, todo.name) &&
                 Objects.equals(deadline, todo.deadline) &&
-                priority == todo.priority;
+                priority == todo.priority &&
+                Objects.equals(version, todo.version);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, userId, name, deadline, priority);
+        return Objects.hash(id, userId, name, deadline, priority, version);
     }
 
     @Override
@@ -105,6 +115,7 @@ public class Todo {
                 ", name='" + name + '\'' +
                 ", deadline=" + deadline +
                 ", priority=" + priority +
+                ", version=" + version +
                 '}';
     }
 
@@ -114,6 +125,7 @@ public class Todo {
         private String name;
         private LocalDate deadline;
         private Priority priority;
+        private Long version;
 
         public Todo.Builder withId(String id) {
             this.id = id;
@@ -145,8 +157,14 @@ public class Todo {
             return this;
         }
 
+        public Todo.Builder withVersion(Long version) {
+            this.version = version;
+
+            return this;
+        }
+
         public Todo build() {
-            return new Todo(id, userId, name, deadline, priority);
+            return new Todo(id, userId, name, deadline, priority, version);
         }
     }
 }
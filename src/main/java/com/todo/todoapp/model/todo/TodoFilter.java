@@ -0,0 +1,140 @@
+package com.todo.todoapp.model.todo;
+
+import java.util.Objects;
+
+/**
+ * The filtering and sorting query parameters of GET /todos, as they were sent by the client.
+ * They are validated and translated into the Mongo query by the TodoFilterUtil.
+ */
+public class TodoFilter {
+
+    private String priority;
+
+    private String deadlineFrom;
+
+    private String deadlineTo;
+
+    private String sort;
+
+    private Integer limit;
+
+    public TodoFilter() {}
+
+    public TodoFilter(String priority, String deadlineFrom, String deadlineTo, String sort, Integer limit) {
+        this.priority = priority;
+        this.deadlineFrom = deadlineFrom;
+        this.deadlineTo = deadlineTo;
+        this.sort = sort;
+        this.limit = limit;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public String getDeadlineFrom() {
+        return deadlineFrom;
+    }
+
+    public void setDeadlineFrom(String deadlineFrom) {
+        this.deadlineFrom = deadlineFrom;
+    }
+
+    public String getDeadlineTo() {
+        return deadlineTo;
+    }
+
+    public void setDeadlineTo(String deadlineTo) {
+        this.deadlineTo = deadlineTo;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TodoFilter that = (TodoFilter) o;
+        return Objects.equals(priority, that.priority) &&
+                Objects.equals(deadlineFrom, that.deadlineFrom) &&
+                Objects.equals(deadlineTo, that.deadlineTo) &&
+                Objects.equals(sort, that.sort) &&
+                Objects.equals(limit, that.limit);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(priority, deadlineFrom, deadlineTo, sort, limit);
+    }
+
+    @Override
+    public String toString() {
+        return "TodoFilter{" +
+                "priority='" + priority + '\'' +
+                ", deadlineFrom='" + deadlineFrom + '\'' +
+                ", deadlineTo='" + deadlineTo + '\'' +
+                ", sort='" + sort + '\'' +
+                ", limit=" + limit +
+                '}';
+    }
+
+    public static class Builder {
+        private String priority;
+        private String deadlineFrom;
+        private String deadlineTo;
+        private String sort;
+        private Integer limit;
+
+        public TodoFilter.Builder withPriority(String priority) {
+            this.priority = priority;
+
+            return this;
+        }
+
+        public TodoFilter.Builder withDeadlineFrom(String deadlineFrom) {
+            this.deadlineFrom = deadlineFrom;
+
+            return this;
+        }
+
+        public TodoFilter.Builder withDeadlineTo(String deadlineTo) {
+            this.deadlineTo = deadlineTo;
+
+            return this;
+        }
+
+        public TodoFilter.Builder withSort(String sort) {
+            this.sort = sort;
+
+            return this;
+        }
+
+        public TodoFilter.Builder withLimit(Integer limit) {
+            this.limit = limit;
+
+            return this;
+        }
+
+        public TodoFilter build() {
+            return new TodoFilter(priority, deadlineFrom, deadlineTo, sort, limit);
+        }
+    }
+}
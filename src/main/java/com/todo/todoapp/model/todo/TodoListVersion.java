@@ -0,0 +1,34 @@
+package com.todo.todoapp.model.todo;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * The version of a user's Todo list, keyed by the ID of the user. It's incremented after every write of the user's Todos,
+ * so the ETag of the list can be computed without reading the Todos themselves.
+ */
+@Document(collection = "TodoListVersion")
+public class TodoListVersion {
+
+    private static final String FIELD_VERSION = "version";
+
+    @Id
+    private final String userId;
+
+    @Field(FIELD_VERSION)
+    private final long version;
+
+    public TodoListVersion(String userId, long version) {
+        this.userId = userId;
+        this.version = version;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
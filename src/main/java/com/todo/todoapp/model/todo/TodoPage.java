@@ -0,0 +1,46 @@
+package com.todo.todoapp.model.todo;
+
+import java.util.List;
+import java.util.Objects;
+
+public class TodoPage {
+
+    private final List<Todo> todos;
+
+    private final String nextPageToken;
+
+    public TodoPage(List<Todo> todos, String nextPageToken) {
+        this.todos = todos;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<Todo> getTodos() {
+        return todos;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TodoPage todoPage = (TodoPage) o;
+        return Objects.equals(todos, todoPage.todos) &&
+                Objects.equals(nextPageToken, todoPage.nextPageToken);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(todos, nextPageToken);
+    }
+
+    @Override
+    public String toString() {
+        return "TodoPage{" +
+                "todos=" + todos +
+                ", nextPageToken='" + nextPageToken + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,65 @@
+package com.todo.todoapp.model.todo;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+
+public class TodoSummary {
+
+    private final Map<Priority, Long> priorityCounts;
+
+    private final long overdueCount;
+
+    private final long dueThisWeekCount;
+
+    private final LocalDate date;
+
+    public TodoSummary(Map<Priority, Long> priorityCounts, long overdueCount, long dueThisWeekCount, LocalDate date) {
+        this.priorityCounts = priorityCounts;
+        this.overdueCount = overdueCount;
+        this.dueThisWeekCount = dueThisWeekCount;
+        this.date = date;
+    }
+
+    public Map<Priority, Long> getPriorityCounts() {
+        return priorityCounts;
+    }
+
+    public long getOverdueCount() {
+        return overdueCount;
+    }
+
+    public long getDueThisWeekCount() {
+        return dueThisWeekCount;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TodoSummary that = (TodoSummary) o;
+        return overdueCount == that.overdueCount &&
+                dueThisWeekCount == that.dueThisWeekCount &&
+                Objects.equals(priorityCounts, that.priorityCounts) &&
+                Objects.equals(date, that.date);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(priorityCounts, overdueCount, dueThisWeekCount, date);
+    }
+
+    @Override
+    public String toString() {
+        return "TodoSummary{" +
+                "priorityCounts=" + priorityCounts +
+                ", overdueCount=" + overdueCount +
+                ", dueThisWeekCount=" + dueThisWeekCount +
+                ", date=" + date +
+                '}';
+    }
+}
@@ -0,0 +1,66 @@
+package com.todo.todoapp.model.todo.batch;
+
+import com.todo.todoapp.model.todo.Todo;
+
+import java.util.Objects;
+
+public class TodoBatchOperation {
+
+    private final TodoBatchOperationType type;
+
+    private final String todoId;
+
+    private final Todo todo;
+
+    // the version of the Todo the client has seen, the update or delete is only applied while the Todo still has it
+    private final Long version;
+
+    public TodoBatchOperation(TodoBatchOperationType type, String todoId, Todo todo, Long version) {
+        this.type = type;
+        this.todoId = todoId;
+        this.todo = todo;
+        this.version = version;
+    }
+
+    public TodoBatchOperationType getType() {
+        return type;
+    }
+
+    public String getTodoId() {
+        return todoId;
+    }
+
+    public Todo getTodo() {
+        return todo;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TodoBatchOperation that = (TodoBatchOperation) o;
+        return type == that.type &&
+                Objects.equals(todoId, that.todoId) &&
+                Objects.equals(todo, that.todo) &&
+                Objects.equals(version, that.version);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, todoId, todo, version);
+    }
+
+    @Override
+    public String toString() {
+        return "TodoBatchOperation{" +
+                "type=" + type +
+                ", todoId='" + todoId + '\'' +
+                ", todo=" + todo +
+                ", version=" + version +
+                '}';
+    }
+}
@@ -0,0 +1,6 @@
+package com.todo.todoapp.model.todo.batch;
+
+public enum TodoBatchOperationType {
+
+    CREATE, UPDATE, DELETE
+}
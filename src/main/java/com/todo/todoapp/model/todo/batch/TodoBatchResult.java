@@ -0,0 +1,72 @@
+package com.todo.todoapp.model.todo.batch;
+
+import java.util.Objects;
+
+public class TodoBatchResult {
+
+    private final int index;
+
+    private final TodoBatchOperationType type;
+
+    private final String todoId;
+
+    private final int status;
+
+    private final String message;
+
+    public TodoBatchResult(int index, TodoBatchOperationType type, String todoId, int status, String message) {
+        this.index = index;
+        this.type = type;
+        this.todoId = todoId;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public TodoBatchOperationType getType() {
+        return type;
+    }
+
+    public String getTodoId() {
+        return todoId;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TodoBatchResult that = (TodoBatchResult) o;
+        return index == that.index &&
+                status == that.status &&
+                type == that.type &&
+                Objects.equals(todoId, that.todoId) &&
+                Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, type, todoId, status, message);
+    }
+
+    @Override
+    public String toString() {
+        return "TodoBatchResult{" +
+                "index=" + index +
+                ", type=" + type +
+                ", todoId='" + todoId + '\'' +
+                ", status=" + status +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
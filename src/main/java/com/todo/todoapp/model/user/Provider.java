@@ -0,0 +1,6 @@
+package com.todo.todoapp.model.user;
+
+public enum Provider {
+
+    GOOGLE, GITHUB
+}
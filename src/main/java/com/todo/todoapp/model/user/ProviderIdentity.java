@@ -0,0 +1,45 @@
+package com.todo.todoapp.model.user;
+
+import java.util.Objects;
+
+public class ProviderIdentity {
+
+    private final Provider provider;
+
+    private final String providerId;
+
+    public ProviderIdentity(Provider provider, String providerId) {
+        this.provider = provider;
+        this.providerId = providerId;
+    }
+
+    public Provider getProvider() {
+        return provider;
+    }
+
+    public String getProviderId() {
+        return providerId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProviderIdentity that = (ProviderIdentity) o;
+        return provider == that.provider &&
+                Objects.equals(providerId, that.providerId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(provider, providerId);
+    }
+
+    @Override
+    public String toString() {
+        return "ProviderIdentity{" +
+                "provider=" + provider +
+                ", providerId='" + providerId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,39 @@
+package com.todo.todoapp.model.user;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A GitHub user with the ID of the User.
+ */
+public class TodoOAuth2User extends DefaultOAuth2User implements TodoPrincipal {
+
+    private final String userId;
+
+    public TodoOAuth2User(Collection<? extends GrantedAuthority> authorities, Map<String, Object> attributes, String nameAttributeKey, String userId) {
+        super(authorities, attributes, nameAttributeKey);
+        this.userId = userId;
+    }
+
+    @Override
+    public String getUserId() {
+        return userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!super.equals(o)) return false;
+        TodoOAuth2User that = (TodoOAuth2User) o;
+        return Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), userId);
+    }
+}
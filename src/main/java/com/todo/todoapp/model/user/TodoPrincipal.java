@@ -0,0 +1,12 @@
+package com.todo.todoapp.model.user;
+
+import org.springframework.security.oauth2.core.user.OAuth2User;
+
+/**
+ * An authenticated OAuth2 user, who carries the ID of the User resolved at the login,
+ * so the requests of the session don't have to look it up again.
+ */
+public interface TodoPrincipal extends OAuth2User {
+
+    String getUserId();
+}
@@ -0,0 +1,45 @@
+package com.todo.todoapp.model.user;
+
+import java.util.Objects;
+
+public class UserLogin {
+
+    private final ProviderIdentity providerIdentity;
+
+    private final String email;
+
+    public UserLogin(ProviderIdentity providerIdentity, String email) {
+        this.providerIdentity = providerIdentity;
+        this.email = email;
+    }
+
+    public ProviderIdentity getProviderIdentity() {
+        return providerIdentity;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserLogin userLogin = (UserLogin) o;
+        return Objects.equals(providerIdentity, userLogin.providerIdentity) &&
+                Objects.equals(email, userLogin.email);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(providerIdentity, email);
+    }
+
+    @Override
+    public String toString() {
+        return "UserLogin{" +
+                "providerIdentity=" + providerIdentity +
+                ", email='" + email + '\'' +
+                '}';
+    }
+}
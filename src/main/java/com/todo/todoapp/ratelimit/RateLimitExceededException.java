@@ -0,0 +1,24 @@
+package com.todo.todoapp.ratelimit;
+
+/**
+ * Thrown when a request is rejected by the rate limit after its body was read, e.g. a batch with too many operations.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final RouteGroup routeGroup;
+    private final long waitNanos;
+
+    public RateLimitExceededException(RouteGroup routeGroup, long waitNanos) {
+        super("The user is over the rate limit of the " + routeGroup + " routes!");
+        this.routeGroup = routeGroup;
+        this.waitNanos = waitNanos;
+    }
+
+    public RouteGroup getRouteGroup() {
+        return routeGroup;
+    }
+
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+}
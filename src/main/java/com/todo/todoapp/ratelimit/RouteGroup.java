@@ -0,0 +1,36 @@
+package com.todo.todoapp.ratelimit;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * The groups of the Todo routes which have their own rate limits.
+ * The BATCH group is charged by the number of operations in the batch, the other ones by request.
+ */
+public enum RouteGroup {
+
+    READS, WRITES, BATCH, ADMIN;
+
+    private static final String ROUTE_TODOS_ALL = "/todosAll";
+    private static final String ROUTE_TODOS = "/todos";
+    private static final String ROUTE_TODOS_PREFIX = ROUTE_TODOS + "/";
+    private static final String ROUTE_TODOS_BATCH = "/todos/batch";
+
+    /**
+     * Returns the group of the given route.
+     *
+     * @param route - the matched route template, e.g. /todos/{todoId}
+     * @param method - the HTTP method of the request
+     * @return - the group of the route, or null if the route is not rate limited
+     */
+    public static RouteGroup of(String route, String method) {
+        if (ROUTE_TODOS_ALL.equals(route)) {
+            return ADMIN;
+        } else if (ROUTE_TODOS_BATCH.equals(route) && HttpMethod.POST.matches(method)) {
+            return BATCH;
+        } else if (ROUTE_TODOS.equals(route) || (route != null && route.startsWith(ROUTE_TODOS_PREFIX))) {
+            return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? READS : WRITES;
+        }
+
+        return null;
+    }
+}
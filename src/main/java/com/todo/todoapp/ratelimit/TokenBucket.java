@@ -0,0 +1,70 @@
+package com.todo.todoapp.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket which holds at most the given capacity and is refilled with the given number of permits per second.
+ * Instead of the number of tokens and the time of the last refill, it only stores the time when the bucket will be full again
+ * (the theoretical arrival time of the generic cell rate algorithm), so a permit is taken with a single compare-and-set.
+ */
+public class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long nanosPerPermit;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, double permitsPerSecond, long nowNanos) {
+        this.nanosPerPermit = Math.max(1, Math.round(NANOS_PER_SECOND / permitsPerSecond));
+        this.burstNanos = (capacity - 1) * nanosPerPermit;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a permit from the bucket, if it has one.
+     *
+     * @param nowNanos - the current value of System.nanoTime()
+     * @return - 0 if a permit was taken, otherwise the nanoseconds until the next permit is available
+     */
+    public long tryAcquire(long nowNanos) {
+        return tryAcquire(nowNanos, 1);
+    }
+
+    /**
+     * Takes the given number of permits from the bucket at once, if it has them.
+     *
+     * @param nowNanos - the current value of System.nanoTime()
+     * @param permits - the number of permits to take, at most the capacity of the bucket
+     * @return - 0 if the permits were taken, otherwise the nanoseconds until the given number of permits is available
+     */
+    public long tryAcquire(long nowNanos, int permits) {
+        long permitsNanos = permits * nanosPerPermit;
+
+        while (true) {
+            long currentFullAt = fullAt.get();
+            // a bucket which has been full for a while does not hold more than its capacity
+            long refilledAt = Math.max(currentFullAt, nowNanos);
+            long waitNanos = refilledAt + permitsNanos - nanosPerPermit - nowNanos - burstNanos;
+
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+
+            if (fullAt.compareAndSet(currentFullAt, refilledAt + permitsNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the time an unused bucket needs to be refilled completely. An idle bucket can be dropped after it,
+     * as a new bucket is full too.
+     *
+     * @return - the nanoseconds needed to refill the whole capacity
+     */
+    public long getRefillNanos() {
+        return burstNanos + nanosPerPermit;
+    }
+}
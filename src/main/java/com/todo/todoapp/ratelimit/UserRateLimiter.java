@@ -0,0 +1,112 @@
+package com.todo.todoapp.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.todo.todoapp.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.todo.todoapp.util.Constants.METRIC_NAME_RATE_LIMIT_BUCKETS;
+import static com.todo.todoapp.util.Constants.METRIC_NAME_RATE_LIMIT_REJECTED;
+import static com.todo.todoapp.util.Constants.TAG_ROUTE_GROUP;
+
+/**
+ * Keeps a TokenBucket per user and route group, so a single client can't saturate Mongo for everyone.
+ * The buckets are dropped once they are refilled after the last request of the user, as a new bucket is full too,
+ * so only the recently active users take up memory.
+ */
+@Component
+public class UserRateLimiter {
+
+    private final boolean enabled;
+    private final Map<RouteGroup, RateLimitProperties.Bucket> bucketProperties = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, LoadingCache<String, TokenBucket>> bucketsByRouteGroup = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, Counter> rejectedRequestsByRouteGroup = new EnumMap<>(RouteGroup.class);
+
+    @Autowired
+    public UserRateLimiter(RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry) {
+        this.enabled = rateLimitProperties.isEnabled();
+
+        bucketProperties.put(RouteGroup.READS, rateLimitProperties.getReads());
+        bucketProperties.put(RouteGroup.WRITES, rateLimitProperties.getWrites());
+        bucketProperties.put(RouteGroup.BATCH, rateLimitProperties.getBatch());
+        bucketProperties.put(RouteGroup.ADMIN, rateLimitProperties.getAdmin());
+
+        for (RouteGroup routeGroup : RouteGroup.values()) {
+            LoadingCache<String, TokenBucket> buckets = Caffeine.newBuilder()
+                    .maximumSize(rateLimitProperties.getMaximumBuckets())
+                    .expireAfterAccess(Duration.ofNanos(createBucket(routeGroup).getRefillNanos()))
+                    .build(userKey -> createBucket(routeGroup));
+
+            bucketsByRouteGroup.put(routeGroup, buckets);
+            rejectedRequestsByRouteGroup.put(routeGroup, Counter.builder(METRIC_NAME_RATE_LIMIT_REJECTED)
+                    .tag(TAG_ROUTE_GROUP, routeGroup.name())
+                    .register(meterRegistry));
+            Gauge.builder(METRIC_NAME_RATE_LIMIT_BUCKETS, buckets, Cache::estimatedSize)
+                    .tag(TAG_ROUTE_GROUP, routeGroup.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Takes a permit from the bucket of the given user and route group.
+     *
+     * @param userKey - the ID of the user, or the name of the principal
+     * @param routeGroup - the group of the requested route
+     * @return - 0 if the request is allowed, otherwise the nanoseconds until the user can send the next request
+     */
+    public long tryAcquire(String userKey, RouteGroup routeGroup) {
+        return tryAcquire(userKey, routeGroup, 1);
+    }
+
+    /**
+     * Takes the given number of permits at once from the bucket of the given user and route group, e.g. one per operation of a batch.
+     * A request which needs more permits than the capacity takes the whole capacity.
+     *
+     * @param userKey - the ID of the user, or the name of the principal
+     * @param routeGroup - the group of the requested route
+     * @param permits - the number of permits the request costs
+     * @return - 0 if the request is allowed, otherwise the nanoseconds until the user can send the request again
+     */
+    public long tryAcquire(String userKey, RouteGroup routeGroup, int permits) {
+        if (!enabled) {
+            return 0;
+        }
+
+        long waitNanos = bucketsByRouteGroup.get(routeGroup)
+                .get(userKey)
+                .tryAcquire(System.nanoTime(), Math.min(permits, bucketProperties.get(routeGroup).getCapacity()));
+
+        if (waitNanos > 0) {
+            rejectedRequestsByRouteGroup.get(routeGroup).increment();
+        }
+
+        return waitNanos;
+    }
+
+    /**
+     * Converts the wait time returned by tryAcquire() into the value of the Retry-After header.
+     *
+     * @param waitNanos - the nanoseconds until the user can send the next request
+     * @return - the seconds until the user can send the next request, rounded up
+     */
+    public static long toRetryAfterSeconds(long waitNanos) {
+        // rounded up, so the client does not come back before its next request is allowed
+        return (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private TokenBucket createBucket(RouteGroup routeGroup) {
+        RateLimitProperties.Bucket bucket = bucketProperties.get(routeGroup);
+
+        return new TokenBucket(bucket.getCapacity(), bucket.getPermitsPerSecond(), System.nanoTime());
+    }
+}
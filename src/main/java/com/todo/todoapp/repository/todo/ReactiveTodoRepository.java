@@ -0,0 +1,11 @@
+package com.todo.todoapp.repository.todo;
+
+import com.todo.todoapp.model.todo.Todo;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveTodoRepository extends ReactiveMongoRepository<Todo, String> {
+    Flux<Todo> findByUserId(String userId);
+}
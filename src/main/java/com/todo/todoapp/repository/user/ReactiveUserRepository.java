@@ -0,0 +1,14 @@
+package com.todo.todoapp.repository.user;
+
+import com.todo.todoapp.model.user.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+
+    Mono<User> findByEmail(String email);
+    Mono<User> findByGithubId(String githubId);
+    Mono<User> findByGoogleId(String googleId);
+}
@@ -0,0 +1,12 @@
+package com.todo.todoapp.service.index;
+
+import com.todo.todoapp.model.index.IndexBuildStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+public interface IIndexService {
+
+    void synchronizeIndexes();
+    ResponseEntity<Map<String, IndexBuildStatus>> getIndexStatuses();
+}
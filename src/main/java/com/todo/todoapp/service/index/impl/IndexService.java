@@ -0,0 +1,197 @@
+package com.todo.todoapp.service.index.impl;
+
+import com.todo.todoapp.model.index.DeclaredIndex;
+import com.todo.todoapp.model.index.IndexBuildStatus;
+import com.todo.todoapp.model.index.IndexRegistry;
+import com.todo.todoapp.service.index.IIndexService;
+import com.todo.todoapp.util.MongoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class IndexService implements IIndexService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexService.class);
+
+    private static final String INDEX_STATUS_KEY_SEPARATOR = ".";
+    private static final String INDEX_BUILDER_THREAD_NAME = "index-builder";
+    private static final String REPLACEMENT_INDEX_NAME_SUFFIX = "_replacement";
+
+    private final IndexRegistry indexRegistry;
+    private final MongoUtil mongoUtil;
+    private final Map<String, IndexBuildStatus> indexStatuses = new ConcurrentHashMap<>();
+    private final ExecutorService indexBuilderExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, INDEX_BUILDER_THREAD_NAME);
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    @Autowired
+    public IndexService(IndexRegistry indexRegistry, MongoUtil mongoUtil) {
+        this.indexRegistry = indexRegistry;
+        this.mongoUtil = mongoUtil;
+
+        indexRegistry.getDeclaredIndexes().forEach(declaredIndex -> setStatus(declaredIndex.getCollectionName(), declaredIndex.getName(), IndexBuildStatus.PENDING));
+    }
+
+    /**
+     * Starts the synchronization of the indexes on a background thread, so the application can serve requests
+     * while the missing indexes are being built.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void synchronizeIndexesInBackground() {
+        indexBuilderExecutor.submit(this::synchronizeIndexes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexBuilderExecutor.shutdownNow();
+    }
+
+    /**
+     * Makes the indexes in the database match the IndexRegistry: the retired indexes are dropped,
+     * the missing indexes are created and the indexes which differ from their declaration are replaced.
+     */
+    @Override
+    public void synchronizeIndexes() {
+        for (String collectionName : indexRegistry.getCollectionNames()) {
+            List<IndexInfo> existingIndexes = mongoUtil.getIndexInfo(collectionName);
+
+            dropRetiredIndexes(collectionName, existingIndexes);
+            indexRegistry.getDeclaredIndexes()
+                    .stream()
+                    .filter(declaredIndex -> declaredIndex.getCollectionName().equals(collectionName))
+                    .forEach(declaredIndex -> synchronizeIndex(declaredIndex, existingIndexes));
+        }
+    }
+
+    private void dropRetiredIndexes(String collectionName, List<IndexInfo> existingIndexes) {
+        for (String retiredIndexName : indexRegistry.getRetiredIndexNames().getOrDefault(collectionName, Collections.emptySet())) {
+            List<IndexInfo> retiredIndexes = findIndexes(existingIndexes, retiredIndexName);
+
+            if (!retiredIndexes.isEmpty()) {
+                retiredIndexes.forEach(retiredIndex -> mongoUtil.dropIndex(collectionName, retiredIndex.getName()));
+                setStatus(collectionName, retiredIndexName, IndexBuildStatus.DROPPED);
+            }
+        }
+    }
+
+    private void synchronizeIndex(DeclaredIndex declaredIndex, List<IndexInfo> existingIndexes) {
+        String collectionName = declaredIndex.getCollectionName();
+        String indexName = declaredIndex.getName();
+        List<IndexInfo> existingVersions = findIndexes(existingIndexes, indexName);
+        Optional<IndexInfo> optionalMatchingIndex = existingVersions.stream()
+                .filter(declaredIndex::matches)
+                .findFirst();
+
+        if (optionalMatchingIndex.isEmpty()) {
+            setStatus(collectionName, indexName, IndexBuildStatus.BUILDING);
+        }
+
+        try {
+            if (optionalMatchingIndex.isPresent()) {
+                // a replacement which was interrupted before the old index was dropped leaves both of them
+                dropIndexesExcept(collectionName, existingVersions, optionalMatchingIndex.get());
+            } else if (existingVersions.isEmpty()) {
+                mongoUtil.createIndex(declaredIndex);
+            } else {
+                replaceIndex(declaredIndex, existingVersions);
+            }
+
+            setStatus(collectionName, indexName, IndexBuildStatus.READY);
+        } catch (RuntimeException runtimeException) {
+            LOGGER.error("Index {} of {} on {} could not be built: {}", indexName, collectionName, declaredIndex.toIndex().getIndexKeys(),
+                    runtimeException.getMessage());
+
+            if (declaredIndex.isUnique()) {
+                LOGGER.error("The keys {} of {} are not guaranteed to be unique until index {} is built!", declaredIndex.toIndex().getIndexKeys(),
+                        collectionName, indexName);
+            }
+
+            setStatus(collectionName, indexName, IndexBuildStatus.FAILED);
+        }
+    }
+
+    /**
+     * Builds the declared index next to the differing one before dropping it, so the collection is never left without the index,
+     * which the unique indexes rely on to reject the duplicates of the upserts. Mongo can't rename an index and can't hold
+     * the same index twice, so the declared index keeps the name it was built under, alternating between its name and its
+     * replacement name. When the replacement can't be built, the differing index is kept.
+     *
+     * @param declaredIndex    - the declaration of the index
+     * @param existingVersions - the indexes which exist under the name or the replacement name of the declared index
+     */
+    private void replaceIndex(DeclaredIndex declaredIndex, List<IndexInfo> existingVersions) {
+        String collectionName = declaredIndex.getCollectionName();
+        String indexName = declaredIndex.getName();
+        IndexInfo differingIndex = existingVersions.get(0);
+        String replacementIndexName = indexName.equals(differingIndex.getName()) ? getReplacementIndexName(indexName) : indexName;
+
+        // the name of the replacement is only taken by a leftover of an interrupted replacement, which differs too
+        dropIndexesExcept(collectionName, existingVersions, differingIndex);
+
+        LOGGER.info("Index {} of {} differs from its declaration, replacing it with {}!", differingIndex.getName(), collectionName, replacementIndexName);
+
+        mongoUtil.createIndex(declaredIndex.copyWithName(replacementIndexName));
+        mongoUtil.dropIndex(collectionName, differingIndex.getName());
+    }
+
+    private void dropIndexesExcept(String collectionName, List<IndexInfo> indexes, IndexInfo keptIndex) {
+        indexes.stream()
+                .filter(indexInfo -> indexInfo != keptIndex)
+                .forEach(indexInfo -> mongoUtil.dropIndex(collectionName, indexInfo.getName()));
+    }
+
+    /**
+     * Finds the index, which may exist under its name, its replacement name, or both of them.
+     */
+    private List<IndexInfo> findIndexes(List<IndexInfo> existingIndexes, String indexName) {
+        return Stream.of(indexName, getReplacementIndexName(indexName))
+                .map(name -> findIndex(existingIndexes, name))
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+
+    private String getReplacementIndexName(String indexName) {
+        return indexName + REPLACEMENT_INDEX_NAME_SUFFIX;
+    }
+
+    private Optional<IndexInfo> findIndex(List<IndexInfo> existingIndexes, String indexName) {
+        return existingIndexes.stream()
+                .filter(indexInfo -> indexName.equals(indexInfo.getName()))
+                .findFirst();
+    }
+
+    private void setStatus(String collectionName, String indexName, IndexBuildStatus indexBuildStatus) {
+        indexStatuses.put(collectionName + INDEX_STATUS_KEY_SEPARATOR + indexName, indexBuildStatus);
+    }
+
+    /**
+     * Returns the build status of every declared and retired index.
+     *
+     * @return - a ResponseEntity with HttpStatus.OK (200) and the statuses, keyed by 'collection.index'
+     */
+    @Override
+    public ResponseEntity<Map<String, IndexBuildStatus>> getIndexStatuses() {
+        return ResponseEntity.ok(new TreeMap<>(indexStatuses));
+    }
+}
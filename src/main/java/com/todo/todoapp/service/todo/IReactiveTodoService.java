@@ -0,0 +1,18 @@
+package com.todo.todoapp.service.todo;
+
+import com.todo.todoapp.model.todo.Todo;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+public interface IReactiveTodoService {
+
+    Mono<ResponseEntity<Object>> getTodos(String fields);
+    Mono<ResponseEntity<Object>> getTodos(OAuth2User principal, String pageToken, Integer pageSize, String fields);
+    Mono<ResponseEntity<Object>> getTodo(String todoId, String ifNoneMatch);
+    Mono<ResponseEntity<Object>> saveTodo(@Valid Todo todoFromJSON);
+    Mono<ResponseEntity<Object>> updateTodo(String todoId, @Valid Todo todoFromJSON, String ifMatch);
+    Mono<ResponseEntity<Object>> deleteTodo(String todoId, String ifMatch);
+}
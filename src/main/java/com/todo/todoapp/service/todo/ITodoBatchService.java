@@ -0,0 +1,11 @@
+package com.todo.todoapp.service.todo;
+
+import com.todo.todoapp.model.todo.batch.TodoBatchOperation;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public interface ITodoBatchService {
+
+    ResponseEntity<Object> executeBatch(List<TodoBatchOperation> todoBatchOperations);
+}
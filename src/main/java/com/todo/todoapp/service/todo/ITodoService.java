@@ -1,18 +1,24 @@
 package com.todo.todoapp.service.todo;
 
 import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.todo.TodoFilter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
-import java.util.List;
+import java.util.Map;
 
 public interface ITodoService {
 
-    ResponseEntity<List<Todo>> getTodos();
-    ResponseEntity<Object> getTodos(SecurityContext sprintSecurityContext);
-    ResponseEntity<Object> getTodo(String todoId);
+    ResponseEntity<Object> getTodos(String fields);
+    ResponseEntity<StreamingResponseBody> streamTodos(String fields);
+    ResponseEntity<Object> getTodos(SecurityContext sprintSecurityContext, String pageToken, Integer pageSize, String fields, TodoFilter todoFilter, String ifNoneMatch);
+    ResponseEntity<Object> getTodoSummary(SecurityContext springSecurityContext);
+    ResponseEntity<Object> searchTodos(SecurityContext springSecurityContext, String searchQuery, Integer limit);
+    ResponseEntity<Object> getTodo(String todoId, String ifNoneMatch);
     ResponseEntity<Object> saveTodo(@Valid Todo todoFromJSON);
-    ResponseEntity<Object> updateTodo(String todoId, @Valid Todo todoFromJSON);
-    ResponseEntity<Object> deleteTodo(String todoId);
+    ResponseEntity<Object> updateTodo(String todoId, @Valid Todo todoFromJSON, String ifMatch);
+    ResponseEntity<Object> patchTodo(String todoId, Map<String, Object> mergePatch, String ifMatch);
+    ResponseEntity<Object> deleteTodo(String todoId, String ifMatch);
 }
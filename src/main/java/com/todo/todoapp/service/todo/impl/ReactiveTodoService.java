@@ -0,0 +1,371 @@
+package com.todo.todoapp.service.todo.impl;
+
+import com.todo.todoapp.cache.user.UserCache;
+import com.todo.todoapp.config.PaginationProperties;
+import com.todo.todoapp.model.todo.PageToken;
+import com.todo.todoapp.model.todo.ProjectedTodo;
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.todo.TodoListVersion;
+import com.todo.todoapp.model.todo.TodoPage;
+import com.todo.todoapp.model.user.Provider;
+import com.todo.todoapp.model.user.ProviderIdentity;
+import com.todo.todoapp.model.user.User;
+import com.todo.todoapp.repository.todo.ReactiveTodoRepository;
+import com.todo.todoapp.repository.user.ReactiveUserRepository;
+import com.todo.todoapp.service.todo.IReactiveTodoService;
+import com.todo.todoapp.util.ETagUtil;
+import com.todo.todoapp.util.PageTokenUtil;
+import com.todo.todoapp.util.ProjectionUtil;
+import com.todo.todoapp.util.TodoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ObjectUtils;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import javax.validation.Valid;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_ID;
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_SUB;
+import static com.todo.todoapp.util.Constants.ERR_MSG_CURRENTLY_NO_USER_IS_LOGGED_IN;
+import static com.todo.todoapp.util.Constants.ERR_MSG_CURRENTLY_THE_GIVEN_USER_DOES_NOT_EXIST_IN_THE_DATABASE;
+import static com.todo.todoapp.util.Constants.ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_NULL_JSON;
+import static com.todo.todoapp.util.Constants.ERR_MSG_NULL_OR_EMPTY_ID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_FIELDS_ARE_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_PAGE_SIZE_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_PAGE_TOKEN_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME;
+import static com.todo.todoapp.util.Constants.KEY_ID;
+import static com.todo.todoapp.util.Constants.KEY_USER_ID;
+import static com.todo.todoapp.util.Constants.LIST_VERSION_INCREMENT_ATTEMPTS;
+import static com.todo.todoapp.util.Constants.PROFILE_REACTIVE;
+
+/**
+ * The non-blocking counterpart of the TodoService, used with the reactive profile.
+ * Every database call returns a publisher, so no thread waits for Mongo while a request is in progress.
+ */
+@Service
+@Profile(PROFILE_REACTIVE)
+@Validated
+public class ReactiveTodoService implements IReactiveTodoService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveTodoService.class);
+
+    private final ReactiveTodoRepository todoRepository;
+    private final ReactiveUserRepository userRepository;
+    private final UserCache userCache;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final PaginationProperties paginationProperties;
+
+    @Autowired
+    public ReactiveTodoService(ReactiveTodoRepository todoRepository, ReactiveUserRepository userRepository, UserCache userCache,
+                               ReactiveMongoTemplate reactiveMongoTemplate, PaginationProperties paginationProperties) {
+        this.todoRepository = todoRepository;
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.paginationProperties = paginationProperties;
+    }
+
+    /**
+     * Return with all of the Todos found in the database, the Todos are written to the response as they are read.
+     *
+     * @param fields - the comma separated list of the Todo fields to be returned, or null for every field
+     * @return - a ResponseEntity with HttpStatus.OK (200) and all of the Todos from the database, with the requested fields,
+     *           or a ResponseEntity with HttpStatus.BAD_REQUEST (400) if the requested fields are not valid
+     */
+    @Override
+    public Mono<ResponseEntity<Object>> getTodos(String fields) {
+        if (!ProjectionUtil.isValid(fields)) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_FIELDS_ARE_NOT_VALID);
+        }
+
+        LOGGER.info("Getting all Todos from the database!");
+
+        return Mono.just(fields == null
+                ? ResponseEntity.ok(todoRepository.findAll())
+                : ResponseEntity.ok(reactiveMongoTemplate.find(ProjectionUtil.applyTo(new Query(), fields), ProjectedTodo.class)));
+    }
+
+    /**
+     * Return with one page of the Todos for the given user, ordered by their IDs, with keyset pagination on (user_id, _id).
+     *
+     * @param principal - the currently logged in user
+     * @param pageToken - the continuation token from the previous page, or null for the first page
+     * @param pageSize - the desired number of Todos on the page, or null for the configured default page size
+     * @param fields - the comma separated list of the Todo fields to be returned, or null for every field
+     * @return - a ResponseEntity with a TodoPage which holds the Todos and the token of the next page (null on the last page)
+     *           if the given principal does not exist, it will return with a ResponseEntity with HttpStatus.BAD_REQUEST (400)
+     *           if the given page token, page size or fields are not valid, it will also return with a ResponseEntity with HttpStatus.BAD_REQUEST (400)
+     *           if no user was found in the database, then it will return with a ResponseEntity with HttpStatus.NOT_FOUND (404)
+     */
+    @Override
+    public Mono<ResponseEntity<Object>> getTodos(OAuth2User principal, String pageToken, Integer pageSize, String fields) {
+        if (principal == null) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_CURRENTLY_NO_USER_IS_LOGGED_IN);
+        } else if (pageSize != null && pageSize < 1) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_PAGE_SIZE_IS_NOT_VALID);
+        } else if (!ProjectionUtil.isValid(fields)) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_FIELDS_ARE_NOT_VALID);
+        }
+
+        Optional<String> optionalLastTodoId = Optional.empty();
+
+        if (pageToken != null) {
+            // the reactive routes only page by the default sort
+            optionalLastTodoId = PageTokenUtil.decode(pageToken)
+                    .filter(decodedPageToken -> decodedPageToken.getSort() == null)
+                    .map(PageToken::getLastTodoId);
+
+            if (optionalLastTodoId.isEmpty()) {
+                return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_PAGE_TOKEN_IS_NOT_VALID);
+            }
+        }
+
+        Optional<String> lastTodoId = optionalLastTodoId;
+        int effectivePageSize = getEffectivePageSize(pageSize);
+
+        return getUserFromDatabase(principal)
+                .flatMap(user -> getTodoPage(user.getId(), lastTodoId, effectivePageSize, fields))
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .switchIfEmpty(getErrorSpecificResponseEntity(HttpStatus.NOT_FOUND, ERR_MSG_CURRENTLY_THE_GIVEN_USER_DOES_NOT_EXIST_IN_THE_DATABASE));
+    }
+
+    private int getEffectivePageSize(Integer pageSize) {
+        return pageSize == null
+                ? paginationProperties.getDefaultPageSize()
+                : Math.min(pageSize, paginationProperties.getMaxPageSize());
+    }
+
+    private Mono<TodoPage> getTodoPage(String userId, Optional<String> optionalLastTodoId, int pageSize, String fields) {
+        // one extra Todo is read, so the existence of the next page can be decided without a count query
+        Query query = Query.query(Criteria.where(KEY_USER_ID).is(userId))
+                .with(Sort.by(Sort.Direction.ASC, KEY_ID))
+                .limit(pageSize + 1);
+
+        optionalLastTodoId.ifPresent(lastTodoId -> query.addCriteria(Criteria.where(KEY_ID).gt(lastTodoId)));
+
+        return reactiveMongoTemplate.find(ProjectionUtil.applyTo(query, fields), ProjectionUtil.getTodoClass(fields))
+                .cast(Todo.class)
+                .collectList()
+                .map(todos -> createTodoPage(todos, pageSize));
+    }
+
+    private TodoPage createTodoPage(List<Todo> todos, int pageSize) {
+        if (todos.size() <= pageSize) {
+            return new TodoPage(todos, null);
+        }
+
+        List<Todo> todosOnPage = todos.subList(0, pageSize);
+
+        return new TodoPage(todosOnPage, PageTokenUtil.encode(todosOnPage.get(pageSize - 1).getId()));
+    }
+
+    private Mono<User> getUserFromDatabase(OAuth2User principal) {
+        if (principal instanceof OidcUser) {
+            String googleId = Objects.requireNonNull(principal.getAttribute(ATTRIBUTE_SUB)).toString();
+
+            return getCachedUser(new ProviderIdentity(Provider.GOOGLE, googleId), () -> userRepository.findByGoogleId(googleId));
+        } else if (principal instanceof DefaultOAuth2User) {
+            String githubId = Objects.requireNonNull(principal.getAttribute(ATTRIBUTE_ID)).toString();
+
+            return getCachedUser(new ProviderIdentity(Provider.GITHUB, githubId), () -> userRepository.findByGithubId(githubId));
+        }
+
+        return Mono.empty();
+    }
+
+    private Mono<User> getCachedUser(ProviderIdentity providerIdentity, Supplier<Mono<User>> userLoader) {
+        User cachedUser = userCache.getIfPresent(providerIdentity);
+
+        return cachedUser == null
+                ? userLoader.get().doOnNext(user -> userCache.put(providerIdentity, user))
+                : Mono.just(cachedUser);
+    }
+
+    /**
+     * Returns a ResponseEntity with the TodoObject if any exists with the given ID.
+     *
+     * @param todoId - the ID of the desired TodoObject
+     * @param ifNoneMatch - the ETag of the TodoObject the client already has, or null
+     * @return  - ResponseEntity with HttpStatus.OK (200) and the TodoObject with its ETag if it exists,
+     *            a ResponseEntity with HttpStatus.NOT_MODIFIED (304) if the ETag still matches,
+     *            else a ResponseEntity with HttpStatus.NOT_FOUND (404)
+     */
+    @Override
+    public Mono<ResponseEntity<Object>> getTodo(String todoId, String ifNoneMatch) {
+        if (ObjectUtils.isEmpty(todoId)) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_NULL_OR_EMPTY_ID);
+        }
+
+        return todoRepository.findById(todoId)
+                .<ResponseEntity<Object>>map(todo -> {
+                    if (ETagUtil.matches(ifNoneMatch, getETag(todo))) {
+                        LOGGER.info("The Todo has not been modified!");
+
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(getETag(todo)).build();
+                    }
+
+                    LOGGER.info("Getting Todo from the database!");
+
+                    return ResponseEntity.ok().eTag(getETag(todo)).body(todo);
+                })
+                .switchIfEmpty(getErrorSpecificResponseEntity(HttpStatus.NOT_FOUND, ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID));
+    }
+
+    /**
+     * Saves the given TodoObject into the database, if it's not null and it's valid.
+     * The ID sent by the client is ignored, Mongo generates an ObjectId, which the page tokens can always continue after.
+     *
+     * @param todoFromJSON - a valid TodoObject in JSON format
+     * @return - a ResponseEntity with HttpStatus.CREATED (201) and with the saved TodoObject,
+     *           else a ResponseEntity with HttpStatus.BAD_REQUEST (400)
+     */
+    @Override
+    public Mono<ResponseEntity<Object>> saveTodo(@Valid Todo todoFromJSON) {
+        if (ObjectUtils.isEmpty(todoFromJSON)) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_NULL_JSON);
+        }
+
+        LOGGER.info("Saving Todo into the database!");
+
+        return todoRepository.save(TodoUtil.createNewTodo(null, todoFromJSON))
+                .flatMap(savedTodo -> incrementListVersion(savedTodo.getUserId()).thenReturn(savedTodo))
+                .map(savedTodo -> ResponseEntity.status(HttpStatus.CREATED).body(savedTodo));
+    }
+
+    /**
+     * Updates the TodoObject, given by its ID, with the given TodoObject, if it's valid, with one atomic findAndModify.
+     * If the client sent the ETag of the TodoObject in the If-Match header, or its version in the body,
+     * the update is only applied while the stored TodoObject still has that version.
+     *
+     * @param todoId - the desired TodoObject to be updated
+     * @param todoFromJSON - the TodoObject used to update the already existing TodoObject
+     * @param ifMatch - the ETags of the TodoObject the client has seen, or null
+     * @return - a ResponseEntity with HttpStatus.BAD_REQUEST (400) if the given ID- or the given TodoFromJSON object is null,
+     *           a ResponseEntity with HttpStatus.NOT_FOUND (404) if with the given ID no TodoObject was found,
+     *           a ResponseEntity with HttpStatus.PRECONDITION_FAILED (412) if the If-Match header does not match the stored version,
+     *           a ResponseEntity with HttpStatus.CONFLICT (409) if the version in the body does not match the stored version,
+     *           else a ResponseEntity with HttpStatus.OK (200) with the updated TodoObject and its new ETag
+     */
+    @Override
+    public Mono<ResponseEntity<Object>> updateTodo(String todoId, @Valid Todo todoFromJSON, String ifMatch) {
+        if (ObjectUtils.isEmpty(todoId)) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_NULL_OR_EMPTY_ID);
+        } else if (ObjectUtils.isEmpty(todoFromJSON)) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_NULL_JSON);
+        }
+
+        // the If-Match header takes precedence over the version in the body
+        Set<Long> expectedVersions = ifMatch == null && todoFromJSON.getVersion() != null
+                ? Set.of(todoFromJSON.getVersion())
+                : getExpectedVersions(ifMatch);
+
+        return reactiveMongoTemplate.findAndModify(
+                        getQueryByIdAndVersions(todoId, expectedVersions),
+                        TodoUtil.createUpdate(todoFromJSON),
+                        FindAndModifyOptions.options().returnNew(true),
+                        Todo.class
+                )
+                .flatMap(updatedTodo -> incrementListVersion(updatedTodo.getUserId()).thenReturn(updatedTodo))
+                .<ResponseEntity<Object>>map(updatedTodo -> ResponseEntity.ok().eTag(getETag(updatedTodo)).body(updatedTodo))
+                .switchIfEmpty(Mono.defer(() -> getFailedWriteResponseEntity(todoId, expectedVersions, ifMatch == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED)));
+    }
+
+    /**
+     * Deletes the TodoObject from the database with the given ID, with a single findOneAndDelete,
+     * which also returns the owner of the deleted TodoObject, whose list version has to be incremented.
+     * If the client sent the ETag of the TodoObject in the If-Match header, only that version is deleted.
+     *
+     * @param todoId - the ID of the TodoObject to be deleted
+     * @param ifMatch - the ETags of the TodoObject the client has seen, or null
+     * @return - a ResponseEntity with HttpStatus.BAD_REQUEST (400), if the given ID was null,
+     *           a ResponseEntity with HttpStatus.NOT_FOUND (404), if no TodoObject was found with the given ID,
+     *           a ResponseEntity with HttpStatus.PRECONDITION_FAILED (412) if the If-Match header does not match the stored version,
+     *           else a ResponseEntity with HttpStatus.OK (200), if the TodoObject was successfully deleted.
+     */
+    @Override
+    public Mono<ResponseEntity<Object>> deleteTodo(String todoId, String ifMatch) {
+        if (ObjectUtils.isEmpty(todoId)) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_NULL_OR_EMPTY_ID);
+        }
+
+        LOGGER.info("Deleting Todo from the database!");
+
+        Set<Long> expectedVersions = getExpectedVersions(ifMatch);
+
+        return reactiveMongoTemplate.findAndRemove(getQueryByIdAndVersions(todoId, expectedVersions), Todo.class)
+                .flatMap(deletedTodo -> incrementListVersion(deletedTodo.getUserId()).<ResponseEntity<Object>>thenReturn(new ResponseEntity<>(HttpStatus.OK)))
+                .switchIfEmpty(Mono.defer(() -> getFailedWriteResponseEntity(todoId, expectedVersions, HttpStatus.PRECONDITION_FAILED)));
+    }
+
+    private Mono<Void> incrementListVersion(String userId) {
+        // the servlet stack answers conditional GETs from this version, so it has to be kept up to date from here too
+        return reactiveMongoTemplate.upsert(TodoUtil.createListVersionQuery(userId), TodoUtil.createListVersionUpdate(), TodoListVersion.class)
+                .retryWhen(Retry.max(LIST_VERSION_INCREMENT_ATTEMPTS - 1L)
+                        .filter(DataAccessException.class::isInstance)
+                        .onRetryExhaustedThrow((retrySpec, retrySignal) -> retrySignal.failure()))
+                .then()
+                // the Todo has already been written, so the request still succeeds, and the next write of the user increments the version again
+                .onErrorResume(DataAccessException.class, dataAccessException -> {
+                    LOGGER.error("The list version of the user could not be incremented, the ETags of the user's Todo pages are stale until the next write!");
+
+                    return Mono.empty();
+                });
+    }
+
+    private Query getQueryById(String todoId) {
+        return Query.query(Criteria.where(KEY_ID).is(todoId));
+    }
+
+    private Set<Long> getExpectedVersions(String ifMatch) {
+        return ifMatch == null || ETagUtil.matchesAny(ifMatch) ? null : ETagUtil.parseVersions(ifMatch);
+    }
+
+    private Query getQueryByIdAndVersions(String todoId, Set<Long> expectedVersions) {
+        return TodoUtil.addVersionCriteria(getQueryById(todoId), expectedVersions);
+    }
+
+    private Mono<ResponseEntity<Object>> getFailedWriteResponseEntity(String todoId, Set<Long> expectedVersions, HttpStatus conflictStatus) {
+        // the existence is only checked after a conditional write failed, to tell a conflict from a missing TodoObject
+        Mono<Boolean> exists = expectedVersions == null ? Mono.just(false) : reactiveMongoTemplate.exists(getQueryById(todoId), Todo.class);
+
+        return exists.flatMap(todoExists -> todoExists
+                ? getErrorSpecificResponseEntity(conflictStatus, ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME)
+                : getErrorSpecificResponseEntity(HttpStatus.NOT_FOUND, ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID));
+    }
+
+    private String getETag(Todo todo) {
+        return ETagUtil.createVersionETag(TodoUtil.getVersion(todo));
+    }
+
+    private Mono<ResponseEntity<Object>> getErrorSpecificResponseEntity(HttpStatus httpStatus, String errorMessage) {
+        // deferred, so the error is only logged when the empty case is actually reached
+        return Mono.fromSupplier(() -> {
+            LOGGER.error(errorMessage);
+
+            return ResponseEntity.status(httpStatus).body(errorMessage);
+        });
+    }
+}
@@ -0,0 +1,384 @@
+package com.todo.todoapp.service.todo.impl;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.todo.todoapp.cache.todo.TodoNearCache;
+import com.todo.todoapp.cache.todo.TodoSummaryCache;
+import com.todo.todoapp.config.BatchProperties;
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.todo.TodoListVersion;
+import com.todo.todoapp.model.todo.batch.TodoBatchOperation;
+import com.todo.todoapp.model.todo.batch.TodoBatchOperationType;
+import com.todo.todoapp.model.todo.batch.TodoBatchResult;
+import com.todo.todoapp.service.todo.ITodoBatchService;
+import com.todo.todoapp.util.ExceptionUtil;
+import com.todo.todoapp.util.TodoUtil;
+import org.apache.commons.lang3.ObjectUtils;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.todo.todoapp.util.Constants.ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_NULL_JSON;
+import static com.todo.todoapp.util.Constants.ERR_MSG_NULL_OR_EMPTY_ID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_BATCH_IS_TOO_BIG;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_OPERATION_TYPE_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_TODO_IS_ALREADY_PART_OF_THE_BATCH;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_TODO_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME;
+import static com.todo.todoapp.util.Constants.KEY_ID;
+import static com.todo.todoapp.util.Constants.KEY_USER_ID;
+import static com.todo.todoapp.util.Constants.KEY_VERSION;
+import static com.todo.todoapp.util.Constants.LIST_VERSION_INCREMENT_ATTEMPTS;
+
+@Service
+public class TodoBatchService implements ITodoBatchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoBatchService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final Validator validator;
+    private final BatchProperties batchProperties;
+    private final TodoSummaryCache todoSummaryCache;
+    private final TodoNearCache todoNearCache;
+
+    @Autowired
+    public TodoBatchService(MongoTemplate mongoTemplate, Validator validator, BatchProperties batchProperties, TodoSummaryCache todoSummaryCache,
+                            TodoNearCache todoNearCache) {
+        this.mongoTemplate = mongoTemplate;
+        this.validator = validator;
+        this.batchProperties = batchProperties;
+        this.todoSummaryCache = todoSummaryCache;
+        this.todoNearCache = todoNearCache;
+    }
+
+    /**
+     * Validates the given create, update and delete operations together, then executes the valid ones
+     * in one unordered bulk write. The updates and deletes only match the Todo while it still belongs to the user it had
+     * when the operations were validated, and, if the operation (or the Todo of an update) holds a version, while the Todo
+     * still has that version. If the bulk write matched fewer Todos than it was given, the Todos are read again
+     * and the operations which were not applied get an error result.
+     *
+     * @param todoBatchOperations - the operations in the order the client sent them
+     * @return - a ResponseEntity with HttpStatus.BAD_REQUEST (400) if the batch is empty or too big,
+     *           else a ResponseEntity with HttpStatus.OK (200) and one TodoBatchResult per operation, in the same order,
+     *           with the status the matching single Todo endpoint would have returned, e.g. HttpStatus.CONFLICT (409)
+     *           for an update or delete whose Todo has been modified since the client has seen the given version
+     */
+    @Override
+    public ResponseEntity<Object> executeBatch(List<TodoBatchOperation> todoBatchOperations) {
+        if (ObjectUtils.isEmpty(todoBatchOperations)) {
+            return getErrorSpecificResponseEntity(ERR_MSG_NULL_JSON);
+        } else if (todoBatchOperations.size() > batchProperties.getMaxSize()) {
+            return getErrorSpecificResponseEntity(ERR_MSG_THE_GIVEN_BATCH_IS_TOO_BIG);
+        }
+
+        LOGGER.info("Executing a batch of {} Todo operations!", todoBatchOperations.size());
+
+        TodoBatchResult[] todoBatchResults = new TodoBatchResult[todoBatchOperations.size()];
+        Map<String, String> userIdsByExistingTodoId = findUserIdsByExistingTodoId(todoBatchOperations);
+        Set<String> todoIdsInBatch = new HashSet<>();
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Todo.class);
+        List<Integer> operationIndexesInBulk = new ArrayList<>();
+
+        for (int index = 0; index < todoBatchOperations.size(); index++) {
+            TodoBatchOperation todoBatchOperation = todoBatchOperations.get(index);
+            TodoBatchResult invalidResult = validate(index, todoBatchOperation, userIdsByExistingTodoId.keySet(), todoIdsInBatch);
+
+            if (invalidResult != null) {
+                todoBatchResults[index] = invalidResult;
+            } else {
+                todoBatchResults[index] = addToBulk(index, todoBatchOperation, userIdsByExistingTodoId.get(todoBatchOperation.getTodoId()), bulkOperations);
+                operationIndexesInBulk.add(index);
+            }
+        }
+
+        if (!operationIndexesInBulk.isEmpty()) {
+            BulkWriteResult bulkWriteResult = executeBulk(bulkOperations, operationIndexesInBulk, todoBatchResults);
+
+            if (!isEveryWriteMatched(bulkWriteResult, operationIndexesInBulk, todoBatchResults)) {
+                checkUnmatchedWrites(bulkWriteResult, operationIndexesInBulk, todoBatchOperations, todoBatchResults, userIdsByExistingTodoId);
+            }
+
+            handleTodosWritten(operationIndexesInBulk, todoBatchOperations, todoBatchResults, userIdsByExistingTodoId);
+        }
+
+        return ResponseEntity.ok(Arrays.asList(todoBatchResults));
+    }
+
+    private Map<String, String> findUserIdsByExistingTodoId(List<TodoBatchOperation> todoBatchOperations) {
+        List<String> referencedTodoIds = todoBatchOperations.stream()
+                .filter(todoBatchOperation -> todoBatchOperation != null && todoBatchOperation.getType() != TodoBatchOperationType.CREATE)
+                .map(TodoBatchOperation::getTodoId)
+                .filter(ObjectUtils::isNotEmpty)
+                .distinct()
+                .collect(Collectors.toList());
+
+        if (referencedTodoIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return findTodosById(referencedTodoIds)
+                .stream()
+                .collect(Collectors.toMap(Todo::getId, Todo::getUserId));
+    }
+
+    private List<Todo> findTodosById(List<String> todoIds) {
+        Query query = Query.query(Criteria.where(KEY_ID).in(todoIds));
+        query.fields().include(KEY_ID).include(KEY_USER_ID).include(KEY_VERSION);
+
+        return mongoTemplate.find(query, Todo.class);
+    }
+
+    private void handleTodosWritten(List<Integer> operationIndexesInBulk, List<TodoBatchOperation> todoBatchOperations, TodoBatchResult[] todoBatchResults,
+                                    Map<String, String> userIdsByExistingTodoId) {
+        Set<String> affectedUserIds = new HashSet<>();
+        Set<String> writtenTodoIds = new HashSet<>();
+
+        for (int index : operationIndexesInBulk) {
+            TodoBatchOperation todoBatchOperation = todoBatchOperations.get(index);
+
+            if (!isSuccessful(todoBatchResults[index])) {
+                continue;
+            } else if (todoBatchOperation.getType() == TodoBatchOperationType.CREATE) {
+                affectedUserIds.add(todoBatchOperation.getTodo().getUserId());
+            } else {
+                affectedUserIds.add(userIdsByExistingTodoId.get(todoBatchOperation.getTodoId()));
+                writtenTodoIds.add(todoBatchOperation.getTodoId());
+            }
+        }
+
+        if (!affectedUserIds.isEmpty()) {
+            incrementListVersions(affectedUserIds);
+            todoSummaryCache.invalidateAll(affectedUserIds);
+            todoNearCache.invalidateAll(writtenTodoIds);
+        }
+    }
+
+    private void incrementListVersions(Set<String> userIds) {
+        for (int attempt = 1; attempt <= LIST_VERSION_INCREMENT_ATTEMPTS; attempt++) {
+            BulkOperations listVersionOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TodoListVersion.class);
+
+            userIds.forEach(userId -> listVersionOperations.upsert(TodoUtil.createListVersionQuery(userId), TodoUtil.createListVersionUpdate()));
+
+            try {
+                listVersionOperations.execute();
+
+                return;
+            } catch (DataAccessException dataAccessException) {
+                // an increment which was applied before the failure is applied again, which only skips a version
+                LOGGER.warn("The list versions of the users could not be incremented in attempt {} of {}: {}", attempt, LIST_VERSION_INCREMENT_ATTEMPTS, dataAccessException.getMessage());
+            }
+        }
+
+        // the Todos have already been written, so the batch still succeeds, and the next write of the users increments their versions again
+        LOGGER.error("The list versions of the users could not be incremented, the ETags of their Todo pages are stale until their next write!");
+    }
+
+    private TodoBatchResult validate(int index, TodoBatchOperation todoBatchOperation, Set<String> existingTodoIds, Set<String> todoIdsInBatch) {
+        if (todoBatchOperation == null) {
+            return createErrorResult(index, null, null, HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_OPERATION_TYPE_IS_NOT_VALID);
+        } else if (todoBatchOperation.getType() == null) {
+            return createErrorResult(index, null, todoBatchOperation.getTodoId(), HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_OPERATION_TYPE_IS_NOT_VALID);
+        }
+
+        TodoBatchOperationType type = todoBatchOperation.getType();
+        String todoId = todoBatchOperation.getTodoId();
+
+        if (type != TodoBatchOperationType.CREATE) {
+            if (ObjectUtils.isEmpty(todoId)) {
+                return createErrorResult(index, type, todoId, HttpStatus.BAD_REQUEST, ERR_MSG_NULL_OR_EMPTY_ID);
+            } else if (!todoIdsInBatch.add(todoId)) {
+                return createErrorResult(index, type, todoId, HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_TODO_IS_ALREADY_PART_OF_THE_BATCH);
+            }
+        }
+
+        if (type != TodoBatchOperationType.DELETE) {
+            if (todoBatchOperation.getTodo() == null) {
+                return createErrorResult(index, type, todoId, HttpStatus.BAD_REQUEST, ERR_MSG_NULL_JSON);
+            } else if (!validator.validate(todoBatchOperation.getTodo()).isEmpty()) {
+                return createErrorResult(index, type, todoId, HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_TODO_IS_NOT_VALID);
+            }
+        }
+
+        if (type != TodoBatchOperationType.CREATE && !existingTodoIds.contains(todoId)) {
+            return createErrorResult(index, type, todoId, HttpStatus.NOT_FOUND, ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID);
+        }
+
+        return null;
+    }
+
+    private TodoBatchResult addToBulk(int index, TodoBatchOperation todoBatchOperation, String userId, BulkOperations bulkOperations) {
+        TodoBatchOperationType type = todoBatchOperation.getType();
+        Todo todo = todoBatchOperation.getTodo();
+        TodoBatchResult todoBatchResult;
+
+        switch (type) {
+            case CREATE:
+                // the ID is generated here, because the bulk insert does not hand it back to the inserted object
+                String createdTodoId = new ObjectId().toHexString();
+
+                bulkOperations.insert(TodoUtil.createNewTodo(createdTodoId, todo));
+                todoBatchResult = new TodoBatchResult(index, type, createdTodoId, HttpStatus.CREATED.value(), null);
+                break;
+            case UPDATE:
+                bulkOperations.updateOne(getConditionalQuery(todoBatchOperation, userId), TodoUtil.createUpdate(todo));
+                todoBatchResult = new TodoBatchResult(index, type, todoBatchOperation.getTodoId(), HttpStatus.OK.value(), null);
+                break;
+            default:
+                bulkOperations.remove(getConditionalQuery(todoBatchOperation, userId));
+                todoBatchResult = new TodoBatchResult(index, type, todoBatchOperation.getTodoId(), HttpStatus.OK.value(), null);
+                break;
+        }
+
+        return todoBatchResult;
+    }
+
+    private BulkWriteResult executeBulk(BulkOperations bulkOperations, List<Integer> operationIndexesInBulk, TodoBatchResult[] todoBatchResults) {
+        try {
+            return bulkOperations.execute();
+        } catch (BulkOperationException bulkOperationException) {
+            for (BulkWriteError bulkWriteError : bulkOperationException.getErrors()) {
+                int index = operationIndexesInBulk.get(bulkWriteError.getIndex());
+                TodoBatchResult failedResult = todoBatchResults[index];
+
+                LOGGER.error("Todo operation #{} of the batch failed with the code {}: {}", index, bulkWriteError.getCode(), bulkWriteError.getMessage());
+
+                todoBatchResults[index] = createErrorResult(index, failedResult.getType(), failedResult.getTodoId(), HttpStatus.BAD_REQUEST, ExceptionUtil.getErrorMessage(bulkWriteError));
+            }
+
+            return bulkOperationException.getResult();
+        }
+    }
+
+    private boolean isEveryWriteMatched(BulkWriteResult bulkWriteResult, List<Integer> operationIndexesInBulk, TodoBatchResult[] todoBatchResults) {
+        if (!bulkWriteResult.wasAcknowledged()) {
+            return true;
+        }
+
+        return bulkWriteResult.getMatchedCount() == countSuccessfulResults(operationIndexesInBulk, todoBatchResults, TodoBatchOperationType.UPDATE)
+                && bulkWriteResult.getDeletedCount() == countSuccessfulResults(operationIndexesInBulk, todoBatchResults, TodoBatchOperationType.DELETE);
+    }
+
+    /**
+     * The bulk write only returns the number of matched and deleted Todos, so the Todos of the updates and deletes are read again:
+     * an update whose Todo is gone, or belongs to another user, did not match it, neither did an update whose Todo has not reached
+     * a newer version than the expected one. A delete whose Todo is still there was not applied.
+     * A Todo which is gone could have been deleted by this batch or by a concurrent request, and a Todo which is newer than
+     * the expected version could have been updated by this batch or by a concurrent request. These operations are only successful
+     * if their number is the matched, or deleted, count. Otherwise all of them are reported as failed, as it can't be told
+     * which of them were applied, and a lost write must not be reported as successful.
+     */
+    private void checkUnmatchedWrites(BulkWriteResult bulkWriteResult, List<Integer> operationIndexesInBulk, List<TodoBatchOperation> todoBatchOperations,
+                                      TodoBatchResult[] todoBatchResults, Map<String, String> userIdsByExistingTodoId) {
+        LOGGER.warn("The bulk write did not match every Todo of the batch, checking the Todos again!");
+
+        List<String> writtenTodoIds = operationIndexesInBulk.stream()
+                .filter(index -> todoBatchOperations.get(index).getType() != TodoBatchOperationType.CREATE && isSuccessful(todoBatchResults[index]))
+                .map(index -> todoBatchOperations.get(index).getTodoId())
+                .collect(Collectors.toList());
+        Map<String, Todo> currentTodosById = findTodosById(writtenTodoIds)
+                .stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+        int matchedUpdates = 0;
+        List<Integer> newerTodoUpdateIndexes = new ArrayList<>();
+        List<Integer> goneTodoDeleteIndexes = new ArrayList<>();
+
+        for (int index : operationIndexesInBulk) {
+            TodoBatchOperation todoBatchOperation = todoBatchOperations.get(index);
+
+            if (todoBatchOperation.getType() == TodoBatchOperationType.CREATE || !isSuccessful(todoBatchResults[index])) {
+                continue;
+            }
+
+            Todo currentTodo = currentTodosById.get(todoBatchOperation.getTodoId());
+            boolean stillExists = currentTodo != null && Objects.equals(currentTodo.getUserId(), userIdsByExistingTodoId.get(todoBatchOperation.getTodoId()));
+            Long expectedVersion = getExpectedVersion(todoBatchOperation);
+
+            if (todoBatchOperation.getType() == TodoBatchOperationType.UPDATE) {
+                if (!stillExists) {
+                    setErrorResult(todoBatchResults, index, HttpStatus.NOT_FOUND, ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID);
+                } else if (expectedVersion == null) {
+                    matchedUpdates++;
+                } else if (TodoUtil.getVersion(currentTodo) > expectedVersion) {
+                    newerTodoUpdateIndexes.add(index);
+                } else {
+                    setErrorResult(todoBatchResults, index, HttpStatus.CONFLICT, ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME);
+                }
+            } else if (stillExists) {
+                setErrorResult(todoBatchResults, index, HttpStatus.CONFLICT, ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME);
+            } else {
+                goneTodoDeleteIndexes.add(index);
+            }
+        }
+
+        if (matchedUpdates + newerTodoUpdateIndexes.size() != bulkWriteResult.getMatchedCount()) {
+            newerTodoUpdateIndexes.forEach(index -> setErrorResult(todoBatchResults, index, HttpStatus.CONFLICT, ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME));
+        }
+
+        if (goneTodoDeleteIndexes.size() != bulkWriteResult.getDeletedCount()) {
+            goneTodoDeleteIndexes.forEach(index -> setErrorResult(todoBatchResults, index, HttpStatus.NOT_FOUND, ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID));
+        }
+    }
+
+    private void setErrorResult(TodoBatchResult[] todoBatchResults, int index, HttpStatus httpStatus, String errorMessage) {
+        todoBatchResults[index] = createErrorResult(index, todoBatchResults[index].getType(), todoBatchResults[index].getTodoId(), httpStatus, errorMessage);
+    }
+
+    private long countSuccessfulResults(List<Integer> operationIndexesInBulk, TodoBatchResult[] todoBatchResults, TodoBatchOperationType type) {
+        return operationIndexesInBulk.stream()
+                .map(index -> todoBatchResults[index])
+                .filter(todoBatchResult -> todoBatchResult.getType() == type && isSuccessful(todoBatchResult))
+                .count();
+    }
+
+    private boolean isSuccessful(TodoBatchResult todoBatchResult) {
+        return HttpStatus.valueOf(todoBatchResult.getStatus()).is2xxSuccessful();
+    }
+
+    private Query getConditionalQuery(TodoBatchOperation todoBatchOperation, String userId) {
+        Long expectedVersion = getExpectedVersion(todoBatchOperation);
+        Query query = Query.query(Criteria.where(KEY_ID).is(todoBatchOperation.getTodoId()).and(KEY_USER_ID).is(userId));
+
+        return TodoUtil.addVersionCriteria(query, expectedVersion == null ? null : Set.of(expectedVersion));
+    }
+
+    private Long getExpectedVersion(TodoBatchOperation todoBatchOperation) {
+        // like PUT /todos/{todoId}, an update without a version of its own expects the version of its Todo
+        return todoBatchOperation.getVersion() == null && todoBatchOperation.getType() == TodoBatchOperationType.UPDATE
+                ? todoBatchOperation.getTodo().getVersion()
+                : todoBatchOperation.getVersion();
+    }
+
+    private TodoBatchResult createErrorResult(int index, TodoBatchOperationType type, String todoId, HttpStatus httpStatus, String errorMessage) {
+        return new TodoBatchResult(index, type, todoId, httpStatus.value(), errorMessage);
+    }
+
+    private ResponseEntity<Object> getErrorSpecificResponseEntity(String errorMessage) {
+        LOGGER.error(errorMessage);
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+    }
+}
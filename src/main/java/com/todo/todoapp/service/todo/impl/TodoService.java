@@ -1,17 +1,48 @@
 package com.todo.todoapp.service.todo.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todo.todoapp.cache.todo.TodoNearCache;
+import com.todo.todoapp.cache.todo.TodoSummaryCache;
+import com.todo.todoapp.cache.user.UserCache;
+import com.todo.todoapp.config.PaginationProperties;
+import com.todo.todoapp.config.StreamingProperties;
+import com.todo.todoapp.model.todo.PageToken;
+import com.todo.todoapp.model.todo.Priority;
+import com.todo.todoapp.model.todo.ProjectedTodo;
 import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.todo.TodoFilter;
+import com.todo.todoapp.model.todo.TodoListVersion;
+import com.todo.todoapp.model.todo.TodoPage;
+import com.todo.todoapp.model.todo.TodoSummary;
+import com.todo.todoapp.model.user.Provider;
+import com.todo.todoapp.model.user.ProviderIdentity;
+import com.todo.todoapp.model.user.TodoPrincipal;
 import com.todo.todoapp.model.user.User;
 import com.todo.todoapp.repository.todo.TodoRepository;
 import com.todo.todoapp.repository.user.UserRepository;
 import com.todo.todoapp.service.todo.ITodoService;
-import com.todo.todoapp.util.MongoUtil;
+import com.todo.todoapp.util.ETagUtil;
+import com.todo.todoapp.util.PageTokenUtil;
+import com.todo.todoapp.util.ProjectionUtil;
+import com.todo.todoapp.util.TodoFilterUtil;
+import com.todo.todoapp.util.TodoSearchUtil;
 import com.todo.todoapp.util.TodoUtil;
 import org.apache.commons.lang3.ObjectUtils;
+import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
@@ -20,23 +51,44 @@ import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.annotation.PostConstruct;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.todo.todoapp.util.Constants.ATTRIBUTE_ID;
 import static com.todo.todoapp.util.Constants.ATTRIBUTE_SUB;
-import static com.todo.todoapp.util.Constants.COLLECTION_NAME_TODO;
 import static com.todo.todoapp.util.Constants.ERR_MSG_CURRENTLY_NO_USER_IS_LOGGED_IN;
 import static com.todo.todoapp.util.Constants.ERR_MSG_CURRENTLY_THE_GIVEN_USER_DOES_NOT_EXIST_IN_THE_DATABASE;
 import static com.todo.todoapp.util.Constants.ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID;
 import static com.todo.todoapp.util.Constants.ERR_MSG_NULL_JSON;
 import static com.todo.todoapp.util.Constants.ERR_MSG_NULL_OR_EMPTY_ID;
-import static com.todo.todoapp.util.Constants.INDEX_NAME_TODO_NAME_INDEX;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_FIELDS_ARE_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_FILTER_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_PAGE_SIZE_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_PAGE_TOKEN_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_PATCH_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_SEARCH_QUERY_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME;
+import static com.todo.todoapp.util.Constants.KEY_DEADLINE;
+import static com.todo.todoapp.util.Constants.KEY_ID;
 import static com.todo.todoapp.util.Constants.KEY_NAME;
+import static com.todo.todoapp.util.Constants.KEY_PRIORITY;
+import static com.todo.todoapp.util.Constants.KEY_USER_ID;
+import static com.todo.todoapp.util.Constants.LIST_VERSION_INCREMENT_ATTEMPTS;
+import static com.todo.todoapp.util.Constants.MEDIA_TYPE_APPLICATION_NDJSON;
 
 @Service
 @Validated
@@ -44,57 +96,318 @@ public class TodoService implements ITodoService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TodoService.class);
 
+    // the JSON names of the user editable fields, which are the same as their property- and Mongo field names
+    private static final Map<String, Class<?>> PATCHABLE_FIELD_TYPES = Map.of(
+            KEY_NAME, String.class,
+            KEY_DEADLINE, LocalDate.class,
+            KEY_PRIORITY, Priority.class
+    );
+
     private final TodoRepository todoRepository;
     private final UserRepository userRepository;
-    private final MongoUtil mongoUtil;
+    private final UserCache userCache;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final PaginationProperties paginationProperties;
+    private final StreamingProperties streamingProperties;
+    private final Validator validator;
+    private final TodoSummaryCache todoSummaryCache;
+    private final TodoNearCache todoNearCache;
 
     @Autowired
-    public TodoService(TodoRepository todoRepository, UserRepository userRepository, MongoUtil mongoUtil) {
+    public TodoService(TodoRepository todoRepository, UserRepository userRepository, UserCache userCache, MongoTemplate mongoTemplate,
+                       ObjectMapper objectMapper, PaginationProperties paginationProperties, StreamingProperties streamingProperties,
+                       Validator validator, TodoSummaryCache todoSummaryCache, TodoNearCache todoNearCache) {
         this.todoRepository = todoRepository;
         this.userRepository = userRepository;
-        this.mongoUtil = mongoUtil;
-    }
-
-    @PostConstruct
-    public void initIndexes() {
-        mongoUtil.createIndex("Creating index for the 'name' field of Todo.", COLLECTION_NAME_TODO, KEY_NAME, INDEX_NAME_TODO_NAME_INDEX);
+        this.userCache = userCache;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.paginationProperties = paginationProperties;
+        this.streamingProperties = streamingProperties;
+        this.validator = validator;
+        this.todoSummaryCache = todoSummaryCache;
+        this.todoNearCache = todoNearCache;
     }
 
     /**
      * Return with all of the Todos found in the database.
      *
-     * @return - a ResponseEntity with HttpStatus.OK (200) and all of the Todos from the database, with all of their fields.
+     * @param fields - the comma separated list of the Todo fields to be returned, or null for every field
+     * @return - a ResponseEntity with HttpStatus.OK (200) and all of the Todos from the database, with the requested fields,
+     *           or a ResponseEntity with HttpStatus.BAD_REQUEST (400) if the requested fields are not valid
      */
     @Override
-    public ResponseEntity<List<Todo>> getTodos() {
+    public ResponseEntity<Object> getTodos(String fields) {
+        if (!ProjectionUtil.isValid(fields)) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_FIELDS_ARE_NOT_VALID);
+        }
+
         LOGGER.info("Getting all Todos from the database!");
 
-        return ResponseEntity.ok(todoRepository.findAll());
+        return fields == null
+                ? ResponseEntity.ok(todoRepository.findAll())
+                : ResponseEntity.ok(mongoTemplate.find(ProjectionUtil.applyTo(new Query(), fields), ProjectedTodo.class));
     }
 
     /**
-     * Return with all of the Todos for the given user.
+     * Streams all of the Todos found in the database as newline delimited JSON.
+     * The Todos are read one by one from a Mongo cursor and written directly to the response,
+     * so the memory usage does not depend on the size of the collection.
+     *
+     * @param fields - the comma separated list of the Todo fields to be returned, or null for every field
+     * @return - a ResponseEntity with HttpStatus.OK (200) and a body which writes one Todo per line into the response,
+     *           or a ResponseEntity with HttpStatus.BAD_REQUEST (400) if the requested fields are not valid
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamTodos(String fields) {
+        if (!ProjectionUtil.isValid(fields)) {
+            LOGGER.error(ERR_MSG_THE_GIVEN_FIELDS_ARE_NOT_VALID);
+
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        LOGGER.info("Streaming all Todos from the database!");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MEDIA_TYPE_APPLICATION_NDJSON))
+                .body(outputStream -> writeTodosAsNdjson(outputStream, fields));
+    }
+
+    private void writeTodosAsNdjson(OutputStream outputStream, String fields) throws IOException {
+        int flushInterval = streamingProperties.getFlushInterval();
+        Query query = ProjectionUtil.applyTo(new Query().cursorBatchSize(flushInterval), fields);
+        Class<? extends Todo> todoClass = ProjectionUtil.getTodoClass(fields);
+        ObjectWriter todoWriter = objectMapper.writerFor(todoClass).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (CloseableIterator<? extends Todo> todos = mongoTemplate.stream(query, todoClass);
+             JsonGenerator jsonGenerator = objectMapper.getFactory().createGenerator(outputStream)) {
+            int writtenTodos = 0;
+
+            while (todos.hasNext()) {
+                todoWriter.writeValue(jsonGenerator, todos.next());
+                jsonGenerator.writeRaw('\n');
+
+                if (++writtenTodos % flushInterval == 0) {
+                    jsonGenerator.flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * Return with one page of the Todos for the given user, ordered by their IDs.
+     * The pages are read with keyset pagination on (user_id, sorted field, _id), so every page costs the same, no matter how deep it is.
+     * The filters and the sort are pushed down to Mongo. The page size is given by the limit, if it was requested.
      *
      * @param springSecurityContext - the object which holds the currently logged in user
-     * @return - a ResponseEntity with all of the Todos for the given user
+     * @param pageToken - the continuation token from the previous page, or null for the first page
+     * @param pageSize - the desired number of Todos on the page, or null for the configured default page size
+     * @param fields - the comma separated list of the Todo fields to be returned, or null for every field
+     * @param todoFilter - the priorities, the deadline range, the sort and the limit requested by the client
+     * @param ifNoneMatch - the ETag of the page the client already has, or null
+     * @return - a ResponseEntity with a TodoPage which holds the Todos and the token of the next page (null on the last page), and its ETag
+     *           if the ETag still matches, then a ResponseEntity with HttpStatus.NOT_MODIFIED (304), without reading the Todos
      *           if the given SecurityContext does not exist, it will return with a ResponseEntity with HttpStatus.BAD_REQUEST (400)
-     *           if no user was found in the database, then it will also return with a ResponseEntity with HttpStatus.NOT_FOUND (404)
+     *           if the given page token, page size, fields or filter are not valid, it will also return with a ResponseEntity with HttpStatus.BAD_REQUEST (400)
+     *           if no user was found in the database, then it will return with a ResponseEntity with HttpStatus.NOT_FOUND (404)
      */
     @Override
-    public ResponseEntity<Object> getTodos(SecurityContext springSecurityContext) {
+    public ResponseEntity<Object> getTodos(SecurityContext springSecurityContext, String pageToken, Integer pageSize, String fields, TodoFilter todoFilter,
+                                           String ifNoneMatch) {
         if (springSecurityContext == null) {
             return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_CURRENTLY_NO_USER_IS_LOGGED_IN);
+        } else if (pageSize != null && pageSize < 1) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_PAGE_SIZE_IS_NOT_VALID);
+        } else if (!ProjectionUtil.isValid(fields)) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_FIELDS_ARE_NOT_VALID);
+        } else if (!TodoFilterUtil.isValid(todoFilter)) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_FILTER_IS_NOT_VALID);
         }
 
-        User user = getUserFromDatabase(springSecurityContext);
+        Optional<PageToken> optionalPageToken = Optional.empty();
 
-        if (user == null) {
+        if (pageToken != null) {
+            // a token can only continue the sort it was created for
+            optionalPageToken = PageTokenUtil.decode(pageToken).filter(decodedPageToken -> TodoFilterUtil.isValid(decodedPageToken, todoFilter));
+
+            if (optionalPageToken.isEmpty()) {
+                return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_PAGE_TOKEN_IS_NOT_VALID);
+            }
+        }
+
+        String userId = getUserId(springSecurityContext);
+
+        if (userId == null) {
             return getErrorSpecificResponseEntity(HttpStatus.NOT_FOUND, ERR_MSG_CURRENTLY_THE_GIVEN_USER_DOES_NOT_EXIST_IN_THE_DATABASE);
         }
 
+        int effectivePageSize = getEffectivePageSize(todoFilter.getLimit() != null ? todoFilter.getLimit() : pageSize);
+        // the version is read before the Todos, so a concurrent write can only make the ETag older than the page, never newer
+        String eTag = ETagUtil.createETag(userId, getListVersion(userId), pageToken, effectivePageSize, fields, todoFilter);
+
+        if (ETagUtil.matches(ifNoneMatch, eTag)) {
+            LOGGER.info("The Todos of the given user have not been modified!");
+
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
         LOGGER.info("Getting Todos for the given user!");
 
-        return ResponseEntity.ok(todoRepository.findByUserId(user.getId()));
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(getTodoPage(userId, optionalPageToken, effectivePageSize, fields, todoFilter));
+    }
+
+    /**
+     * Return with the summary of the currently logged in user's Todos: the number of Todos by priority, the overdue ones
+     * and the ones due in the next 7 days. The summary is aggregated by Mongo and cached until the user's Todos are written,
+     * which is noticed by the version of the user's Todo list, even if another instance wrote them.
+     *
+     * @param springSecurityContext - the object which holds the currently logged in user
+     * @return - a ResponseEntity with HttpStatus.OK (200) and the TodoSummary of the user
+     *           if the given SecurityContext does not exist, it will return with a ResponseEntity with HttpStatus.BAD_REQUEST (400)
+     *           if no user was found in the database, then it will return with a ResponseEntity with HttpStatus.NOT_FOUND (404)
+     */
+    @Override
+    public ResponseEntity<Object> getTodoSummary(SecurityContext springSecurityContext) {
+        if (springSecurityContext == null) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_CURRENTLY_NO_USER_IS_LOGGED_IN);
+        }
+
+        String userId = getUserId(springSecurityContext);
+
+        if (userId == null) {
+            return getErrorSpecificResponseEntity(HttpStatus.NOT_FOUND, ERR_MSG_CURRENTLY_THE_GIVEN_USER_DOES_NOT_EXIST_IN_THE_DATABASE);
+        }
+
+        LocalDate today = LocalDate.now();
+        // the version is read before the summary is aggregated, so a concurrent write can only make the cached summary look older than it is
+        long listVersion = getListVersion(userId);
+
+        LOGGER.info("Getting the summary of the Todos for the given user!");
+
+        return ResponseEntity.ok(todoSummaryCache.get(userId, today, listVersion, id -> aggregateTodoSummary(id, today)));
+    }
+
+    /**
+     * Searches the names of the currently logged in user's Todos. The Todos which contain the searched words are returned first,
+     * ranked by their text score, then the ones with a word starting with the search query, until the limit is reached.
+     *
+     * @param springSecurityContext - the object which holds the currently logged in user
+     * @param searchQuery - the words to search for, e.g. 'buy milk' or 'gro'
+     * @param limit - the maximum number of Todos to be returned, or null for the configured default page size
+     * @return - a ResponseEntity with HttpStatus.OK (200) and the found Todos in the order of their relevance
+     *           if the given SecurityContext does not exist, it will return with a ResponseEntity with HttpStatus.BAD_REQUEST (400)
+     *           if the given search query or limit are not valid, it will also return with a ResponseEntity with HttpStatus.BAD_REQUEST (400)
+     *           if no user was found in the database, then it will return with a ResponseEntity with HttpStatus.NOT_FOUND (404)
+     */
+    @Override
+    public ResponseEntity<Object> searchTodos(SecurityContext springSecurityContext, String searchQuery, Integer limit) {
+        if (springSecurityContext == null) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_CURRENTLY_NO_USER_IS_LOGGED_IN);
+        } else if (!TodoSearchUtil.isValid(searchQuery)) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_SEARCH_QUERY_IS_NOT_VALID);
+        } else if (limit != null && limit < 1) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_PAGE_SIZE_IS_NOT_VALID);
+        }
+
+        String userId = getUserId(springSecurityContext);
+
+        if (userId == null) {
+            return getErrorSpecificResponseEntity(HttpStatus.NOT_FOUND, ERR_MSG_CURRENTLY_THE_GIVEN_USER_DOES_NOT_EXIST_IN_THE_DATABASE);
+        }
+
+        int effectiveLimit = getEffectivePageSize(limit);
+        List<Todo> todos = new ArrayList<>(mongoTemplate.find(TodoSearchUtil.createTextQuery(userId, searchQuery, effectiveLimit), Todo.class));
+
+        if (todos.size() < effectiveLimit) {
+            List<String> foundTodoIds = todos.stream().map(Todo::getId).collect(Collectors.toList());
+
+            todos.addAll(mongoTemplate.find(TodoSearchUtil.createPrefixQuery(userId, searchQuery, foundTodoIds, effectiveLimit - todos.size()), Todo.class));
+        }
+
+        LOGGER.info("Found {} Todos for the given search query!", todos.size());
+
+        return ResponseEntity.ok(todos);
+    }
+
+    private TodoSummary aggregateTodoSummary(String userId, LocalDate today) {
+        LOGGER.debug("Aggregating the summary of the Todos for the given user!");
+
+        Document aggregationResult = mongoTemplate.aggregate(TodoUtil.createSummaryAggregation(userId, today), Document.class).getUniqueMappedResult();
+
+        return TodoUtil.createTodoSummary(aggregationResult, today);
+    }
+
+    private long getListVersion(String userId) {
+        TodoListVersion todoListVersion = mongoTemplate.findById(userId, TodoListVersion.class);
+
+        return todoListVersion == null ? 0 : todoListVersion.getVersion();
+    }
+
+    private void handleTodoWritten(Todo writtenTodo) {
+        incrementListVersion(writtenTodo.getUserId());
+        todoSummaryCache.invalidate(writtenTodo.getUserId());
+        todoNearCache.invalidate(writtenTodo.getId());
+    }
+
+    private void incrementListVersion(String userId) {
+        for (int attempt = 1; attempt <= LIST_VERSION_INCREMENT_ATTEMPTS; attempt++) {
+            try {
+                mongoTemplate.upsert(TodoUtil.createListVersionQuery(userId), TodoUtil.createListVersionUpdate(), TodoListVersion.class);
+
+                return;
+            } catch (DataAccessException dataAccessException) {
+                LOGGER.warn("The list version of the user could not be incremented in attempt {} of {}: {}", attempt, LIST_VERSION_INCREMENT_ATTEMPTS, dataAccessException.getMessage());
+            }
+        }
+
+        // the Todo has already been written, so the request still succeeds, and the next write of the user increments the version again
+        LOGGER.error("The list version of the user could not be incremented, the ETags of the user's Todo pages are stale until the next write!");
+    }
+
+    private int getEffectivePageSize(Integer pageSize) {
+        return pageSize == null
+                ? paginationProperties.getDefaultPageSize()
+                : Math.min(pageSize, paginationProperties.getMaxPageSize());
+    }
+
+    private TodoPage getTodoPage(String userId, Optional<PageToken> optionalPageToken, int pageSize, String fields, TodoFilter todoFilter) {
+        // one extra Todo is read, so the existence of the next page can be decided without a count query
+        Query query = Query.query(Criteria.where(KEY_USER_ID).is(userId))
+                .limit(pageSize + 1);
+
+        optionalPageToken.ifPresent(pageToken -> TodoFilterUtil.addKeysetCriteria(query, todoFilter, pageToken));
+        ProjectionUtil.applyTo(TodoFilterUtil.applyTo(query, todoFilter), fields);
+
+        if (fields != null) {
+            // the page token is created from the sorted field of the last Todo
+            query.fields().include(TodoFilterUtil.getSortKey(todoFilter));
+        }
+
+        List<Todo> todos = Collections.unmodifiableList(mongoTemplate.find(query, ProjectionUtil.getTodoClass(fields)));
+
+        if (todos.size() <= pageSize) {
+            return new TodoPage(todos, null);
+        }
+
+        List<Todo> todosOnPage = todos.subList(0, pageSize);
+
+        return new TodoPage(todosOnPage, TodoFilterUtil.createPageToken(todosOnPage.get(pageSize - 1), todoFilter));
+    }
+
+    private String getUserId(SecurityContext springSecurityContext) {
+        Object principal = springSecurityContext.getAuthentication().getPrincipal();
+
+        if (principal instanceof TodoPrincipal) {
+            return ((TodoPrincipal) principal).getUserId();
+        }
+
+        // the sessions which were created before the principals carried the ID of the User
+        User user = getUserFromDatabase(springSecurityContext);
+
+        return user == null ? null : user.getId();
     }
 
     private User getUserFromDatabase(SecurityContext springSecurityContext) {
@@ -115,48 +428,53 @@ public class TodoService implements ITodoService {
         OidcUser defaultOidcUser = (OidcUser) principal;
         String googleId = Objects.requireNonNull(defaultOidcUser.getAttribute(ATTRIBUTE_SUB)).toString();
 
-        return userRepository.findByGoogleId(googleId);
+        return userCache.get(new ProviderIdentity(Provider.GOOGLE, googleId), providerIdentity -> userRepository.findByGoogleId(googleId));
     }
 
     private User handleGithub(OAuth2User principal) {
         DefaultOAuth2User defaultOAuth2User = (DefaultOAuth2User) principal;
         String githubId = Objects.requireNonNull(defaultOAuth2User.getAttribute(ATTRIBUTE_ID)).toString();
 
-        return userRepository.findByGithubId(githubId);
+        return userCache.get(new ProviderIdentity(Provider.GITHUB, githubId), providerIdentity -> userRepository.findByGithubId(githubId));
     }
 
     /**
      * Returns a ResponseEntity with the TodoObject if any exists with the given ID.
+     * The TodoObject is read through the near-cache, so the repeated reads of the same TodoObject don't reach the database.
      *
      * @param todoId - the ID of the desired TodoObject
-     * @return  - ResponseEntity with HttpStatus.OK (200) and the TodoObject if it exists,
+     * @param ifNoneMatch - the ETag of the TodoObject the client already has, or null
+     * @return  - ResponseEntity with HttpStatus.OK (200) and the TodoObject with its ETag if it exists,
+     *            a ResponseEntity with HttpStatus.NOT_MODIFIED (304) if the ETag still matches,
      *            else a ResponseEntity with HttpStatus.NOT_FOUND (404)
      */
     @Override
-    public ResponseEntity<Object> getTodo(String todoId) {
+    public ResponseEntity<Object> getTodo(String todoId, String ifNoneMatch) {
         if (ObjectUtils.isEmpty(todoId)) {
             return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_NULL_OR_EMPTY_ID);
         }
 
-        Optional<Todo> optionalTodo = todoRepository.findById(todoId);
-        ResponseEntity<Object> responseEntity;
+        Todo todo = todoNearCache.get(todoId, id -> todoRepository.findById(id).orElse(null));
 
-        if (optionalTodo.isPresent()) {
-            LOGGER.info("Getting Todo from the database!");
+        if (todo == null) {
+            return getErrorSpecificResponseEntity(HttpStatus.NOT_FOUND, ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID);
+        } else if (ETagUtil.matches(ifNoneMatch, getETag(todo))) {
+            LOGGER.info("The Todo has not been modified!");
 
-            responseEntity = ResponseEntity.ok(optionalTodo.get());
-        } else {
-            responseEntity = getErrorSpecificResponseEntity(HttpStatus.NOT_FOUND, ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(getETag(todo)).build();
         }
 
-        return responseEntity;
+        LOGGER.info("Getting Todo from the database!");
+
+        return ResponseEntity.ok().eTag(getETag(todo)).body(todo);
     }
 
     /**
-     * Saves the given TodoObject into the database, if it's not null and it's valid.
+     * Saves the given TodoObject into the database with its initial version, if it's not null and it's valid.
+     * The ID sent by the client is ignored, Mongo generates an ObjectId, which the page tokens can always continue after.
      *
      * @param todoFromJSON - a valid TodoObject in JSON format
-     * @return - a ResponseEntity with HttpStatus.CREATED (201) and with the saved TodoObject,
+     * @return - a ResponseEntity with HttpStatus.CREATED (201) and with the saved TodoObject and its ETag,
      *           else a ResponseEntity with HttpStatus.BAD_REQUEST (400)
      */
     @Override
@@ -167,67 +485,184 @@ public class TodoService implements ITodoService {
 
         LOGGER.info("Saving Todo into the database!");
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(todoRepository.save(todoFromJSON));
+        Todo savedTodo = todoRepository.save(TodoUtil.createNewTodo(null, todoFromJSON));
+        handleTodoWritten(savedTodo);
+
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(getETag(savedTodo)).body(savedTodo);
     }
 
     /**
      * Updates the TodoObject, given by its ID, with the given TodoObject, if it's valid.
+     * The update is one atomic findAndModify, so concurrent updates can not overwrite each other's fields with stale values.
+     * If the client sent the ETag of the TodoObject in the If-Match header, or its version in the body,
+     * the update is only applied while the stored TodoObject still has that version.
      *
      * @param todoId - the desired TodoObject to be updated
      * @param todoFromJSON - the TodoObject used to update the already existing TodoObject
+     * @param ifMatch - the ETags of the TodoObject the client has seen, or null
      * @return - a ResponseEntity with HttpStatus.BAD_REQUEST (400) if the given ID- or the given TodoFromJSON object is null,
      *           a ResponseEntity with HttpStatus.NOT_FOUND (404) if with the given ID no TodoObject was found,
-     *           else a ResponseEntity with HttpStatus.OK (200) with the updated TodoObject
+     *           a ResponseEntity with HttpStatus.PRECONDITION_FAILED (412) if the If-Match header does not match the stored version,
+     *           a ResponseEntity with HttpStatus.CONFLICT (409) if the version in the body does not match the stored version,
+     *           else a ResponseEntity with HttpStatus.OK (200) with the updated TodoObject and its new ETag
      */
     @Override
-    public ResponseEntity<Object> updateTodo(String todoId, @Valid Todo todoFromJSON) {
+    public ResponseEntity<Object> updateTodo(String todoId, @Valid Todo todoFromJSON, String ifMatch) {
         if (ObjectUtils.isEmpty(todoId)) {
             return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_NULL_OR_EMPTY_ID);
         } else if (ObjectUtils.isEmpty(todoFromJSON)) {
             return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_NULL_JSON);
         }
 
-        Optional<Todo> optionalTodo = todoRepository.findById(todoId);
-        ResponseEntity<Object> responseEntity;
+        // the If-Match header takes precedence over the version in the body
+        Set<Long> expectedVersions = ifMatch == null && todoFromJSON.getVersion() != null
+                ? Set.of(todoFromJSON.getVersion())
+                : getExpectedVersions(ifMatch);
 
-        if (optionalTodo.isPresent()) {
-            Todo updatedTodo = TodoUtil.updateTodo(optionalTodo.get(), todoFromJSON);
+        Todo updatedTodo = mongoTemplate.findAndModify(
+                getQueryByIdAndVersions(todoId, expectedVersions),
+                TodoUtil.createUpdate(todoFromJSON),
+                FindAndModifyOptions.options().returnNew(true),
+                Todo.class
+        );
 
-            responseEntity = ResponseEntity.status(HttpStatus.OK).body(todoRepository.save(updatedTodo));
-        } else {
-            responseEntity = getErrorSpecificResponseEntity(HttpStatus.NOT_FOUND, ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID);
+        if (updatedTodo == null) {
+            return getFailedWriteResponseEntity(todoId, expectedVersions, ifMatch == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED);
         }
 
-        return responseEntity;
+        handleTodoWritten(updatedTodo);
+
+        return ResponseEntity.status(HttpStatus.OK).eTag(getETag(updatedTodo)).body(updatedTodo);
     }
 
     /**
-     * Deletes the TodoObject from the database with the given ID.
+     * Applies the given JSON Merge Patch to the TodoObject with the given ID, with one atomic findAndModify.
+     * Only the fields present in the patch are converted and validated, then they are $set, or $unset if they are null.
+     * If the client sent the ETag of the TodoObject in the If-Match header, the patch is only applied to that version.
+     *
+     * @param todoId - the ID of the TodoObject to be patched
+     * @param mergePatch - the changed fields of the TodoObject, with null for the fields to be removed
+     * @param ifMatch - the ETags of the TodoObject the client has seen, or null
+     * @return - a ResponseEntity with HttpStatus.BAD_REQUEST (400) if the given ID or patch is null or empty,
+     *           or if the patch touches a field which can't be patched or sets a field to an invalid value,
+     *           a ResponseEntity with HttpStatus.NOT_FOUND (404) if with the given ID no TodoObject was found,
+     *           a ResponseEntity with HttpStatus.PRECONDITION_FAILED (412) if the If-Match header does not match the stored version,
+     *           else a ResponseEntity with HttpStatus.OK (200) with the patched TodoObject and its new ETag
+     */
+    @Override
+    public ResponseEntity<Object> patchTodo(String todoId, Map<String, Object> mergePatch, String ifMatch) {
+        if (ObjectUtils.isEmpty(todoId)) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_NULL_OR_EMPTY_ID);
+        } else if (ObjectUtils.isEmpty(mergePatch)) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_NULL_JSON);
+        }
+
+        Map<String, Object> validatedMergePatch = validateMergePatch(mergePatch);
+
+        if (validatedMergePatch == null) {
+            return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_PATCH_IS_NOT_VALID);
+        }
+
+        LOGGER.info("Patching Todo in the database!");
+
+        Set<Long> expectedVersions = getExpectedVersions(ifMatch);
+        Todo patchedTodo = mongoTemplate.findAndModify(
+                getQueryByIdAndVersions(todoId, expectedVersions),
+                TodoUtil.createMergePatchUpdate(validatedMergePatch),
+                FindAndModifyOptions.options().returnNew(true),
+                Todo.class
+        );
+
+        if (patchedTodo == null) {
+            return getFailedWriteResponseEntity(todoId, expectedVersions, HttpStatus.PRECONDITION_FAILED);
+        }
+
+        handleTodoWritten(patchedTodo);
+
+        return ResponseEntity.status(HttpStatus.OK).eTag(getETag(patchedTodo)).body(patchedTodo);
+    }
+
+    private Map<String, Object> validateMergePatch(Map<String, Object> mergePatch) {
+        Map<String, Object> validatedMergePatch = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Object> patchedField : mergePatch.entrySet()) {
+            Class<?> fieldType = PATCHABLE_FIELD_TYPES.get(patchedField.getKey());
+
+            if (fieldType == null) {
+                return null;
+            }
+
+            Object value;
+
+            try {
+                value = objectMapper.convertValue(patchedField.getValue(), fieldType);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                return null;
+            }
+
+            if (!validator.validateValue(Todo.class, patchedField.getKey(), value).isEmpty()) {
+                return null;
+            }
+
+            validatedMergePatch.put(patchedField.getKey(), value);
+        }
+
+        return validatedMergePatch;
+    }
+
+    /**
+     * Deletes the TodoObject from the database with the given ID, with a single findOneAndDelete,
+     * which also returns the owner of the deleted TodoObject, whose list version has to be incremented.
+     * If the client sent the ETag of the TodoObject in the If-Match header, only that version is deleted.
      *
      * @param todoId - the ID of the TodoObject to be deleted
+     * @param ifMatch - the ETags of the TodoObject the client has seen, or null
      * @return - a ResponseEntity with HttpStatus.BAD_REQUEST (400), if the given ID was null,
      *           a ResponseEntity with HttpStatus.NOT_FOUND (404), if no TodoObject was found with the given ID,
+     *           a ResponseEntity with HttpStatus.PRECONDITION_FAILED (412) if the If-Match header does not match the stored version,
      *           else a ResponseEntity with HttpStatus.OK (200), if the TodoObject was successfully deleted.
      */
     @Override
-    public ResponseEntity<Object> deleteTodo(String todoId) {
+    public ResponseEntity<Object> deleteTodo(String todoId, String ifMatch) {
         if (ObjectUtils.isEmpty(todoId)) {
             return getErrorSpecificResponseEntity(HttpStatus.BAD_REQUEST, ERR_MSG_NULL_OR_EMPTY_ID);
         }
 
-        Optional<Todo> optionalTodo = todoRepository.findById(todoId);
-        ResponseEntity<Object> responseEntity;
+        LOGGER.info("Deleting Todo from the database!");
 
-        if (optionalTodo.isPresent()) {
-            LOGGER.info("Deleting Todo from the database!");
+        Set<Long> expectedVersions = getExpectedVersions(ifMatch);
+        Todo deletedTodo = mongoTemplate.findAndRemove(getQueryByIdAndVersions(todoId, expectedVersions), Todo.class);
 
-            todoRepository.deleteById(todoId);
-            responseEntity = new ResponseEntity<>(HttpStatus.OK);
-        } else {
-            responseEntity = getErrorSpecificResponseEntity(HttpStatus.NOT_FOUND, ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID);
+        if (deletedTodo == null) {
+            return getFailedWriteResponseEntity(todoId, expectedVersions, HttpStatus.PRECONDITION_FAILED);
         }
 
-        return responseEntity;
+        handleTodoWritten(deletedTodo);
+
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
+    private Query getQueryById(String todoId) {
+        return Query.query(Criteria.where(KEY_ID).is(todoId));
+    }
+
+    private Set<Long> getExpectedVersions(String ifMatch) {
+        return ifMatch == null || ETagUtil.matchesAny(ifMatch) ? null : ETagUtil.parseVersions(ifMatch);
+    }
+
+    private Query getQueryByIdAndVersions(String todoId, Set<Long> expectedVersions) {
+        return TodoUtil.addVersionCriteria(getQueryById(todoId), expectedVersions);
+    }
+
+    private ResponseEntity<Object> getFailedWriteResponseEntity(String todoId, Set<Long> expectedVersions, HttpStatus conflictStatus) {
+        // the existence is only checked after a conditional write failed, to tell a conflict from a missing TodoObject
+        return expectedVersions != null && mongoTemplate.exists(getQueryById(todoId), Todo.class)
+                ? getErrorSpecificResponseEntity(conflictStatus, ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME)
+                : getErrorSpecificResponseEntity(HttpStatus.NOT_FOUND, ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID);
+    }
+
+    private String getETag(Todo todo) {
+        return ETagUtil.createVersionETag(TodoUtil.getVersion(todo));
     }
 
     private ResponseEntity<Object> getErrorSpecificResponseEntity(HttpStatus httpStatus, String errorMessage) {
@@ -3,8 +3,11 @@ package com.todo.todoapp.service.user;
 import com.todo.todoapp.model.user.User;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 
+import java.util.Map;
+
 public interface IUserService {
 
     String getUsername(OAuth2User principal);
     User handleUser(OAuth2User principal);
+    Map<String, Long> getUserCacheStatistics();
 }
@@ -0,0 +1,53 @@
+package com.todo.todoapp.service.user.impl;
+
+import com.todo.todoapp.model.user.TodoOAuth2User;
+import com.todo.todoapp.model.user.User;
+import com.todo.todoapp.service.user.IUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.stereotype.Service;
+
+import static com.todo.todoapp.util.Constants.OAUTH2_ERROR_CODE_INVALID_USER;
+
+/**
+ * Loads the GitHub user at the login, saves it as a User with the UserService,
+ * and returns a principal which carries the ID of the User for the rest of the session.
+ */
+@Service
+public class TodoOAuth2UserService implements OAuth2UserService<OAuth2UserRequest, OAuth2User> {
+
+    private final OAuth2UserService<OAuth2UserRequest, OAuth2User> delegate;
+    private final IUserService userService;
+
+    @Autowired
+    public TodoOAuth2UserService(IUserService userService) {
+        this(new DefaultOAuth2UserService(), userService);
+    }
+
+    public TodoOAuth2UserService(OAuth2UserService<OAuth2UserRequest, OAuth2User> delegate, IUserService userService) {
+        this.delegate = delegate;
+        this.userService = userService;
+    }
+
+    @Override
+    public OAuth2User loadUser(OAuth2UserRequest userRequest) {
+        OAuth2User oAuth2User = delegate.loadUser(userRequest);
+        String nameAttributeKey = userRequest.getClientRegistration().getProviderDetails().getUserInfoEndpoint().getUserNameAttributeName();
+
+        return new TodoOAuth2User(oAuth2User.getAuthorities(), oAuth2User.getAttributes(), nameAttributeKey, handleUser(oAuth2User).getId());
+    }
+
+    private User handleUser(OAuth2User oAuth2User) {
+        try {
+            return userService.handleUser(oAuth2User);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            // the login fails, instead of creating a session for a user who has no User
+            throw new OAuth2AuthenticationException(new OAuth2Error(OAUTH2_ERROR_CODE_INVALID_USER), illegalArgumentException.getMessage(), illegalArgumentException);
+        }
+    }
+}
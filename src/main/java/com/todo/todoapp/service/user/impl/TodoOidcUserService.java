@@ -0,0 +1,56 @@
+package com.todo.todoapp.service.user.impl;
+
+import com.todo.todoapp.model.user.TodoOidcUser;
+import com.todo.todoapp.model.user.User;
+import com.todo.todoapp.service.user.IUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserService;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.oidc.IdTokenClaimNames;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import static com.todo.todoapp.util.Constants.OAUTH2_ERROR_CODE_INVALID_USER;
+
+/**
+ * Loads the Google user at the login, saves it as a User with the UserService,
+ * and returns a principal which carries the ID of the User for the rest of the session.
+ */
+@Service
+public class TodoOidcUserService implements OAuth2UserService<OidcUserRequest, OidcUser> {
+
+    private final OAuth2UserService<OidcUserRequest, OidcUser> delegate;
+    private final IUserService userService;
+
+    @Autowired
+    public TodoOidcUserService(IUserService userService) {
+        this(new OidcUserService(), userService);
+    }
+
+    public TodoOidcUserService(OAuth2UserService<OidcUserRequest, OidcUser> delegate, IUserService userService) {
+        this.delegate = delegate;
+        this.userService = userService;
+    }
+
+    @Override
+    public OidcUser loadUser(OidcUserRequest userRequest) {
+        OidcUser oidcUser = delegate.loadUser(userRequest);
+        String nameAttributeKey = userRequest.getClientRegistration().getProviderDetails().getUserInfoEndpoint().getUserNameAttributeName();
+
+        return new TodoOidcUser(oidcUser.getAuthorities(), oidcUser.getIdToken(), oidcUser.getUserInfo(),
+                StringUtils.hasText(nameAttributeKey) ? nameAttributeKey : IdTokenClaimNames.SUB, handleUser(oidcUser).getId());
+    }
+
+    private User handleUser(OidcUser oidcUser) {
+        try {
+            return userService.handleUser(oidcUser);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            // the login fails, instead of creating a session for a user who has no User
+            throw new OAuth2AuthenticationException(new OAuth2Error(OAUTH2_ERROR_CODE_INVALID_USER), illegalArgumentException.getMessage(), illegalArgumentException);
+        }
+    }
+}
@@ -1,25 +1,33 @@
 package com.todo.todoapp.service.user.impl;
 
+import com.todo.todoapp.cache.user.UserCache;
+import com.todo.todoapp.cache.user.UserLoginCoalescer;
+import com.todo.todoapp.model.user.Provider;
+import com.todo.todoapp.model.user.ProviderIdentity;
 import com.todo.todoapp.model.user.User;
-import com.todo.todoapp.repository.user.UserRepository;
+import com.todo.todoapp.model.user.UserLogin;
 import com.todo.todoapp.service.user.IUserService;
-import com.todo.todoapp.util.MongoUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 
-import javax.annotation.PostConstruct;
+import java.util.Map;
 
 import static com.todo.todoapp.util.Constants.ATTRIBUTE_EMAIL;
 import static com.todo.todoapp.util.Constants.ATTRIBUTE_ID;
 import static com.todo.todoapp.util.Constants.ATTRIBUTE_LOGIN;
 import static com.todo.todoapp.util.Constants.ATTRIBUTE_NAME;
 import static com.todo.todoapp.util.Constants.ATTRIBUTE_SUB;
-import static com.todo.todoapp.util.Constants.COLLECTION_NAME_USER;
 import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_PRINCIPAL_IS_NULL;
 import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_USER_COULD_NOT_BE_SAVED_TO_ANY_AVAILABLE_SERVICE;
 import static com.todo.todoapp.util.Constants.ERR_MSG_THE_PRINCIPAL_S_EMAIL_ATTRIBUTE_IS_NULL;
@@ -27,8 +35,7 @@ import static com.todo.todoapp.util.Constants.ERR_MSG_THE_PRINCIPAL_S_ID_ATTRIBU
 import static com.todo.todoapp.util.Constants.ERR_MSG_THE_PRINCIPAL_S_LOGIN_ATTRIBUTE_IS_NULL;
 import static com.todo.todoapp.util.Constants.ERR_MSG_THE_PRINCIPAL_S_NAME_ATTRIBUTE_IS_NULL;
 import static com.todo.todoapp.util.Constants.ERR_MSG_THE_PRINCIPAL_S_SUB_ATTRIBUTE_IS_NULL;
-import static com.todo.todoapp.util.Constants.INDEX_NAME_USER_GITHUB_ID_INDEX;
-import static com.todo.todoapp.util.Constants.INDEX_NAME_USER_GOOGLE_ID_INDEX;
+import static com.todo.todoapp.util.Constants.KEY_EMAIL;
 import static com.todo.todoapp.util.Constants.KEY_GITHUB_ID;
 import static com.todo.todoapp.util.Constants.KEY_GOOGLE_ID;
 
@@ -37,19 +44,17 @@ public class UserService implements IUserService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UserService.class);
 
-    private final UserRepository userRepository;
-    private final MongoUtil mongoUtil;
+    private static final FindAndModifyOptions UPSERT_OPTIONS = FindAndModifyOptions.options().upsert(true).returnNew(true);
 
-    @Autowired
-    public UserService(UserRepository userRepository, MongoUtil mongoUtil) {
-        this.userRepository = userRepository;
-        this.mongoUtil = mongoUtil;
-    }
+    private final MongoTemplate mongoTemplate;
+    private final UserCache userCache;
+    private final UserLoginCoalescer userLoginCoalescer;
 
-    @PostConstruct
-    public void initIndexes() {
-        mongoUtil.createIndex("Creating index for the 'github_id' field of User.", COLLECTION_NAME_USER, KEY_GITHUB_ID, INDEX_NAME_USER_GITHUB_ID_INDEX);
-        mongoUtil.createIndex("Creating index for the 'google_id' field of User.", COLLECTION_NAME_USER, KEY_GOOGLE_ID, INDEX_NAME_USER_GOOGLE_ID_INDEX);
+    @Autowired
+    public UserService(MongoTemplate mongoTemplate, UserCache userCache, UserLoginCoalescer userLoginCoalescer) {
+        this.mongoTemplate = mongoTemplate;
+        this.userCache = userCache;
+        this.userLoginCoalescer = userLoginCoalescer;
     }
 
     @Override
@@ -74,7 +79,8 @@ public class UserService implements IUserService {
     private void checkNameAttributes(OAuth2User principal, Object attributeName, Object attributeLogin) {
         if (principal instanceof OidcUser && attributeName == null) {
             throwIllegalArgumentException(ERR_MSG_THE_PRINCIPAL_S_NAME_ATTRIBUTE_IS_NULL);
-        } else if (principal instanceof DefaultOAuth2User && attributeLogin == null) {
+        } else if (!(principal instanceof OidcUser) && principal instanceof DefaultOAuth2User && attributeLogin == null) {
+            // a DefaultOidcUser is a DefaultOAuth2User too, but only the GitHub users have a login attribute
             throwIllegalArgumentException(ERR_MSG_THE_PRINCIPAL_S_LOGIN_ATTRIBUTE_IS_NULL);
         }
     }
@@ -124,56 +130,57 @@ public class UserService implements IUserService {
     }
 
     private User handleLogin(OAuth2User principal) {
-        return principal instanceof OidcUser
-                ? handleGoogleLogin((OidcUser) principal)
-                : handleGithubLogin((DefaultOAuth2User) principal);
-    }
+        ProviderIdentity providerIdentity = principal instanceof OidcUser
+                ? new ProviderIdentity(Provider.GOOGLE, principal.getAttribute(ATTRIBUTE_SUB).toString())
+                : new ProviderIdentity(Provider.GITHUB, principal.getAttribute(ATTRIBUTE_ID).toString());
+        UserLogin userLogin = new UserLogin(providerIdentity, principal.getAttribute(ATTRIBUTE_EMAIL).toString());
 
-    private User handleGoogleLogin(OidcUser oidcUser) {
-        String id = oidcUser.getAttribute(ATTRIBUTE_SUB).toString();
-        String email = oidcUser.getAttribute(ATTRIBUTE_EMAIL).toString();
+        return userLoginCoalescer.resolve(userLogin, () -> upsertUser(userLogin));
+    }
 
-        User returnedUser = userRepository.findByEmail(email);
+    /**
+     * Finds the User by the email and sets the ID of the provider on it, or inserts a new User with both of them,
+     * in one atomic findAndModify. Two concurrent upserts of a new email can both miss the match and try to insert:
+     * the unique email index rejects the second insert, and its retry matches the User inserted by the first one.
+     *
+     * @param userLogin - the provider identity and the email of the principal
+     * @return - the saved User, or null if it could not be saved
+     */
+    private User upsertUser(UserLogin userLogin) {
+        ProviderIdentity providerIdentity = userLogin.getProviderIdentity();
+        String providerIdKey = providerIdentity.getProvider() == Provider.GOOGLE ? KEY_GOOGLE_ID : KEY_GITHUB_ID;
+        Query query = Query.query(Criteria.where(KEY_EMAIL).is(userLogin.getEmail()));
+        Update update = new Update().set(providerIdKey, providerIdentity.getProviderId());
+        User savedUser;
+
+        try {
+            savedUser = mongoTemplate.findAndModify(query, update, UPSERT_OPTIONS, User.class);
+        } catch (DuplicateKeyException duplicateKeyException) {
+            LOGGER.debug("The User with the email {} was inserted by a concurrent login, retrying the upsert", userLogin.getEmail());
+
+            savedUser = retryUpsertUser(query, update);
+        }
 
-        if (returnedUser == null) {
-            User user = new User.Builder()
-                    .withEmail(email)
-                    .withGoogleId(id)
-                    .build();
-
-            returnedUser = userRepository.save(user);
-        } else {
-            if (userRepository.findByGoogleId(id) == null) {
-                returnedUser.setGoogleId(id);
-
-                returnedUser = userRepository.save(returnedUser);
-            }
+        if (savedUser != null) {
+            userCache.invalidate(savedUser);
         }
 
-        return returnedUser;
+        return savedUser;
     }
 
-    private User handleGithubLogin(DefaultOAuth2User defaultOAuth2User) {
-        String id = defaultOAuth2User.getAttribute(ATTRIBUTE_ID).toString();
-        String email = defaultOAuth2User.getAttribute(ATTRIBUTE_EMAIL).toString();
+    private User retryUpsertUser(Query query, Update update) {
+        try {
+            return mongoTemplate.findAndModify(query, update, UPSERT_OPTIONS, User.class);
+        } catch (DuplicateKeyException duplicateKeyException) {
+            // the ID of the provider belongs to a User with another email
+            LOGGER.error(duplicateKeyException.getMessage());
 
-        User returnedUser = userRepository.findByEmail(email);
-
-        if (returnedUser == null) {
-            User user = new User.Builder()
-                    .withEmail(email)
-                    .withGithubId(id)
-                    .build();
-
-            returnedUser = userRepository.save(user);
-        } else {
-            if (userRepository.findByGithubId(id) == null) {
-                returnedUser.setGithubId(id);
-
-                returnedUser = userRepository.save(returnedUser);
-            }
+            return null;
         }
+    }
 
-        return returnedUser;
+    @Override
+    public Map<String, Long> getUserCacheStatistics() {
+        return userCache.getStatistics();
     }
 }
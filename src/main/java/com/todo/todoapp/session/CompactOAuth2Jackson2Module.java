@@ -0,0 +1,30 @@
+package com.todo.todoapp.session;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+
+/**
+ * Replaces the mapping of the OAuth2AuthenticationToken of the OAuth2ClientJackson2Module, which writes the ID token
+ * of a Google user three times: in the principal and in the authorities of both the principal and the token.
+ * The compact form keeps every part of the token once, and rebuilds the authorities from them.
+ * It has to be registered after the Jackson modules of Spring Security.
+ */
+public class CompactOAuth2Jackson2Module extends SimpleModule {
+
+    public CompactOAuth2Jackson2Module() {
+        super(CompactOAuth2Jackson2Module.class.getName());
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        context.setMixInAnnotations(OAuth2AuthenticationToken.class, OAuth2AuthenticationTokenMixin.class);
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+    @JsonSerialize(using = OAuth2AuthenticationTokenSerializer.class)
+    @JsonDeserialize(using = OAuth2AuthenticationTokenDeserializer.class)
+    abstract static class OAuth2AuthenticationTokenMixin {}
+}
@@ -0,0 +1,102 @@
+package com.todo.todoapp.session;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.todo.todoapp.model.user.TodoOAuth2User;
+import com.todo.todoapp.model.user.TodoOidcUser;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.oidc.IdTokenClaimNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2UserAuthority;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the OAuth2AuthenticationToken written by the OAuth2AuthenticationTokenSerializer. The user authority is rebuilt
+ * from the ID token and the user info, or from the attributes, the rest of the authorities only have their names.
+ * The principal is a TodoPrincipal if the ID of the User was written, which is missing from the older sessions.
+ */
+class OAuth2AuthenticationTokenDeserializer extends StdDeserializer<OAuth2AuthenticationToken> {
+
+    static final String FIELD_REGISTRATION_ID = "registrationId";
+    static final String FIELD_NAME_ATTRIBUTE_KEY = "nameAttributeKey";
+    static final String FIELD_AUTHORITIES = "authorities";
+    static final String FIELD_USER_AUTHORITY = "userAuthority";
+    static final String FIELD_TOKEN_VALUE = "tokenValue";
+    static final String FIELD_CLAIMS = "claims";
+    static final String FIELD_USER_INFO = "userInfo";
+    static final String FIELD_ATTRIBUTES = "attributes";
+    static final String FIELD_DETAILS = "details";
+    static final String FIELD_USER_ID = "userId";
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE_REFERENCE = new TypeReference<>() {};
+    private static final TypeReference<Object> OBJECT_TYPE_REFERENCE = new TypeReference<>() {};
+
+    OAuth2AuthenticationTokenDeserializer() {
+        super(OAuth2AuthenticationToken.class);
+    }
+
+    @Override
+    public OAuth2AuthenticationToken deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        ObjectMapper mapper = (ObjectMapper) parser.getCodec();
+        JsonNode node = mapper.readTree(parser);
+        String nameAttributeKey = node.get(FIELD_NAME_ATTRIBUTE_KEY).asText();
+        String userAuthority = node.get(FIELD_USER_AUTHORITY).isNull() ? null : node.get(FIELD_USER_AUTHORITY).asText();
+        String userId = node.has(FIELD_USER_ID) ? node.get(FIELD_USER_ID).asText() : null;
+        DefaultOAuth2User principal;
+        List<GrantedAuthority> authorities;
+
+        if (node.has(FIELD_TOKEN_VALUE)) {
+            Map<String, Object> claims = readValue(mapper, node.get(FIELD_CLAIMS), MAP_TYPE_REFERENCE);
+            Map<String, Object> userInfoClaims = readValue(mapper, node.get(FIELD_USER_INFO), MAP_TYPE_REFERENCE);
+            OidcIdToken idToken = new OidcIdToken(node.get(FIELD_TOKEN_VALUE).asText(), (Instant) claims.get(IdTokenClaimNames.IAT),
+                    (Instant) claims.get(IdTokenClaimNames.EXP), claims);
+            OidcUserInfo userInfo = userInfoClaims == null ? null : new OidcUserInfo(userInfoClaims);
+
+            authorities = readAuthorities(node, userAuthority, userAuthority == null ? null : new OidcUserAuthority(userAuthority, idToken, userInfo));
+            principal = userId == null
+                    ? new DefaultOidcUser(authorities, idToken, userInfo, nameAttributeKey)
+                    : new TodoOidcUser(authorities, idToken, userInfo, nameAttributeKey, userId);
+        } else {
+            Map<String, Object> attributes = readValue(mapper, node.get(FIELD_ATTRIBUTES), MAP_TYPE_REFERENCE);
+
+            authorities = readAuthorities(node, userAuthority, userAuthority == null ? null : new OAuth2UserAuthority(userAuthority, attributes));
+            principal = userId == null
+                    ? new DefaultOAuth2User(authorities, attributes, nameAttributeKey)
+                    : new TodoOAuth2User(authorities, attributes, nameAttributeKey, userId);
+        }
+
+        OAuth2AuthenticationToken authenticationToken = new OAuth2AuthenticationToken(principal, authorities, node.get(FIELD_REGISTRATION_ID).asText());
+        authenticationToken.setDetails(readValue(mapper, node.get(FIELD_DETAILS), OBJECT_TYPE_REFERENCE));
+
+        return authenticationToken;
+    }
+
+    private List<GrantedAuthority> readAuthorities(JsonNode node, String userAuthority, GrantedAuthority userGrantedAuthority) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+
+        for (JsonNode authority : node.get(FIELD_AUTHORITIES)) {
+            authorities.add(authority.asText().equals(userAuthority) ? userGrantedAuthority : new SimpleGrantedAuthority(authority.asText()));
+        }
+
+        return authorities;
+    }
+
+    private <T> T readValue(ObjectMapper mapper, JsonNode value, TypeReference<T> valueTypeReference) throws IOException {
+        return value == null || value.isNull() ? null : mapper.readValue(value.traverse(mapper), valueTypeReference);
+    }
+}
@@ -0,0 +1,99 @@
+package com.todo.todoapp.session;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.todo.todoapp.model.user.TodoPrincipal;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2UserAuthority;
+
+import java.io.IOException;
+
+import static com.todo.todoapp.session.OAuth2AuthenticationTokenDeserializer.FIELD_ATTRIBUTES;
+import static com.todo.todoapp.session.OAuth2AuthenticationTokenDeserializer.FIELD_AUTHORITIES;
+import static com.todo.todoapp.session.OAuth2AuthenticationTokenDeserializer.FIELD_CLAIMS;
+import static com.todo.todoapp.session.OAuth2AuthenticationTokenDeserializer.FIELD_DETAILS;
+import static com.todo.todoapp.session.OAuth2AuthenticationTokenDeserializer.FIELD_NAME_ATTRIBUTE_KEY;
+import static com.todo.todoapp.session.OAuth2AuthenticationTokenDeserializer.FIELD_REGISTRATION_ID;
+import static com.todo.todoapp.session.OAuth2AuthenticationTokenDeserializer.FIELD_TOKEN_VALUE;
+import static com.todo.todoapp.session.OAuth2AuthenticationTokenDeserializer.FIELD_USER_AUTHORITY;
+import static com.todo.todoapp.session.OAuth2AuthenticationTokenDeserializer.FIELD_USER_ID;
+import static com.todo.todoapp.session.OAuth2AuthenticationTokenDeserializer.FIELD_USER_INFO;
+
+/**
+ * Writes an OAuth2AuthenticationToken as its registration, the authority names and either the ID token and the user info
+ * of an OIDC user (Google), or the attributes of an OAuth2 user (GitHub), and the ID of the User of a TodoPrincipal.
+ * The principals are created by the user services of the application, so they are always DefaultOAuth2Users,
+ * and no GrantedAuthoritiesMapper changes their authorities.
+ */
+class OAuth2AuthenticationTokenSerializer extends StdSerializer<OAuth2AuthenticationToken> {
+
+    private static final String FIELD_NAME_ATTRIBUTE_KEY_OF_USER = "nameAttributeKey";
+
+    OAuth2AuthenticationTokenSerializer() {
+        super(OAuth2AuthenticationToken.class);
+    }
+
+    @Override
+    public void serialize(OAuth2AuthenticationToken authenticationToken, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+        writeFields(authenticationToken, generator, provider);
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(OAuth2AuthenticationToken authenticationToken, JsonGenerator generator, SerializerProvider provider,
+                                  TypeSerializer typeSerializer) throws IOException {
+        WritableTypeId typeId = typeSerializer.writeTypePrefix(generator, typeSerializer.typeId(authenticationToken, JsonToken.START_OBJECT));
+        writeFields(authenticationToken, generator, provider);
+        typeSerializer.writeTypeSuffix(generator, typeId);
+    }
+
+    private void writeFields(OAuth2AuthenticationToken authenticationToken, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        DefaultOAuth2User principal = (DefaultOAuth2User) authenticationToken.getPrincipal();
+
+        generator.writeStringField(FIELD_REGISTRATION_ID, authenticationToken.getAuthorizedClientRegistrationId());
+        generator.writeStringField(FIELD_NAME_ATTRIBUTE_KEY, (String) new DirectFieldAccessor(principal).getPropertyValue(FIELD_NAME_ATTRIBUTE_KEY_OF_USER));
+        writeAuthorities(authenticationToken, generator);
+
+        if (principal instanceof DefaultOidcUser) {
+            DefaultOidcUser oidcUser = (DefaultOidcUser) principal;
+
+            generator.writeStringField(FIELD_TOKEN_VALUE, oidcUser.getIdToken().getTokenValue());
+            provider.defaultSerializeField(FIELD_CLAIMS, oidcUser.getIdToken().getClaims(), generator);
+            provider.defaultSerializeField(FIELD_USER_INFO, oidcUser.getUserInfo() == null ? null : oidcUser.getUserInfo().getClaims(), generator);
+        } else {
+            provider.defaultSerializeField(FIELD_ATTRIBUTES, principal.getAttributes(), generator);
+        }
+
+        provider.defaultSerializeField(FIELD_DETAILS, authenticationToken.getDetails(), generator);
+
+        if (principal instanceof TodoPrincipal) {
+            generator.writeStringField(FIELD_USER_ID, ((TodoPrincipal) principal).getUserId());
+        }
+    }
+
+    private void writeAuthorities(OAuth2AuthenticationToken authenticationToken, JsonGenerator generator) throws IOException {
+        String userAuthority = null;
+
+        generator.writeArrayFieldStart(FIELD_AUTHORITIES);
+
+        for (GrantedAuthority authority : authenticationToken.getAuthorities()) {
+            generator.writeString(authority.getAuthority());
+
+            if (authority instanceof OAuth2UserAuthority) {
+                userAuthority = authority.getAuthority();
+            }
+        }
+
+        generator.writeEndArray();
+        generator.writeStringField(FIELD_USER_AUTHORITY, userAuthority);
+    }
+}
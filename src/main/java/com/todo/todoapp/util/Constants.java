@@ -16,13 +16,60 @@ public class Constants {
     public static final String ERR_MSG_THE_PRINCIPAL_S_SUB_ATTRIBUTE_IS_NULL = "The principal's sub attribute is null!";
     public static final String ERR_MSG_THE_PRINCIPAL_S_EMAIL_ATTRIBUTE_IS_NULL = "The principal's email attribute is null!";
     public static final String ERR_MSG_THE_PRINCIPAL_S_ID_ATTRIBUTE_IS_NULL = "The principal's id attribute is null!";
+    public static final String ERR_MSG_THE_GIVEN_PAGE_TOKEN_IS_NOT_VALID = "The given page token is not valid!";
+    public static final String ERR_MSG_THE_GIVEN_PAGE_SIZE_IS_NOT_VALID = "The given page size is not valid!";
+    public static final String ERR_MSG_THE_GIVEN_FIELDS_ARE_NOT_VALID = "The given fields are not valid!";
+    public static final String ERR_MSG_THE_GIVEN_BATCH_IS_TOO_BIG = "The given batch is too big!";
+    public static final String ERR_MSG_THE_GIVEN_OPERATION_TYPE_IS_NOT_VALID = "The given operation type is not valid!";
+    public static final String ERR_MSG_THE_GIVEN_TODO_IS_NOT_VALID = "The given Todo is not valid!";
+    public static final String ERR_MSG_THE_GIVEN_TODO_IS_ALREADY_PART_OF_THE_BATCH = "The given Todo is already part of the batch!";
+    public static final String ERR_MSG_THE_GIVEN_PATCH_IS_NOT_VALID = "The given patch is not valid!";
+    public static final String ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME = "The Todo has been modified in the meantime!";
+    public static final String ERR_MSG_THE_GIVEN_FILTER_IS_NOT_VALID = "The given filter is not valid!";
+    public static final String ERR_MSG_THE_GIVEN_SEARCH_QUERY_IS_NOT_VALID = "The given search query is not valid!";
+    public static final String ERR_MSG_TOO_MANY_REQUESTS = "Too many requests, please retry later!";
+
+    public static final String PROFILE_REACTIVE = "reactive";
+    public static final String PROFILE_NOT_REACTIVE = "!" + PROFILE_REACTIVE;
+    public static final String PROFILE_LOAD_TEST = "loadtest";
+
+    public static final String MEDIA_TYPE_APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String MEDIA_TYPE_APPLICATION_MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    public static final String METRIC_NAME_HTTP_REQUESTS = "todo.http.requests";
+    public static final String METRIC_NAME_HTTP_REQUESTS_ACTIVE = "todo.http.requests.active";
+    public static final String METRIC_NAME_HTTP_ERRORS = "todo.http.errors";
+    public static final String METRIC_NAME_LOGGING_DROPPED_EVENTS = "todo.logging.dropped.events";
+    public static final String METRIC_NAME_USER_LOGINS_RESOLVED = "todo.user.logins.resolved";
+    public static final String METRIC_NAME_USER_LOGINS_COALESCED = "todo.user.logins.coalesced";
+    public static final String METRIC_NAME_USER_LOGINS_COALESCING_TIMEOUTS = "todo.user.logins.coalescing.timeouts";
+    public static final String METRIC_NAME_USER_LOGINS_ACTIVE = "todo.user.logins.active";
+    public static final String METRIC_NAME_RATE_LIMIT_REJECTED = "todo.ratelimit.rejected";
+    public static final String METRIC_NAME_RATE_LIMIT_BUCKETS = "todo.ratelimit.buckets";
+
+    public static final String TAG_ROUTE = "route";
+    public static final String TAG_METHOD = "method";
+    public static final String TAG_STATUS = "status";
+    public static final String TAG_EXCEPTION = "exception";
+    public static final String TAG_ROUTE_GROUP = "group";
+    public static final String TAG_VALUE_NONE = "None";
+    public static final String TAG_VALUE_UNMATCHED = "UNMATCHED";
 
     public static final String NAME_ANDREW = "Andrew";
 
     public static final String COLLECTION_NAME_TODO = "Todo";
     public static final String COLLECTION_NAME_USER = "User";
 
+    public static final long INITIAL_TODO_VERSION = 0L;
+    public static final int LIST_VERSION_INCREMENT_ATTEMPTS = 3;
+
+    public static final String KEY_ID = "_id";
     public static final String KEY_NAME = "name";
+    public static final String KEY_USER_ID = "user_id";
+    public static final String KEY_DEADLINE = "deadline";
+    public static final String KEY_PRIORITY = "priority";
+    public static final String KEY_VERSION = "version";
+    public static final String KEY_EMAIL = "email";
     public static final String KEY_GITHUB_ID = "github_id";
     public static final String KEY_GOOGLE_ID = "google_id";
     public static final String KEY_EMPTY_TODO = "EmptyTodo";
@@ -33,8 +80,15 @@ public class Constants {
     public static final String KEY_TODO_FOR_UPDATING = "TodoForUpdating";
 
     public static final String INDEX_NAME_TODO_NAME_INDEX = "Todo_name_index";
+    public static final String INDEX_NAME_TODO_USER_ID_ID_INDEX = "Todo_user_id_id_index";
+    public static final String INDEX_NAME_TODO_USER_ID_NAME_INDEX = "Todo_user_id_name_index";
+    public static final String INDEX_NAME_TODO_USER_ID_NAME_TEXT_INDEX = "Todo_user_id_name_text_index";
+    public static final String INDEX_NAME_TODO_USER_ID_DEADLINE_INDEX = "Todo_user_id_deadline_index";
+    public static final String INDEX_NAME_TODO_USER_ID_DEADLINE_ID_INDEX = "Todo_user_id_deadline_id_index";
+    public static final String INDEX_NAME_TODO_USER_ID_PRIORITY_ID_INDEX = "Todo_user_id_priority_id_index";
     public static final String INDEX_NAME_USER_GITHUB_ID_INDEX = "User_github_id_index";
     public static final String INDEX_NAME_USER_GOOGLE_ID_INDEX = "User_google_id_index";
+    public static final String INDEX_NAME_USER_EMAIL_INDEX = "User_email_index";
 
     public static final String ATTRIBUTE_SUB = "sub";
     public static final String ATTRIBUTE_ID = "id";
@@ -42,10 +96,14 @@ public class Constants {
     public static final String ATTRIBUTE_LOGIN = "login";
     public static final String ATTRIBUTE_EMAIL = "email";
 
+    public static final String OAUTH2_ERROR_CODE_INVALID_USER = "invalid_user_info";
+
     public static final String TODO_ID_ONE = "1";
     public static final String TODO_ID_TWO = "2";
     public static final String TODO_ID_THREE = "3";
     public static final String TODO_ID_FOUR = "4";
+    public static final String TODO_OBJECT_ID = "5f0c6e2b9d1e8a3b4c5d6e7f";
+    public static final String USER_ID = "5f0c6e2b9d1e8a3b4c5d6e70";
 
     public static final String TODO_NAME_ONE = "Todo #1";
     public static final String TODO_NAME_TWO = "Todo #2";
@@ -60,11 +118,18 @@ public class Constants {
     public static final String DP_UPDATE_TODO_DATA_PROVIDER = "updateTodoDataProvider";
     public static final String DP_UPDATE_TODO_CONSTRAINT_VIOLATION_EXCEPTION_DATA_PROVIDER = "updateTodoConstraintViolationExceptionDataProvider";
     public static final String DP_DELETE_TODO_DATA_PROVIDER = "deleteTodoDataProvider";
+    public static final String DP_EXECUTE_BATCH_INVALID_OPERATION_DATA_PROVIDER = "executeBatchInvalidOperationDataProvider";
+    public static final String DP_GET_TODOS_FOR_USER_PAGE_SIZE_DATA_PROVIDER = "getTodosForUserPageSizeDataProvider";
+    public static final String DP_GET_TODOS_FOR_USER_INVALID_FILTER_DATA_PROVIDER = "getTodosForUserInvalidFilterDataProvider";
+    public static final String DP_SEARCH_TODOS_INVALID_SEARCH_QUERY_DATA_PROVIDER = "searchTodosInvalidSearchQueryDataProvider";
     public static final String DP_GET_USERNAME_NAME_ATTRIBUTE_IS_NULL_DATA_PROVIDER = "getUsernameNameAttributeIsNullDataProvider";
     public static final String DP_GET_USERNAME_NAME_ATTRIBUTE_IS_NOT_NULL_DATA_PROVIDER = "getUsernameNameAttributeIsNotNullDataProvider";
     public static final String DP_HANDLE_USER_ID_ATTRIBUTE_IS_NULL_DATA_PROVIDER = "handleUserIdAttributeIsNullDataProvider";
     public static final String DP_HANDLE_USER_EMAIL_ATTRIBUTE_IS_NULL_DATA_PROVIDER = "handleUserEmailAttributeIsNullDataProvider";
-    public static final String DP_HANDLE_USER_SHOULD_RETURN_A_NEW_USER_DATA_PROVIDER = "handleUserShouldReturnANewUserDataProvider";
+    public static final String DP_HANDLE_USER_SHOULD_UPSERT_THE_USER_DATA_PROVIDER = "handleUserShouldUpsertTheUserDataProvider";
+    public static final String DP_ETAG_MATCHES_DATA_PROVIDER = "matchesDataProvider";
+    public static final String DP_ETAG_PARSE_VERSIONS_DATA_PROVIDER = "parseVersionsDataProvider";
+    public static final String DP_PATCH_TODO_INVALID_MERGE_PATCH_DATA_PROVIDER = "patchTodoInvalidMergePatchDataProvider";
 
     public static final String GOOGLE_ID = "156246724635752711248";
     public static final String GITHUB_ID = "56322326";
@@ -0,0 +1,88 @@
+package com.todo.todoapp.util;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ETagUtil {
+
+    private ETagUtil() {}
+
+    private static final String QUOTE = "\"";
+    private static final String ANY_ETAG = "*";
+    private static final String ETAG_SEPARATOR = ",";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+    private static final int MAX_VERSION_DIGITS = 18;
+
+    /**
+     * Creates a strong ETag from the values which identify the representation, e.g. the ID and the version of a Todo.
+     *
+     * @param parts - the values which change whenever the representation changes
+     * @return - the quoted ETag
+     */
+    public static String createETag(Object... parts) {
+        return QUOTE + DigestUtils.md5DigestAsHex(Arrays.toString(parts).getBytes(StandardCharsets.UTF_8)) + QUOTE;
+    }
+
+    /**
+     * Creates the strong ETag of a single Todo, which is its quoted version, so it can be turned back into the version
+     * when the client sends it in an If-Match header.
+     *
+     * @param version - the version of the Todo
+     * @return - the quoted version
+     */
+    public static String createVersionETag(long version) {
+        return QUOTE + version + QUOTE;
+    }
+
+    /**
+     * Checks whether the given If-Match header accepts any current representation.
+     *
+     * @param ifMatch - the value of the If-Match header
+     * @return - true if the header contains the * wildcard
+     */
+    public static boolean matchesAny(String ifMatch) {
+        return splitETags(ifMatch).anyMatch(ANY_ETAG::equals);
+    }
+
+    /**
+     * Parses the versions from the ETags of an If-Match header. Weak ETags and ETags which were not created by createVersionETag
+     * are skipped, because If-Match requires the strong comparison of RFC 7232.
+     *
+     * @param ifMatch - the value of the If-Match header
+     * @return - the versions the client expects, empty if none of the ETags is a valid version ETag
+     */
+    public static Set<Long> parseVersions(String ifMatch) {
+        return splitETags(ifMatch)
+                .filter(eTag -> eTag.length() > 2 && eTag.startsWith(QUOTE) && eTag.endsWith(QUOTE))
+                .map(eTag -> eTag.substring(1, eTag.length() - 1))
+                .filter(version -> version.length() <= MAX_VERSION_DIGITS && version.chars().allMatch(Character::isDigit))
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Checks the If-None-Match header of a conditional GET against the current ETag, with the weak comparison of RFC 7232.
+     *
+     * @param ifNoneMatch - the value of the If-None-Match header, or null if it was not sent
+     * @param eTag - the current ETag of the representation
+     * @return - true if the client already has the current representation, so 304 can be returned
+     */
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        return splitETags(ifNoneMatch)
+                .map(clientETag -> clientETag.startsWith(WEAK_ETAG_PREFIX) ? clientETag.substring(WEAK_ETAG_PREFIX.length()) : clientETag)
+                .anyMatch(clientETag -> ANY_ETAG.equals(clientETag) || clientETag.equals(eTag));
+    }
+
+    private static Stream<String> splitETags(String eTags) {
+        return Arrays.stream(eTags.split(ETAG_SEPARATOR)).map(String::trim);
+    }
+}
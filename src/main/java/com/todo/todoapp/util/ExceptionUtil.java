@@ -0,0 +1,59 @@
+package com.todo.todoapp.util;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.dao.DuplicateKeyException;
+
+import javax.validation.ConstraintViolationException;
+import java.nio.file.AccessDeniedException;
+
+public class ExceptionUtil {
+
+    private static final String ERROR_MESSAGE_PREFIX = "Error message: ";
+    private static final String DUPLICATE_KEY_MESSAGE = "A record with this key already exists!";
+    private static final String UNEXPECTED_EXCEPTION_MESSAGE = "An unexpected exception occurred!";
+
+    private ExceptionUtil() {}
+
+    /**
+     * Creates the error message which is returned to the client for an exception which was not handled by the services,
+     * so the servlet and the reactive exception handlers answer the same.
+     *
+     * @param runtimeException - the exception which reached the exception handler
+     * @return - the error message, which does not reveal the details of the exception
+     */
+    public static String getErrorMessage(Exception runtimeException) {
+        StringBuilder stringBuilder = new StringBuilder(ERROR_MESSAGE_PREFIX);
+
+        if (runtimeException instanceof DuplicateKeyException) {
+            stringBuilder.append(DUPLICATE_KEY_MESSAGE);
+        } else if (runtimeException instanceof ConstraintViolationException) {
+            stringBuilder.append("The given input is not valid!");
+        } else if (runtimeException instanceof AccessDeniedException) {
+            stringBuilder.append("You do not have access to this operation!");
+        } else if (runtimeException instanceof NullPointerException) {
+            stringBuilder.append("Sorry, something went wrong!");
+        } else if (runtimeException instanceof IllegalArgumentException) {
+            stringBuilder.append("Some argument was not valid!");
+        } else {
+            stringBuilder.append(UNEXPECTED_EXCEPTION_MESSAGE);
+        }
+
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Creates the error message of a failed write of a bulk, so a batch operation answers like the single route,
+     * instead of returning the message of the driver, which contains the index and the duplicated key.
+     *
+     * @param bulkWriteError - the error of the failed write
+     * @return - the error message, which does not reveal the details of the error
+     */
+    public static String getErrorMessage(BulkWriteError bulkWriteError) {
+        if (ErrorCategory.fromErrorCode(bulkWriteError.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+            return ERROR_MESSAGE_PREFIX + DUPLICATE_KEY_MESSAGE;
+        }
+
+        return ERROR_MESSAGE_PREFIX + UNEXPECTED_EXCEPTION_MESSAGE;
+    }
+}
@@ -1,13 +1,15 @@
 package com.todo.todoapp.util;
 
+import com.todo.todoapp.model.index.DeclaredIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class MongoUtil {
 
@@ -20,16 +22,25 @@ public class MongoUtil {
         this.mongoTemplate = mongoTemplate;
     }
 
-    public void createIndex(String loggerMsg, String collectionName, String indexKey, String indexName) {
-        LOGGER.info(loggerMsg);
+    public List<IndexInfo> getIndexInfo(String collectionName) {
+        return mongoTemplate
+                .indexOps(collectionName)
+                .getIndexInfo();
+    }
+
+    public void createIndex(DeclaredIndex declaredIndex) {
+        LOGGER.info("Creating index {} for {}.", declaredIndex.getName(), declaredIndex.getCollectionName());
+
+        mongoTemplate
+                .indexOps(declaredIndex.getCollectionName())
+                .ensureIndex(declaredIndex.toIndex());
+    }
+
+    public void dropIndex(String collectionName, String indexName) {
+        LOGGER.info("Dropping index {} of {}.", indexName, collectionName);
 
         mongoTemplate
                 .indexOps(collectionName)
-                .ensureIndex(
-                        new Index()
-                                .on(indexKey, Sort.DEFAULT_DIRECTION)
-                                .named(indexName)
-                                .unique()
-                );
+                .dropIndex(indexName);
     }
 }
@@ -0,0 +1,71 @@
+package com.todo.todoapp.util;
+
+import com.todo.todoapp.model.todo.PageToken;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+public class PageTokenUtil {
+
+    private PageTokenUtil() {}
+
+    // neither the ID nor the sort can contain it, so the sort value, which comes last, can hold anything
+    private static final String PART_SEPARATOR = "|";
+    private static final int MAX_PARTS = 3;
+
+    /**
+     * Creates an opaque continuation token from the ID of the last Todo on the current page, sorted by the ascending ID.
+     *
+     * @param lastTodoId - the ID of the last Todo which was returned to the client
+     * @return - the URL safe token which can be used to get the next page
+     */
+    public static String encode(String lastTodoId) {
+        return encode(lastTodoId, null, null);
+    }
+
+    /**
+     * Creates an opaque continuation token from the last Todo on the current page and the value it was sorted by.
+     *
+     * @param lastTodoId - the ID of the last Todo which was returned to the client
+     * @param sort - the sort of the page, e.g. '-deadline', or null for the default sort by the ascending ID
+     * @param lastSortValue - the sorted value of the last Todo, or null if it has none
+     * @return - the URL safe token which can be used to get the next page
+     */
+    public static String encode(String lastTodoId, String sort, String lastSortValue) {
+        StringBuilder token = new StringBuilder(lastTodoId);
+
+        if (sort != null) {
+            token.append(PART_SEPARATOR).append(sort);
+
+            if (lastSortValue != null) {
+                token.append(PART_SEPARATOR).append(lastSortValue);
+            }
+        }
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads back the last Todo and the sort of the page from the given continuation token.
+     *
+     * @param pageToken - a token created by encode()
+     * @return - an Optional with the PageToken, or an empty Optional if the token is not valid
+     */
+    public static Optional<PageToken> decode(String pageToken) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8).split("\\" + PART_SEPARATOR, MAX_PARTS);
+
+            if (!ObjectId.isValid(parts[0])) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new PageToken(parts[0], parts.length > 1 ? parts[1] : null, parts.length > 2 ? parts[2] : null));
+        } catch (IllegalArgumentException illegalArgumentException) {
+            return Optional.empty();
+        }
+    }
+}
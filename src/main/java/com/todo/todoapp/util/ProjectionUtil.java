@@ -0,0 +1,72 @@
+package com.todo.todoapp.util;
+
+import com.todo.todoapp.model.todo.ProjectedTodo;
+import com.todo.todoapp.model.todo.Todo;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static com.todo.todoapp.util.Constants.KEY_DEADLINE;
+import static com.todo.todoapp.util.Constants.KEY_ID;
+import static com.todo.todoapp.util.Constants.KEY_NAME;
+import static com.todo.todoapp.util.Constants.KEY_PRIORITY;
+import static com.todo.todoapp.util.Constants.KEY_USER_ID;
+import static com.todo.todoapp.util.Constants.KEY_VERSION;
+
+public class ProjectionUtil {
+
+    private ProjectionUtil() {}
+
+    private static final String FIELD_SEPARATOR = ",";
+
+    private static final Map<String, String> PROJECTABLE_TODO_FIELDS = Map.of(
+            "id", KEY_ID,
+            "userId", KEY_USER_ID,
+            "name", KEY_NAME,
+            "deadline", KEY_DEADLINE,
+            "priority", KEY_PRIORITY,
+            "version", KEY_VERSION
+    );
+
+    /**
+     * Checks the comma separated list of Todo fields requested by the client.
+     *
+     * @param fields - the requested fields, e.g. 'id,name,priority', or null if every field is needed
+     * @return - true if no fields were requested, or every requested field is a field of Todo
+     */
+    public static boolean isValid(String fields) {
+        return fields == null || Arrays.stream(fields.split(FIELD_SEPARATOR))
+                .map(String::trim)
+                .allMatch(PROJECTABLE_TODO_FIELDS::containsKey);
+    }
+
+    /**
+     * Pushes the requested fields down to Mongo as a projection, so the other fields are neither transferred nor mapped.
+     * The ID is always returned by Mongo.
+     *
+     * @param query - the query to be projected
+     * @param fields - the valid, comma separated list of the requested fields, or null if every field is needed
+     * @return - the given query
+     */
+    public static Query applyTo(Query query, String fields) {
+        if (fields != null) {
+            Arrays.stream(fields.split(FIELD_SEPARATOR))
+                    .map(String::trim)
+                    .map(PROJECTABLE_TODO_FIELDS::get)
+                    .forEach(field -> query.fields().include(field));
+        }
+
+        return query;
+    }
+
+    /**
+     * Decides which class the Todos are read as, so only the projected Todos omit their missing fields from the JSON.
+     *
+     * @param fields - the valid, comma separated list of the requested fields, or null if every field is needed
+     * @return - ProjectedTodo if fields were requested, else Todo
+     */
+    public static Class<? extends Todo> getTodoClass(String fields) {
+        return fields == null ? Todo.class : ProjectedTodo.class;
+    }
+}
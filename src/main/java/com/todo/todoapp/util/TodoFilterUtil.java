@@ -0,0 +1,261 @@
+package com.todo.todoapp.util;
+
+import com.todo.todoapp.model.todo.PageToken;
+import com.todo.todoapp.model.todo.Priority;
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.todo.TodoFilter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static com.todo.todoapp.util.Constants.KEY_DEADLINE;
+import static com.todo.todoapp.util.Constants.KEY_ID;
+import static com.todo.todoapp.util.Constants.KEY_NAME;
+import static com.todo.todoapp.util.Constants.KEY_PRIORITY;
+
+public class TodoFilterUtil {
+
+    private TodoFilterUtil() {}
+
+    private static final String PRIORITY_SEPARATOR = ",";
+    private static final String DESCENDING_SORT_PREFIX = "-";
+
+    private static final Map<String, String> SORTABLE_TODO_FIELDS = Map.of(
+            "id", KEY_ID,
+            "name", KEY_NAME,
+            "deadline", KEY_DEADLINE,
+            "priority", KEY_PRIORITY
+    );
+
+    /**
+     * Checks the filtering and sorting parameters sent by the client.
+     *
+     * @param todoFilter - the parameters, e.g. priority 'BIG,MEDIUM', deadlines '2020-01-01' and sort '-deadline'
+     * @return - true if every given priority exists, the deadlines are ISO dates in the right order,
+     *           the sort is a sortable Todo field, optionally prefixed with '-', and the limit is positive
+     */
+    public static boolean isValid(TodoFilter todoFilter) {
+        try {
+            getPriorities(todoFilter);
+            LocalDate deadlineFrom = parseDate(todoFilter.getDeadlineFrom());
+            LocalDate deadlineTo = parseDate(todoFilter.getDeadlineTo());
+
+            return (deadlineFrom == null || deadlineTo == null || !deadlineFrom.isAfter(deadlineTo))
+                    && (todoFilter.getSort() == null || SORTABLE_TODO_FIELDS.containsKey(getSortField(todoFilter)))
+                    && (todoFilter.getLimit() == null || todoFilter.getLimit() > 0);
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Pushes the valid filters down to Mongo as criteria, so only the matching Todos are read, through the indexes
+     * which start with the 'user_id' and the filtered field.
+     *
+     * @param query - the query of the user's Todos
+     * @param todoFilter - the valid filtering parameters
+     * @return - the given query
+     */
+    public static Query applyTo(Query query, TodoFilter todoFilter) {
+        List<Priority> priorities = getPriorities(todoFilter);
+
+        if (!priorities.isEmpty()) {
+            query.addCriteria(Criteria.where(KEY_PRIORITY).in(priorities));
+        }
+
+        LocalDate deadlineFrom = parseDate(todoFilter.getDeadlineFrom());
+        LocalDate deadlineTo = parseDate(todoFilter.getDeadlineTo());
+
+        if (deadlineFrom != null || deadlineTo != null) {
+            Criteria deadlineCriteria = Criteria.where(KEY_DEADLINE);
+
+            if (deadlineFrom != null) {
+                deadlineCriteria.gte(deadlineFrom);
+            }
+
+            if (deadlineTo != null) {
+                deadlineCriteria.lte(deadlineTo);
+            }
+
+            query.addCriteria(deadlineCriteria);
+        }
+
+        return query.with(getSort(todoFilter));
+    }
+
+    /**
+     * Checks that the given page token was created for the sort of the given filter, and that its sort value can be read back.
+     *
+     * @param pageToken - the decoded page token
+     * @param todoFilter - the valid sorting parameters
+     * @return - true if the token can continue the Todos in the requested order
+     */
+    public static boolean isValid(PageToken pageToken, TodoFilter todoFilter) {
+        try {
+            Sort.Order order = getOrder(todoFilter);
+
+            if (!Objects.equals(pageToken.getSort(), getPageTokenSort(order))) {
+                return false;
+            }
+
+            parseSortValue(order.getProperty(), pageToken.getLastSortValue());
+
+            return true;
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Adds the keyset criteria, which continue after the last Todo of the previous page, to the query. The Todos are sorted
+     * by the (sorted field, _id) pair, so the criteria are served by the indexes which start with the 'user_id', the sorted field and end with the '_id'.
+     * Mongo sorts the missing values before every other, so the Todos without a value are continued by their ID.
+     *
+     * @param query - the query of the user's Todos
+     * @param todoFilter - the valid sorting parameters
+     * @param pageToken - the page token which is valid for the given filter
+     * @return - the given query
+     */
+    public static Query addKeysetCriteria(Query query, TodoFilter todoFilter, PageToken pageToken) {
+        Sort.Order order = getOrder(todoFilter);
+        String key = order.getProperty();
+        String lastTodoId = pageToken.getLastTodoId();
+
+        if (KEY_ID.equals(key)) {
+            return query.addCriteria(order.isAscending() ? Criteria.where(KEY_ID).gt(lastTodoId) : Criteria.where(KEY_ID).lt(lastTodoId));
+        }
+
+        Object lastSortValue = parseSortValue(key, pageToken.getLastSortValue());
+        List<Criteria> keysetCriteria = new ArrayList<>();
+
+        if (order.isAscending()) {
+            if (lastSortValue == null) {
+                keysetCriteria.add(Criteria.where(key).is(null).and(KEY_ID).gt(lastTodoId));
+                keysetCriteria.add(Criteria.where(key).ne(null));
+            } else {
+                keysetCriteria.add(Criteria.where(key).gt(lastSortValue));
+                keysetCriteria.add(Criteria.where(key).is(lastSortValue).and(KEY_ID).gt(lastTodoId));
+            }
+        } else {
+            if (lastSortValue == null) {
+                keysetCriteria.add(Criteria.where(key).is(null).and(KEY_ID).lt(lastTodoId));
+            } else {
+                keysetCriteria.add(Criteria.where(key).lt(lastSortValue));
+                keysetCriteria.add(Criteria.where(key).is(lastSortValue).and(KEY_ID).lt(lastTodoId));
+                keysetCriteria.add(Criteria.where(key).is(null));
+            }
+        }
+
+        // the $or keeps the keyset criteria apart from the filter criteria of the same field
+        return query.addCriteria(new Criteria().orOperator(keysetCriteria.toArray(new Criteria[0])));
+    }
+
+    /**
+     * Creates the page token which continues after the given Todo in the order of the given filter.
+     *
+     * @param lastTodo - the last Todo on the current page
+     * @param todoFilter - the valid sorting parameters
+     * @return - the URL safe token which can be used to get the next page
+     */
+    public static String createPageToken(Todo lastTodo, TodoFilter todoFilter) {
+        Sort.Order order = getOrder(todoFilter);
+
+        return PageTokenUtil.encode(lastTodo.getId(), getPageTokenSort(order), getSortValue(lastTodo, order.getProperty()));
+    }
+
+    /**
+     * Returns the field the Todos are sorted by, which has to be read even if the client did not request it, to create the page token.
+     *
+     * @param todoFilter - the valid sorting parameters
+     * @return - the key of the sorted field
+     */
+    public static String getSortKey(TodoFilter todoFilter) {
+        return getOrder(todoFilter).getProperty();
+    }
+
+    private static Sort.Order getOrder(TodoFilter todoFilter) {
+        return getSort(todoFilter).iterator().next();
+    }
+
+    private static String getPageTokenSort(Sort.Order order) {
+        // the tokens of the default sort hold only the ID
+        if (KEY_ID.equals(order.getProperty()) && order.isAscending()) {
+            return null;
+        }
+
+        return order.isAscending() ? order.getProperty() : DESCENDING_SORT_PREFIX + order.getProperty();
+    }
+
+    private static String getSortValue(Todo todo, String key) {
+        switch (key) {
+            case KEY_NAME:
+                return todo.getName();
+            case KEY_DEADLINE:
+                return todo.getDeadline() == null ? null : todo.getDeadline().toString();
+            case KEY_PRIORITY:
+                return todo.getPriority() == null ? null : todo.getPriority().name();
+            default:
+                return null;
+        }
+    }
+
+    private static Object parseSortValue(String key, String sortValue) {
+        if (sortValue == null) {
+            return null;
+        }
+
+        switch (key) {
+            case KEY_DEADLINE:
+                return LocalDate.parse(sortValue);
+            case KEY_PRIORITY:
+                return Priority.valueOf(sortValue);
+            default:
+                return sortValue;
+        }
+    }
+
+    private static Sort getSort(TodoFilter todoFilter) {
+        if (todoFilter.getSort() == null) {
+            return Sort.by(Sort.Direction.ASC, KEY_ID);
+        }
+
+        Sort.Direction direction = todoFilter.getSort().trim().startsWith(DESCENDING_SORT_PREFIX) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        String key = SORTABLE_TODO_FIELDS.get(getSortField(todoFilter));
+
+        // the ID breaks the ties, so the order is stable and matches the indexes which end with the '_id'
+        return KEY_ID.equals(key)
+                ? Sort.by(direction, KEY_ID)
+                : Sort.by(direction, key).and(Sort.by(direction, KEY_ID));
+    }
+
+    private static String getSortField(TodoFilter todoFilter) {
+        String sort = todoFilter.getSort().trim();
+
+        return sort.startsWith(DESCENDING_SORT_PREFIX) ? sort.substring(DESCENDING_SORT_PREFIX.length()) : sort;
+    }
+
+    private static List<Priority> getPriorities(TodoFilter todoFilter) {
+        if (todoFilter.getPriority() == null) {
+            return List.of();
+        }
+
+        return Arrays.stream(todoFilter.getPriority().split(PRIORITY_SEPARATOR))
+                .map(priority -> Priority.valueOf(priority.trim().toUpperCase(Locale.ROOT)))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static LocalDate parseDate(String date) {
+        return date == null ? null : LocalDate.parse(date.trim());
+    }
+}
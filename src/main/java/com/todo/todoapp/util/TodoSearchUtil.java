@@ -0,0 +1,73 @@
+package com.todo.todoapp.util;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import java.util.Collection;
+import java.util.regex.Pattern;
+
+import static com.todo.todoapp.util.Constants.KEY_ID;
+import static com.todo.todoapp.util.Constants.KEY_NAME;
+import static com.todo.todoapp.util.Constants.KEY_USER_ID;
+
+public class TodoSearchUtil {
+
+    private TodoSearchUtil() {}
+
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+    private static final String WORD_START_REGEX = "(^|\\s)";
+    private static final String CASE_INSENSITIVE_REGEX_OPTION = "i";
+
+    /**
+     * Checks the search query sent by the client.
+     *
+     * @param searchQuery - the words to search for in the names of the Todos, e.g. 'buy milk'
+     * @return - true if the search query is not blank and not longer than 100 characters
+     */
+    public static boolean isValid(String searchQuery) {
+        return searchQuery != null && !searchQuery.isBlank() && searchQuery.length() <= MAX_SEARCH_QUERY_LENGTH;
+    }
+
+    /**
+     * Creates the full-text query of the user's Todos, which is served by the text index prefixed with the 'user_id'.
+     * It matches the whole (stemmed) words of the names, and ranks the Todos by their text score.
+     *
+     * @param userId - the ID of the user, the equality prefix of the text index
+     * @param searchQuery - the valid search query
+     * @param limit - the maximum number of Todos to be returned
+     * @return - the Query of the best matching Todos
+     */
+    public static Query createTextQuery(String userId, String searchQuery, int limit) {
+        return TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(searchQuery))
+                .sortByScore()
+                .addCriteria(Criteria.where(KEY_USER_ID).is(userId))
+                .limit(limit);
+    }
+
+    /**
+     * Creates the prefix query of the user's Todos, which finds the names with a word starting with the search query,
+     * e.g. 'gro' finds 'Buy groceries'. The text index can't match a part of a word, so the regex is evaluated
+     * on the keys of the (user_id, name) index, without reading the Todos which don't match.
+     *
+     * @param userId - the ID of the user
+     * @param searchQuery - the valid search query
+     * @param excludedTodoIds - the IDs of the Todos which were already found by the text query
+     * @param limit - the maximum number of Todos to be returned
+     * @return - the Query of the Todos with a matching word prefix, ordered by their names
+     */
+    public static Query createPrefixQuery(String userId, String searchQuery, Collection<String> excludedTodoIds, int limit) {
+        Query query = Query.query(Criteria.where(KEY_USER_ID).is(userId)
+                        .and(KEY_NAME).regex(WORD_START_REGEX + Pattern.quote(searchQuery.trim()), CASE_INSENSITIVE_REGEX_OPTION))
+                .with(Sort.by(Sort.Direction.ASC, KEY_NAME))
+                .limit(limit);
+
+        if (!excludedTodoIds.isEmpty()) {
+            query.addCriteria(Criteria.where(KEY_ID).nin(excludedTodoIds));
+        }
+
+        return query;
+    }
+}
@@ -1,8 +1,31 @@
 package com.todo.todoapp.util;
 
+import com.todo.todoapp.model.todo.Priority;
 import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.todo.TodoSummary;
+import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.todo.todoapp.util.Constants.INITIAL_TODO_VERSION;
+import static com.todo.todoapp.util.Constants.KEY_DEADLINE;
+import static com.todo.todoapp.util.Constants.KEY_ID;
+import static com.todo.todoapp.util.Constants.KEY_NAME;
+import static com.todo.todoapp.util.Constants.KEY_PRIORITY;
+import static com.todo.todoapp.util.Constants.KEY_USER_ID;
+import static com.todo.todoapp.util.Constants.KEY_VERSION;
 
 public class TodoUtil {
 
@@ -10,16 +33,177 @@ public class TodoUtil {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TodoUtil.class);
 
-    public static Todo updateTodo(Todo todoFromRepo, Todo todoFromJSON) {
-        LOGGER.info("Updating Todo!");
-        LOGGER.info("Original: {}", todoFromRepo);
+    private static final int VERSION_INCREMENT = 1;
+    private static final int DUE_THIS_WEEK_DAYS = 7;
+
+    private static final String FACET_PRIORITY_COUNTS = "priorityCounts";
+    private static final String FACET_OVERDUE = "overdue";
+    private static final String FACET_DUE_THIS_WEEK = "dueThisWeek";
+    private static final String FIELD_COUNT = "count";
+
+    /**
+     * Creates the Todo to be inserted from the one sent by the client, with the initial version.
+     * The version sent by the client is ignored.
+     *
+     * @param todoId - the ID of the new Todo, or null if Mongo should generate it
+     * @param todoFromJSON - the Todo which holds the values
+     * @return - the Todo which can be inserted
+     */
+    public static Todo createNewTodo(String todoId, Todo todoFromJSON) {
+        return new Todo.Builder()
+                .withId(todoId)
+                .withUserId(todoFromJSON.getUserId())
+                .withName(todoFromJSON.getName())
+                .withDeadline(todoFromJSON.getDeadline())
+                .withPriority(todoFromJSON.getPriority())
+                .withVersion(INITIAL_TODO_VERSION)
+                .build();
+    }
+
+    /**
+     * Creates the $set update which overwrites the user editable fields of a stored Todo with the ones from the given Todo,
+     * and increments the version of the stored Todo.
+     *
+     * @param todoFromJSON - the Todo which holds the new values
+     * @return - the Update which can be applied atomically by findAndModify
+     */
+    public static Update createUpdate(Todo todoFromJSON) {
+        LOGGER.debug("Creating update for Todo!");
+
+        return new Update()
+                .set(KEY_NAME, todoFromJSON.getName())
+                .set(KEY_DEADLINE, todoFromJSON.getDeadline())
+                .set(KEY_PRIORITY, todoFromJSON.getPriority())
+                .inc(KEY_VERSION, VERSION_INCREMENT);
+    }
+
+    /**
+     * Creates the update of a JSON Merge Patch (RFC 7396): the fields with a value are $set, the fields with null are $unset,
+     * the fields which are missing from the patch are left untouched. The version of the stored Todo is incremented.
+     *
+     * @param mergePatch - the already validated fields of the patch with their typed values
+     * @return - the Update which can be applied atomically by findAndModify
+     */
+    public static Update createMergePatchUpdate(Map<String, Object> mergePatch) {
+        Update update = new Update().inc(KEY_VERSION, VERSION_INCREMENT);
+
+        mergePatch.forEach((field, value) -> {
+            if (value == null) {
+                update.unset(field);
+            } else {
+                update.set(field, value);
+            }
+        });
+
+        return update;
+    }
+
+    /**
+     * Creates the query of the TodoListVersion which belongs to the given user.
+     *
+     * @param userId - the ID of the user
+     * @return - the Query which matches the user's TodoListVersion
+     */
+    public static Query createListVersionQuery(String userId) {
+        return Query.query(Criteria.where(KEY_ID).is(userId));
+    }
+
+    /**
+     * Creates the update which increments the version of a user's Todo list, to be used as an upsert after the user's Todos were written.
+     *
+     * @return - the Update which increments the version
+     */
+    public static Update createListVersionUpdate() {
+        return new Update().inc(KEY_VERSION, VERSION_INCREMENT);
+    }
+
+    /**
+     * Adds the expected versions to the given query of a Todo, so a conditional write only matches the Todo while it still has one of them.
+     *
+     * @param query - the query which matches the Todo by its ID
+     * @param expectedVersions - the versions the client has seen, or null if the write is unconditional
+     * @return - the given query
+     */
+    public static Query addVersionCriteria(Query query, Set<Long> expectedVersions) {
+        if (expectedVersions != null) {
+            List<Long> versions = new ArrayList<>(expectedVersions);
 
-        todoFromRepo.setName(todoFromJSON.getName());
-        todoFromRepo.setDeadline(todoFromJSON.getDeadline());
-        todoFromRepo.setPriority(todoFromJSON.getPriority());
+            if (versions.contains(INITIAL_TODO_VERSION)) {
+                // the Todos saved before the versioning have no version field, and their ETag holds the initial version
+                versions.add(null);
+            }
 
-        LOGGER.info("Updated: {}", todoFromRepo);
+            query.addCriteria(Criteria.where(KEY_VERSION).in(versions));
+        }
+
+        return query;
+    }
+
+    /**
+     * Returns the version of the given Todo, the Todos which were stored before the versions were introduced have the initial version.
+     *
+     * @param todo - the stored Todo
+     * @return - the version of the Todo
+     */
+    public static long getVersion(Todo todo) {
+        return todo.getVersion() == null ? INITIAL_TODO_VERSION : todo.getVersion();
+    }
+
+    /**
+     * Creates the aggregation which summarizes the Todos of the given user in a single round trip: the $match uses the
+     * index on the 'user_id', and a $facet counts the Todos by priority, the overdue ones and the ones due in the next 7 days.
+     *
+     * @param userId - the ID of the user
+     * @param today - the date the overdue and due this week counts are relative to
+     * @return - the aggregation, which returns a single document with an array for every facet
+     */
+    public static TypedAggregation<Todo> createSummaryAggregation(String userId, LocalDate today) {
+        return Aggregation.newAggregation(Todo.class,
+                Aggregation.match(Criteria.where(KEY_USER_ID).is(userId)),
+                Aggregation.facet(Aggregation.group(KEY_PRIORITY).count().as(FIELD_COUNT)).as(FACET_PRIORITY_COUNTS)
+                        .and(Aggregation.match(Criteria.where(KEY_DEADLINE).lt(today)),
+                                Aggregation.count().as(FIELD_COUNT)).as(FACET_OVERDUE)
+                        .and(Aggregation.match(Criteria.where(KEY_DEADLINE).gte(today).lt(today.plusDays(DUE_THIS_WEEK_DAYS))),
+                                Aggregation.count().as(FIELD_COUNT)).as(FACET_DUE_THIS_WEEK));
+    }
+
+    /**
+     * Creates the summary from the result of the summary aggregation. The priorities without Todos are counted as 0.
+     *
+     * @param aggregationResult - the single document returned by the aggregation, or null if it returned nothing
+     * @param today - the date the aggregation was run for
+     * @return - the summary of the user's Todos
+     */
+    public static TodoSummary createTodoSummary(Document aggregationResult, LocalDate today) {
+        Map<Priority, Long> priorityCounts = new EnumMap<>(Priority.class);
+
+        for (Priority priority : Priority.values()) {
+            priorityCounts.put(priority, 0L);
+        }
+
+        if (aggregationResult == null) {
+            return new TodoSummary(priorityCounts, 0, 0, today);
+        }
+
+        for (Document priorityCount : aggregationResult.getList(FACET_PRIORITY_COUNTS, Document.class, List.of())) {
+            Object priority = priorityCount.get(KEY_ID);
+
+            if (priority != null) {
+                priorityCounts.put(Priority.valueOf(priority.toString()), getCount(priorityCount));
+            }
+        }
+
+        return new TodoSummary(priorityCounts, getFacetCount(aggregationResult, FACET_OVERDUE), getFacetCount(aggregationResult, FACET_DUE_THIS_WEEK), today);
+    }
+
+    private static long getFacetCount(Document aggregationResult, String facet) {
+        List<Document> counts = aggregationResult.getList(facet, Document.class, List.of());
+
+        // $count returns no document at all instead of 0
+        return counts.isEmpty() ? 0 : getCount(counts.get(0));
+    }
 
-        return todoFromRepo;
+    private static long getCount(Document document) {
+        return ((Number) document.get(FIELD_COUNT)).longValue();
     }
 }
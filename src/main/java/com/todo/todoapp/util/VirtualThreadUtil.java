@@ -0,0 +1,28 @@
+package com.todo.todoapp.util;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class VirtualThreadUtil {
+
+    private static final String METHOD_NAME_NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = "newVirtualThreadPerTaskExecutor";
+
+    private VirtualThreadUtil() {}
+
+    /**
+     * Creates an executor which starts a new virtual thread for every task, if the running JVM supports virtual threads.
+     * The application is compiled for Java 11, so the executor is looked up reflectively.
+     *
+     * @return - the executor, or an empty Optional if the JVM has no virtual threads (or they are a disabled preview feature)
+     */
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        try {
+            Object executor = Executors.class.getMethod(METHOD_NAME_NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR).invoke(null);
+
+            return Optional.of((ExecutorService) executor);
+        } catch (ReflectiveOperationException | UnsupportedOperationException exception) {
+            return Optional.empty();
+        }
+    }
+}
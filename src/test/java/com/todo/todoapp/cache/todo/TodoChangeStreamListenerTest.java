@@ -0,0 +1,106 @@
+package com.todo.todoapp.cache.todo;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.todo.todoapp.config.TodoNearCacheProperties;
+import com.todo.todoapp.model.todo.Priority;
+import com.todo.todoapp.model.todo.Todo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static com.todo.todoapp.util.Constants.KEY_ID;
+import static com.todo.todoapp.util.Constants.KEY_NAME;
+import static com.todo.todoapp.util.Constants.TODO_NAME_ONE;
+import static com.todo.todoapp.util.Constants.TODO_NAME_TWO;
+import static com.todo.todoapp.util.Constants.USER_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that a Todo written by another instance is removed from the near-cache by the change stream, long before the
+ * fallback expiry. Change streams need a replica set, so it only runs when the TODO_TEST_MONGO_REPLICA_SET_URI environment
+ * variable points to one, e.g. a local single-node replica set started with 'mongod --replSet rs0' and 'rs.initiate()':
+ * mongodb://localhost:27017/?replicaSet=rs0
+ */
+@EnabledIfEnvironmentVariable(named = "TODO_TEST_MONGO_REPLICA_SET_URI", matches = ".+")
+class TodoChangeStreamListenerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    private MongoClient mongoClient;
+    private MongoClient otherInstanceMongoClient;
+    private MongoTemplate mongoTemplate;
+    private MongoTemplate otherInstanceMongoTemplate;
+    private TodoNearCache todoNearCache;
+    private TodoChangeStreamListener todoChangeStreamListener;
+
+    @BeforeEach
+    void setUp() {
+        String databaseName = "todo_change_stream_test_" + UUID.randomUUID().toString().replace("-", "");
+        TodoNearCacheProperties todoNearCacheProperties = new TodoNearCacheProperties();
+        // the test would pass by the expiry alone, if it was shorter than the timeout
+        todoNearCacheProperties.setFallbackExpireAfterWrite(Duration.ofMinutes(5));
+
+        mongoClient = MongoClients.create(System.getenv("TODO_TEST_MONGO_REPLICA_SET_URI"));
+        otherInstanceMongoClient = MongoClients.create(System.getenv("TODO_TEST_MONGO_REPLICA_SET_URI"));
+        mongoTemplate = new MongoTemplate(mongoClient, databaseName);
+        otherInstanceMongoTemplate = new MongoTemplate(otherInstanceMongoClient, databaseName);
+        todoNearCache = new TodoNearCache(todoNearCacheProperties);
+        todoChangeStreamListener = new TodoChangeStreamListener(mongoTemplate, todoNearCache, todoNearCacheProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        todoChangeStreamListener.stop();
+        mongoTemplate.getDb().drop();
+        otherInstanceMongoClient.close();
+        mongoClient.close();
+    }
+
+    @Test
+    void test_theNearCacheShouldLoadTheTodoAgain_WhenAnotherInstanceHasUpdatedIt() throws InterruptedException {
+        // GIVEN
+        Todo todo = mongoTemplate.insert(new Todo.Builder()
+                .withUserId(USER_ID)
+                .withName(TODO_NAME_ONE)
+                .withPriority(Priority.SMALL)
+                .build());
+        String todoId = todo.getId();
+
+        // WHEN
+        todoChangeStreamListener.start();
+        // a change before the stream was opened would be missed, but the cache is emptied when the stream starts
+        Thread.sleep(POLL_INTERVAL.toMillis() * 10);
+        getTodo(todoId);
+
+        otherInstanceMongoTemplate.updateFirst(Query.query(Criteria.where(KEY_ID).is(todoId)), Update.update(KEY_NAME, TODO_NAME_TWO), Todo.class);
+
+        // THEN
+        assertEquals(TODO_NAME_TWO, awaitName(todoId, TODO_NAME_TWO));
+    }
+
+    private Todo getTodo(String todoId) {
+        return todoNearCache.get(todoId, id -> mongoTemplate.findById(id, Todo.class));
+    }
+
+    private String awaitName(String todoId, String expectedName) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        String name = getTodo(todoId).getName();
+
+        while (!expectedName.equals(name) && System.nanoTime() < deadline) {
+            Thread.sleep(POLL_INTERVAL.toMillis());
+            name = getTodo(todoId).getName();
+        }
+
+        return name;
+    }
+}
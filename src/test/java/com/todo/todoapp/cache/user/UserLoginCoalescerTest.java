@@ -0,0 +1,205 @@
+package com.todo.todoapp.cache.user;
+
+import com.todo.todoapp.config.UserLoginCoalescingProperties;
+import com.todo.todoapp.model.user.Provider;
+import com.todo.todoapp.model.user.ProviderIdentity;
+import com.todo.todoapp.model.user.User;
+import com.todo.todoapp.model.user.UserLogin;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.todo.todoapp.util.Constants.EMAIL;
+import static com.todo.todoapp.util.Constants.GOOGLE_ID;
+import static com.todo.todoapp.util.Constants.METRIC_NAME_USER_LOGINS_COALESCED;
+import static com.todo.todoapp.util.Constants.METRIC_NAME_USER_LOGINS_COALESCING_TIMEOUTS;
+import static com.todo.todoapp.util.Constants.METRIC_NAME_USER_LOGINS_RESOLVED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserLoginCoalescerTest {
+
+    private static final int LOGIN_COUNT = 8;
+    private static final UserLogin USER_LOGIN = new UserLogin(new ProviderIdentity(Provider.GOOGLE, GOOGLE_ID), EMAIL);
+    private static final User USER = new User.Builder()
+            .withEmail(EMAIL)
+            .withGoogleId(GOOGLE_ID)
+            .build();
+
+    private MeterRegistry meterRegistry;
+    private UserLoginCoalescingProperties userLoginCoalescingProperties;
+    private ExecutorService executorService;
+
+    private UserLoginCoalescer userLoginCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userLoginCoalescingProperties = new UserLoginCoalescingProperties();
+        executorService = Executors.newFixedThreadPool(LOGIN_COUNT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void test_resolveShouldResolveTheUserOnce_WhenTheLoginsOfTheSameUserAreConcurrent() throws Exception {
+        // GIVEN
+        CountDownLatch resolutionLatch = new CountDownLatch(1);
+        AtomicInteger resolutions = new AtomicInteger();
+        List<Future<User>> futures = new ArrayList<>();
+
+        // WHEN
+        userLoginCoalescer = new UserLoginCoalescer(userLoginCoalescingProperties, meterRegistry);
+
+        for (int login = 0; login < LOGIN_COUNT; login++) {
+            futures.add(executorService.submit(() -> userLoginCoalescer.resolve(USER_LOGIN, awaitAndResolve(resolutionLatch, resolutions))));
+        }
+
+        awaitCount(METRIC_NAME_USER_LOGINS_COALESCED, LOGIN_COUNT - 1);
+        resolutionLatch.countDown();
+
+        // THEN
+        for (Future<User> future : futures) {
+            assertSame(USER, future.get(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, resolutions.get());
+        assertEquals(1, getCount(METRIC_NAME_USER_LOGINS_RESOLVED));
+        assertEquals(LOGIN_COUNT - 1, getCount(METRIC_NAME_USER_LOGINS_COALESCED));
+    }
+
+    @Test
+    void test_resolveShouldThrowTheExceptionOfTheResolution_ToEveryCoalescedLogin() throws Exception {
+        // GIVEN
+        CountDownLatch resolutionLatch = new CountDownLatch(1);
+        IllegalArgumentException resolutionException = new IllegalArgumentException(EMAIL);
+        Supplier<User> failingResolver = () -> {
+            awaitAndResolve(resolutionLatch, new AtomicInteger()).get();
+
+            throw resolutionException;
+        };
+
+        // WHEN
+        userLoginCoalescer = new UserLoginCoalescer(userLoginCoalescingProperties, meterRegistry);
+
+        Future<User> resolvingLogin = executorService.submit(() -> userLoginCoalescer.resolve(USER_LOGIN, failingResolver));
+        awaitCount(METRIC_NAME_USER_LOGINS_RESOLVED, 1);
+        Future<User> coalescedLogin = executorService.submit(() -> userLoginCoalescer.resolve(USER_LOGIN, failingResolver));
+        awaitCount(METRIC_NAME_USER_LOGINS_COALESCED, 1);
+        resolutionLatch.countDown();
+
+        // THEN
+        assertSame(resolutionException, assertThrows(ExecutionException.class, () -> resolvingLogin.get(10, TimeUnit.SECONDS)).getCause());
+        assertSame(resolutionException, assertThrows(ExecutionException.class, () -> coalescedLogin.get(10, TimeUnit.SECONDS)).getCause());
+        assertEquals(1, getCount(METRIC_NAME_USER_LOGINS_RESOLVED));
+    }
+
+    @Test
+    void test_resolveShouldResolveTheUserItself_WhenTheConcurrentLoginDoesNotCompleteInTheMaxWait() throws Exception {
+        // GIVEN
+        CountDownLatch resolutionLatch = new CountDownLatch(1);
+        AtomicInteger resolutions = new AtomicInteger();
+        userLoginCoalescingProperties.setMaxWait(Duration.ofMillis(50));
+
+        // WHEN
+        userLoginCoalescer = new UserLoginCoalescer(userLoginCoalescingProperties, meterRegistry);
+
+        Future<User> stuckLogin = executorService.submit(() -> userLoginCoalescer.resolve(USER_LOGIN, awaitAndResolve(resolutionLatch, resolutions)));
+        awaitCount(METRIC_NAME_USER_LOGINS_RESOLVED, 1);
+
+        // THEN
+        assertSame(USER, userLoginCoalescer.resolve(USER_LOGIN, () -> USER));
+        assertEquals(1, getCount(METRIC_NAME_USER_LOGINS_COALESCING_TIMEOUTS));
+        assertEquals(2, getCount(METRIC_NAME_USER_LOGINS_RESOLVED));
+
+        resolutionLatch.countDown();
+        assertSame(USER, stuckLogin.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void test_resolveShouldResolveTheUserAgain_WhenThePreviousLoginIsCompleted() {
+        // GIVEN
+        AtomicInteger resolutions = new AtomicInteger();
+
+        // WHEN
+        userLoginCoalescer = new UserLoginCoalescer(userLoginCoalescingProperties, meterRegistry);
+
+        userLoginCoalescer.resolve(USER_LOGIN, () -> resolve(resolutions));
+        userLoginCoalescer.resolve(USER_LOGIN, () -> resolve(resolutions));
+
+        // THEN
+        assertEquals(2, resolutions.get());
+        assertEquals(0, getCount(METRIC_NAME_USER_LOGINS_COALESCED));
+    }
+
+    @Test
+    void test_resolveShouldNotCoalesceTheLogins_WhenTheCoalescingIsDisabled() throws Exception {
+        // GIVEN
+        CountDownLatch resolutionLatch = new CountDownLatch(1);
+        AtomicInteger resolutions = new AtomicInteger();
+        userLoginCoalescingProperties.setEnabled(false);
+
+        // WHEN
+        userLoginCoalescer = new UserLoginCoalescer(userLoginCoalescingProperties, meterRegistry);
+
+        Future<User> firstLogin = executorService.submit(() -> userLoginCoalescer.resolve(USER_LOGIN, awaitAndResolve(resolutionLatch, resolutions)));
+        awaitCount(METRIC_NAME_USER_LOGINS_RESOLVED, 1);
+
+        // THEN
+        assertSame(USER, userLoginCoalescer.resolve(USER_LOGIN, () -> resolve(resolutions)));
+
+        resolutionLatch.countDown();
+        assertSame(USER, firstLogin.get(10, TimeUnit.SECONDS));
+        assertEquals(2, resolutions.get());
+        assertEquals(0, getCount(METRIC_NAME_USER_LOGINS_COALESCED));
+    }
+
+    private Supplier<User> awaitAndResolve(CountDownLatch resolutionLatch, AtomicInteger resolutions) {
+        return () -> {
+            try {
+                assertTrue(resolutionLatch.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+
+            return resolve(resolutions);
+        };
+    }
+
+    private User resolve(AtomicInteger resolutions) {
+        resolutions.incrementAndGet();
+
+        return USER;
+    }
+
+    private void awaitCount(String metricName, long expectedCount) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (getCount(metricName) < expectedCount && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private long getCount(String metricName) {
+        return (long) meterRegistry.get(metricName).functionCounter().count();
+    }
+}
@@ -0,0 +1,44 @@
+package com.todo.todoapp.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamingConfigTest {
+
+    @Test
+    void test_configureAsyncSupportShouldSetTheAsyncTimeoutOfTheStream_WhenItIsConfigured() {
+        // GIVEN
+        StreamingProperties streamingProperties = new StreamingProperties();
+        streamingProperties.setAsyncTimeout(Duration.ofMinutes(45));
+        TimeoutAsyncSupportConfigurer asyncSupportConfigurer = new TimeoutAsyncSupportConfigurer();
+
+        // WHEN
+        new StreamingConfig(streamingProperties).configureAsyncSupport(asyncSupportConfigurer);
+
+        // THEN
+        assertEquals(Duration.ofMinutes(45).toMillis(), asyncSupportConfigurer.getConfiguredTimeout());
+    }
+
+    @Test
+    void test_configureAsyncSupportShouldOutlastTheDefaultTimeoutOfTomcat_WhenNothingIsConfigured() {
+        // GIVEN
+        TimeoutAsyncSupportConfigurer asyncSupportConfigurer = new TimeoutAsyncSupportConfigurer();
+
+        // WHEN
+        new StreamingConfig(new StreamingProperties()).configureAsyncSupport(asyncSupportConfigurer);
+
+        // THEN
+        assertEquals(Duration.ofMinutes(30).toMillis(), asyncSupportConfigurer.getConfiguredTimeout());
+    }
+
+    private static class TimeoutAsyncSupportConfigurer extends AsyncSupportConfigurer {
+
+        private Long getConfiguredTimeout() {
+            return getTimeout();
+        }
+    }
+}
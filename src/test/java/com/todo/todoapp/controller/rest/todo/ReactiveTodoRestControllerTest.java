@@ -0,0 +1,112 @@
+package com.todo.todoapp.controller.rest.todo;
+
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.todo.todoapp.advice.ReactiveTodoExceptionHandler;
+import com.todo.todoapp.model.todo.Priority;
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.service.todo.IReactiveTodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.validation.beanvalidation.MethodValidationInterceptor;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Validation;
+
+import static com.todo.todoapp.util.Constants.TODO_ID_ONE;
+import static com.todo.todoapp.util.Constants.TODO_NAME_ONE;
+import static com.todo.todoapp.util.Constants.USER_ID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReactiveTodoRestControllerTest {
+
+    private static final String TODOS = "/todos";
+    private static final String TODOS_WITH_TODO_ID = "/todos/{todoId}";
+
+    private IReactiveTodoService todoService;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        todoService = mock(IReactiveTodoService.class);
+
+        // the validation of the service, which throws the ConstraintViolationException, is applied by a proxy like in the application
+        ProxyFactory proxyFactory = new ProxyFactory(todoService);
+        proxyFactory.addInterface(IReactiveTodoService.class);
+        proxyFactory.addAdvice(new MethodValidationInterceptor(Validation.buildDefaultValidatorFactory().getValidator()));
+
+        webTestClient = WebTestClient.bindToController(new ReactiveTodoRestController((IReactiveTodoService) proxyFactory.getProxy()))
+                .controllerAdvice(new ReactiveTodoExceptionHandler())
+                // like the ObjectMapper of Spring Boot, this one reads the Todos through their constructor
+                .httpMessageCodecs(codecs -> codecs.defaultCodecs().jackson2JsonDecoder(
+                        new Jackson2JsonDecoder(Jackson2ObjectMapperBuilder.json().modulesToInstall(new ParameterNamesModule()).build())))
+                .build();
+    }
+
+    @Test
+    void test_saveTodoShouldReturnBadRequestWithTheErrorMessage_WhenTheBodyIsNotValid() {
+        // GIVEN
+        Todo todoWithoutName = new Todo.Builder()
+                .withUserId(USER_ID)
+                .withPriority(Priority.SMALL)
+                .build();
+
+        // WHEN
+
+        // THEN
+        webTestClient.post().uri(TODOS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(todoWithoutName)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Error message: The given input is not valid!");
+
+        // VERIFY
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void test_saveTodoShouldReturnBadRequestWithTheErrorMessage_WhenTheSavedMonoFailsWithADuplicateKey() {
+        // GIVEN
+        Todo todo = new Todo.Builder()
+                .withUserId(USER_ID)
+                .withName(TODO_NAME_ONE)
+                .withPriority(Priority.SMALL)
+                .build();
+
+        // WHEN
+        when(todoService.saveTodo(any(Todo.class))).thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        // THEN
+        webTestClient.post().uri(TODOS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(todo)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Error message: A record with this key already exists!");
+    }
+
+    @Test
+    void test_deleteTodoShouldReturnBadRequestWithTheErrorMessage_WhenTheServiceThrowsAnIllegalArgumentException() {
+        // GIVEN
+
+        // WHEN
+        when(todoService.deleteTodo(eq(TODO_ID_ONE), any())).thenThrow(new IllegalArgumentException());
+
+        // THEN
+        webTestClient.delete().uri(TODOS_WITH_TODO_ID, TODO_ID_ONE)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Error message: Some argument was not valid!");
+    }
+}
@@ -0,0 +1,141 @@
+package com.todo.todoapp.interceptor.ratelimit;
+
+import com.todo.todoapp.config.RateLimitProperties;
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.todo.batch.TodoBatchOperation;
+import com.todo.todoapp.model.todo.batch.TodoBatchOperationType;
+import com.todo.todoapp.model.user.TodoOAuth2User;
+import com.todo.todoapp.ratelimit.RateLimitExceededException;
+import com.todo.todoapp.ratelimit.RouteGroup;
+import com.todo.todoapp.ratelimit.UserRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_EMAIL;
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_ID;
+import static com.todo.todoapp.util.Constants.EMAIL;
+import static com.todo.todoapp.util.Constants.GITHUB_ID;
+import static com.todo.todoapp.util.Constants.METRIC_NAME_RATE_LIMIT_REJECTED;
+import static com.todo.todoapp.util.Constants.TAG_ROUTE_GROUP;
+import static com.todo.todoapp.util.Constants.TODO_ID_ONE;
+import static com.todo.todoapp.util.Constants.USER_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchRateLimitAdviceTest {
+
+    private static final Type BATCH_TYPE = new ParameterizedTypeReference<List<TodoBatchOperation>>() {}.getType();
+    private static final Type TODO_TYPE = Todo.class;
+    private static final int BATCH_CAPACITY = 5;
+
+    private MeterRegistry meterRegistry;
+    private RateLimitProperties rateLimitProperties;
+
+    private BatchRateLimitAdvice batchRateLimitAdvice;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.getBatch().setCapacity(BATCH_CAPACITY);
+        rateLimitProperties.getBatch().setPermitsPerSecond(0.5);
+
+        TodoOAuth2User principal = new TodoOAuth2User(Set.of(new SimpleGrantedAuthority("ROLE_USER")),
+                Map.of(ATTRIBUTE_ID, GITHUB_ID, ATTRIBUTE_EMAIL, EMAIL), ATTRIBUTE_ID, USER_ID);
+        SecurityContextHolder.getContext().setAuthentication(new OAuth2AuthenticationToken(principal, principal.getAuthorities(), "github"));
+
+        batchRateLimitAdvice = new BatchRateLimitAdvice(new UserRateLimiter(rateLimitProperties, meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void test_supportsShouldOnlyAcceptTheBatchBody() {
+        // GIVEN
+
+        // WHEN
+
+        // THEN
+        assertTrue(batchRateLimitAdvice.supports(null, BATCH_TYPE, MappingJackson2HttpMessageConverter.class));
+        assertFalse(batchRateLimitAdvice.supports(null, TODO_TYPE, MappingJackson2HttpMessageConverter.class));
+    }
+
+    @Test
+    void test_afterBodyReadShouldChargeEveryOperation_WhenTheBatchFitsIntoTheLimit() {
+        // GIVEN
+        List<TodoBatchOperation> batch = createBatch(BATCH_CAPACITY - 1);
+
+        // WHEN
+        assertSame(batch, afterBodyRead(batch));
+
+        // THEN
+        assertEquals(1, ((List<?>) afterBodyRead(createBatch(1))).size());
+        assertThrows(RateLimitExceededException.class, () -> afterBodyRead(createBatch(1)));
+        assertEquals(1, meterRegistry.get(METRIC_NAME_RATE_LIMIT_REJECTED).tag(TAG_ROUTE_GROUP, RouteGroup.BATCH.name()).counter().count());
+    }
+
+    @Test
+    void test_afterBodyReadShouldRejectTheBatchWithTheWaitTime_WhenItHasMoreOperationsThanTheRemainingPermits() {
+        // GIVEN
+        afterBodyRead(createBatch(BATCH_CAPACITY - 1));
+
+        // WHEN
+        RateLimitExceededException rateLimitExceededException = assertThrows(RateLimitExceededException.class, () -> afterBodyRead(createBatch(3)));
+
+        // THEN
+        assertEquals(RouteGroup.BATCH, rateLimitExceededException.getRouteGroup());
+        assertEquals(4, UserRateLimiter.toRetryAfterSeconds(rateLimitExceededException.getWaitNanos()));
+    }
+
+    @Test
+    void test_afterBodyReadShouldTakeTheWholeCapacity_WhenTheBatchIsBiggerThanTheCapacity() {
+        // GIVEN
+
+        // WHEN
+        afterBodyRead(createBatch(BATCH_CAPACITY * 10));
+
+        // THEN
+        assertThrows(RateLimitExceededException.class, () -> afterBodyRead(Collections.emptyList()));
+    }
+
+    @Test
+    void test_afterBodyReadShouldNotChargeTheBatch_WhenNoUserIsLoggedIn() {
+        // GIVEN
+        SecurityContextHolder.clearContext();
+
+        // WHEN
+
+        // THEN
+        for (int i = 0; i < 10; i++) {
+            afterBodyRead(createBatch(BATCH_CAPACITY));
+        }
+    }
+
+    private Object afterBodyRead(List<TodoBatchOperation> batch) {
+        return batchRateLimitAdvice.afterBodyRead(batch, null, null, BATCH_TYPE, MappingJackson2HttpMessageConverter.class);
+    }
+
+    private List<TodoBatchOperation> createBatch(int size) {
+        return Collections.nCopies(size, new TodoBatchOperation(TodoBatchOperationType.DELETE, TODO_ID_ONE, null, null));
+    }
+}
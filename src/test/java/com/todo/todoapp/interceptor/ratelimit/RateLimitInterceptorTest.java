@@ -0,0 +1,171 @@
+package com.todo.todoapp.interceptor.ratelimit;
+
+import com.todo.todoapp.config.RateLimitProperties;
+import com.todo.todoapp.model.user.TodoOAuth2User;
+import com.todo.todoapp.ratelimit.RouteGroup;
+import com.todo.todoapp.ratelimit.UserRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import java.util.Map;
+import java.util.Set;
+
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_EMAIL;
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_ID;
+import static com.todo.todoapp.util.Constants.EMAIL;
+import static com.todo.todoapp.util.Constants.ERR_MSG_TOO_MANY_REQUESTS;
+import static com.todo.todoapp.util.Constants.GITHUB_ID;
+import static com.todo.todoapp.util.Constants.METRIC_NAME_RATE_LIMIT_REJECTED;
+import static com.todo.todoapp.util.Constants.TAG_ROUTE_GROUP;
+import static com.todo.todoapp.util.Constants.USER_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitInterceptorTest {
+
+    private static final String ROUTE_TODOS = "/todos";
+    private static final String ROUTE_TODOS_ALL = "/todosAll";
+    private static final String ROUTE_TODOS_BATCH = "/todos/batch";
+    private static final String ROUTE_USERNAME = "/username";
+
+    private MeterRegistry meterRegistry;
+    private RateLimitProperties rateLimitProperties;
+    private MockHttpServletResponse httpServletResponse;
+
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.getReads().setCapacity(2);
+        rateLimitProperties.getReads().setPermitsPerSecond(0.5);
+        httpServletResponse = new MockHttpServletResponse();
+
+        TodoOAuth2User principal = new TodoOAuth2User(Set.of(new SimpleGrantedAuthority("ROLE_USER")),
+                Map.of(ATTRIBUTE_ID, GITHUB_ID, ATTRIBUTE_EMAIL, EMAIL), ATTRIBUTE_ID, USER_ID);
+        SecurityContextHolder.getContext().setAuthentication(new OAuth2AuthenticationToken(principal, principal.getAuthorities(), "github"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void test_preHandleShouldRejectTheRequestWithRetryAfter_WhenTheUserIsOverTheLimitOfTheRouteGroup() throws Exception {
+        // GIVEN
+        rateLimitInterceptor = createRateLimitInterceptor();
+
+        // WHEN
+        assertTrue(rateLimitInterceptor.preHandle(createRequest(HttpMethod.GET, ROUTE_TODOS), new MockHttpServletResponse(), null));
+        assertTrue(rateLimitInterceptor.preHandle(createRequest(HttpMethod.GET, ROUTE_TODOS), new MockHttpServletResponse(), null));
+
+        // THEN
+        assertFalse(rateLimitInterceptor.preHandle(createRequest(HttpMethod.GET, ROUTE_TODOS), httpServletResponse, null));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), httpServletResponse.getStatus());
+        assertEquals("2", httpServletResponse.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(ERR_MSG_TOO_MANY_REQUESTS, httpServletResponse.getContentAsString());
+        assertEquals(1, meterRegistry.get(METRIC_NAME_RATE_LIMIT_REJECTED).tag(TAG_ROUTE_GROUP, RouteGroup.READS.name()).counter().count());
+    }
+
+    @Test
+    void test_preHandleShouldAllowTheRequest_WhenTheOtherRouteGroupIsOverTheLimit() throws Exception {
+        // GIVEN
+        rateLimitInterceptor = createRateLimitInterceptor();
+
+        // WHEN
+        rateLimitInterceptor.preHandle(createRequest(HttpMethod.GET, ROUTE_TODOS), new MockHttpServletResponse(), null);
+        rateLimitInterceptor.preHandle(createRequest(HttpMethod.GET, ROUTE_TODOS), new MockHttpServletResponse(), null);
+
+        // THEN
+        assertTrue(rateLimitInterceptor.preHandle(createRequest(HttpMethod.POST, ROUTE_TODOS), httpServletResponse, null));
+        assertTrue(rateLimitInterceptor.preHandle(createRequest(HttpMethod.GET, ROUTE_TODOS_ALL), httpServletResponse, null));
+        assertEquals(HttpStatus.OK.value(), httpServletResponse.getStatus());
+    }
+
+    @Test
+    void test_preHandleShouldNotChargeTheBatch_WhenItsOperationsAreChargedAfterItsBodyWasRead() throws Exception {
+        // GIVEN
+        rateLimitProperties.getBatch().setCapacity(1);
+        rateLimitProperties.getWrites().setCapacity(1);
+        rateLimitInterceptor = createRateLimitInterceptor();
+
+        // WHEN
+
+        // THEN
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimitInterceptor.preHandle(createRequest(HttpMethod.POST, ROUTE_TODOS_BATCH), httpServletResponse, null));
+        }
+
+        assertTrue(rateLimitInterceptor.preHandle(createRequest(HttpMethod.POST, ROUTE_TODOS), httpServletResponse, null));
+    }
+
+    @Test
+    void test_preHandleShouldNotLimitTheRequest_WhenTheRouteIsNotATodoRoute() throws Exception {
+        // GIVEN
+        rateLimitProperties.getReads().setCapacity(1);
+        rateLimitInterceptor = createRateLimitInterceptor();
+
+        // WHEN
+
+        // THEN
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimitInterceptor.preHandle(createRequest(HttpMethod.GET, ROUTE_USERNAME), httpServletResponse, null));
+        }
+    }
+
+    @Test
+    void test_preHandleShouldNotLimitTheRequest_WhenItIsDispatchedAgainAfterAsyncProcessing() throws Exception {
+        // GIVEN
+        rateLimitInterceptor = createRateLimitInterceptor();
+        MockHttpServletRequest asyncDispatch = createRequest(HttpMethod.GET, ROUTE_TODOS);
+        asyncDispatch.setDispatcherType(DispatcherType.ASYNC);
+
+        // WHEN
+        rateLimitInterceptor.preHandle(createRequest(HttpMethod.GET, ROUTE_TODOS), new MockHttpServletResponse(), null);
+        rateLimitInterceptor.preHandle(createRequest(HttpMethod.GET, ROUTE_TODOS), new MockHttpServletResponse(), null);
+
+        // THEN
+        assertTrue(rateLimitInterceptor.preHandle(asyncDispatch, httpServletResponse, null));
+    }
+
+    @Test
+    void test_preHandleShouldNotLimitTheRequest_WhenTheRateLimitIsDisabled() throws Exception {
+        // GIVEN
+        rateLimitProperties.setEnabled(false);
+        rateLimitInterceptor = createRateLimitInterceptor();
+
+        // WHEN
+
+        // THEN
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimitInterceptor.preHandle(createRequest(HttpMethod.GET, ROUTE_TODOS), httpServletResponse, null));
+        }
+    }
+
+    private MockHttpServletRequest createRequest(HttpMethod httpMethod, String route) {
+        MockHttpServletRequest httpServletRequest = new MockHttpServletRequest(httpMethod.name(), route);
+        httpServletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+
+        return httpServletRequest;
+    }
+
+    private RateLimitInterceptor createRateLimitInterceptor() {
+        return new RateLimitInterceptor(new UserRateLimiter(rateLimitProperties, meterRegistry));
+    }
+}
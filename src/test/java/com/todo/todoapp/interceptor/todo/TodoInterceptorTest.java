@@ -0,0 +1,114 @@
+package com.todo.todoapp.interceptor.todo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static com.todo.todoapp.util.Constants.METRIC_NAME_HTTP_ERRORS;
+import static com.todo.todoapp.util.Constants.METRIC_NAME_HTTP_REQUESTS;
+import static com.todo.todoapp.util.Constants.METRIC_NAME_HTTP_REQUESTS_ACTIVE;
+import static com.todo.todoapp.util.Constants.TAG_EXCEPTION;
+import static com.todo.todoapp.util.Constants.TAG_ROUTE;
+import static com.todo.todoapp.util.Constants.TAG_STATUS;
+import static com.todo.todoapp.util.Constants.TAG_VALUE_NONE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TodoInterceptorTest {
+
+    private static final String ROUTE_TODO = "/todos/{todoId}";
+
+    private MeterRegistry meterRegistry;
+    private MockHttpServletRequest httpServletRequest;
+    private MockHttpServletResponse httpServletResponse;
+
+    private TodoInterceptor todoInterceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        httpServletRequest = new MockHttpServletRequest(HttpMethod.GET.name(), "/todos/1");
+        httpServletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE_TODO);
+        httpServletResponse = new MockHttpServletResponse();
+
+        todoInterceptor = new TodoInterceptor(meterRegistry);
+    }
+
+    @Test
+    void test_preHandleShouldCountTheRequestAsActive_WhenTheRequestIsNotCompletedYet() {
+        // GIVEN
+
+        // WHEN
+        todoInterceptor.preHandle(httpServletRequest, httpServletResponse, null);
+
+        // THEN
+        assertEquals(1, meterRegistry.get(METRIC_NAME_HTTP_REQUESTS_ACTIVE).tag(TAG_ROUTE, ROUTE_TODO).gauge().value());
+    }
+
+    @Test
+    void test_afterCompletionShouldRecordTheLatencyByRouteAndStatus_WhenTheRequestIsCompleted() {
+        // GIVEN
+        httpServletResponse.setStatus(HttpStatus.OK.value());
+
+        // WHEN
+        todoInterceptor.preHandle(httpServletRequest, httpServletResponse, null);
+        todoInterceptor.afterCompletion(httpServletRequest, httpServletResponse, null, null);
+
+        // THEN
+        Timer timer = meterRegistry.get(METRIC_NAME_HTTP_REQUESTS).tag(TAG_ROUTE, ROUTE_TODO).tag(TAG_STATUS, "200").timer();
+
+        assertEquals(1, timer.count());
+        assertEquals(0, meterRegistry.get(METRIC_NAME_HTTP_REQUESTS_ACTIVE).tag(TAG_ROUTE, ROUTE_TODO).gauge().value());
+        assertNull(meterRegistry.find(METRIC_NAME_HTTP_ERRORS).counter());
+    }
+
+    @Test
+    void test_afterCompletionShouldCountTheError_WhenTheHandlerThrewAnException() {
+        // GIVEN
+        httpServletResponse.setStatus(HttpStatus.OK.value());
+
+        // WHEN
+        todoInterceptor.preHandle(httpServletRequest, httpServletResponse, null);
+        todoInterceptor.afterCompletion(httpServletRequest, httpServletResponse, null, new IllegalStateException());
+
+        // THEN
+        assertEquals(1, meterRegistry.get(METRIC_NAME_HTTP_ERRORS).tag(TAG_EXCEPTION, IllegalStateException.class.getSimpleName()).counter().count());
+    }
+
+    @Test
+    void test_afterCompletionShouldCountTheError_WhenTheResponseIsAServerError() {
+        // GIVEN
+        httpServletResponse.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+
+        // WHEN
+        todoInterceptor.preHandle(httpServletRequest, httpServletResponse, null);
+        todoInterceptor.afterCompletion(httpServletRequest, httpServletResponse, null, null);
+
+        // THEN
+        assertEquals(1, meterRegistry.get(METRIC_NAME_HTTP_ERRORS).tag(TAG_STATUS, "500").tag(TAG_EXCEPTION, TAG_VALUE_NONE).counter().count());
+    }
+
+    @Test
+    void test_afterCompletionShouldRecordTheRequestOnlyOnce_WhenTheRequestIsDispatchedAgainAfterAsyncProcessing() throws Exception {
+        // GIVEN
+        httpServletResponse.setStatus(HttpStatus.OK.value());
+
+        // WHEN
+        todoInterceptor.preHandle(httpServletRequest, httpServletResponse, null);
+        todoInterceptor.afterConcurrentHandlingStarted(httpServletRequest, httpServletResponse, null);
+        todoInterceptor.preHandle(httpServletRequest, httpServletResponse, null);
+        todoInterceptor.afterCompletion(httpServletRequest, httpServletResponse, null, null);
+        todoInterceptor.afterCompletion(httpServletRequest, httpServletResponse, null, null);
+
+        // THEN
+        assertEquals(1, meterRegistry.get(METRIC_NAME_HTTP_REQUESTS).timer().count());
+        assertEquals(0, meterRegistry.get(METRIC_NAME_HTTP_REQUESTS_ACTIVE).gauge().value());
+    }
+}
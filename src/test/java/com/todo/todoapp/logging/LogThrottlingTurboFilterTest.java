@@ -0,0 +1,94 @@
+package com.todo.todoapp.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogThrottlingTurboFilterTest {
+
+    private static final String PACKAGE_TODO_APP = "com.todo.todoapp";
+    private static final String PACKAGE_UTIL = "com.todo.todoapp.util";
+    private static final String LOGGER_NAME_TODO_UTIL = "com.todo.todoapp.util.TodoUtil";
+    private static final String LOGGER_NAME_TODO_SERVICE = "com.todo.todoapp.service.todo.impl.TodoService";
+    private static final String LOGGER_NAME_OTHER = "org.springframework.web.servlet.DispatcherServlet";
+    private static final String MESSAGE = "Message";
+
+    private LoggerContext loggerContext;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+    }
+
+    @Test
+    void test_decideShouldDenyTheEventsAboveTheRateLimit_WhenTheLoggerIsRateLimited() {
+        // GIVEN
+        LogThrottlingTurboFilter logThrottlingTurboFilter = new LogThrottlingTurboFilter(Collections.emptyMap(), Map.of(PACKAGE_TODO_APP, 2));
+        Logger logger = loggerContext.getLogger(LOGGER_NAME_TODO_SERVICE);
+
+        // WHEN
+        FilterReply firstReply = decide(logThrottlingTurboFilter, logger, Level.INFO);
+        FilterReply secondReply = decide(logThrottlingTurboFilter, logger, Level.INFO);
+        FilterReply thirdReply = decide(logThrottlingTurboFilter, logger, Level.INFO);
+
+        // THEN
+        assertEquals(FilterReply.NEUTRAL, firstReply);
+        assertEquals(FilterReply.NEUTRAL, secondReply);
+        assertEquals(FilterReply.DENY, thirdReply);
+        assertEquals(1, logThrottlingTurboFilter.getDroppedEvents());
+    }
+
+    @Test
+    void test_decideShouldNeverDenyWarnings_WhenTheLoggerIsRateLimited() {
+        // GIVEN
+        LogThrottlingTurboFilter logThrottlingTurboFilter = new LogThrottlingTurboFilter(Collections.emptyMap(), Map.of(PACKAGE_TODO_APP, 1));
+        Logger logger = loggerContext.getLogger(LOGGER_NAME_TODO_SERVICE);
+
+        // WHEN
+        decide(logThrottlingTurboFilter, logger, Level.INFO);
+
+        // THEN
+        assertEquals(FilterReply.NEUTRAL, decide(logThrottlingTurboFilter, logger, Level.WARN));
+        assertEquals(FilterReply.NEUTRAL, decide(logThrottlingTurboFilter, logger, Level.ERROR));
+    }
+
+    @Test
+    void test_decideShouldUseTheMostSpecificEntry_WhenMoreEntriesMatchTheLogger() {
+        // GIVEN
+        LogThrottlingTurboFilter logThrottlingTurboFilter = new LogThrottlingTurboFilter(Map.of(PACKAGE_UTIL, 0.0, PACKAGE_TODO_APP, 1.0), Collections.emptyMap());
+
+        // WHEN
+        FilterReply utilReply = decide(logThrottlingTurboFilter, loggerContext.getLogger(LOGGER_NAME_TODO_UTIL), Level.INFO);
+        FilterReply serviceReply = decide(logThrottlingTurboFilter, loggerContext.getLogger(LOGGER_NAME_TODO_SERVICE), Level.INFO);
+
+        // THEN
+        assertEquals(FilterReply.DENY, utilReply);
+        assertEquals(FilterReply.NEUTRAL, serviceReply);
+    }
+
+    @Test
+    void test_decideShouldBeNeutral_WhenTheLoggerHasNoEntry() {
+        // GIVEN
+        LogThrottlingTurboFilter logThrottlingTurboFilter = new LogThrottlingTurboFilter(Map.of(PACKAGE_TODO_APP, 0.0), Map.of(PACKAGE_TODO_APP, 1));
+        Logger logger = loggerContext.getLogger(LOGGER_NAME_OTHER);
+
+        // WHEN
+        decide(logThrottlingTurboFilter, logger, Level.INFO);
+
+        // THEN
+        assertEquals(FilterReply.NEUTRAL, decide(logThrottlingTurboFilter, logger, Level.INFO));
+        assertEquals(0, logThrottlingTurboFilter.getDroppedEvents());
+    }
+
+    private FilterReply decide(LogThrottlingTurboFilter logThrottlingTurboFilter, Logger logger, Level level) {
+        return logThrottlingTurboFilter.decide(null, logger, level, MESSAGE, null, null);
+    }
+}
@@ -0,0 +1,85 @@
+package com.todo.todoapp.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+
+    private static final long NOW = TimeUnit.HOURS.toNanos(1);
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final int CAPACITY = 5;
+    private static final double PERMITS_PER_SECOND = 2;
+
+    @Test
+    void test_tryAcquireShouldAllowTheCapacityAtOnce_WhenTheBucketIsNew() {
+        // GIVEN
+        TokenBucket tokenBucket = new TokenBucket(CAPACITY, PERMITS_PER_SECOND, NOW);
+
+        // WHEN
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(0, tokenBucket.tryAcquire(NOW));
+        }
+
+        // THEN
+        assertEquals(ONE_SECOND / 2, tokenBucket.tryAcquire(NOW));
+    }
+
+    @Test
+    void test_tryAcquireShouldAllowTheRefilledPermits_WhenTimeHasPassed() {
+        // GIVEN
+        TokenBucket tokenBucket = new TokenBucket(CAPACITY, PERMITS_PER_SECOND, NOW);
+
+        // WHEN
+        for (int i = 0; i < CAPACITY; i++) {
+            tokenBucket.tryAcquire(NOW);
+        }
+
+        // THEN
+        assertEquals(0, tokenBucket.tryAcquire(NOW + ONE_SECOND));
+        assertEquals(0, tokenBucket.tryAcquire(NOW + ONE_SECOND));
+        assertEquals(ONE_SECOND / 2, tokenBucket.tryAcquire(NOW + ONE_SECOND));
+    }
+
+    @Test
+    void test_tryAcquireShouldNotAllowMoreThanTheCapacity_WhenTheBucketWasIdleForLong() {
+        // GIVEN
+        TokenBucket tokenBucket = new TokenBucket(CAPACITY, PERMITS_PER_SECOND, NOW);
+        long later = NOW + TimeUnit.MINUTES.toNanos(10);
+
+        // WHEN
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(0, tokenBucket.tryAcquire(later));
+        }
+
+        // THEN
+        assertEquals(ONE_SECOND / 2, tokenBucket.tryAcquire(later));
+    }
+
+    @Test
+    void test_tryAcquireShouldTakeTheGivenNumberOfPermitsAtOnce_WhenTheBucketHasThem() {
+        // GIVEN
+        TokenBucket tokenBucket = new TokenBucket(CAPACITY, PERMITS_PER_SECOND, NOW);
+
+        // WHEN
+        assertEquals(0, tokenBucket.tryAcquire(NOW, CAPACITY - 1));
+
+        // THEN
+        assertEquals(ONE_SECOND / 2, tokenBucket.tryAcquire(NOW, 2));
+        assertEquals(0, tokenBucket.tryAcquire(NOW, 1));
+        assertEquals(ONE_SECOND, tokenBucket.tryAcquire(NOW, 2));
+    }
+
+    @Test
+    void test_getRefillNanosShouldReturnTheTimeToRefillTheCapacity() {
+        // GIVEN
+        TokenBucket tokenBucket = new TokenBucket(CAPACITY, PERMITS_PER_SECOND, NOW);
+
+        // WHEN
+
+        // THEN
+        assertEquals(CAPACITY * ONE_SECOND / 2, tokenBucket.getRefillNanos());
+    }
+}
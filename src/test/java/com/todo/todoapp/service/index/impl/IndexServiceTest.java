@@ -0,0 +1,299 @@
+package com.todo.todoapp.service.index.impl;
+
+import com.todo.todoapp.model.index.DeclaredIndex;
+import com.todo.todoapp.model.index.IndexBuildStatus;
+import com.todo.todoapp.model.index.IndexRegistry;
+import com.todo.todoapp.util.MongoUtil;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.todo.todoapp.util.Constants.COLLECTION_NAME_TODO;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_TODO_NAME_INDEX;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_TODO_USER_ID_DEADLINE_INDEX;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_TODO_USER_ID_NAME_TEXT_INDEX;
+import static com.todo.todoapp.util.Constants.KEY_DEADLINE;
+import static com.todo.todoapp.util.Constants.KEY_NAME;
+import static com.todo.todoapp.util.Constants.KEY_USER_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IndexServiceTest {
+
+    private static final String STATUS_KEY_TODO_USER_ID_DEADLINE_INDEX = COLLECTION_NAME_TODO + "." + INDEX_NAME_TODO_USER_ID_DEADLINE_INDEX;
+    private static final String STATUS_KEY_TODO_NAME_INDEX = COLLECTION_NAME_TODO + "." + INDEX_NAME_TODO_NAME_INDEX;
+
+    private static final String REPLACEMENT_INDEX_NAME = INDEX_NAME_TODO_USER_ID_DEADLINE_INDEX + "_replacement";
+
+    private static final Document PARTIAL_FILTER_EXPRESSION = new Document(KEY_DEADLINE, new Document("$exists", true));
+
+    private static final DeclaredIndex DECLARED_INDEX = new DeclaredIndex.Builder()
+            .withCollectionName(COLLECTION_NAME_TODO)
+            .withName(INDEX_NAME_TODO_USER_ID_DEADLINE_INDEX)
+            .on(KEY_USER_ID)
+            .on(KEY_DEADLINE)
+            .withPartialFilterExpression(PARTIAL_FILTER_EXPRESSION)
+            .build();
+
+    private static final IndexRegistry INDEX_REGISTRY = new IndexRegistry.Builder()
+            .declare(DECLARED_INDEX)
+            .retire(COLLECTION_NAME_TODO, INDEX_NAME_TODO_NAME_INDEX)
+            .build();
+
+    private MongoUtil mongoUtil;
+
+    private IndexService indexService;
+
+    @BeforeEach
+    void setUp() {
+        mongoUtil = mock(MongoUtil.class);
+    }
+
+    @Test
+    void test_getIndexStatusesShouldReturnPending_WhenTheIndexesHaveNotBeenSynchronizedYet() {
+        // GIVEN
+
+        // WHEN
+        indexService = createIndexService();
+
+        // THEN
+        assertEquals(Map.of(STATUS_KEY_TODO_USER_ID_DEADLINE_INDEX, IndexBuildStatus.PENDING), indexService.getIndexStatuses().getBody());
+    }
+
+    @Test
+    void test_synchronizeIndexesShouldCreateTheIndex_WhenTheDeclaredIndexDoesNotExist() {
+        // GIVEN
+
+        // WHEN
+        when(mongoUtil.getIndexInfo(COLLECTION_NAME_TODO)).thenReturn(Collections.emptyList());
+
+        indexService = createIndexService();
+        indexService.synchronizeIndexes();
+
+        // THEN
+        assertEquals(Map.of(STATUS_KEY_TODO_USER_ID_DEADLINE_INDEX, IndexBuildStatus.READY), indexService.getIndexStatuses().getBody());
+
+        // VERIFY
+        verify(mongoUtil, times(1)).createIndex(DECLARED_INDEX);
+        verify(mongoUtil, times(0)).dropIndex(anyString(), anyString());
+    }
+
+    @Test
+    void test_synchronizeIndexesShouldNotTouchTheIndex_WhenTheExistingIndexMatchesTheDeclaration() {
+        // GIVEN
+        IndexInfo existingIndex = IndexInfo.indexInfoOf(new Document("key", new Document(KEY_USER_ID, 1).append(KEY_DEADLINE, 1))
+                .append("name", INDEX_NAME_TODO_USER_ID_DEADLINE_INDEX)
+                .append("partialFilterExpression", PARTIAL_FILTER_EXPRESSION));
+
+        // WHEN
+        when(mongoUtil.getIndexInfo(COLLECTION_NAME_TODO)).thenReturn(List.of(existingIndex));
+
+        indexService = createIndexService();
+        indexService.synchronizeIndexes();
+
+        // THEN
+        assertEquals(Map.of(STATUS_KEY_TODO_USER_ID_DEADLINE_INDEX, IndexBuildStatus.READY), indexService.getIndexStatuses().getBody());
+
+        // VERIFY
+        verify(mongoUtil, times(0)).createIndex(any(DeclaredIndex.class));
+        verify(mongoUtil, times(0)).dropIndex(anyString(), anyString());
+    }
+
+    @Test
+    void test_synchronizeIndexesShouldReplaceTheIndexBeforeDroppingIt_WhenTheExistingIndexDiffersFromTheDeclaration() {
+        // GIVEN
+        IndexInfo existingIndex = IndexInfo.indexInfoOf(new Document("key", new Document(KEY_USER_ID, 1).append(KEY_DEADLINE, 1))
+                .append("name", INDEX_NAME_TODO_USER_ID_DEADLINE_INDEX)
+                .append("unique", true));
+
+        // WHEN
+        when(mongoUtil.getIndexInfo(COLLECTION_NAME_TODO)).thenReturn(List.of(existingIndex));
+
+        indexService = createIndexService();
+        indexService.synchronizeIndexes();
+
+        // THEN
+        assertEquals(Map.of(STATUS_KEY_TODO_USER_ID_DEADLINE_INDEX, IndexBuildStatus.READY), indexService.getIndexStatuses().getBody());
+
+        // VERIFY
+        InOrder inOrder = inOrder(mongoUtil);
+        inOrder.verify(mongoUtil, times(1)).createIndex(DECLARED_INDEX.copyWithName(REPLACEMENT_INDEX_NAME));
+        inOrder.verify(mongoUtil, times(1)).dropIndex(COLLECTION_NAME_TODO, INDEX_NAME_TODO_USER_ID_DEADLINE_INDEX);
+        verify(mongoUtil, times(1)).createIndex(any(DeclaredIndex.class));
+        verify(mongoUtil, times(1)).dropIndex(anyString(), anyString());
+    }
+
+    @Test
+    void test_synchronizeIndexesShouldKeepTheExistingIndex_WhenItsReplacementCouldNotBeBuilt() {
+        // GIVEN
+        IndexInfo existingIndex = IndexInfo.indexInfoOf(new Document("key", new Document(KEY_USER_ID, 1).append(KEY_DEADLINE, 1))
+                .append("name", INDEX_NAME_TODO_USER_ID_DEADLINE_INDEX)
+                .append("unique", true));
+
+        // WHEN
+        when(mongoUtil.getIndexInfo(COLLECTION_NAME_TODO)).thenReturn(List.of(existingIndex));
+        doThrow(new DataIntegrityViolationException("Index with name already exists with different options"))
+                .when(mongoUtil).createIndex(DECLARED_INDEX.copyWithName(REPLACEMENT_INDEX_NAME));
+
+        indexService = createIndexService();
+        indexService.synchronizeIndexes();
+
+        // THEN
+        assertEquals(Map.of(STATUS_KEY_TODO_USER_ID_DEADLINE_INDEX, IndexBuildStatus.FAILED), indexService.getIndexStatuses().getBody());
+
+        // VERIFY
+        verify(mongoUtil, times(0)).dropIndex(anyString(), anyString());
+    }
+
+    @Test
+    void test_synchronizeIndexesShouldNotTouchTheIndex_WhenTheIndexWasReplacedUnderItsReplacementName() {
+        // GIVEN
+        IndexInfo existingIndex = IndexInfo.indexInfoOf(new Document("key", new Document(KEY_USER_ID, 1).append(KEY_DEADLINE, 1))
+                .append("name", REPLACEMENT_INDEX_NAME)
+                .append("partialFilterExpression", PARTIAL_FILTER_EXPRESSION));
+
+        // WHEN
+        when(mongoUtil.getIndexInfo(COLLECTION_NAME_TODO)).thenReturn(List.of(existingIndex));
+
+        indexService = createIndexService();
+        indexService.synchronizeIndexes();
+
+        // THEN
+        assertEquals(Map.of(STATUS_KEY_TODO_USER_ID_DEADLINE_INDEX, IndexBuildStatus.READY), indexService.getIndexStatuses().getBody());
+
+        // VERIFY
+        verify(mongoUtil, times(0)).createIndex(any(DeclaredIndex.class));
+        verify(mongoUtil, times(0)).dropIndex(anyString(), anyString());
+    }
+
+    @Test
+    void test_synchronizeIndexesShouldReplaceTheIndexUnderItsName_WhenTheIndexUnderItsReplacementNameDiffersFromTheDeclaration() {
+        // GIVEN
+        IndexInfo existingIndex = IndexInfo.indexInfoOf(new Document("key", new Document(KEY_USER_ID, 1).append(KEY_DEADLINE, 1))
+                .append("name", REPLACEMENT_INDEX_NAME));
+
+        // WHEN
+        when(mongoUtil.getIndexInfo(COLLECTION_NAME_TODO)).thenReturn(List.of(existingIndex));
+
+        indexService = createIndexService();
+        indexService.synchronizeIndexes();
+
+        // THEN
+        assertEquals(Map.of(STATUS_KEY_TODO_USER_ID_DEADLINE_INDEX, IndexBuildStatus.READY), indexService.getIndexStatuses().getBody());
+
+        // VERIFY
+        InOrder inOrder = inOrder(mongoUtil);
+        inOrder.verify(mongoUtil, times(1)).createIndex(DECLARED_INDEX);
+        inOrder.verify(mongoUtil, times(1)).dropIndex(COLLECTION_NAME_TODO, REPLACEMENT_INDEX_NAME);
+    }
+
+    @Test
+    void test_synchronizeIndexesShouldDropTheLeftoverIndex_WhenAReplacementWasInterruptedBeforeTheOldIndexWasDropped() {
+        // GIVEN
+        IndexInfo oldIndex = IndexInfo.indexInfoOf(new Document("key", new Document(KEY_USER_ID, 1).append(KEY_DEADLINE, 1))
+                .append("name", INDEX_NAME_TODO_USER_ID_DEADLINE_INDEX)
+                .append("unique", true));
+        IndexInfo replacementIndex = IndexInfo.indexInfoOf(new Document("key", new Document(KEY_USER_ID, 1).append(KEY_DEADLINE, 1))
+                .append("name", REPLACEMENT_INDEX_NAME)
+                .append("partialFilterExpression", PARTIAL_FILTER_EXPRESSION));
+
+        // WHEN
+        when(mongoUtil.getIndexInfo(COLLECTION_NAME_TODO)).thenReturn(List.of(oldIndex, replacementIndex));
+
+        indexService = createIndexService();
+        indexService.synchronizeIndexes();
+
+        // THEN
+        assertEquals(Map.of(STATUS_KEY_TODO_USER_ID_DEADLINE_INDEX, IndexBuildStatus.READY), indexService.getIndexStatuses().getBody());
+
+        // VERIFY
+        verify(mongoUtil, times(0)).createIndex(any(DeclaredIndex.class));
+        verify(mongoUtil, times(1)).dropIndex(COLLECTION_NAME_TODO, INDEX_NAME_TODO_USER_ID_DEADLINE_INDEX);
+        verify(mongoUtil, times(1)).dropIndex(anyString(), anyString());
+    }
+
+    @Test
+    void test_synchronizeIndexesShouldDropTheRetiredIndex_WhenItStillExists() {
+        // GIVEN
+        IndexInfo retiredIndex = IndexInfo.indexInfoOf(new Document("key", new Document(KEY_NAME, 1))
+                .append("name", INDEX_NAME_TODO_NAME_INDEX)
+                .append("unique", true));
+
+        // WHEN
+        when(mongoUtil.getIndexInfo(COLLECTION_NAME_TODO)).thenReturn(List.of(retiredIndex));
+
+        indexService = createIndexService();
+        indexService.synchronizeIndexes();
+
+        // THEN
+        assertEquals(Map.of(
+                STATUS_KEY_TODO_NAME_INDEX, IndexBuildStatus.DROPPED,
+                STATUS_KEY_TODO_USER_ID_DEADLINE_INDEX, IndexBuildStatus.READY
+        ), indexService.getIndexStatuses().getBody());
+
+        // VERIFY
+        verify(mongoUtil, times(1)).dropIndex(COLLECTION_NAME_TODO, INDEX_NAME_TODO_NAME_INDEX);
+        verify(mongoUtil, times(1)).createIndex(DECLARED_INDEX);
+    }
+
+    @Test
+    void test_synchronizeIndexesShouldReportFailed_WhenTheIndexCouldNotBeBuilt() {
+        // GIVEN
+
+        // WHEN
+        when(mongoUtil.getIndexInfo(COLLECTION_NAME_TODO)).thenReturn(Collections.emptyList());
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(mongoUtil).createIndex(DECLARED_INDEX);
+
+        indexService = createIndexService();
+        indexService.synchronizeIndexes();
+
+        // THEN
+        assertEquals(Map.of(STATUS_KEY_TODO_USER_ID_DEADLINE_INDEX, IndexBuildStatus.FAILED), indexService.getIndexStatuses().getBody());
+    }
+
+    @Test
+    void test_synchronizeIndexesShouldNotTouchTheTextIndex_WhenTheExistingTextIndexMatchesTheDeclaration() {
+        // GIVEN
+        DeclaredIndex declaredTextIndex = new DeclaredIndex.Builder()
+                .withCollectionName(COLLECTION_NAME_TODO)
+                .withName(INDEX_NAME_TODO_USER_ID_NAME_TEXT_INDEX)
+                .on(KEY_USER_ID)
+                .onText(KEY_NAME)
+                .build();
+        IndexInfo existingIndex = IndexInfo.indexInfoOf(new Document("key", new Document(KEY_USER_ID, 1).append("_fts", "text").append("_ftsx", 1))
+                .append("name", INDEX_NAME_TODO_USER_ID_NAME_TEXT_INDEX)
+                .append("weights", new Document(KEY_NAME, 1)));
+
+        // WHEN
+        when(mongoUtil.getIndexInfo(COLLECTION_NAME_TODO)).thenReturn(List.of(existingIndex));
+
+        indexService = new IndexService(new IndexRegistry.Builder().declare(declaredTextIndex).build(), mongoUtil);
+        indexService.synchronizeIndexes();
+
+        // THEN
+        assertEquals(Map.of(COLLECTION_NAME_TODO + "." + INDEX_NAME_TODO_USER_ID_NAME_TEXT_INDEX, IndexBuildStatus.READY), indexService.getIndexStatuses().getBody());
+        assertEquals(new Document(KEY_USER_ID, 1).append(KEY_NAME, "text"), declaredTextIndex.toIndex().getIndexKeys());
+
+        // VERIFY
+        verify(mongoUtil, times(0)).createIndex(any(DeclaredIndex.class));
+        verify(mongoUtil, times(0)).dropIndex(anyString(), anyString());
+    }
+
+    private IndexService createIndexService() {
+        return new IndexService(INDEX_REGISTRY, mongoUtil);
+    }
+}
@@ -0,0 +1,439 @@
+package com.todo.todoapp.service.todo.impl;
+
+import com.mongodb.client.result.UpdateResult;
+import com.todo.todoapp.cache.user.UserCache;
+import com.todo.todoapp.config.PaginationProperties;
+import com.todo.todoapp.config.UserCacheProperties;
+import com.todo.todoapp.model.todo.Priority;
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.todo.TodoListVersion;
+import com.todo.todoapp.model.todo.TodoPage;
+import com.todo.todoapp.model.user.User;
+import com.todo.todoapp.repository.todo.ReactiveTodoRepository;
+import com.todo.todoapp.repository.user.ReactiveUserRepository;
+import com.todo.todoapp.util.ETagUtil;
+import com.todo.todoapp.util.PageTokenUtil;
+import com.todo.todoapp.util.TodoUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_SUB;
+import static com.todo.todoapp.util.Constants.EMAIL;
+import static com.todo.todoapp.util.Constants.ERR_MSG_CURRENTLY_NO_USER_IS_LOGGED_IN;
+import static com.todo.todoapp.util.Constants.ERR_MSG_CURRENTLY_THE_GIVEN_USER_DOES_NOT_EXIST_IN_THE_DATABASE;
+import static com.todo.todoapp.util.Constants.ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_NULL_OR_EMPTY_ID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME;
+import static com.todo.todoapp.util.Constants.GOOGLE_ID;
+import static com.todo.todoapp.util.Constants.KEY_ID;
+import static com.todo.todoapp.util.Constants.KEY_VERSION;
+import static com.todo.todoapp.util.Constants.LIST_VERSION_INCREMENT_ATTEMPTS;
+import static com.todo.todoapp.util.Constants.TODO_ID_FOUR;
+import static com.todo.todoapp.util.Constants.TODO_ID_ONE;
+import static com.todo.todoapp.util.Constants.TODO_ID_TWO;
+import static com.todo.todoapp.util.Constants.TODO_NAME_ONE;
+import static com.todo.todoapp.util.Constants.TODO_NAME_TWO;
+import static com.todo.todoapp.util.Constants.USER_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReactiveTodoServiceTest {
+
+    private static final List<Todo> TODO_LIST = List.of(
+            new Todo.Builder()
+                    .withId(TODO_ID_ONE)
+                    .withUserId(USER_ID)
+                    .withName(TODO_NAME_ONE)
+                    .withPriority(Priority.SMALL)
+                    .build(),
+            new Todo.Builder()
+                    .withId(TODO_ID_TWO)
+                    .withUserId(USER_ID)
+                    .withName(TODO_NAME_TWO)
+                    .withPriority(Priority.MEDIUM)
+                    .build()
+    );
+
+    private ReactiveTodoRepository todoRepository;
+    private ReactiveUserRepository userRepository;
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private ReactiveTodoService reactiveTodoService;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository = mock(ReactiveTodoRepository.class);
+        userRepository = mock(ReactiveUserRepository.class);
+        reactiveMongoTemplate = mock(ReactiveMongoTemplate.class);
+
+        reactiveTodoService = new ReactiveTodoService(todoRepository, userRepository, new UserCache(new UserCacheProperties()),
+                reactiveMongoTemplate, new PaginationProperties());
+    }
+
+    @Test
+    void test_getTodosForUserShouldReturnAResponseEntityWithBadRequest_WhenNoUserIsLoggedIn() {
+        // GIVEN
+
+        // WHEN
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.getTodos(null, null, null, null);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_CURRENTLY_NO_USER_IS_LOGGED_IN))
+                .verifyComplete();
+
+        // VERIFY
+        verifyNoInteractions(userRepository, reactiveMongoTemplate);
+    }
+
+    @Test
+    void test_getTodosForUserShouldReturnAResponseEntityWithNotFound_WhenTheUserDoesNotExistInTheDatabase() {
+        // GIVEN
+        OidcUser principal = createPrincipal();
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(Mono.empty());
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.getTodos(principal, null, null, null);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ERR_MSG_CURRENTLY_THE_GIVEN_USER_DOES_NOT_EXIST_IN_THE_DATABASE))
+                .verifyComplete();
+
+        // VERIFY
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+
+    @Test
+    void test_getTodosForUserShouldReturnTheFirstPageWithANextPageToken_WhenThereAreMoreTodosThanThePageSize() {
+        // GIVEN
+        OidcUser principal = createPrincipal();
+        int pageSize = 1;
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(Mono.just(createUser()));
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Todo.class))).thenReturn(Flux.fromIterable(TODO_LIST));
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.getTodos(principal, null, pageSize, null);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.ok(new TodoPage(TODO_LIST.subList(0, pageSize), PageTokenUtil.encode(TODO_ID_ONE))))
+                .verifyComplete();
+
+        // VERIFY
+        verify(userRepository, times(1)).findByGoogleId(anyString());
+    }
+
+    @Test
+    void test_getTodosForUserShouldResolveTheUserFromTheCache_WhenTheUserHasAlreadyBeenResolved() {
+        // GIVEN
+        OidcUser principal = createPrincipal();
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(Mono.just(createUser()));
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Todo.class))).thenReturn(Flux.fromIterable(TODO_LIST));
+
+        reactiveTodoService.getTodos(principal, null, null, null).block();
+        reactiveTodoService.getTodos(principal, null, null, null).block();
+
+        // THEN
+
+        // VERIFY
+        verify(userRepository, times(1)).findByGoogleId(anyString());
+        verify(reactiveMongoTemplate, times(2)).find(any(Query.class), eq(Todo.class));
+    }
+
+    @Test
+    void test_getTodoShouldReturnAResponseEntityWithBadRequest_WhenTheGivenIdIsEmpty() {
+        // GIVEN
+
+        // WHEN
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.getTodo(null, null);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_NULL_OR_EMPTY_ID))
+                .verifyComplete();
+
+        // VERIFY
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void test_getTodoShouldReturnAResponseEntityWithNotFound_WhenNoTodoExistsWithTheGivenId() {
+        // GIVEN
+
+        // WHEN
+        when(todoRepository.findById(TODO_ID_FOUR)).thenReturn(Mono.empty());
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.getTodo(TODO_ID_FOUR, null);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID))
+                .verifyComplete();
+    }
+
+    @Test
+    void test_getTodoShouldReturnTheTodoWithItsETag_WhenTheTodoExists() {
+        // GIVEN
+        Todo todo = TODO_LIST.get(0);
+
+        // WHEN
+        when(todoRepository.findById(TODO_ID_ONE)).thenReturn(Mono.just(todo));
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.getTodo(TODO_ID_ONE, null);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.ok().eTag(ETagUtil.createVersionETag(0L)).body(todo))
+                .verifyComplete();
+    }
+
+    @Test
+    void test_getTodoShouldReturnAResponseEntityWithNotModified_WhenTheETagStillMatches() {
+        // GIVEN
+        String eTag = ETagUtil.createVersionETag(0L);
+
+        // WHEN
+        when(todoRepository.findById(TODO_ID_ONE)).thenReturn(Mono.just(TODO_LIST.get(0)));
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.getTodo(TODO_ID_ONE, eTag);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build())
+                .verifyComplete();
+    }
+
+    @Test
+    void test_saveTodoShouldReturnAResponseEntityWithCreated_WhenTheGivenTodoFromJSONIsValid() {
+        // GIVEN
+        Todo todo = TODO_LIST.get(0);
+
+        // WHEN
+        Todo expectedTodo = TodoUtil.createNewTodo(null, todo);
+        when(todoRepository.save(expectedTodo)).thenReturn(Mono.just(expectedTodo));
+        when(reactiveMongoTemplate.upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class))).thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.saveTodo(todo);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.status(HttpStatus.CREATED).body(expectedTodo))
+                .verifyComplete();
+    }
+
+    @Test
+    void test_updateTodoShouldReturnAResponseEntityWithNotFound_WhenNoTodoExistsWithTheGivenId() {
+        // GIVEN
+        Todo todoFromJSON = TODO_LIST.get(0);
+
+        // WHEN
+        when(reactiveMongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Todo.class))).thenReturn(Mono.empty());
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.updateTodo(TODO_ID_FOUR, todoFromJSON, null);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID))
+                .verifyComplete();
+    }
+
+    @Test
+    void test_updateTodoShouldReturnAResponseEntityWithOkAndTheNewETag_WhenTheIfMatchHeaderIsCurrent() {
+        // GIVEN
+        Todo todoFromJSON = TODO_LIST.get(0);
+        Todo updatedTodo = new Todo.Builder()
+                .withId(TODO_ID_ONE)
+                .withUserId(USER_ID)
+                .withName(TODO_NAME_ONE)
+                .withPriority(Priority.SMALL)
+                .withVersion(3L)
+                .build();
+        Query expectedQuery = Query.query(Criteria.where(KEY_ID).is(TODO_ID_ONE)).addCriteria(Criteria.where(KEY_VERSION).in(List.of(2L)));
+
+        // WHEN
+        when(reactiveMongoTemplate.findAndModify(eq(expectedQuery), any(Update.class), any(FindAndModifyOptions.class), eq(Todo.class))).thenReturn(Mono.just(updatedTodo));
+        when(reactiveMongoTemplate.upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class))).thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.updateTodo(TODO_ID_ONE, todoFromJSON, ETagUtil.createVersionETag(2L));
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.ok().eTag(ETagUtil.createVersionETag(3L)).body(updatedTodo))
+                .verifyComplete();
+
+        // VERIFY
+        verify(reactiveMongoTemplate, times(1)).upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class));
+    }
+
+    @Test
+    void test_updateTodoShouldReturnAResponseEntityWithPreconditionFailed_WhenTheIfMatchHeaderIsOutdated() {
+        // GIVEN
+        Todo todoFromJSON = TODO_LIST.get(0);
+        Query expectedQuery = Query.query(Criteria.where(KEY_ID).is(TODO_ID_ONE)).addCriteria(Criteria.where(KEY_VERSION).in(List.of(2L)));
+
+        // WHEN
+        when(reactiveMongoTemplate.findAndModify(eq(expectedQuery), any(Update.class), any(FindAndModifyOptions.class), eq(Todo.class))).thenReturn(Mono.empty());
+        when(reactiveMongoTemplate.exists(any(Query.class), eq(Todo.class))).thenReturn(Mono.just(true));
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.updateTodo(TODO_ID_ONE, todoFromJSON, ETagUtil.createVersionETag(2L));
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME))
+                .verifyComplete();
+
+        // VERIFY
+        verify(reactiveMongoTemplate, times(0)).upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class));
+    }
+
+    @Test
+    void test_updateTodoShouldReturnAResponseEntityWithConflict_WhenTheVersionInTheBodyIsOutdated() {
+        // GIVEN
+        Todo todoFromJSON = new Todo.Builder()
+                .withId(TODO_ID_ONE)
+                .withUserId(USER_ID)
+                .withName(TODO_NAME_TWO)
+                .withPriority(Priority.MEDIUM)
+                .withVersion(0L)
+                .build();
+        // the Todos saved before the versioning have no version field, so the initial version also matches a missing one
+        Query expectedQuery = Query.query(Criteria.where(KEY_ID).is(TODO_ID_ONE)).addCriteria(Criteria.where(KEY_VERSION).in(Arrays.asList(0L, null)));
+
+        // WHEN
+        when(reactiveMongoTemplate.findAndModify(eq(expectedQuery), any(Update.class), any(FindAndModifyOptions.class), eq(Todo.class))).thenReturn(Mono.empty());
+        when(reactiveMongoTemplate.exists(any(Query.class), eq(Todo.class))).thenReturn(Mono.just(true));
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.updateTodo(TODO_ID_ONE, todoFromJSON, null);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.status(HttpStatus.CONFLICT).body(ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME))
+                .verifyComplete();
+    }
+
+    @Test
+    void test_deleteTodoShouldReturnAResponseEntityWithOk_WhenTheDesiredTodoHasBeenDeleted() {
+        // GIVEN
+
+        // WHEN
+        when(reactiveMongoTemplate.findAndRemove(any(Query.class), eq(Todo.class))).thenReturn(Mono.just(TODO_LIST.get(0)));
+        when(reactiveMongoTemplate.upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class))).thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.deleteTodo(TODO_ID_ONE, null);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(new ResponseEntity<>(HttpStatus.OK))
+                .verifyComplete();
+
+        // VERIFY
+        verify(reactiveMongoTemplate, times(1)).upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class));
+    }
+
+    @Test
+    void test_deleteTodoShouldStillReturnAResponseEntityWithOk_WhenTheIncrementOfTheListVersionKeepsFailing() {
+        // GIVEN
+        AtomicInteger upsertAttempts = new AtomicInteger();
+
+        // WHEN
+        when(reactiveMongoTemplate.findAndRemove(any(Query.class), eq(Todo.class))).thenReturn(Mono.just(TODO_LIST.get(0)));
+        when(reactiveMongoTemplate.upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class)))
+                .thenReturn(Mono.defer(() -> {
+                    upsertAttempts.incrementAndGet();
+
+                    return Mono.error(new DataAccessResourceFailureException("Timed out while waiting for a server"));
+                }));
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.deleteTodo(TODO_ID_ONE, null);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(new ResponseEntity<>(HttpStatus.OK))
+                .verifyComplete();
+
+        // VERIFY
+        assertEquals(LIST_VERSION_INCREMENT_ATTEMPTS, upsertAttempts.get());
+    }
+
+    @Test
+    void test_deleteTodoShouldReturnAResponseEntityWithNotFound_WhenNoTodoExistsWithTheGivenId() {
+        // GIVEN
+
+        // WHEN
+        when(reactiveMongoTemplate.findAndRemove(any(Query.class), eq(Todo.class))).thenReturn(Mono.empty());
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.deleteTodo(TODO_ID_FOUR, null);
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID))
+                .verifyComplete();
+
+        // VERIFY
+        verify(reactiveMongoTemplate, times(0)).upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class));
+    }
+
+    @Test
+    void test_deleteTodoShouldReturnAResponseEntityWithPreconditionFailed_WhenTheIfMatchHeaderIsOutdated() {
+        // GIVEN
+        Query expectedQuery = Query.query(Criteria.where(KEY_ID).is(TODO_ID_ONE)).addCriteria(Criteria.where(KEY_VERSION).in(List.of(2L)));
+
+        // WHEN
+        when(reactiveMongoTemplate.findAndRemove(eq(expectedQuery), eq(Todo.class))).thenReturn(Mono.empty());
+        when(reactiveMongoTemplate.exists(any(Query.class), eq(Todo.class))).thenReturn(Mono.just(true));
+
+        Mono<ResponseEntity<Object>> response = reactiveTodoService.deleteTodo(TODO_ID_ONE, ETagUtil.createVersionETag(2L));
+
+        // THEN
+        StepVerifier.create(response)
+                .expectNext(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME))
+                .verifyComplete();
+
+        // VERIFY
+        verify(reactiveMongoTemplate, times(0)).upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class));
+    }
+
+    private OidcUser createPrincipal() {
+        OidcUser principal = mock(OidcUser.class);
+
+        when(principal.getAttribute(ATTRIBUTE_SUB)).thenReturn(GOOGLE_ID);
+
+        return principal;
+    }
+
+    private User createUser() {
+        return new User.Builder()
+                .withId(USER_ID)
+                .withEmail(EMAIL)
+                .withGoogleId(GOOGLE_ID)
+                .build();
+    }
+}
@@ -0,0 +1,341 @@
+package com.todo.todoapp.service.todo.impl;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.todo.todoapp.cache.todo.TodoNearCache;
+import com.todo.todoapp.cache.todo.TodoSummaryCache;
+import com.todo.todoapp.config.BatchProperties;
+import com.todo.todoapp.config.TodoNearCacheProperties;
+import com.todo.todoapp.config.TodoSummaryCacheProperties;
+import com.todo.todoapp.model.todo.Priority;
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.todo.TodoListVersion;
+import com.todo.todoapp.model.todo.batch.TodoBatchOperation;
+import com.todo.todoapp.model.todo.batch.TodoBatchOperationType;
+import com.todo.todoapp.model.todo.batch.TodoBatchResult;
+import com.todo.todoapp.util.TodoUtil;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import javax.validation.Validation;
+import java.util.Collections;
+import java.util.List;
+
+import static com.todo.todoapp.util.Constants.DP_EXECUTE_BATCH_INVALID_OPERATION_DATA_PROVIDER;
+import static com.todo.todoapp.util.Constants.EMPTY_STRING;
+import static com.todo.todoapp.util.Constants.ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_NULL_JSON;
+import static com.todo.todoapp.util.Constants.ERR_MSG_NULL_OR_EMPTY_ID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_BATCH_IS_TOO_BIG;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_OPERATION_TYPE_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_TODO_IS_ALREADY_PART_OF_THE_BATCH;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_TODO_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME;
+import static com.todo.todoapp.util.Constants.KEY_ID;
+import static com.todo.todoapp.util.Constants.KEY_USER_ID;
+import static com.todo.todoapp.util.Constants.KEY_VERSION;
+import static com.todo.todoapp.util.Constants.TODO_ID_FOUR;
+import static com.todo.todoapp.util.Constants.TODO_ID_ONE;
+import static com.todo.todoapp.util.Constants.TODO_ID_TWO;
+import static com.todo.todoapp.util.Constants.TODO_NAME_ONE;
+import static com.todo.todoapp.util.Constants.USER_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TodoBatchServiceTest {
+
+    private static final Todo VALID_TODO = new Todo.Builder()
+            .withUserId(USER_ID)
+            .withName(TODO_NAME_ONE)
+            .withPriority(Priority.SMALL)
+            .build();
+
+    private static final Todo TODO_WITHOUT_NAME = new Todo.Builder()
+            .withUserId(USER_ID)
+            .withPriority(Priority.SMALL)
+            .build();
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulkOperations;
+    private BulkOperations listVersionOperations;
+    private BatchProperties batchProperties;
+
+    private TodoBatchService todoBatchService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulkOperations = mock(BulkOperations.class);
+        listVersionOperations = mock(BulkOperations.class);
+        batchProperties = new BatchProperties();
+
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Todo.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TodoListVersion.class)).thenReturn(listVersionOperations);
+        when(mongoTemplate.find(any(Query.class), eq(Todo.class))).thenReturn(List.of(new Todo.Builder().withId(TODO_ID_ONE).withUserId(USER_ID).build()));
+    }
+
+    @Test
+    void test_executeBatchShouldReturnAResponseEntityWithBadRequest_WhenTheBatchIsEmpty() {
+        // GIVEN
+        List<TodoBatchOperation> todoBatchOperations = Collections.emptyList();
+
+        // WHEN
+        todoBatchService = createTodoBatchService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_NULL_JSON), todoBatchService.executeBatch(todoBatchOperations));
+
+        // VERIFY
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void test_executeBatchShouldReturnAResponseEntityWithBadRequest_WhenTheBatchIsTooBig() {
+        // GIVEN
+        List<TodoBatchOperation> todoBatchOperations = List.of(
+                new TodoBatchOperation(TodoBatchOperationType.CREATE, null, VALID_TODO, null),
+                new TodoBatchOperation(TodoBatchOperationType.CREATE, null, VALID_TODO, null)
+        );
+        batchProperties.setMaxSize(1);
+
+        // WHEN
+        todoBatchService = createTodoBatchService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_THE_GIVEN_BATCH_IS_TOO_BIG), todoBatchService.executeBatch(todoBatchOperations));
+
+        // VERIFY
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private static Object[][] executeBatchInvalidOperationDataProvider() {
+        return new Object[][] {
+                {new TodoBatchOperation(null, TODO_ID_ONE, VALID_TODO, null), HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_OPERATION_TYPE_IS_NOT_VALID},
+                {new TodoBatchOperation(TodoBatchOperationType.CREATE, null, null, null), HttpStatus.BAD_REQUEST, ERR_MSG_NULL_JSON},
+                {new TodoBatchOperation(TodoBatchOperationType.CREATE, null, TODO_WITHOUT_NAME, null), HttpStatus.BAD_REQUEST, ERR_MSG_THE_GIVEN_TODO_IS_NOT_VALID},
+                {new TodoBatchOperation(TodoBatchOperationType.UPDATE, EMPTY_STRING, VALID_TODO, null), HttpStatus.BAD_REQUEST, ERR_MSG_NULL_OR_EMPTY_ID},
+                {new TodoBatchOperation(TodoBatchOperationType.UPDATE, TODO_ID_FOUR, VALID_TODO, null), HttpStatus.NOT_FOUND, ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID},
+                {new TodoBatchOperation(TodoBatchOperationType.DELETE, TODO_ID_FOUR, null, null), HttpStatus.NOT_FOUND, ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource(DP_EXECUTE_BATCH_INVALID_OPERATION_DATA_PROVIDER)
+    void test_executeBatchShouldReturnAnErrorResult_WhenTheOperationIsNotValid(TodoBatchOperation todoBatchOperation, HttpStatus httpStatus, String errorMessage) {
+        // GIVEN
+        List<TodoBatchOperation> todoBatchOperations = Collections.singletonList(todoBatchOperation);
+
+        // WHEN
+        todoBatchService = createTodoBatchService();
+
+        // THEN
+        TodoBatchResult expectedResult = new TodoBatchResult(0, todoBatchOperation.getType(), todoBatchOperation.getTodoId(), httpStatus.value(), errorMessage);
+        assertEquals(ResponseEntity.ok(List.of(expectedResult)), todoBatchService.executeBatch(todoBatchOperations));
+
+        // VERIFY
+        verify(bulkOperations, times(0)).execute();
+        verifyNoInteractions(listVersionOperations);
+    }
+
+    @Test
+    void test_executeBatchShouldExecuteTheValidOperationsInOneBulkWrite_WhenTheBatchIsMixed() {
+        // GIVEN
+        List<TodoBatchOperation> todoBatchOperations = List.of(
+                new TodoBatchOperation(TodoBatchOperationType.CREATE, null, VALID_TODO, null),
+                new TodoBatchOperation(TodoBatchOperationType.UPDATE, TODO_ID_ONE, VALID_TODO, null),
+                new TodoBatchOperation(TodoBatchOperationType.DELETE, TODO_ID_ONE, null, null),
+                new TodoBatchOperation(TodoBatchOperationType.DELETE, TODO_ID_TWO, null, null)
+        );
+
+        // WHEN
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(1, 1, 0, 1, List.of(), List.of()));
+
+        todoBatchService = createTodoBatchService();
+        List<TodoBatchResult> todoBatchResults = getTodoBatchResults(todoBatchService.executeBatch(todoBatchOperations));
+
+        // THEN
+        assertEquals(HttpStatus.CREATED.value(), todoBatchResults.get(0).getStatus());
+        assertNotNull(todoBatchResults.get(0).getTodoId());
+        assertEquals(new TodoBatchResult(1, TodoBatchOperationType.UPDATE, TODO_ID_ONE, HttpStatus.OK.value(), null), todoBatchResults.get(1));
+        assertEquals(new TodoBatchResult(2, TodoBatchOperationType.DELETE, TODO_ID_ONE, HttpStatus.BAD_REQUEST.value(), ERR_MSG_THE_GIVEN_TODO_IS_ALREADY_PART_OF_THE_BATCH), todoBatchResults.get(2));
+        assertEquals(new TodoBatchResult(3, TodoBatchOperationType.DELETE, TODO_ID_TWO, HttpStatus.NOT_FOUND.value(), ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID), todoBatchResults.get(3));
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Todo.class));
+        verify(bulkOperations, times(1)).insert(any(Todo.class));
+        verify(bulkOperations, times(1)).updateOne(eq(Query.query(Criteria.where(KEY_ID).is(TODO_ID_ONE).and(KEY_USER_ID).is(USER_ID))), any(Update.class));
+        verify(bulkOperations, times(0)).remove(any(Query.class));
+        verify(bulkOperations, times(1)).execute();
+        verify(listVersionOperations, times(1)).upsert(TodoUtil.createListVersionQuery(USER_ID), TodoUtil.createListVersionUpdate());
+        verify(listVersionOperations, times(1)).execute();
+    }
+
+    @Test
+    void test_executeBatchShouldRetryTheIncrementOfTheListVersions_WhenTheirBulkWriteFails() {
+        // GIVEN
+        List<TodoBatchOperation> todoBatchOperations = List.of(new TodoBatchOperation(TodoBatchOperationType.CREATE, null, VALID_TODO, null));
+
+        // WHEN
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()));
+        when(listVersionOperations.execute())
+                .thenThrow(new DataAccessResourceFailureException("Timed out while waiting for a server"))
+                .thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        todoBatchService = createTodoBatchService();
+        List<TodoBatchResult> todoBatchResults = getTodoBatchResults(todoBatchService.executeBatch(todoBatchOperations));
+
+        // THEN
+        assertEquals(HttpStatus.CREATED.value(), todoBatchResults.get(0).getStatus());
+
+        // VERIFY
+        verify(listVersionOperations, times(2)).upsert(TodoUtil.createListVersionQuery(USER_ID), TodoUtil.createListVersionUpdate());
+        verify(listVersionOperations, times(2)).execute();
+    }
+
+    @Test
+    void test_executeBatchShouldReturnNotFoundForTheUpdate_WhenItsTodoWasDeletedBeforeTheBulkWrite() {
+        // GIVEN
+        List<TodoBatchOperation> todoBatchOperations = List.of(
+                new TodoBatchOperation(TodoBatchOperationType.UPDATE, TODO_ID_ONE, VALID_TODO, null),
+                new TodoBatchOperation(TodoBatchOperationType.DELETE, TODO_ID_TWO, null, null)
+        );
+
+        // WHEN
+        when(mongoTemplate.find(any(Query.class), eq(Todo.class))).thenReturn(List.of(
+                new Todo.Builder().withId(TODO_ID_ONE).withUserId(USER_ID).build(),
+                new Todo.Builder().withId(TODO_ID_TWO).withUserId(USER_ID).build()
+        ), List.of());
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 1, 0, List.of(), List.of()));
+
+        todoBatchService = createTodoBatchService();
+        List<TodoBatchResult> todoBatchResults = getTodoBatchResults(todoBatchService.executeBatch(todoBatchOperations));
+
+        // THEN
+        assertEquals(new TodoBatchResult(0, TodoBatchOperationType.UPDATE, TODO_ID_ONE, HttpStatus.NOT_FOUND.value(), ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID), todoBatchResults.get(0));
+        assertEquals(new TodoBatchResult(1, TodoBatchOperationType.DELETE, TODO_ID_TWO, HttpStatus.OK.value(), null), todoBatchResults.get(1));
+
+        // VERIFY
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Todo.class));
+        verify(listVersionOperations, times(1)).upsert(TodoUtil.createListVersionQuery(USER_ID), TodoUtil.createListVersionUpdate());
+    }
+
+    @Test
+    void test_executeBatchShouldReturnNotFoundForTheDeletes_WhenSomeOfTheirTodosWereDeletedByAnotherRequest() {
+        // GIVEN
+        List<TodoBatchOperation> todoBatchOperations = List.of(
+                new TodoBatchOperation(TodoBatchOperationType.DELETE, TODO_ID_ONE, null, null),
+                new TodoBatchOperation(TodoBatchOperationType.DELETE, TODO_ID_TWO, null, null)
+        );
+
+        // WHEN
+        when(mongoTemplate.find(any(Query.class), eq(Todo.class))).thenReturn(List.of(
+                new Todo.Builder().withId(TODO_ID_ONE).withUserId(USER_ID).build(),
+                new Todo.Builder().withId(TODO_ID_TWO).withUserId(USER_ID).build()
+        ), List.of());
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 1, 0, List.of(), List.of()));
+
+        todoBatchService = createTodoBatchService();
+        List<TodoBatchResult> todoBatchResults = getTodoBatchResults(todoBatchService.executeBatch(todoBatchOperations));
+
+        // THEN
+        assertEquals(new TodoBatchResult(0, TodoBatchOperationType.DELETE, TODO_ID_ONE, HttpStatus.NOT_FOUND.value(), ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID), todoBatchResults.get(0));
+        assertEquals(new TodoBatchResult(1, TodoBatchOperationType.DELETE, TODO_ID_TWO, HttpStatus.NOT_FOUND.value(), ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID), todoBatchResults.get(1));
+
+        // VERIFY
+        verifyNoInteractions(listVersionOperations);
+    }
+
+    @Test
+    void test_executeBatchShouldReturnConflictForTheVersionedOperations_WhenTheirTodosWereModifiedByAnotherRequest() {
+        // GIVEN
+        List<TodoBatchOperation> todoBatchOperations = List.of(
+                new TodoBatchOperation(TodoBatchOperationType.UPDATE, TODO_ID_ONE, VALID_TODO, 1L),
+                new TodoBatchOperation(TodoBatchOperationType.DELETE, TODO_ID_TWO, null, 1L)
+        );
+
+        // WHEN
+        when(mongoTemplate.find(any(Query.class), eq(Todo.class))).thenReturn(List.of(
+                new Todo.Builder().withId(TODO_ID_ONE).withUserId(USER_ID).withVersion(1L).build(),
+                new Todo.Builder().withId(TODO_ID_TWO).withUserId(USER_ID).withVersion(1L).build()
+        ), List.of(
+                new Todo.Builder().withId(TODO_ID_ONE).withUserId(USER_ID).withVersion(3L).build(),
+                new Todo.Builder().withId(TODO_ID_TWO).withUserId(USER_ID).withVersion(2L).build()
+        ));
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()));
+
+        todoBatchService = createTodoBatchService();
+        List<TodoBatchResult> todoBatchResults = getTodoBatchResults(todoBatchService.executeBatch(todoBatchOperations));
+
+        // THEN
+        assertEquals(new TodoBatchResult(0, TodoBatchOperationType.UPDATE, TODO_ID_ONE, HttpStatus.CONFLICT.value(), ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME), todoBatchResults.get(0));
+        assertEquals(new TodoBatchResult(1, TodoBatchOperationType.DELETE, TODO_ID_TWO, HttpStatus.CONFLICT.value(), ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME), todoBatchResults.get(1));
+
+        // VERIFY
+        verify(bulkOperations, times(1)).updateOne(Query.query(Criteria.where(KEY_ID).is(TODO_ID_ONE).and(KEY_USER_ID).is(USER_ID))
+                .addCriteria(Criteria.where(KEY_VERSION).in(List.of(1L))), TodoUtil.createUpdate(VALID_TODO));
+        verifyNoInteractions(listVersionOperations);
+    }
+
+    @Test
+    void test_executeBatchShouldReturnAnErrorResultForTheFailedOperation_WhenTheBulkWriteFailsPartially() {
+        // GIVEN
+        String errorMessage = "E11000 duplicate key error";
+        List<TodoBatchOperation> todoBatchOperations = List.of(
+                new TodoBatchOperation(null, null, null, null),
+                new TodoBatchOperation(TodoBatchOperationType.UPDATE, TODO_ID_ONE, VALID_TODO, null),
+                new TodoBatchOperation(TodoBatchOperationType.CREATE, null, VALID_TODO, null)
+        );
+        MongoBulkWriteException mongoBulkWriteException = new MongoBulkWriteException(
+                BulkWriteResult.unacknowledged(),
+                List.of(new BulkWriteError(11000, errorMessage, new BsonDocument(), 1)),
+                null,
+                new ServerAddress()
+        );
+
+        // WHEN
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException(errorMessage, mongoBulkWriteException));
+
+        todoBatchService = createTodoBatchService();
+        List<TodoBatchResult> todoBatchResults = getTodoBatchResults(todoBatchService.executeBatch(todoBatchOperations));
+
+        // THEN
+        assertEquals(HttpStatus.BAD_REQUEST.value(), todoBatchResults.get(0).getStatus());
+        assertEquals(HttpStatus.OK.value(), todoBatchResults.get(1).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), todoBatchResults.get(2).getStatus());
+        assertEquals("Error message: A record with this key already exists!", todoBatchResults.get(2).getMessage());
+
+        // VERIFY
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TodoBatchResult> getTodoBatchResults(ResponseEntity<Object> responseEntity) {
+        return (List<TodoBatchResult>) responseEntity.getBody();
+    }
+
+    private TodoBatchService createTodoBatchService() {
+        return new TodoBatchService(mongoTemplate, Validation.buildDefaultValidatorFactory().getValidator(), batchProperties, new TodoSummaryCache(new TodoSummaryCacheProperties()),
+                new TodoNearCache(new TodoNearCacheProperties()));
+    }
+}
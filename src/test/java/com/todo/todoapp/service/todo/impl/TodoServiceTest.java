@@ -1,45 +1,111 @@
 package com.todo.todoapp.service.todo.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mongodb.client.result.UpdateResult;
+import com.todo.todoapp.cache.todo.TodoNearCache;
+import com.todo.todoapp.cache.todo.TodoSummaryCache;
+import com.todo.todoapp.cache.user.UserCache;
+import com.todo.todoapp.config.PaginationProperties;
+import com.todo.todoapp.config.StreamingProperties;
+import com.todo.todoapp.config.TodoNearCacheProperties;
+import com.todo.todoapp.config.TodoSummaryCacheProperties;
+import com.todo.todoapp.config.UserCacheProperties;
 import com.todo.todoapp.model.todo.Priority;
+import com.todo.todoapp.model.todo.ProjectedTodo;
 import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.todo.TodoFilter;
+import com.todo.todoapp.model.todo.TodoListVersion;
+import com.todo.todoapp.model.todo.TodoPage;
+import com.todo.todoapp.model.todo.TodoSummary;
+import com.todo.todoapp.model.user.TodoPrincipal;
+import com.todo.todoapp.model.user.User;
 import com.todo.todoapp.repository.todo.TodoRepository;
 import com.todo.todoapp.repository.user.UserRepository;
-import com.todo.todoapp.util.MongoUtil;
+import com.todo.todoapp.util.ETagUtil;
+import com.todo.todoapp.util.PageTokenUtil;
+import com.todo.todoapp.util.TodoSearchUtil;
+import com.todo.todoapp.util.TodoUtil;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_SUB;
 import static com.todo.todoapp.util.Constants.DP_DELETE_TODO_DATA_PROVIDER;
 import static com.todo.todoapp.util.Constants.DP_GET_TODOS_DATA_PROVIDER;
+import static com.todo.todoapp.util.Constants.DP_GET_TODOS_FOR_USER_INVALID_FILTER_DATA_PROVIDER;
+import static com.todo.todoapp.util.Constants.DP_GET_TODOS_FOR_USER_PAGE_SIZE_DATA_PROVIDER;
 import static com.todo.todoapp.util.Constants.DP_GET_TODO_DATA_PROVIDER;
 import static com.todo.todoapp.util.Constants.DP_GET_TODO_WITH_MOCKING_DATA_PROVIDER;
+import static com.todo.todoapp.util.Constants.DP_PATCH_TODO_INVALID_MERGE_PATCH_DATA_PROVIDER;
 import static com.todo.todoapp.util.Constants.DP_SAVE_TODO_CONSTRAINT_VIOLATION_EXCEPTION_DATA_PROVIDER;
+import static com.todo.todoapp.util.Constants.DP_SEARCH_TODOS_INVALID_SEARCH_QUERY_DATA_PROVIDER;
 import static com.todo.todoapp.util.Constants.DP_UPDATE_TODO_CONSTRAINT_VIOLATION_EXCEPTION_DATA_PROVIDER;
 import static com.todo.todoapp.util.Constants.DP_UPDATE_TODO_DATA_PROVIDER;
+import static com.todo.todoapp.util.Constants.EMAIL;
 import static com.todo.todoapp.util.Constants.EMPTY_STRING;
+import static com.todo.todoapp.util.Constants.ERR_MSG_CURRENTLY_NO_USER_IS_LOGGED_IN;
 import static com.todo.todoapp.util.Constants.ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID;
 import static com.todo.todoapp.util.Constants.ERR_MSG_NULL_JSON;
 import static com.todo.todoapp.util.Constants.ERR_MSG_NULL_OR_EMPTY_ID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_FIELDS_ARE_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_FILTER_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_PAGE_SIZE_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_PAGE_TOKEN_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_PATCH_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_SEARCH_QUERY_IS_NOT_VALID;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME;
+import static com.todo.todoapp.util.Constants.GOOGLE_ID;
+import static com.todo.todoapp.util.Constants.KEY_DEADLINE;
+import static com.todo.todoapp.util.Constants.KEY_ID;
+import static com.todo.todoapp.util.Constants.KEY_NAME;
+import static com.todo.todoapp.util.Constants.KEY_PRIORITY;
+import static com.todo.todoapp.util.Constants.KEY_USER_ID;
+import static com.todo.todoapp.util.Constants.KEY_VERSION;
 import static com.todo.todoapp.util.Constants.KEY_EMPTY_TODO;
 import static com.todo.todoapp.util.Constants.KEY_NON_EXISTING_TODO;
 import static com.todo.todoapp.util.Constants.KEY_TODO_FOR_UPDATING;
 import static com.todo.todoapp.util.Constants.KEY_TODO_WITHOUT_NAME;
 import static com.todo.todoapp.util.Constants.KEY_TODO_WITHOUT_PRIORITY;
 import static com.todo.todoapp.util.Constants.KEY_TODO_WITH_EMPTY_NAME;
+import static com.todo.todoapp.util.Constants.LIST_VERSION_INCREMENT_ATTEMPTS;
 import static com.todo.todoapp.util.Constants.TODO_ID_FOUR;
 import static com.todo.todoapp.util.Constants.TODO_ID_ONE;
 import static com.todo.todoapp.util.Constants.TODO_ID_THREE;
@@ -47,14 +113,18 @@ import static com.todo.todoapp.util.Constants.TODO_ID_TWO;
 import static com.todo.todoapp.util.Constants.TODO_NAME_ONE;
 import static com.todo.todoapp.util.Constants.TODO_NAME_THREE;
 import static com.todo.todoapp.util.Constants.TODO_NAME_TWO;
+import static com.todo.todoapp.util.Constants.TODO_OBJECT_ID;
+import static com.todo.todoapp.util.Constants.USER_ID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyString;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class TodoServiceTest {
@@ -113,7 +183,10 @@ class TodoServiceTest {
 
     private TodoRepository todoRepository;
     private UserRepository userRepository;
-    private MongoUtil mongoUtil;
+    private UserCache userCache;
+    private TodoSummaryCache todoSummaryCache;
+    private TodoNearCache todoNearCache;
+    private MongoTemplate mongoTemplate;
 
     private Validator validator;
 
@@ -121,11 +194,14 @@ class TodoServiceTest {
     public void setUp() {
         todoRepository = mock(TodoRepository.class);
         userRepository = mock(UserRepository.class);
-        mongoUtil = mock(MongoUtil.class);
+        userCache = new UserCache(new UserCacheProperties());
+        todoSummaryCache = new TodoSummaryCache(new TodoSummaryCacheProperties());
+        todoNearCache = new TodoNearCache(new TodoNearCacheProperties());
+        mongoTemplate = mock(MongoTemplate.class);
     }
 
     /*
-        getTodos()
+        getTodos(String)
      */
 
     private static Object[][] getTodosDataProvider() {
@@ -146,12 +222,590 @@ class TodoServiceTest {
         todoService = getTodoService();
 
         // THEN
-        assertEquals(ResponseEntity.ok(todoList), todoService.getTodos());
+        assertEquals(ResponseEntity.ok(todoList), todoService.getTodos(null));
 
         // VERIFY
         verify(todoRepository, times(1)).findAll();
     }
 
+    /*
+        streamTodos()
+     */
+
+    @Test
+    void test_streamTodosShouldWriteEveryTodoAsOneLine_AndCloseTheCursor() throws IOException {
+        // GIVEN
+        int todoCount = 1_000;
+        TodoFixtureIterator todoFixtureIterator = new TodoFixtureIterator(todoCount);
+        LineCountingOutputStream outputStream = new LineCountingOutputStream();
+
+        // WHEN
+        when(mongoTemplate.stream(any(Query.class), eq(Todo.class))).thenReturn(todoFixtureIterator);
+
+        todoService = getTodoService();
+        todoService.streamTodos(null).getBody().writeTo(outputStream);
+
+        // THEN
+        assertEquals(todoCount, outputStream.getLineCount());
+        assertTrue(todoFixtureIterator.isClosed());
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).stream(any(Query.class), eq(Todo.class));
+        verify(todoRepository, times(0)).findAll();
+    }
+
+    /**
+     * Streams a million Todos and forces a GC while sampling the heap, which takes a while,
+     * so it only runs when the TODO_TEST_STREAM_HEAP environment variable is set to true.
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "TODO_TEST_STREAM_HEAP", matches = "true")
+    void test_streamTodosShouldWriteEveryTodoAsOneLine_WithoutHoldingTheTodosInMemory() throws IOException {
+        // GIVEN
+        int todoCount = 1_000_000;
+        long allowedHeapGrowthInBytes = 32L * 1024 * 1024;
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        TodoFixtureIterator todoFixtureIterator = new TodoFixtureIterator(todoCount, memoryMXBean);
+        LineCountingOutputStream outputStream = new LineCountingOutputStream();
+
+        // WHEN
+        when(mongoTemplate.stream(any(Query.class), eq(Todo.class))).thenReturn(todoFixtureIterator);
+
+        todoService = getTodoService();
+        long usedHeapBeforeStreaming = getUsedHeapAfterGarbageCollection(memoryMXBean);
+        todoService.streamTodos(null).getBody().writeTo(outputStream);
+
+        // THEN
+        assertEquals(todoCount, outputStream.getLineCount());
+        assertTrue(todoFixtureIterator.isClosed());
+        assertTrue(todoFixtureIterator.getMaxUsedHeap() - usedHeapBeforeStreaming < allowedHeapGrowthInBytes);
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).stream(any(Query.class), eq(Todo.class));
+        verify(todoRepository, times(0)).findAll();
+    }
+
+    /*
+        getTodos(SecurityContext, String, Integer, String, TodoFilter, String)
+     */
+
+    @Test
+    void test_getTodosForUserShouldReturnAResponseEntityWithBadRequest_WhenNoUserIsLoggedIn() {
+        // GIVEN
+        SecurityContext nullSecurityContext = null;
+
+        // WHEN
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_CURRENTLY_NO_USER_IS_LOGGED_IN), todoService.getTodos(nullSecurityContext, null, null, null, new TodoFilter(), null));
+
+        // VERIFY
+        verifyNoInteractions(todoRepository, userRepository);
+    }
+
+    private static Object[][] getTodosForUserPageSizeDataProvider() {
+        return new Object[][] {
+                {0},
+                {-1}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource(DP_GET_TODOS_FOR_USER_PAGE_SIZE_DATA_PROVIDER)
+    void test_getTodosForUserShouldReturnAResponseEntityWithBadRequest_WhenThePageSizeIsNotValid(Integer pageSize) {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+
+        // WHEN
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_THE_GIVEN_PAGE_SIZE_IS_NOT_VALID), todoService.getTodos(securityContext, null, pageSize, null, new TodoFilter(), null));
+
+        // VERIFY
+        verifyNoInteractions(todoRepository, userRepository);
+    }
+
+    @Test
+    void test_getTodosForUserShouldReturnAResponseEntityWithBadRequest_WhenThePageTokenIsNotValid() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        String invalidPageToken = PageTokenUtil.encode(TODO_ID_ONE);
+
+        // WHEN
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_THE_GIVEN_PAGE_TOKEN_IS_NOT_VALID), todoService.getTodos(securityContext, invalidPageToken, null, null, new TodoFilter(), null));
+
+        // VERIFY
+        verifyNoInteractions(todoRepository, userRepository);
+    }
+
+    @Test
+    void test_getTodosForUserShouldReturnTheFirstPageWithANextPageToken_WhenThereAreMoreTodosThanThePageSize() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        int pageSize = 2;
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(createUser());
+        when(mongoTemplate.find(createPageQuery(pageSize), Todo.class)).thenReturn(TODO_LIST);
+
+        todoService = getTodoService();
+
+        // THEN
+        TodoPage expectedTodoPage = new TodoPage(TODO_LIST.subList(0, pageSize), PageTokenUtil.encode(TODO_ID_TWO));
+        String expectedETag = ETagUtil.createETag(USER_ID, 0L, null, pageSize, null, new TodoFilter());
+        assertEquals(ResponseEntity.ok().eTag(expectedETag).body(expectedTodoPage), todoService.getTodos(securityContext, null, pageSize, null, new TodoFilter(), null));
+
+        // VERIFY
+        verify(userRepository, times(1)).findByGoogleId(anyString());
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Todo.class));
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void test_getTodosForUserShouldReturnTheLastPageWithoutANextPageToken_WhenTheNextPageTokenIsGiven() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        String pageToken = PageTokenUtil.encode(TODO_OBJECT_ID);
+        int defaultPageSize = new PaginationProperties().getDefaultPageSize();
+        List<Todo> lastTodos = TODO_LIST.subList(2, 3);
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(createUser());
+        when(mongoTemplate.find(createPageQuery(defaultPageSize).addCriteria(Criteria.where(KEY_ID).gt(TODO_OBJECT_ID)), Todo.class)).thenReturn(lastTodos);
+
+        todoService = getTodoService();
+
+        // THEN
+        String expectedETag = ETagUtil.createETag(USER_ID, 0L, pageToken, defaultPageSize, null, new TodoFilter());
+        assertEquals(ResponseEntity.ok().eTag(expectedETag).body(new TodoPage(lastTodos, null)), todoService.getTodos(securityContext, pageToken, null, null, new TodoFilter(), null));
+
+        // VERIFY
+        verify(userRepository, times(1)).findByGoogleId(anyString());
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Todo.class));
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void test_getTodosForUserShouldResolveTheUserFromTheCache_WhenTheUserHasAlreadyBeenResolved() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(createUser());
+        when(mongoTemplate.find(any(Query.class), eq(Todo.class))).thenReturn(TODO_LIST);
+
+        todoService = getTodoService();
+        todoService.getTodos(securityContext, null, null, null, new TodoFilter(), null);
+        todoService.getTodos(securityContext, null, null, null, new TodoFilter(), null);
+
+        // THEN
+        assertEquals(1L, userCache.getStatistics().get("hits"));
+        assertEquals(1L, userCache.getStatistics().get("misses"));
+
+        // VERIFY
+        verify(userRepository, times(1)).findByGoogleId(anyString());
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Todo.class));
+    }
+
+    @Test
+    void test_getTodosForUserShouldNotLookUpTheUser_WhenThePrincipalCarriesTheUserId() {
+        // GIVEN
+        SecurityContext securityContext = mock(SecurityContext.class);
+        OAuth2AuthenticationToken authenticationToken = mock(OAuth2AuthenticationToken.class);
+        TodoPrincipal principal = mock(TodoPrincipal.class);
+
+        // WHEN
+        when(securityContext.getAuthentication()).thenReturn(authenticationToken);
+        when(authenticationToken.getPrincipal()).thenReturn(principal);
+        when(principal.getUserId()).thenReturn(USER_ID);
+        when(mongoTemplate.find(any(Query.class), eq(Todo.class))).thenReturn(TODO_LIST);
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(HttpStatus.OK, todoService.getTodos(securityContext, null, null, null, new TodoFilter(), null).getStatusCode());
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).find(Query.query(Criteria.where(KEY_USER_ID).is(USER_ID)).limit(new PaginationProperties().getDefaultPageSize() + 1)
+                .with(Sort.by(Sort.Direction.ASC, KEY_ID)), Todo.class);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void test_getTodosForUserShouldReturnAResponseEntityWithBadRequest_WhenTheFieldsAreNotValid() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        String invalidFields = "id,title";
+
+        // WHEN
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_THE_GIVEN_FIELDS_ARE_NOT_VALID), todoService.getTodos(securityContext, null, null, invalidFields, new TodoFilter(), null));
+
+        // VERIFY
+        verifyNoInteractions(todoRepository, userRepository, mongoTemplate);
+    }
+
+    @Test
+    void test_getTodosForUserShouldPushTheRequestedFieldsDownToMongo_WhenFieldsAreGiven() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        String fields = "id, name,priority";
+        int defaultPageSize = new PaginationProperties().getDefaultPageSize();
+        Query expectedQuery = createPageQuery(defaultPageSize);
+        expectedQuery.fields().include(KEY_ID).include(KEY_NAME).include(KEY_PRIORITY);
+        List<ProjectedTodo> projectedTodos = List.of(new ProjectedTodo(TODO_ID_ONE, null, TODO_NAME_ONE, null, Priority.SMALL, null));
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(createUser());
+        when(mongoTemplate.find(expectedQuery, ProjectedTodo.class)).thenReturn(projectedTodos);
+
+        todoService = getTodoService();
+
+        // THEN
+        String expectedETag = ETagUtil.createETag(USER_ID, 0L, null, defaultPageSize, fields, new TodoFilter());
+        assertEquals(ResponseEntity.ok().eTag(expectedETag).body(new TodoPage(List.copyOf(projectedTodos), null)),
+                todoService.getTodos(securityContext, null, null, fields, new TodoFilter(), null));
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(ProjectedTodo.class));
+    }
+
+    @Test
+    void test_projectedTodosShouldOmitTheirMissingFields_WhileTheFullTodosKeepTheirNullFields() throws JsonProcessingException {
+        // GIVEN
+        ObjectMapper objectMapper = new ObjectMapper();
+        Todo todo = new Todo.Builder().withId(TODO_ID_ONE).withName(TODO_NAME_ONE).withPriority(Priority.SMALL).build();
+        ProjectedTodo projectedTodo = new ProjectedTodo(TODO_ID_ONE, null, TODO_NAME_ONE, null, Priority.SMALL, null);
+
+        // WHEN
+
+        // THEN
+        assertEquals("{\"id\":\"1\",\"name\":\"Todo #1\",\"priority\":\"SMALL\"}", objectMapper.writeValueAsString(projectedTodo));
+        assertEquals("{\"todos\":[{\"id\":\"1\",\"name\":\"Todo #1\",\"priority\":\"SMALL\"}],\"nextPageToken\":null}",
+                objectMapper.writeValueAsString(new TodoPage(List.of(projectedTodo), null)));
+        assertEquals("{\"id\":\"1\",\"userId\":null,\"name\":\"Todo #1\",\"deadline\":null,\"priority\":\"SMALL\",\"version\":null}",
+                objectMapper.writeValueAsString(todo));
+    }
+
+    @Test
+    void test_getTodosForUserShouldReturnAResponseEntityWithNotModified_WhenTheListVersionHasNotChanged() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        int defaultPageSize = new PaginationProperties().getDefaultPageSize();
+        String eTag = ETagUtil.createETag(USER_ID, 3L, null, defaultPageSize, null, new TodoFilter());
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(createUser());
+        when(mongoTemplate.findById(USER_ID, TodoListVersion.class)).thenReturn(new TodoListVersion(USER_ID, 3L));
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build(), todoService.getTodos(securityContext, null, null, null, new TodoFilter(), eTag));
+
+        // VERIFY
+        verify(mongoTemplate, times(0)).find(any(Query.class), eq(Todo.class));
+    }
+
+    private static Object[][] getTodosForUserInvalidFilterDataProvider() {
+        return new Object[][] {
+                {new TodoFilter.Builder().withPriority("BIG,URGENT").build()},
+                {new TodoFilter.Builder().withDeadlineFrom("2020-13-01").build()},
+                {new TodoFilter.Builder().withDeadlineFrom("2020-02-01").withDeadlineTo("2020-01-01").build()},
+                {new TodoFilter.Builder().withSort("-userId").build()},
+                {new TodoFilter.Builder().withLimit(0).build()}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource(DP_GET_TODOS_FOR_USER_INVALID_FILTER_DATA_PROVIDER)
+    void test_getTodosForUserShouldReturnAResponseEntityWithBadRequest_WhenTheFilterIsNotValid(TodoFilter todoFilter) {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+
+        // WHEN
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_THE_GIVEN_FILTER_IS_NOT_VALID), todoService.getTodos(securityContext, null, null, null, todoFilter, null));
+
+        // VERIFY
+        verifyNoInteractions(todoRepository, userRepository, mongoTemplate);
+    }
+
+    @Test
+    void test_getTodosForUserShouldReturnAResponseEntityWithBadRequest_WhenThePageTokenWasCreatedForAnotherSort() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        String pageToken = PageTokenUtil.encode(TODO_OBJECT_ID);
+        TodoFilter todoFilter = new TodoFilter.Builder().withSort("-deadline").build();
+
+        // WHEN
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_THE_GIVEN_PAGE_TOKEN_IS_NOT_VALID),
+                todoService.getTodos(securityContext, pageToken, null, null, todoFilter, null));
+
+        // VERIFY
+        verifyNoInteractions(todoRepository, userRepository, mongoTemplate);
+    }
+
+    @Test
+    void test_getTodosForUserShouldContinueAfterTheLastDeadlineAndId_WhenThePageTokenOfADescendingDeadlineSortIsGiven() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        LocalDate lastDeadline = LocalDate.of(2020, 6, 1);
+        String pageToken = PageTokenUtil.encode(TODO_OBJECT_ID, "-deadline", lastDeadline.toString());
+        TodoFilter todoFilter = new TodoFilter.Builder().withSort("-deadline").withLimit(2).build();
+        Query expectedQuery = Query.query(Criteria.where(KEY_USER_ID).is(USER_ID))
+                .addCriteria(new Criteria().orOperator(
+                        Criteria.where(KEY_DEADLINE).lt(lastDeadline),
+                        Criteria.where(KEY_DEADLINE).is(lastDeadline).and(KEY_ID).lt(TODO_OBJECT_ID),
+                        Criteria.where(KEY_DEADLINE).is(null)))
+                .with(Sort.by(Sort.Direction.DESC, KEY_DEADLINE, KEY_ID))
+                .limit(3);
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(createUser());
+        when(mongoTemplate.find(expectedQuery, Todo.class)).thenReturn(TODO_LIST.subList(0, 1));
+
+        todoService = getTodoService();
+
+        // THEN
+        String expectedETag = ETagUtil.createETag(USER_ID, 0L, pageToken, 2, null, todoFilter);
+        assertEquals(ResponseEntity.ok().eTag(expectedETag).body(new TodoPage(TODO_LIST.subList(0, 1), null)), todoService.getTodos(securityContext, pageToken, null, null, todoFilter, null));
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Todo.class));
+    }
+
+    @Test
+    void test_getTodosForUserShouldContinueWithTheTodosWithoutADeadlineByTheirId_WhenTheLastTodoOfAnAscendingDeadlineSortHadNoDeadline() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        String pageToken = PageTokenUtil.encode(TODO_OBJECT_ID, "deadline", null);
+        TodoFilter todoFilter = new TodoFilter.Builder().withSort("deadline").build();
+        int defaultPageSize = new PaginationProperties().getDefaultPageSize();
+        Query expectedQuery = Query.query(Criteria.where(KEY_USER_ID).is(USER_ID))
+                .addCriteria(new Criteria().orOperator(
+                        Criteria.where(KEY_DEADLINE).is(null).and(KEY_ID).gt(TODO_OBJECT_ID),
+                        Criteria.where(KEY_DEADLINE).ne(null)))
+                .with(Sort.by(Sort.Direction.ASC, KEY_DEADLINE, KEY_ID))
+                .limit(defaultPageSize + 1);
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(createUser());
+        when(mongoTemplate.find(expectedQuery, Todo.class)).thenReturn(TODO_LIST);
+
+        todoService = getTodoService();
+
+        // THEN
+        String expectedETag = ETagUtil.createETag(USER_ID, 0L, pageToken, defaultPageSize, null, todoFilter);
+        assertEquals(ResponseEntity.ok().eTag(expectedETag).body(new TodoPage(TODO_LIST, null)), todoService.getTodos(securityContext, pageToken, null, null, todoFilter, null));
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Todo.class));
+    }
+
+    @Test
+    void test_getTodosForUserShouldPushTheFilterAndTheSortDownToMongo_WhenAFilterIsGiven() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        TodoFilter todoFilter = new TodoFilter.Builder()
+                .withPriority("big, medium")
+                .withDeadlineFrom("2020-01-01")
+                .withDeadlineTo("2020-12-31")
+                .withSort("-deadline")
+                .withLimit(2)
+                .build();
+        Query expectedQuery = Query.query(Criteria.where(KEY_USER_ID).is(USER_ID))
+                .addCriteria(Criteria.where(KEY_PRIORITY).in(List.of(Priority.BIG, Priority.MEDIUM)))
+                .addCriteria(Criteria.where(KEY_DEADLINE).gte(LocalDate.of(2020, 1, 1)).lte(LocalDate.of(2020, 12, 31)))
+                .with(Sort.by(Sort.Direction.DESC, KEY_DEADLINE, KEY_ID))
+                .limit(3);
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(createUser());
+        when(mongoTemplate.find(expectedQuery, Todo.class)).thenReturn(TODO_LIST);
+
+        todoService = getTodoService();
+
+        // THEN
+        TodoPage expectedTodoPage = new TodoPage(TODO_LIST.subList(0, 2), PageTokenUtil.encode(TODO_ID_TWO, "-deadline", LocalDate.now().toString()));
+        String expectedETag = ETagUtil.createETag(USER_ID, 0L, null, 2, null, todoFilter);
+        assertEquals(ResponseEntity.ok().eTag(expectedETag).body(expectedTodoPage), todoService.getTodos(securityContext, null, null, null, todoFilter, null));
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Todo.class));
+    }
+
+    /*
+        getTodoSummary(SecurityContext)
+     */
+
+    @Test
+    void test_getTodoSummaryShouldReturnAResponseEntityWithBadRequest_WhenNoUserIsLoggedIn() {
+        // GIVEN
+
+        // WHEN
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_CURRENTLY_NO_USER_IS_LOGGED_IN), todoService.getTodoSummary(null));
+
+        // VERIFY
+        verifyNoInteractions(todoRepository, userRepository, mongoTemplate);
+    }
+
+    @Test
+    void test_getTodoSummaryShouldAggregateTheSummaryOnlyOnce_WhenTheTodosHaveNotBeenWritten() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        Map<Priority, Long> expectedPriorityCounts = new EnumMap<>(Map.of(Priority.BIG, 2L, Priority.MEDIUM, 0L, Priority.SMALL, 1L));
+        TodoSummary expectedTodoSummary = new TodoSummary(expectedPriorityCounts, 1, 2, LocalDate.now());
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(createUser());
+        mockSummaryAggregation();
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.ok(expectedTodoSummary), todoService.getTodoSummary(securityContext));
+        assertEquals(ResponseEntity.ok(expectedTodoSummary), todoService.getTodoSummary(securityContext));
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).aggregate(any(TypedAggregation.class), eq(Document.class));
+        verify(todoRepository, times(0)).findByUserId(any());
+    }
+
+    @Test
+    void test_getTodoSummaryShouldAggregateTheSummaryAgain_WhenATodoOfTheUserHasBeenSaved() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        Todo todoFromJSON = new Todo.Builder()
+                .withUserId(USER_ID)
+                .withName(TODO_LIST.get(0).getName())
+                .withPriority(Priority.BIG)
+                .build();
+        Todo savedTodo = TodoUtil.createNewTodo(null, todoFromJSON);
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(createUser());
+        when(todoRepository.save(savedTodo)).thenReturn(savedTodo);
+        mockSummaryAggregation();
+
+        todoService = getTodoService();
+        todoService.getTodoSummary(securityContext);
+        todoService.saveTodo(todoFromJSON);
+        todoService.getTodoSummary(securityContext);
+
+        // THEN
+
+        // VERIFY
+        verify(mongoTemplate, times(2)).aggregate(any(TypedAggregation.class), eq(Document.class));
+    }
+
+    @Test
+    void test_getTodoSummaryShouldAggregateTheSummaryAgain_WhenTheListVersionWasIncrementedByAnotherInstance() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(createUser());
+        when(mongoTemplate.findById(USER_ID, TodoListVersion.class)).thenReturn(new TodoListVersion(USER_ID, 1L), new TodoListVersion(USER_ID, 2L));
+        mockSummaryAggregation();
+
+        todoService = getTodoService();
+        todoService.getTodoSummary(securityContext);
+        todoService.getTodoSummary(securityContext);
+
+        // THEN
+
+        // VERIFY
+        verify(mongoTemplate, times(2)).findById(USER_ID, TodoListVersion.class);
+        verify(mongoTemplate, times(2)).aggregate(any(TypedAggregation.class), eq(Document.class));
+        verify(mongoTemplate, times(0)).upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class));
+    }
+
+    /*
+        searchTodos(SecurityContext, String, Integer)
+     */
+
+    private static Object[][] searchTodosInvalidSearchQueryDataProvider() {
+        return new Object[][] {
+                {null},
+                {EMPTY_STRING},
+                {"   "},
+                {"a".repeat(101)}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource(DP_SEARCH_TODOS_INVALID_SEARCH_QUERY_DATA_PROVIDER)
+    void test_searchTodosShouldReturnAResponseEntityWithBadRequest_WhenTheSearchQueryIsNotValid(String searchQuery) {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+
+        // WHEN
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_THE_GIVEN_SEARCH_QUERY_IS_NOT_VALID), todoService.searchTodos(securityContext, searchQuery, null));
+
+        // VERIFY
+        verifyNoInteractions(todoRepository, userRepository, mongoTemplate);
+    }
+
+    @Test
+    void test_searchTodosShouldNotRunThePrefixQuery_WhenTheTextQueryHasFoundEnoughTodos() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        String searchQuery = "todo";
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(createUser());
+        when(mongoTemplate.find(TodoSearchUtil.createTextQuery(USER_ID, searchQuery, 2), Todo.class)).thenReturn(TODO_LIST.subList(0, 2));
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.ok(TODO_LIST.subList(0, 2)), todoService.searchTodos(securityContext, searchQuery, 2));
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Todo.class));
+    }
+
+    @Test
+    void test_searchTodosShouldAppendThePrefixMatchesAfterTheTextMatches_WhenTheTextQueryHasFoundLessTodosThanTheLimit() {
+        // GIVEN
+        SecurityContext securityContext = createSecurityContext();
+        String searchQuery = "to";
+        int limit = 3;
+
+        // WHEN
+        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(createUser());
+        when(mongoTemplate.find(TodoSearchUtil.createTextQuery(USER_ID, searchQuery, limit), Todo.class)).thenReturn(List.of(TODO_LIST.get(1)));
+        when(mongoTemplate.find(TodoSearchUtil.createPrefixQuery(USER_ID, searchQuery, List.of(TODO_LIST.get(1).getId()), limit - 1), Todo.class))
+                .thenReturn(List.of(TODO_LIST.get(0), TODO_LIST.get(2)));
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.ok(List.of(TODO_LIST.get(1), TODO_LIST.get(0), TODO_LIST.get(2))), todoService.searchTodos(securityContext, searchQuery, limit));
+
+        // VERIFY
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Todo.class));
+    }
+
     /*
         getTodo()
      */
@@ -172,7 +826,7 @@ class TodoServiceTest {
         todoService = getTodoService();
 
         // THEN
-        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_NULL_OR_EMPTY_ID), todoService.getTodo(todoId));
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_NULL_OR_EMPTY_ID), todoService.getTodo(todoId, null));
 
         // VERIFY
         verify(todoRepository, times(0)).findById(anyString());
@@ -181,7 +835,7 @@ class TodoServiceTest {
     private static Object[][] getTodoWithMockingDataProvider() {
         return new Object[][] {
                 {TODO_ID_FOUR, Optional.empty(), ResponseEntity.status(HttpStatus.NOT_FOUND).body(ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID)},
-                {TODO_ID_ONE, Optional.of(TODO_LIST.get(0)), ResponseEntity.ok(TODO_LIST.get(0))}
+                {TODO_ID_ONE, Optional.of(TODO_LIST.get(0)), ResponseEntity.ok().eTag(ETagUtil.createVersionETag(0L)).body(TODO_LIST.get(0))}
         };
     }
 
@@ -196,12 +850,97 @@ class TodoServiceTest {
         todoService = getTodoService();
 
         // THEN
-        assertEquals(expectedResponseEntity, todoService.getTodo(todoId));
+        assertEquals(expectedResponseEntity, todoService.getTodo(todoId, null));
+
+        // VERIFY
+        verify(todoRepository, times(1)).findById(anyString());
+    }
+
+    @Test
+    void test_getTodoShouldReturnAResponseEntityWithNotModified_WhenTheETagStillMatches() {
+        // GIVEN
+        String todoId = TODO_ID_ONE;
+        String eTag = ETagUtil.createVersionETag(0L);
+
+        // WHEN
+        when(todoRepository.findById(todoId)).thenReturn(Optional.of(TODO_LIST.get(0)));
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build(), todoService.getTodo(todoId, eTag));
+
+        // VERIFY
+        verify(todoRepository, times(1)).findById(anyString());
+    }
+
+    @Test
+    void test_getTodoShouldReturnTheTodoWithItsNewETag_WhenTheETagIsOutdated() {
+        // GIVEN
+        String todoId = TODO_ID_ONE;
+        Todo updatedTodo = new Todo.Builder()
+                .withId(todoId)
+                .withName(TODO_NAME_ONE)
+                .withPriority(Priority.SMALL)
+                .withVersion(1L)
+                .build();
+
+        // WHEN
+        when(todoRepository.findById(todoId)).thenReturn(Optional.of(updatedTodo));
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.ok().eTag(ETagUtil.createVersionETag(1L)).body(updatedTodo), todoService.getTodo(todoId, ETagUtil.createVersionETag(0L)));
+
+        // VERIFY
+        verify(todoRepository, times(1)).findById(anyString());
+    }
+
+    @Test
+    void test_getTodoShouldReadTheTodoFromTheNearCache_WhenItHasAlreadyBeenRead() {
+        // GIVEN
+        String todoId = TODO_ID_ONE;
+
+        // WHEN
+        when(todoRepository.findById(todoId)).thenReturn(Optional.of(TODO_LIST.get(0)));
+
+        todoService = getTodoService();
+        todoService.getTodo(todoId, null);
+
+        // THEN
+        assertEquals(ResponseEntity.ok().eTag(ETagUtil.createVersionETag(0L)).body(TODO_LIST.get(0)), todoService.getTodo(todoId, null));
 
         // VERIFY
         verify(todoRepository, times(1)).findById(anyString());
     }
 
+    @Test
+    void test_getTodoShouldReadTheTodoFromTheDatabaseAgain_WhenTheTodoHasBeenDeleted() {
+        // GIVEN
+        String todoId = TODO_ID_ONE;
+        Todo storedTodo = new Todo.Builder()
+                .withId(todoId)
+                .withUserId(USER_ID)
+                .withName(TODO_NAME_ONE)
+                .withPriority(Priority.SMALL)
+                .build();
+
+        // WHEN
+        when(todoRepository.findById(todoId)).thenReturn(Optional.of(storedTodo)).thenReturn(Optional.empty());
+        when(mongoTemplate.findAndRemove(Query.query(Criteria.where(KEY_ID).is(todoId)), Todo.class)).thenReturn(storedTodo);
+
+        todoService = getTodoService();
+        todoService.getTodo(todoId, null);
+        todoService.deleteTodo(todoId, null);
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID), todoService.getTodo(todoId, null));
+
+        // VERIFY
+        verify(todoRepository, times(2)).findById(anyString());
+    }
+
     /*
         saveTodo()
      */
@@ -252,15 +991,59 @@ class TodoServiceTest {
         Todo todoFromJSON = TODO_LIST.get(0);
 
         // WHEN
-        when(todoRepository.save(todoFromJSON)).thenReturn(todoFromJSON);
+        Todo expectedTodo = TodoUtil.createNewTodo(null, todoFromJSON);
+        when(todoRepository.save(expectedTodo)).thenReturn(expectedTodo);
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.CREATED).eTag(ETagUtil.createVersionETag(0L)).body(expectedTodo), todoService.saveTodo(todoFromJSON));
+
+        // VERIFY
+        verify(todoRepository, times(1)).save(any(Todo.class));
+        verify(mongoTemplate, times(1)).upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class));
+    }
+
+    @Test
+    void test_saveTodoShouldRetryTheIncrementOfTheListVersion_WhenTheUpsertFailsOnce() {
+        // GIVEN
+        Todo todoFromJSON = TODO_LIST.get(0);
+
+        // WHEN
+        Todo expectedTodo = TodoUtil.createNewTodo(null, todoFromJSON);
+        when(todoRepository.save(expectedTodo)).thenReturn(expectedTodo);
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class)))
+                .thenThrow(new DataAccessResourceFailureException("Timed out while waiting for a server"))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
 
         todoService = getTodoService();
 
         // THEN
-        assertEquals(ResponseEntity.status(HttpStatus.CREATED).body(todoFromJSON), todoService.saveTodo(todoFromJSON));
+        assertEquals(ResponseEntity.status(HttpStatus.CREATED).eTag(ETagUtil.createVersionETag(0L)).body(expectedTodo), todoService.saveTodo(todoFromJSON));
+
+        // VERIFY
+        verify(mongoTemplate, times(2)).upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class));
+    }
+
+    @Test
+    void test_saveTodoShouldStillReturnAResponseEntityWithCreated_WhenTheIncrementOfTheListVersionKeepsFailing() {
+        // GIVEN
+        Todo todoFromJSON = TODO_LIST.get(0);
+
+        // WHEN
+        Todo expectedTodo = TodoUtil.createNewTodo(null, todoFromJSON);
+        when(todoRepository.save(expectedTodo)).thenReturn(expectedTodo);
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class)))
+                .thenThrow(new DataAccessResourceFailureException("Timed out while waiting for a server"));
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.CREATED).eTag(ETagUtil.createVersionETag(0L)).body(expectedTodo), todoService.saveTodo(todoFromJSON));
 
         // VERIFY
         verify(todoRepository, times(1)).save(any(Todo.class));
+        verify(mongoTemplate, times(LIST_VERSION_INCREMENT_ATTEMPTS)).upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class));
     }
 
     /*
@@ -284,11 +1067,10 @@ class TodoServiceTest {
         todoService = getTodoService();
 
         // THEN
-        assertEquals(expectedResponseEntity, todoService.updateTodo(todoId, todoFromJSON));
+        assertEquals(expectedResponseEntity, todoService.updateTodo(todoId, todoFromJSON, null));
 
         // VERIFY
-        verify(todoRepository, times(0)).findById(anyString());
-        verify(todoRepository, times(0)).save(any(Todo.class));
+        verifyNoInteractions(todoRepository, mongoTemplate);
     }
 
     private static Object[][] updateTodoConstraintViolationExceptionDataProvider() {
@@ -313,8 +1095,7 @@ class TodoServiceTest {
         assertFalse(todoViolations.isEmpty());
 
         // VERIFY
-        verify(todoRepository, times(0)).findById(anyString());
-        verify(todoRepository, times(0)).save(any(Todo.class));
+        verifyNoInteractions(todoRepository, mongoTemplate);
     }
 
     @Test
@@ -324,16 +1105,16 @@ class TodoServiceTest {
         Todo todoFromJSON = TODO_MAP.get(KEY_NON_EXISTING_TODO);
 
         // WHEN
-        when(todoRepository.findById(nonExistingTodoId)).thenReturn(Optional.empty());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Todo.class))).thenReturn(null);
 
         todoService = getTodoService();
 
         // THEN
-        assertEquals(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID), todoService.updateTodo(nonExistingTodoId, todoFromJSON));
+        assertEquals(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID), todoService.updateTodo(nonExistingTodoId, todoFromJSON, null));
 
         // VERIFY
-        verify(todoRepository, times(1)).findById(anyString());
-        verify(todoRepository, times(0)).save(any(Todo.class));
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Todo.class));
+        verifyNoInteractions(todoRepository);
     }
 
     @Test
@@ -341,20 +1122,146 @@ class TodoServiceTest {
         // GIVEN
         String todoId = TODO_ID_ONE;
         Todo todoFromJSON = TODO_MAP.get(KEY_TODO_FOR_UPDATING);
-        Todo storedTodo = TODO_LIST.get(0);
 
         // WHEN
-        when(todoRepository.findById(todoId)).thenReturn(Optional.of(storedTodo));
-        when(todoRepository.save(todoFromJSON)).thenReturn(todoFromJSON);
+        when(mongoTemplate.findAndModify(any(Query.class), eq(TodoUtil.createUpdate(todoFromJSON)), any(FindAndModifyOptions.class), eq(Todo.class))).thenReturn(todoFromJSON);
 
         todoService = getTodoService();
 
         // THEN
-        assertEquals(ResponseEntity.status(HttpStatus.OK).body(todoFromJSON), todoService.updateTodo(todoId, todoFromJSON));
+        assertEquals(ResponseEntity.status(HttpStatus.OK).eTag(ETagUtil.createVersionETag(0L)).body(todoFromJSON), todoService.updateTodo(todoId, todoFromJSON, null));
 
         // VERIFY
-        verify(todoRepository, times(1)).findById(anyString());
-        verify(todoRepository, times(1)).save(any(Todo.class));
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Todo.class));
+        verify(mongoTemplate, times(1)).upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class));
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void test_updateTodoShouldReturnAResponseEntityWithPreconditionFailed_WhenTheIfMatchHeaderIsOutdated() {
+        // GIVEN
+        String todoId = TODO_ID_ONE;
+        Todo todoFromJSON = TODO_MAP.get(KEY_TODO_FOR_UPDATING);
+        Query expectedQuery = Query.query(Criteria.where(KEY_ID).is(todoId)).addCriteria(Criteria.where(KEY_VERSION).in(List.of(2L)));
+
+        // WHEN
+        when(mongoTemplate.findAndModify(eq(expectedQuery), any(Update.class), any(FindAndModifyOptions.class), eq(Todo.class))).thenReturn(null);
+        when(mongoTemplate.exists(any(Query.class), eq(Todo.class))).thenReturn(true);
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME),
+                todoService.updateTodo(todoId, todoFromJSON, ETagUtil.createVersionETag(2L)));
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).findAndModify(eq(expectedQuery), any(Update.class), any(FindAndModifyOptions.class), eq(Todo.class));
+        verify(mongoTemplate, times(0)).upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class));
+    }
+
+    @Test
+    void test_updateTodoShouldReturnAResponseEntityWithConflict_WhenTheVersionInTheBodyIsOutdated() {
+        // GIVEN
+        String todoId = TODO_ID_ONE;
+        Todo todoFromJSON = new Todo.Builder()
+                .withId(todoId)
+                .withUserId(USER_ID)
+                .withName(TODO_NAME_TWO)
+                .withPriority(Priority.MEDIUM)
+                .withVersion(0L)
+                .build();
+        // the Todos saved before the versioning have no version field, so the initial version also matches a missing one
+        Query expectedQuery = Query.query(Criteria.where(KEY_ID).is(todoId)).addCriteria(Criteria.where(KEY_VERSION).in(Arrays.asList(0L, null)));
+
+        // WHEN
+        when(mongoTemplate.findAndModify(eq(expectedQuery), any(Update.class), any(FindAndModifyOptions.class), eq(Todo.class))).thenReturn(null);
+        when(mongoTemplate.exists(any(Query.class), eq(Todo.class))).thenReturn(true);
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.CONFLICT).body(ERR_MSG_THE_TODO_HAS_BEEN_MODIFIED_IN_THE_MEANTIME), todoService.updateTodo(todoId, todoFromJSON, null));
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).exists(any(Query.class), eq(Todo.class));
+    }
+
+    /*
+        patchTodo()
+     */
+
+    private static Object[][] patchTodoInvalidMergePatchDataProvider() {
+        return new Object[][] {
+                {Map.of(KEY_USER_ID, USER_ID)},
+                {Map.of(KEY_PRIORITY, "HUGE")},
+                {Map.of(KEY_NAME, EMPTY_STRING)},
+                {Collections.singletonMap(KEY_NAME, null)}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource(DP_PATCH_TODO_INVALID_MERGE_PATCH_DATA_PROVIDER)
+    void test_patchTodoShouldReturnAResponseEntityWithBadRequest_WhenTheMergePatchIsNotValid(Map<String, Object> mergePatch) {
+        // GIVEN
+
+        // WHEN
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_THE_GIVEN_PATCH_IS_NOT_VALID), todoService.patchTodo(TODO_ID_ONE, mergePatch, null));
+
+        // VERIFY
+        verifyNoInteractions(todoRepository, mongoTemplate);
+    }
+
+    @Test
+    void test_patchTodoShouldSetAndUnsetOnlyThePatchedFields_WhenTheMergePatchIsValid() {
+        // GIVEN
+        String todoId = TODO_ID_ONE;
+        Map<String, Object> mergePatch = new LinkedHashMap<>();
+        mergePatch.put(KEY_PRIORITY, Priority.BIG.name());
+        mergePatch.put(KEY_DEADLINE, null);
+        Update expectedUpdate = new Update()
+                .inc(KEY_VERSION, 1)
+                .set(KEY_PRIORITY, Priority.BIG)
+                .unset(KEY_DEADLINE);
+        Todo patchedTodo = new Todo.Builder()
+                .withId(todoId)
+                .withUserId(USER_ID)
+                .withName(TODO_NAME_ONE)
+                .withPriority(Priority.BIG)
+                .withVersion(1L)
+                .build();
+
+        // WHEN
+        when(mongoTemplate.findAndModify(any(Query.class), eq(expectedUpdate), any(FindAndModifyOptions.class), eq(Todo.class))).thenReturn(patchedTodo);
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.ok().eTag(ETagUtil.createVersionETag(1L)).body(patchedTodo), todoService.patchTodo(todoId, mergePatch, null));
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Todo.class));
+        verify(mongoTemplate, times(1)).upsert(TodoUtil.createListVersionQuery(USER_ID), TodoUtil.createListVersionUpdate(), TodoListVersion.class);
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void test_patchTodoShouldReturnAResponseEntityWithNotFound_WhenNoTodoExistsWithTheGivenId() {
+        // GIVEN
+        Map<String, Object> mergePatch = Map.of(KEY_NAME, TODO_NAME_TWO);
+
+        // WHEN
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Todo.class))).thenReturn(null);
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID), todoService.patchTodo(TODO_ID_FOUR, mergePatch, null));
+
+        // VERIFY
+        verify(mongoTemplate, times(0)).upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class));
     }
 
     /*
@@ -377,11 +1284,10 @@ class TodoServiceTest {
         todoService = getTodoService();
 
         // THEN
-        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_NULL_OR_EMPTY_ID), todoService.deleteTodo(todoId));
+        assertEquals(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ERR_MSG_NULL_OR_EMPTY_ID), todoService.deleteTodo(todoId, null));
 
         // VERIFY
-        verify(todoRepository, times(0)).findById(anyString());
-        verify(todoRepository, times(0)).deleteById(anyString());
+        verifyNoInteractions(todoRepository, mongoTemplate);
     }
 
     @Test
@@ -390,16 +1296,17 @@ class TodoServiceTest {
         String nonExistingTodoId = TODO_ID_FOUR;
 
         // WHEN
-        when(todoRepository.findById(nonExistingTodoId)).thenReturn(Optional.empty());
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(Todo.class))).thenReturn(null);
 
         todoService = getTodoService();
 
         // THEN
-        assertEquals(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID), todoService.deleteTodo(nonExistingTodoId));
+        assertEquals(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID), todoService.deleteTodo(nonExistingTodoId, null));
 
         // VERIFY
-        verify(todoRepository, times(1)).findById(anyString());
-        verify(todoRepository, times(0)).deleteById(anyString());
+        verify(mongoTemplate, times(1)).findAndRemove(any(Query.class), eq(Todo.class));
+        verify(mongoTemplate, times(0)).upsert(any(Query.class), any(Update.class), eq(TodoListVersion.class));
+        verifyNoInteractions(todoRepository);
     }
 
     @Test
@@ -409,17 +1316,54 @@ class TodoServiceTest {
         String todoId = storedTodo.getId();
 
         // WHEN
-        when(todoRepository.findById(todoId)).thenReturn(Optional.of(storedTodo));
-        doNothing().when(todoRepository).deleteById(todoId);
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(Todo.class))).thenReturn(storedTodo);
 
         todoService = getTodoService();
 
         // THEN
-        assertEquals(new ResponseEntity<>(HttpStatus.OK), todoService.deleteTodo(todoId));
+        assertEquals(new ResponseEntity<>(HttpStatus.OK), todoService.deleteTodo(todoId, null));
 
         // VERIFY
-        verify(todoRepository, times(1)).findById(anyString());
-        verify(todoRepository, times(1)).deleteById(anyString());
+        verify(mongoTemplate, times(1)).findAndRemove(any(Query.class), eq(Todo.class));
+        verify(mongoTemplate, times(1)).upsert(TodoUtil.createListVersionQuery(storedTodo.getUserId()), TodoUtil.createListVersionUpdate(), TodoListVersion.class);
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void test_deleteTodoShouldReturnAResponseEntityWithNotFound_WhenTheIfMatchHeaderIsGivenButNoTodoExistsWithTheGivenId() {
+        // GIVEN
+        String nonExistingTodoId = TODO_ID_FOUR;
+
+        // WHEN
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(Todo.class))).thenReturn(null);
+        when(mongoTemplate.exists(any(Query.class), eq(Todo.class))).thenReturn(false);
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ERR_MSG_NO_TODO_WAS_FOUND_WITH_THE_GIVEN_ID),
+                todoService.deleteTodo(nonExistingTodoId, ETagUtil.createVersionETag(1L)));
+
+        // VERIFY
+        verify(mongoTemplate, times(1)).exists(any(Query.class), eq(Todo.class));
+    }
+
+    @Test
+    void test_deleteTodoShouldDeleteUnconditionally_WhenTheIfMatchHeaderIsTheWildcard() {
+        // GIVEN
+        Todo storedTodo = TODO_LIST.get(0);
+        String todoId = storedTodo.getId();
+
+        // WHEN
+        when(mongoTemplate.findAndRemove(Query.query(Criteria.where(KEY_ID).is(todoId)), Todo.class)).thenReturn(storedTodo);
+
+        todoService = getTodoService();
+
+        // THEN
+        assertEquals(new ResponseEntity<>(HttpStatus.OK), todoService.deleteTodo(todoId, "*"));
+
+        // VERIFY
+        verify(mongoTemplate, times(0)).exists(any(Query.class), eq(Todo.class));
     }
 
     private void createValidator() {
@@ -427,7 +1371,132 @@ class TodoServiceTest {
         validator = validatorFactory.getValidator();
     }
 
+    private static long getUsedHeapAfterGarbageCollection(MemoryMXBean memoryMXBean) {
+        memoryMXBean.gc();
+
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * A local fixture which creates the Todos lazily, like a Mongo cursor does,
+     * and samples the retained heap regularly while it is being consumed, if it's given a MemoryMXBean.
+     */
+    private static class TodoFixtureIterator implements CloseableIterator<Todo> {
+
+        private static final int HEAP_SAMPLING_INTERVAL = 250_000;
+
+        private final int todoCount;
+        private final MemoryMXBean memoryMXBean;
+
+        private int createdTodos;
+        private long maxUsedHeap;
+        private boolean closed;
+
+        private TodoFixtureIterator(int todoCount) {
+            this(todoCount, null);
+        }
+
+        private TodoFixtureIterator(int todoCount, MemoryMXBean memoryMXBean) {
+            this.todoCount = todoCount;
+            this.memoryMXBean = memoryMXBean;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return createdTodos < todoCount;
+        }
+
+        @Override
+        public Todo next() {
+            if (++createdTodos % HEAP_SAMPLING_INTERVAL == 0 && memoryMXBean != null) {
+                maxUsedHeap = Math.max(maxUsedHeap, getUsedHeapAfterGarbageCollection(memoryMXBean));
+            }
+
+            return new Todo.Builder()
+                    .withId(String.valueOf(createdTodos))
+                    .withUserId(USER_ID)
+                    .withName(TODO_NAME_ONE)
+                    .withDeadline(LocalDate.now())
+                    .withPriority(Priority.MEDIUM)
+                    .build();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        private long getMaxUsedHeap() {
+            return maxUsedHeap;
+        }
+
+        private boolean isClosed() {
+            return closed;
+        }
+    }
+
+    private static class LineCountingOutputStream extends OutputStream {
+
+        private long lineCount;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lineCount++;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(bytes[i]);
+            }
+        }
+
+        private long getLineCount() {
+            return lineCount;
+        }
+    }
+
+    private Query createPageQuery(int pageSize) {
+        return Query.query(Criteria.where(KEY_USER_ID).is(USER_ID))
+                .with(Sort.by(Sort.Direction.ASC, KEY_ID))
+                .limit(pageSize + 1);
+    }
+
+    private void mockSummaryAggregation() {
+        Document aggregationResult = new Document()
+                .append("priorityCounts", List.of(new Document(KEY_ID, Priority.BIG.name()).append("count", 2), new Document(KEY_ID, Priority.SMALL.name()).append("count", 1)))
+                .append("overdue", List.of(new Document("count", 1)))
+                .append("dueThisWeek", List.of(new Document("count", 2)));
+
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class))).thenReturn(new AggregationResults<>(List.of(aggregationResult), new Document()));
+    }
+
+    private SecurityContext createSecurityContext() {
+        SecurityContext securityContext = mock(SecurityContext.class);
+        OAuth2AuthenticationToken authenticationToken = mock(OAuth2AuthenticationToken.class);
+        OidcUser principal = mock(OidcUser.class);
+
+        when(securityContext.getAuthentication()).thenReturn(authenticationToken);
+        when(authenticationToken.getPrincipal()).thenReturn(principal);
+        when(principal.getAttribute(ATTRIBUTE_SUB)).thenReturn(GOOGLE_ID);
+
+        return securityContext;
+    }
+
+    private User createUser() {
+        return new User.Builder()
+                .withId(USER_ID)
+                .withEmail(EMAIL)
+                .withGoogleId(GOOGLE_ID)
+                .build();
+    }
+
     private TodoService getTodoService() {
-        return new TodoService(todoRepository, userRepository, mongoUtil);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        return new TodoService(todoRepository, userRepository, userCache, mongoTemplate, objectMapper, new PaginationProperties(), new StreamingProperties(),
+                Validation.buildDefaultValidatorFactory().getValidator(), todoSummaryCache, todoNearCache);
     }
 }
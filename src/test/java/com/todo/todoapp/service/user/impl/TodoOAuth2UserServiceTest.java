@@ -0,0 +1,111 @@
+package com.todo.todoapp.service.user.impl;
+
+import com.todo.todoapp.model.user.TodoOAuth2User;
+import com.todo.todoapp.model.user.User;
+import com.todo.todoapp.service.user.IUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.config.oauth2.client.CommonOAuth2Provider;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2UserAuthority;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_EMAIL;
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_ID;
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_LOGIN;
+import static com.todo.todoapp.util.Constants.EMAIL;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_PRINCIPAL_S_EMAIL_ATTRIBUTE_IS_NULL;
+import static com.todo.todoapp.util.Constants.GITHUB_ID;
+import static com.todo.todoapp.util.Constants.NAME_ANDREW;
+import static com.todo.todoapp.util.Constants.OAUTH2_ERROR_CODE_INVALID_USER;
+import static com.todo.todoapp.util.Constants.USER_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TodoOAuth2UserServiceTest {
+
+    private OAuth2UserService<OAuth2UserRequest, OAuth2User> delegate;
+    private IUserService userService;
+
+    private TodoOAuth2UserService todoOAuth2UserService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        delegate = mock(OAuth2UserService.class);
+        userService = mock(IUserService.class);
+    }
+
+    @Test
+    void test_loadUserShouldReturnAPrincipalWithTheUserId_WhenTheUserHasBeenHandled() {
+        // GIVEN
+        OAuth2UserRequest userRequest = createUserRequest();
+        DefaultOAuth2User oAuth2User = createOAuth2User();
+        User user = new User.Builder()
+                .withId(USER_ID)
+                .withEmail(EMAIL)
+                .withGithubId(GITHUB_ID)
+                .build();
+
+        // WHEN
+        when(delegate.loadUser(userRequest)).thenReturn(oAuth2User);
+        when(userService.handleUser(oAuth2User)).thenReturn(user);
+
+        todoOAuth2UserService = new TodoOAuth2UserService(delegate, userService);
+        TodoOAuth2User principal = (TodoOAuth2User) todoOAuth2UserService.loadUser(userRequest);
+
+        // THEN
+        assertEquals(USER_ID, principal.getUserId());
+        assertEquals(GITHUB_ID, principal.getName());
+        assertEquals(oAuth2User.getAttributes(), principal.getAttributes());
+
+        // VERIFY
+        verify(userService, times(1)).handleUser(oAuth2User);
+    }
+
+    @Test
+    void test_loadUserShouldThrowOAuth2AuthenticationException_WhenTheUserCouldNotBeHandled() {
+        // GIVEN
+        OAuth2UserRequest userRequest = createUserRequest();
+        DefaultOAuth2User oAuth2User = createOAuth2User();
+
+        // WHEN
+        when(delegate.loadUser(userRequest)).thenReturn(oAuth2User);
+        when(userService.handleUser(oAuth2User)).thenThrow(new IllegalArgumentException(ERR_MSG_THE_PRINCIPAL_S_EMAIL_ATTRIBUTE_IS_NULL));
+
+        todoOAuth2UserService = new TodoOAuth2UserService(delegate, userService);
+
+        // THEN
+        OAuth2AuthenticationException exception = assertThrows(OAuth2AuthenticationException.class, () -> todoOAuth2UserService.loadUser(userRequest));
+        assertEquals(OAUTH2_ERROR_CODE_INVALID_USER, exception.getError().getErrorCode());
+        assertEquals(ERR_MSG_THE_PRINCIPAL_S_EMAIL_ATTRIBUTE_IS_NULL, exception.getMessage());
+    }
+
+    private OAuth2UserRequest createUserRequest() {
+        Instant issuedAt = Instant.now();
+
+        return new OAuth2UserRequest(
+                CommonOAuth2Provider.GITHUB.getBuilder("github").clientId("client-id").clientSecret("client-secret").build(),
+                new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "access-token", issuedAt, issuedAt.plusSeconds(3600))
+        );
+    }
+
+    private DefaultOAuth2User createOAuth2User() {
+        // GitHub's user name attribute is the 'id', which is configured by the CommonOAuth2Provider
+        Map<String, Object> attributes = Map.of(ATTRIBUTE_ID, Integer.valueOf(GITHUB_ID), ATTRIBUTE_LOGIN, NAME_ANDREW, ATTRIBUTE_EMAIL, EMAIL);
+
+        return new DefaultOAuth2User(Set.of(new OAuth2UserAuthority(attributes)), attributes, ATTRIBUTE_ID);
+    }
+}
@@ -0,0 +1,108 @@
+package com.todo.todoapp.service.user.impl;
+
+import com.todo.todoapp.model.user.TodoOidcUser;
+import com.todo.todoapp.model.user.User;
+import com.todo.todoapp.service.user.IUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.config.oauth2.client.CommonOAuth2Provider;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+
+import java.time.Instant;
+import java.util.Set;
+
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_EMAIL;
+import static com.todo.todoapp.util.Constants.EMAIL;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_PRINCIPAL_S_EMAIL_ATTRIBUTE_IS_NULL;
+import static com.todo.todoapp.util.Constants.GOOGLE_ID;
+import static com.todo.todoapp.util.Constants.OAUTH2_ERROR_CODE_INVALID_USER;
+import static com.todo.todoapp.util.Constants.USER_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TodoOidcUserServiceTest {
+
+    private OAuth2UserService<OidcUserRequest, OidcUser> delegate;
+    private IUserService userService;
+
+    private TodoOidcUserService todoOidcUserService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        delegate = mock(OAuth2UserService.class);
+        userService = mock(IUserService.class);
+    }
+
+    @Test
+    void test_loadUserShouldReturnAPrincipalWithTheUserId_WhenTheUserHasBeenHandled() {
+        // GIVEN
+        OidcUserRequest userRequest = createUserRequest();
+        DefaultOidcUser oidcUser = new DefaultOidcUser(Set.of(new OidcUserAuthority(userRequest.getIdToken())), userRequest.getIdToken());
+        User user = new User.Builder()
+                .withId(USER_ID)
+                .withEmail(EMAIL)
+                .withGoogleId(GOOGLE_ID)
+                .build();
+
+        // WHEN
+        when(delegate.loadUser(userRequest)).thenReturn(oidcUser);
+        when(userService.handleUser(oidcUser)).thenReturn(user);
+
+        todoOidcUserService = new TodoOidcUserService(delegate, userService);
+        TodoOidcUser principal = (TodoOidcUser) todoOidcUserService.loadUser(userRequest);
+
+        // THEN
+        assertEquals(USER_ID, principal.getUserId());
+        assertEquals(GOOGLE_ID, principal.getName());
+        assertEquals(oidcUser.getAuthorities(), principal.getAuthorities());
+
+        // VERIFY
+        verify(userService, times(1)).handleUser(oidcUser);
+    }
+
+    @Test
+    void test_loadUserShouldThrowOAuth2AuthenticationException_WhenTheUserCouldNotBeHandled() {
+        // GIVEN
+        OidcUserRequest userRequest = createUserRequest();
+        DefaultOidcUser oidcUser = new DefaultOidcUser(Set.of(new OidcUserAuthority(userRequest.getIdToken())), userRequest.getIdToken());
+
+        // WHEN
+        when(delegate.loadUser(userRequest)).thenReturn(oidcUser);
+        when(userService.handleUser(oidcUser)).thenThrow(new IllegalArgumentException(ERR_MSG_THE_PRINCIPAL_S_EMAIL_ATTRIBUTE_IS_NULL));
+
+        todoOidcUserService = new TodoOidcUserService(delegate, userService);
+
+        // THEN
+        OAuth2AuthenticationException exception = assertThrows(OAuth2AuthenticationException.class, () -> todoOidcUserService.loadUser(userRequest));
+        assertEquals(OAUTH2_ERROR_CODE_INVALID_USER, exception.getError().getErrorCode());
+        assertEquals(ERR_MSG_THE_PRINCIPAL_S_EMAIL_ATTRIBUTE_IS_NULL, exception.getMessage());
+    }
+
+    private OidcUserRequest createUserRequest() {
+        Instant issuedAt = Instant.now();
+        OidcIdToken idToken = OidcIdToken.withTokenValue("id-token")
+                .subject(GOOGLE_ID)
+                .claim(ATTRIBUTE_EMAIL, EMAIL)
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(3600))
+                .build();
+
+        return new OidcUserRequest(
+                CommonOAuth2Provider.GOOGLE.getBuilder("google").clientId("client-id").clientSecret("client-secret").build(),
+                new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "access-token", issuedAt, issuedAt.plusSeconds(3600)),
+                idToken
+        );
+    }
+}
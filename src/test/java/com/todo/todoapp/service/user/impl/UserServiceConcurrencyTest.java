@@ -0,0 +1,146 @@
+package com.todo.todoapp.service.user.impl;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.todo.todoapp.cache.user.UserCache;
+import com.todo.todoapp.cache.user.UserLoginCoalescer;
+import com.todo.todoapp.config.MongoIndexConfig;
+import com.todo.todoapp.config.UserCacheProperties;
+import com.todo.todoapp.config.UserLoginCoalescingProperties;
+import com.todo.todoapp.model.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_EMAIL;
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_ID;
+import static com.todo.todoapp.util.Constants.ATTRIBUTE_SUB;
+import static com.todo.todoapp.util.Constants.COLLECTION_NAME_USER;
+import static com.todo.todoapp.util.Constants.GITHUB_ID;
+import static com.todo.todoapp.util.Constants.GOOGLE_ID;
+import static com.todo.todoapp.util.Constants.KEY_EMAIL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires parallel first logins with the same email through both providers on a real Mongo, and checks that they
+ * end up in one User with both provider IDs. It only runs when the TODO_TEST_MONGO_URI environment variable
+ * points to a Mongo, e.g. mongodb://localhost:27017
+ */
+@EnabledIfEnvironmentVariable(named = "TODO_TEST_MONGO_URI", matches = ".+")
+class UserServiceConcurrencyTest {
+
+    private static final int ROUND_COUNT = 20;
+    private static final int LOGIN_COUNT = 16;
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private ExecutorService executorService;
+
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        mongoClient = MongoClients.create(System.getenv("TODO_TEST_MONGO_URI"));
+        mongoTemplate = new MongoTemplate(mongoClient, "todo_user_test_" + UUID.randomUUID().toString().replace("-", ""));
+        executorService = Executors.newFixedThreadPool(LOGIN_COUNT);
+
+        new MongoIndexConfig().indexRegistry().getDeclaredIndexes().stream()
+                .filter(declaredIndex -> COLLECTION_NAME_USER.equals(declaredIndex.getCollectionName()))
+                .forEach(declaredIndex -> mongoTemplate.indexOps(COLLECTION_NAME_USER).ensureIndex(declaredIndex.toIndex()));
+
+        userService = new UserService(mongoTemplate, new UserCache(new UserCacheProperties()),
+                new UserLoginCoalescer(new UserLoginCoalescingProperties(), new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+        mongoTemplate.getDb().drop();
+        mongoClient.close();
+    }
+
+    @Test
+    void test_handleUserShouldCreateOneUser_WhenTheFirstLoginsOfAnEmailAreConcurrent() throws Exception {
+        for (int round = 0; round < ROUND_COUNT; round++) {
+            // GIVEN
+            String email = "concurrent" + round + "@todo.com";
+            String googleId = GOOGLE_ID + round;
+            String githubId = GITHUB_ID + round;
+            OAuth2User googlePrincipal = createGooglePrincipal(googleId, email);
+            OAuth2User githubPrincipal = createGithubPrincipal(githubId, email);
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<User>> futures = new ArrayList<>();
+
+            // WHEN
+            for (int login = 0; login < LOGIN_COUNT; login++) {
+                OAuth2User principal = login % 2 == 0 ? googlePrincipal : githubPrincipal;
+
+                futures.add(executorService.submit(awaitAndHandleUser(startLatch, principal)));
+            }
+
+            startLatch.countDown();
+
+            List<String> returnedUserIds = new ArrayList<>();
+
+            for (Future<User> future : futures) {
+                returnedUserIds.add(future.get(10, TimeUnit.SECONDS).getId());
+            }
+
+            // THEN
+            List<User> users = mongoTemplate.find(Query.query(Criteria.where(KEY_EMAIL).is(email)), User.class);
+
+            assertEquals(1, users.size());
+            assertEquals(googleId, users.get(0).getGoogleId());
+            assertEquals(githubId, users.get(0).getGithubId());
+            assertTrue(returnedUserIds.stream().allMatch(users.get(0).getId()::equals));
+        }
+    }
+
+    private Callable<User> awaitAndHandleUser(CountDownLatch startLatch, OAuth2User principal) {
+        return () -> {
+            startLatch.await();
+
+            return userService.handleUser(principal);
+        };
+    }
+
+    private OAuth2User createGooglePrincipal(String googleId, String email) {
+        OidcIdToken idToken = OidcIdToken.withTokenValue("token")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(60))
+                .claim(ATTRIBUTE_SUB, googleId)
+                .claim(ATTRIBUTE_EMAIL, email)
+                .build();
+
+        return new DefaultOidcUser(Set.of(new SimpleGrantedAuthority("SCOPE_email")), idToken);
+    }
+
+    private OAuth2User createGithubPrincipal(String githubId, String email) {
+        return new DefaultOAuth2User(Set.of(new SimpleGrantedAuthority("SCOPE_user:email")),
+                Map.of(ATTRIBUTE_ID, githubId, ATTRIBUTE_EMAIL, email), ATTRIBUTE_ID);
+    }
+}
@@ -1,12 +1,25 @@
 package com.todo.todoapp.service.user.impl;
 
+import com.todo.todoapp.cache.user.UserCache;
+import com.todo.todoapp.cache.user.UserLoginCoalescer;
+import com.todo.todoapp.config.UserCacheProperties;
+import com.todo.todoapp.config.UserLoginCoalescingProperties;
+import com.todo.todoapp.model.user.Provider;
+import com.todo.todoapp.model.user.ProviderIdentity;
 import com.todo.todoapp.model.user.User;
-import com.todo.todoapp.repository.user.UserRepository;
-import com.todo.todoapp.util.MongoUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
 import org.springframework.security.oauth2.core.user.OAuth2User;
@@ -20,9 +33,10 @@ import static com.todo.todoapp.util.Constants.DP_GET_USERNAME_NAME_ATTRIBUTE_IS_
 import static com.todo.todoapp.util.Constants.DP_GET_USERNAME_NAME_ATTRIBUTE_IS_NULL_DATA_PROVIDER;
 import static com.todo.todoapp.util.Constants.DP_HANDLE_USER_EMAIL_ATTRIBUTE_IS_NULL_DATA_PROVIDER;
 import static com.todo.todoapp.util.Constants.DP_HANDLE_USER_ID_ATTRIBUTE_IS_NULL_DATA_PROVIDER;
-import static com.todo.todoapp.util.Constants.DP_HANDLE_USER_SHOULD_RETURN_A_NEW_USER_DATA_PROVIDER;
+import static com.todo.todoapp.util.Constants.DP_HANDLE_USER_SHOULD_UPSERT_THE_USER_DATA_PROVIDER;
 import static com.todo.todoapp.util.Constants.EMAIL;
 import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_PRINCIPAL_IS_NULL;
+import static com.todo.todoapp.util.Constants.ERR_MSG_THE_GIVEN_USER_COULD_NOT_BE_SAVED_TO_ANY_AVAILABLE_SERVICE;
 import static com.todo.todoapp.util.Constants.ERR_MSG_THE_PRINCIPAL_S_EMAIL_ATTRIBUTE_IS_NULL;
 import static com.todo.todoapp.util.Constants.ERR_MSG_THE_PRINCIPAL_S_ID_ATTRIBUTE_IS_NULL;
 import static com.todo.todoapp.util.Constants.ERR_MSG_THE_PRINCIPAL_S_LOGIN_ATTRIBUTE_IS_NULL;
@@ -30,11 +44,18 @@ import static com.todo.todoapp.util.Constants.ERR_MSG_THE_PRINCIPAL_S_NAME_ATTRI
 import static com.todo.todoapp.util.Constants.ERR_MSG_THE_PRINCIPAL_S_SUB_ATTRIBUTE_IS_NULL;
 import static com.todo.todoapp.util.Constants.GITHUB_ID;
 import static com.todo.todoapp.util.Constants.GOOGLE_ID;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_USER_EMAIL_INDEX;
+import static com.todo.todoapp.util.Constants.INDEX_NAME_USER_GITHUB_ID_INDEX;
+import static com.todo.todoapp.util.Constants.KEY_EMAIL;
+import static com.todo.todoapp.util.Constants.KEY_GITHUB_ID;
+import static com.todo.todoapp.util.Constants.KEY_GOOGLE_ID;
 import static com.todo.todoapp.util.Constants.NAME_ANDREW;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -43,8 +64,8 @@ import static org.mockito.Mockito.when;
 
 class UserServiceTest {
 
-    private UserRepository userRepository;
-    private MongoUtil mongoUtil;
+    private MongoTemplate mongoTemplate;
+    private UserCache userCache;
 
     private UserService userService;
 
@@ -60,8 +81,8 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
-        userRepository = mock(UserRepository.class);
-        mongoUtil = mock(MongoUtil.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        userCache = new UserCache(new UserCacheProperties());
     }
 
     /*
@@ -85,7 +106,7 @@ class UserServiceTest {
         assertEquals(ERR_MSG_THE_GIVEN_PRINCIPAL_IS_NULL, exception.getMessage());
 
         // VERIFY
-        verifyNoInteractions(userRepository, mongoUtil);
+        verifyNoInteractions(mongoTemplate);
     }
 
     private static Object[][] getUsernameNameAttributeIsNullDataProvider() {
@@ -115,7 +136,7 @@ class UserServiceTest {
 
         // VERIFY
         verify(principal, times(2)).getAttribute(anyString());
-        verifyNoInteractions(userRepository, mongoUtil);
+        verifyNoInteractions(mongoTemplate);
     }
 
     private static Object[][] getUsernameNameAttributeIsNotNullDataProvider() {
@@ -140,7 +161,25 @@ class UserServiceTest {
 
         // VERIFY
         verify(principal, times(2)).getAttribute(anyString());
-        verifyNoInteractions(userRepository, mongoUtil);
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void test_getUsernameShouldReturnTheName_WhenThePrincipalIsADefaultOidcUserWithoutALoginAttribute() {
+        // GIVEN
+        DefaultOidcUser principal = mock(DefaultOidcUser.class);
+
+        // WHEN
+        when(principal.getAttribute(ATTRIBUTE_NAME)).thenReturn(NAME_ANDREW);
+        when(principal.getAttribute(ATTRIBUTE_LOGIN)).thenReturn(null);
+
+        userService = createUserService();
+
+        // THEN
+        assertEquals(NAME_ANDREW, userService.getUsername(principal));
+
+        // VERIFY
+        verifyNoInteractions(mongoTemplate);
     }
 
     /*
@@ -164,7 +203,7 @@ class UserServiceTest {
         assertEquals(ERR_MSG_THE_GIVEN_PRINCIPAL_IS_NULL, exception.getMessage());
 
         // VERIFY
-        verifyNoInteractions(userRepository, mongoUtil);
+        verifyNoInteractions(mongoTemplate);
     }
 
     private static Object[][] handleUserIdAttributeIsNullDataProvider() {
@@ -194,7 +233,7 @@ class UserServiceTest {
 
         // VERIFY
         verify(principal, times(1)).getAttribute(anyString());
-        verifyNoInteractions(userRepository, mongoUtil);
+        verifyNoInteractions(mongoTemplate);
     }
 
     private static Object[][] handleUserEmailAttributeIsNullDataProvider() {
@@ -225,105 +264,127 @@ class UserServiceTest {
 
         // VERIFY
         verify(principal, times(2)).getAttribute(anyString());
-        verifyNoInteractions(userRepository, mongoUtil);
+        verifyNoInteractions(mongoTemplate);
     }
 
-    private static Object[][] handleUserShouldReturnANewUserDataProvider() {
+    private static Object[][] handleUserShouldUpsertTheUserDataProvider() {
         return new Object[][] {
-                {mock(OidcUser.class), USER_WITH_GOOGLE_ID, null, ATTRIBUTE_SUB, GOOGLE_ID},
-                {mock(OidcUser.class), USER_WITH_GOOGLE_ID, USER_WITH_GOOGLE_ID, ATTRIBUTE_SUB, GOOGLE_ID},
-                {mock(DefaultOAuth2User.class), USER_WITH_GITHUB_ID, null, ATTRIBUTE_ID, GITHUB_ID},
-                {mock(DefaultOAuth2User.class), USER_WITH_GITHUB_ID, USER_WITH_GITHUB_ID, ATTRIBUTE_ID, GITHUB_ID}
+                {mock(OidcUser.class), USER_WITH_GOOGLE_ID, ATTRIBUTE_SUB, GOOGLE_ID, KEY_GOOGLE_ID},
+                {mock(DefaultOAuth2User.class), USER_WITH_GITHUB_ID, ATTRIBUTE_ID, GITHUB_ID, KEY_GITHUB_ID}
         };
     }
 
     @ParameterizedTest
-    @MethodSource(DP_HANDLE_USER_SHOULD_RETURN_A_NEW_USER_DATA_PROVIDER)
-    void test_handleUserShouldReturnANewUser(OAuth2User principal, User user, User userReturnedByEmail, String idAttribute, String id) {
+    @MethodSource(DP_HANDLE_USER_SHOULD_UPSERT_THE_USER_DATA_PROVIDER)
+    void test_handleUserShouldUpsertTheUserByTheEmail(OAuth2User principal, User user, String idAttribute, String id, String providerIdKey) {
         // GIVEN
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> optionsCaptor = ArgumentCaptor.forClass(FindAndModifyOptions.class);
 
         // WHEN
         when(principal.getAttribute(idAttribute)).thenReturn(id);
         when(principal.getAttribute(ATTRIBUTE_EMAIL)).thenReturn(EMAIL);
 
-        when(userRepository.findByEmail(EMAIL)).thenReturn(userReturnedByEmail);
-        when(userRepository.save(user)).thenReturn(user);
+        when(mongoTemplate.findAndModify(queryCaptor.capture(), updateCaptor.capture(), optionsCaptor.capture(), eq(User.class))).thenReturn(user);
 
         userService = createUserService();
 
         // THEN
         assertEquals(user, userService.handleUser(principal));
+        assertEquals(new Document(KEY_EMAIL, EMAIL), queryCaptor.getValue().getQueryObject());
+        assertEquals(new Document("$set", new Document(providerIdKey, id)), updateCaptor.getValue().getUpdateObject());
+        assertTrue(optionsCaptor.getValue().isUpsert());
+        assertTrue(optionsCaptor.getValue().isReturnNew());
 
         // VERIFY
         verify(principal, times(4)).getAttribute(anyString());
-        verify(userRepository, times(1)).findByEmail(anyString());
-        verify(userRepository, times(1)).save(any(User.class));
-        verifyNoInteractions(mongoUtil);
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class));
     }
 
     @Test
-    void test_handleUserShouldReturnAnAlreadyExistingUser_WhenAUserAlreadyExistsWithTheGivenEmail_AndTheProviderIsGoogle_AndTheGoogleIdIsNotStored() {
+    void test_handleUserShouldRetryTheUpsert_WhenAConcurrentLoginInsertedTheUser() {
         // GIVEN
         OidcUser principal = mock(OidcUser.class);
-        User storedUser = new User.Builder()
-                .withEmail(EMAIL)
-                .build();
-
-        User returnedUser = USER_WITH_GOOGLE_ID;
 
         // WHEN
         when(principal.getAttribute(ATTRIBUTE_SUB)).thenReturn(GOOGLE_ID);
         when(principal.getAttribute(ATTRIBUTE_EMAIL)).thenReturn(EMAIL);
 
-        when(userRepository.findByEmail(EMAIL)).thenReturn(storedUser);
-        when(userRepository.findByGoogleId(GOOGLE_ID)).thenReturn(null);
-        when(userRepository.save(returnedUser)).thenReturn(returnedUser);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenThrow(new DuplicateKeyException(INDEX_NAME_USER_EMAIL_INDEX))
+                .thenReturn(USER_WITH_GOOGLE_ID);
 
         userService = createUserService();
 
         // THEN
-        assertEquals(storedUser, userService.handleUser(principal));
+        assertEquals(USER_WITH_GOOGLE_ID, userService.handleUser(principal));
 
         // VERIFY
-        verify(principal, times(4)).getAttribute(anyString());
-        verify(userRepository, times(1)).findByEmail(anyString());
-        verify(userRepository, times(1)).findByGoogleId(anyString());
-        verify(userRepository, times(1)).save(any(User.class));
-        verifyNoInteractions(mongoUtil);
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class));
     }
 
     @Test
-    void test_handleUserShouldReturnAnAlreadyExistingUser_WhenAUserAlreadyExistsWithTheGivenEmail_AndTheProviderIsGithub_AndTheGithubIdIsNotStored() {
+    void test_handleUserShouldThrowIllegalArgumentException_WhenTheProviderIdBelongsToAUserWithAnotherEmail() {
         // GIVEN
         DefaultOAuth2User principal = mock(DefaultOAuth2User.class);
+
+        // WHEN
+        when(principal.getAttribute(ATTRIBUTE_ID)).thenReturn(GITHUB_ID);
+        when(principal.getAttribute(ATTRIBUTE_EMAIL)).thenReturn(EMAIL);
+
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenThrow(new DuplicateKeyException(INDEX_NAME_USER_GITHUB_ID_INDEX));
+
+        userService = createUserService();
+
+        // THEN
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> userService.handleUser(principal)
+        );
+
+        assertEquals(ERR_MSG_THE_GIVEN_USER_COULD_NOT_BE_SAVED_TO_ANY_AVAILABLE_SERVICE, exception.getMessage());
+
+        // VERIFY
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class));
+    }
+
+    @Test
+    void test_handleUserShouldInvalidateTheCachedUser_WhenTheUserIsLinkedToANewProvider() {
+        // GIVEN
+        DefaultOAuth2User principal = mock(DefaultOAuth2User.class);
+        ProviderIdentity googleIdentity = new ProviderIdentity(Provider.GOOGLE, GOOGLE_ID);
         User storedUser = new User.Builder()
                 .withEmail(EMAIL)
+                .withGoogleId(GOOGLE_ID)
+                .build();
+        User linkedUser = new User.Builder()
+                .withEmail(EMAIL)
+                .withGoogleId(GOOGLE_ID)
+                .withGithubId(GITHUB_ID)
                 .build();
-
-        User returnedUser = USER_WITH_GITHUB_ID;
 
         // WHEN
         when(principal.getAttribute(ATTRIBUTE_ID)).thenReturn(GITHUB_ID);
         when(principal.getAttribute(ATTRIBUTE_EMAIL)).thenReturn(EMAIL);
 
-        when(userRepository.findByEmail(EMAIL)).thenReturn(storedUser);
-        when(userRepository.findByGithubId(GITHUB_ID)).thenReturn(null);
-        when(userRepository.save(returnedUser)).thenReturn(returnedUser);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class))).thenReturn(linkedUser);
 
         userService = createUserService();
+        userCache.get(googleIdentity, providerIdentity -> storedUser);
+        userService.handleUser(principal);
 
         // THEN
-        assertEquals(storedUser, userService.handleUser(principal));
+        assertEquals(linkedUser, userCache.get(googleIdentity, providerIdentity -> linkedUser));
+        assertEquals(2L, userService.getUserCacheStatistics().get("misses"));
 
         // VERIFY
-        verify(principal, times(4)).getAttribute(anyString());
-        verify(userRepository, times(1)).findByEmail(anyString());
-        verify(userRepository, times(1)).findByGithubId(anyString());
-        verify(userRepository, times(1)).save(any(User.class));
-        verifyNoInteractions(mongoUtil);
+        verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class));
     }
 
     private UserService createUserService() {
-        return new UserService(userRepository, mongoUtil);
+        return new UserService(mongoTemplate, userCache,
+                new UserLoginCoalescer(new UserLoginCoalescingProperties(), new SimpleMeterRegistry()));
     }
 }
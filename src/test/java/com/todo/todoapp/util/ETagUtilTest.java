@@ -0,0 +1,61 @@
+package com.todo.todoapp.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Set;
+
+import static com.todo.todoapp.util.Constants.DP_ETAG_MATCHES_DATA_PROVIDER;
+import static com.todo.todoapp.util.Constants.DP_ETAG_PARSE_VERSIONS_DATA_PROVIDER;
+import static com.todo.todoapp.util.Constants.TODO_ID_ONE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ETagUtilTest {
+
+    private static final String ETAG = ETagUtil.createETag(TODO_ID_ONE, 1L);
+
+    private static Object[][] matchesDataProvider() {
+        return new Object[][] {
+                {null, false},
+                {ETAG, true},
+                {"W/" + ETAG, true},
+                {"*", true},
+                {ETagUtil.createETag(TODO_ID_ONE, 0L), false},
+                {ETagUtil.createETag(TODO_ID_ONE, 0L) + ", " + ETAG, true}
+        };
+    }
+
+    private static Object[][] parseVersionsDataProvider() {
+        return new Object[][] {
+                {ETagUtil.createVersionETag(3L), Set.of(3L)},
+                {ETagUtil.createVersionETag(3L) + ", " + ETagUtil.createVersionETag(4L), Set.of(3L, 4L)},
+                {"W/" + ETagUtil.createVersionETag(3L), Set.of()},
+                {ETAG, Set.of()},
+                {"\"99999999999999999999\"", Set.of()}
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource(DP_ETAG_PARSE_VERSIONS_DATA_PROVIDER)
+    void test_parseVersionsShouldOnlyReturnTheVersionsOfTheStrongVersionETags(String ifMatch, Set<Long> expectedVersions) {
+        // GIVEN
+
+        // WHEN
+        Set<Long> versions = ETagUtil.parseVersions(ifMatch);
+
+        // THEN
+        assertEquals(expectedVersions, versions);
+    }
+
+    @ParameterizedTest
+    @MethodSource(DP_ETAG_MATCHES_DATA_PROVIDER)
+    void test_matchesShouldCompareTheIfNoneMatchHeaderWithTheETag(String ifNoneMatch, boolean expectedMatch) {
+        // GIVEN
+
+        // WHEN
+        boolean match = ETagUtil.matches(ifNoneMatch, ETAG);
+
+        // THEN
+        assertEquals(expectedMatch, match);
+    }
+}
@@ -0,0 +1,163 @@
+package com.todo.todoapp.util;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.todo.todoapp.config.MongoIndexConfig;
+import com.todo.todoapp.model.todo.Priority;
+import com.todo.todoapp.model.todo.Todo;
+import com.todo.todoapp.model.todo.TodoFilter;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.todo.todoapp.util.Constants.COLLECTION_NAME_TODO;
+import static com.todo.todoapp.util.Constants.KEY_USER_ID;
+import static com.todo.todoapp.util.Constants.USER_ID;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks with explain() on a real Mongo, that the filtered and sorted Todo queries are served by the declared indexes.
+ * It only runs when the TODO_TEST_MONGO_URI environment variable points to a Mongo, e.g. mongodb://localhost:27017
+ */
+@EnabledIfEnvironmentVariable(named = "TODO_TEST_MONGO_URI", matches = ".+")
+class TodoFilterUtilExplainTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoFilterUtilExplainTest.class);
+
+    private static final int TODO_COUNT = 5000;
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoClient = MongoClients.create(System.getenv("TODO_TEST_MONGO_URI"));
+        mongoTemplate = new MongoTemplate(mongoClient, "todo_explain_test_" + UUID.randomUUID().toString().replace("-", ""));
+
+        new MongoIndexConfig().indexRegistry().getDeclaredIndexes().stream()
+                .filter(declaredIndex -> COLLECTION_NAME_TODO.equals(declaredIndex.getCollectionName()))
+                .forEach(declaredIndex -> mongoTemplate.indexOps(COLLECTION_NAME_TODO).ensureIndex(declaredIndex.toIndex()));
+
+        List<Todo> todos = new ArrayList<>(TODO_COUNT);
+
+        for (int i = 0; i < TODO_COUNT; i++) {
+            todos.add(new Todo.Builder()
+                    .withUserId(i % 10 == 0 ? USER_ID : UUID.randomUUID().toString())
+                    .withName("Todo " + i)
+                    .withDeadline(i % 3 == 0 ? null : LocalDate.of(2020, 1, 1).plusDays(i % 365))
+                    .withPriority(Priority.values()[i % Priority.values().length])
+                    .build());
+        }
+
+        mongoTemplate.insertAll(todos);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.getDb().drop();
+        mongoClient.close();
+    }
+
+    @Test
+    void test_theFilteredQueryShouldUseAnIndex_WhenThePriorityIsFiltered() {
+        // GIVEN
+        TodoFilter todoFilter = new TodoFilter.Builder().withPriority("BIG").withLimit(20).build();
+
+        // WHEN
+        Document explain = explain(todoFilter);
+
+        // THEN
+        assertIndexScan(explain);
+    }
+
+    @Test
+    void test_theFilteredQueryShouldUseAnIndex_WhenTheDeadlineIsFilteredAndSorted() {
+        // GIVEN
+        TodoFilter todoFilter = new TodoFilter.Builder()
+                .withDeadlineFrom("2020-03-01")
+                .withDeadlineTo("2020-06-30")
+                .withSort("-deadline")
+                .withLimit(20)
+                .build();
+
+        // WHEN
+        Document explain = explain(todoFilter);
+
+        // THEN
+        assertIndexScan(explain);
+    }
+
+    @Test
+    void test_theFilteredQueryShouldReturnASmallerPayloadThanTheWholeList() {
+        // GIVEN
+        TodoFilter todoFilter = new TodoFilter.Builder().withPriority("BIG").withDeadlineFrom("2020-06-01").withLimit(20).build();
+
+        // WHEN
+        long wholeListStart = System.nanoTime();
+        int wholeListPayload = getPayloadSize(Query.query(Criteria.where(KEY_USER_ID).is(USER_ID)));
+        long wholeListNanos = System.nanoTime() - wholeListStart;
+
+        long filteredStart = System.nanoTime();
+        int filteredPayload = getPayloadSize(TodoFilterUtil.applyTo(Query.query(Criteria.where(KEY_USER_ID).is(USER_ID)).limit(todoFilter.getLimit()), todoFilter));
+        long filteredNanos = System.nanoTime() - filteredStart;
+
+        // THEN
+        LOGGER.info("Whole list: {} bytes in {} us, filtered: {} bytes in {} us", wholeListPayload, wholeListNanos / 1000, filteredPayload, filteredNanos / 1000);
+        assertTrue(filteredPayload < wholeListPayload);
+    }
+
+    private Document explain(TodoFilter todoFilter) {
+        Query query = TodoFilterUtil.applyTo(Query.query(Criteria.where(KEY_USER_ID).is(USER_ID)).limit(todoFilter.getLimit()), todoFilter);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        Document find = new Document("find", COLLECTION_NAME_TODO)
+                .append("filter", queryMapper.getMappedObject(query.getQueryObject(), getTodoEntity()))
+                .append("sort", queryMapper.getMappedSort(query.getSortObject(), getTodoEntity()))
+                .append("limit", query.getLimit());
+
+        Document explain = mongoTemplate.getDb().runCommand(new Document("explain", find).append("verbosity", "executionStats"));
+        LOGGER.info("Explain of {}: {}", todoFilter, explain.toJson());
+
+        return explain;
+    }
+
+    private int getPayloadSize(Query query) {
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        int payloadSize = 0;
+
+        for (Document todo : mongoTemplate.getCollection(COLLECTION_NAME_TODO)
+                .find(queryMapper.getMappedObject(query.getQueryObject(), getTodoEntity()))
+                .sort(queryMapper.getMappedSort(query.getSortObject(), getTodoEntity()))
+                .limit(query.getLimit())) {
+            payloadSize += todo.toJson().length();
+        }
+
+        return payloadSize;
+    }
+
+    private MongoPersistentEntity<?> getTodoEntity() {
+        return mongoTemplate.getConverter().getMappingContext().getPersistentEntity(Todo.class);
+    }
+
+    private void assertIndexScan(Document explain) {
+        String winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+
+        assertTrue(winningPlan.contains("IXSCAN"));
+        assertFalse(winningPlan.contains("COLLSCAN"));
+        assertFalse(winningPlan.contains("\"SORT\""));
+    }
+}
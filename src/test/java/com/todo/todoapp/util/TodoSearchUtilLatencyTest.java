@@ -0,0 +1,169 @@
+package com.todo.todoapp.util;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.todo.todoapp.config.MongoIndexConfig;
+import com.todo.todoapp.model.todo.Priority;
+import com.todo.todoapp.model.todo.Todo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.todo.todoapp.util.Constants.COLLECTION_NAME_TODO;
+import static com.todo.todoapp.util.Constants.KEY_USER_ID;
+import static com.todo.todoapp.util.Constants.USER_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the latency of the indexed search with the client-side scan of the UI, which downloads every Todo of the user
+ * and filters the names itself. The dataset is seeded once: TODO_TEST_SEARCH_TODO_COUNT Todos (1 000 000 by default),
+ * 10% of them belong to the searching user. It only runs when the TODO_TEST_MONGO_URI environment variable points to a Mongo.
+ */
+@EnabledIfEnvironmentVariable(named = "TODO_TEST_MONGO_URI", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TodoSearchUtilLatencyTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoSearchUtilLatencyTest.class);
+
+    private static final int DEFAULT_TODO_COUNT = 1_000_000;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int USER_TODO_RATIO = 10;
+    private static final int OTHER_USER_COUNT = 1_000;
+    private static final int MEASURED_RUNS = 20;
+    private static final int LIMIT = 50;
+    private static final List<String> WORDS = List.of("buy", "milk", "groceries", "call", "mother", "write", "report", "fix", "bike",
+            "book", "flight", "pay", "bills", "clean", "kitchen", "read", "paper", "plan", "trip", "review");
+
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    void setUp() {
+        mongoClient = MongoClients.create(System.getenv("TODO_TEST_MONGO_URI"));
+        mongoTemplate = new MongoTemplate(mongoClient, "todo_search_test_" + UUID.randomUUID().toString().replace("-", ""));
+
+        new MongoIndexConfig().indexRegistry().getDeclaredIndexes().stream()
+                .filter(declaredIndex -> COLLECTION_NAME_TODO.equals(declaredIndex.getCollectionName()))
+                .forEach(declaredIndex -> mongoTemplate.indexOps(COLLECTION_NAME_TODO).ensureIndex(declaredIndex.toIndex()));
+
+        int todoCount = Optional.ofNullable(System.getenv("TODO_TEST_SEARCH_TODO_COUNT")).map(Integer::parseInt).orElse(DEFAULT_TODO_COUNT);
+        List<String> otherUserIds = new ArrayList<>(OTHER_USER_COUNT);
+        Random random = new Random(42);
+        List<Todo> todos = new ArrayList<>(INSERT_BATCH_SIZE);
+
+        for (int i = 0; i < OTHER_USER_COUNT; i++) {
+            otherUserIds.add(UUID.randomUUID().toString());
+        }
+
+        for (int i = 0; i < todoCount; i++) {
+            todos.add(new Todo.Builder()
+                    .withUserId(i % USER_TODO_RATIO == 0 ? USER_ID : otherUserIds.get(random.nextInt(OTHER_USER_COUNT)))
+                    // the number keeps the names unique for the (user_id, name) index
+                    .withName(WORDS.get(random.nextInt(WORDS.size())) + " " + WORDS.get(random.nextInt(WORDS.size())) + " #" + i)
+                    .withPriority(Priority.values()[random.nextInt(Priority.values().length)])
+                    .build());
+
+            if (todos.size() == INSERT_BATCH_SIZE) {
+                mongoTemplate.insert(todos, Todo.class);
+                todos.clear();
+            }
+        }
+
+        mongoTemplate.insert(todos, Todo.class);
+    }
+
+    @AfterAll
+    void tearDown() {
+        mongoTemplate.getDb().drop();
+        mongoClient.close();
+    }
+
+    @Test
+    void test_theIndexedSearchShouldBeFasterThanTheClientSideScan_WhenWholeWordsAreSearched() {
+        // GIVEN
+        String searchQuery = "groceries";
+
+        // WHEN
+
+        // THEN
+        compare(searchQuery);
+    }
+
+    @Test
+    void test_theIndexedSearchShouldBeFasterThanTheClientSideScan_WhenAPrefixIsSearched() {
+        // GIVEN
+        String searchQuery = "groc";
+
+        // WHEN
+
+        // THEN
+        compare(searchQuery);
+    }
+
+    private void compare(String searchQuery) {
+        long searchNanos = getMedianNanos(() -> search(searchQuery));
+        long scanNanos = getMedianNanos(() -> scan(searchQuery));
+
+        LOGGER.info("Search for '{}': indexed search {} ms, client-side scan {} ms (median of {} runs)",
+                searchQuery, searchNanos / 1_000_000.0, scanNanos / 1_000_000.0, MEASURED_RUNS);
+        assertEquals(LIMIT, search(searchQuery).size());
+        assertTrue(searchNanos < scanNanos);
+    }
+
+    private List<Todo> search(String searchQuery) {
+        List<Todo> todos = new ArrayList<>(mongoTemplate.find(TodoSearchUtil.createTextQuery(USER_ID, searchQuery, LIMIT), Todo.class));
+
+        if (todos.size() < LIMIT) {
+            List<String> foundTodoIds = todos.stream().map(Todo::getId).collect(Collectors.toList());
+
+            todos.addAll(mongoTemplate.find(TodoSearchUtil.createPrefixQuery(USER_ID, searchQuery, foundTodoIds, LIMIT - todos.size()), Todo.class));
+        }
+
+        return todos;
+    }
+
+    private List<Todo> scan(String searchQuery) {
+        String lowerCaseSearchQuery = searchQuery.toLowerCase(Locale.ROOT);
+
+        return mongoTemplate.find(Query.query(Criteria.where(KEY_USER_ID).is(USER_ID)), Todo.class)
+                .stream()
+                .filter(todo -> todo.getName().toLowerCase(Locale.ROOT).contains(lowerCaseSearchQuery))
+                .limit(LIMIT)
+                .collect(Collectors.toList());
+    }
+
+    private long getMedianNanos(Supplier<List<Todo>> searcher) {
+        long[] nanos = new long[MEASURED_RUNS];
+
+        // warm up
+        searcher.get();
+
+        for (int run = 0; run < MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+            searcher.get();
+            nanos[run] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(nanos);
+
+        return nanos[MEASURED_RUNS / 2];
+    }
+}
@@ -0,0 +1,27 @@
+package com.todo.todoapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VirtualThreadUtilTest {
+
+    private static final int FIRST_JAVA_VERSION_WITH_VIRTUAL_THREADS = 21;
+
+    @Test
+    void test_newVirtualThreadPerTaskExecutorShouldOnlyReturnAnExecutor_WhenTheJVMSupportsVirtualThreads() {
+        // GIVEN
+        boolean virtualThreadsSupported = Runtime.version().feature() >= FIRST_JAVA_VERSION_WITH_VIRTUAL_THREADS;
+
+        // WHEN
+        Optional<ExecutorService> optionalExecutor = VirtualThreadUtil.newVirtualThreadPerTaskExecutor();
+
+        // THEN
+        assertEquals(virtualThreadsSupported, optionalExecutor.isPresent());
+
+        optionalExecutor.ifPresent(ExecutorService::shutdown);
+    }
+}